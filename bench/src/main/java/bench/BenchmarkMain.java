@@ -0,0 +1,45 @@
+package bench;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so every result reports the
+ * allocation rate (gc.alloc.rate.norm is the bytes allocated per operation)
+ * alongside the time.  The arguments are the usual JMH command line: a
+ * pattern to pick benchmarks, -h for help, and so on.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class BenchmarkMain {
+	// Private constructor: BenchmarkMain is never instantiated
+	private BenchmarkMain() { }
+	
+	/**
+	 * Runs the benchmarks
+	 * @param args the JMH command line
+	 * @throws RunnerException if a benchmark fails
+	 * @throws CommandLineOptionException if the command line is not valid
+	 * @throws IOException if the help cannot be written
+	 */
+	public static void main(String[] args) 
+			throws RunnerException, CommandLineOptionException, IOException {
+		CommandLineOptions cmd = new CommandLineOptions(args);
+		if (cmd.shouldHelp()) {
+			cmd.showHelp();
+			return;
+		}
+		Options options = new OptionsBuilder()
+				.parent(cmd)
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,69 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import model.Dice;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the interactive <code>Dice</code>: a turn's worth of rolls,
+ * and reading the roll.  The Dice are a singleton shared with the game, so
+ * this state is shared by every benchmark thread and the benchmarks run on
+ * one thread.  The Dice are reseeded for each trial, so every run rolls
+ * the same faces.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiceBenchmark {
+	private Dice dice;
+	
+	/**
+	 * Gets the Dice, with no listeners registered
+	 */
+	@Setup
+	public void setUp() {
+		dice = Dice.getInstance();
+		dice.removeListeners();
+		dice.setSeed(Inputs.SEED);
+	}
+	
+	/**
+	 * Resets the dice and rolls them three times, holding the first die 
+	 * after the first roll, as a turn does
+	 * @return the dice
+	 */
+	@Benchmark
+	public Dice rollTurn() {
+		dice.reset();
+		dice.roll();
+		dice.toggleDie(0);
+		dice.roll();
+		dice.roll();
+		return dice;
+	}
+	
+	/**
+	 * Reads the current roll
+	 * @return a copy of the roll
+	 */
+	@Benchmark
+	public int[] getRoll() {
+		return dice.getRoll();
+	}
+}
@@ -0,0 +1,57 @@
+package bench;
+
+import java.util.Random;
+
+import model.Hands;
+
+/**
+ * The <code>Inputs</code> class draws the inputs shared by the benchmarks.
+ * Every benchmark draws its inputs from a generator seeded with SEED, so
+ * every run measures the same rolls and score cards.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+final class Inputs {
+	/**
+	 * The seed for every benchmark's inputs
+	 */
+	static final long SEED = 20120206L;
+	
+	/**
+	 * The number of inputs each benchmark cycles through (a power of two)
+	 */
+	static final int NUM_ROLLS = 1024;
+	
+	// Private constructor: Inputs is never instantiated
+	private Inputs() { }
+	
+	/**
+	 * Draws NUM_ROLLS rolls of five dice
+	 * @param r the generator to draw from
+	 * @return the rolls
+	 */
+	static int[][] rolls(Random r) {
+		int[][] rolls = new int[NUM_ROLLS][5];
+		for (int[] roll : rolls) {
+			for (int i = 0; i < roll.length; i++)
+				roll[i] = r.nextInt(6) + 1;
+		}
+		return rolls;
+	}
+	
+	/**
+	 * Draws the hands to fill a score card in, in a random order
+	 * @param r the generator to draw from
+	 * @return every hand, shuffled
+	 */
+	static Hands[] shuffledHands(Random r) {
+		Hands[] hands = Hands.values();
+		for (int i = hands.length - 1; i > 0; i--) {
+			int j = r.nextInt(i + 1);
+			Hands h = hands[i];
+			hands[i] = hands[j];
+			hands[j] = h;
+		}
+		return hands;
+	}
+}
@@ -0,0 +1,112 @@
+package bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import model.DiceRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks rolling five dice with each kind of <code>DiceRandom</code>,
+ * and with <code>java.util.Random</code> (JDK) for comparison: one die at
+ * a time, in bulk, and in bulk on four threads, each with its own
+ * generator.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomBenchmark {
+	/**
+	 * The kind of generator: a DiceRandom.Kind, or JDK
+	 */
+	@Param({ "SPLITMIX", "XOSHIRO", "COUNTER", "JDK" })
+	public String kind;
+	
+	private DiceRandom random;
+	private int[] dice;
+	
+	/**
+	 * Creates the generator, seeded with the shared seed
+	 */
+	@Setup
+	public void setUp() {
+		if (kind.equals("JDK"))
+			random = new JdkRandom(Inputs.SEED);
+		else
+			random = DiceRandom.Kind.valueOf(kind).create(Inputs.SEED);
+		dice = new int[5];
+	}
+	
+	/**
+	 * Rolls five dice one at a time
+	 * @return the dice
+	 */
+	@Benchmark
+	public int[] nextDie() {
+		for (int i = 0; i < dice.length; i++)
+			dice[i] = random.nextDie();
+		return dice;
+	}
+	
+	/**
+	 * Rolls five dice in bulk
+	 * @return the dice
+	 */
+	@Benchmark
+	public int[] rollDice() {
+		random.rollDice(dice, 0, dice.length);
+		return dice;
+	}
+	
+	/**
+	 * Rolls five dice in bulk on each of four threads
+	 * @return the dice
+	 */
+	@Benchmark
+	@Threads(4)
+	public int[] rollDiceThreads() {
+		random.rollDice(dice, 0, dice.length);
+		return dice;
+	}
+	
+	// Rolls with java.util.Random, for comparison
+	private static final class JdkRandom extends DiceRandom {
+		private final Random random;
+		
+		JdkRandom(long seed) {
+			random = new Random(seed);
+		}
+		
+		@Override
+		public void setSeed(long seed) {
+			random.setSeed(seed);
+		}
+		
+		@Override
+		public long nextLong() {
+			return random.nextLong();
+		}
+		
+		@Override
+		public int nextDie() {
+			return random.nextInt(6) + 1;
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import model.Hands;
+import model.RerollTable;
+import model.ScoreTable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks choosing dice to hold with the <code>RerollTable</code>: the
+ * best of the 32 holds of a roll for a value of every roll, the best hold
+ * to complete a hand, and the expected value of holding nothing, which
+ * reads all 252 outcomes.  The rolls are drawn from a seeded generator, and
+ * the value of each roll is its Chance score.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RerollTableBenchmark {
+	private int[][] rolls;
+	private double[] rollValues;
+	private int next;
+	
+	/**
+	 * Draws the rolls, and values every roll
+	 */
+	@Setup
+	public void setUp() {
+		rolls = Inputs.rolls(new Random(Inputs.SEED));
+		rollValues = new double[ScoreTable.NUM_ROLLS];
+		for (int r = 0; r < rollValues.length; r++)
+			rollValues[r] = ScoreTable.score(Hands.CHANCE, r);
+	}
+	
+	/**
+	 * Finds the best dice to hold in the next roll
+	 * @return the held mask
+	 */
+	@Benchmark
+	public int bestHold() {
+		return RerollTable.bestHold(nextRoll(), rollValues);
+	}
+	
+	/**
+	 * Finds the dice to hold in the next roll for a large straight
+	 * @return the held mask
+	 */
+	@Benchmark
+	public int bestHoldFor() {
+		return RerollTable.bestHoldFor(nextRoll(), Hands.LARGE_STRAIGHT);
+	}
+	
+	/**
+	 * Finds the expected value of rerolling every die
+	 * @return the expected value
+	 */
+	@Benchmark
+	public double expectedValue() {
+		return RerollTable.expectedValue(RerollTable.keeperOf(nextRoll(), 0), rollValues);
+	}
+	
+	// Cycles through the rolls
+	private int[] nextRoll() {
+		next = (next + 1) & (Inputs.NUM_ROLLS - 1);
+		return rolls[next];
+	}
+}
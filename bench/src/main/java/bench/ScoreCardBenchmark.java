@@ -0,0 +1,94 @@
+package bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import model.Hands;
+import model.Score;
+import model.ScoreCard;
+import model.ScoreValidator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the <code>ScoreCard</code>: filling in a card with setScore(),
+ * and reading a score and the upper total from a full card.  A hand can only
+ * be scored once, so the setScore() benchmark fills in a whole new card per
+ * operation; its time and allocation cover creating the card as well.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreCardBenchmark {
+	private Hands[] order;
+	private int[] points;
+	private ScoreCard full;
+	private Hands[] lookups;
+	private int next;
+	
+	/**
+	 * Draws the order the hands are filled in, their scores, and a full card
+	 */
+	@Setup
+	public void setUp() {
+		Random r = new Random(Inputs.SEED);
+		ScoreValidator validator = ScoreValidator.getInstance();
+		int[][] rolls = Inputs.rolls(r);
+		order = Inputs.shuffledHands(r);
+		points = new int[order.length];
+		for (int i = 0; i < order.length; i++)
+			points[i] = validator.scoreHand(order[i], rolls[i]);
+		full = new ScoreCard();
+		for (int i = 0; i < order.length; i++)
+			full.setScore(order[i], points[i]);
+		lookups = new Hands[Inputs.NUM_ROLLS];
+		Hands[] hands = Hands.values();
+		for (int i = 0; i < lookups.length; i++)
+			lookups[i] = hands[r.nextInt(hands.length)];
+	}
+	
+	/**
+	 * Fills in every hand of a new score card
+	 * @return the full card
+	 */
+	@Benchmark
+	public ScoreCard setScore() {
+		ScoreCard card = new ScoreCard();
+		for (int i = 0; i < order.length; i++)
+			card.setScore(order[i], points[i]);
+		return card;
+	}
+	
+	/**
+	 * Looks up the score of a hand on a full card
+	 * @return the score
+	 */
+	@Benchmark
+	public Score getScore() {
+		next = (next + 1) & (Inputs.NUM_ROLLS - 1);
+		return full.getScore(lookups[next]);
+	}
+	
+	/**
+	 * Totals the upper section of a full card
+	 * @return the upper total
+	 */
+	@Benchmark
+	public int getUpperTotal() {
+		return full.getUpperTotal();
+	}
+}
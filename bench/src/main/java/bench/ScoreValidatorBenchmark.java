@@ -0,0 +1,84 @@
+package bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import model.Hands;
+import model.ScoreValidator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks scoring a roll with the <code>ScoreValidator</code>, one hand
+ * at a time for each hand category, and every hand at once.  The rolls are
+ * drawn from a seeded generator, so every run scores the same rolls.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreValidatorBenchmark {
+	/**
+	 * The hand category scored by scoreHand()
+	 */
+	@Param({ "ONES", "TWOS", "THREES", "FOURS", "FIVES", "SIXES",
+		"THREE_OF_A_KIND", "FOUR_OF_A_KIND", "FULL_HOUSE", 
+		"SMALL_STRAIGHT", "LARGE_STRAIGHT", "YAHTZEE", "CHANCE" })
+	public String hand;
+	
+	private ScoreValidator validator;
+	private Hands scored;
+	private int[][] rolls;
+	private int[] scores;
+	private int next;
+	
+	/**
+	 * Draws the rolls to score
+	 */
+	@Setup
+	public void setUp() {
+		validator = ScoreValidator.getInstance();
+		scored = Hands.valueOf(hand);
+		rolls = Inputs.rolls(new Random(Inputs.SEED));
+		scores = new int[Hands.values().length];
+	}
+	
+	/**
+	 * Scores the next roll for the hand category
+	 * @return the score
+	 */
+	@Benchmark
+	public int scoreHand() {
+		return validator.scoreHand(scored, nextRoll());
+	}
+	
+	/**
+	 * Scores the next roll for every hand category
+	 * @return the scores
+	 */
+	@Benchmark
+	public int[] scoreAll() {
+		validator.scoreAll(nextRoll(), scores);
+		return scores;
+	}
+	
+	// Cycles through the rolls
+	private int[] nextRoll() {
+		next = (next + 1) & (Inputs.NUM_ROLLS - 1);
+		return rolls[next];
+	}
+}
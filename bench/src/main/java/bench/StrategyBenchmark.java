@@ -0,0 +1,139 @@
+package bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import model.DiceRandom;
+import model.FourAndUpStrategy;
+import model.Hands;
+import model.OfAKinderStrategy;
+import model.OptimalStrategy;
+import model.RandomStrategy;
+import model.ScoreTable;
+import model.Strategy;
+import model.UpperSectionerStrategy;
+import model.sim.Policies;
+import model.sim.Policy;
+import model.sim.SimGame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the decisions of each computer strategy: which dice to hold
+ * and which hand to score.  The interactive strategies make their decisions
+ * on their own threads, between animation pauses, so the decisions are
+ * measured through the Policy that makes the same decisions (see Policies).
+ *
+ * Each benchmark cycles through positions drawn from a seeded generator: a
+ * score card with some hands filled in, and the first or second roll of a
+ * turn.
+ * The whole of a simulated game is measured as well.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyBenchmark {
+	// The number of positions to cycle through (a power of two)
+	private static final int numPositions = 256;
+	
+	/**
+	 * The strategy to benchmark
+	 */
+	@Param({ "Random", "OfAKinder", "UpperSectioner", "FourAndUp", "Optimal" })
+	public String strategy;
+	
+	private Policy policy;
+	private SimGame[] positions;
+	private SimGame game;
+	private int next;
+	
+	/**
+	 * Creates the policy and draws the positions.  The Optimal strategy 
+	 * solves its table here, which takes a few seconds.
+	 */
+	@Setup
+	public void setUp() {
+		policy = Policies.forStrategy(create(strategy));
+		Random r = new Random(Inputs.SEED);
+		int[][] rolls = Inputs.rolls(r);
+		positions = new SimGame[numPositions];
+		for (int i = 0; i < numPositions; i++) {
+			SimGame position = new SimGame(DiceRandom.create(r.nextLong()));
+			
+			// Fill in between 0 and 12 hands, leaving at least one open
+			Hands[] order = Inputs.shuffledHands(r);
+			int filled = r.nextInt(order.length);
+			for (int h = 0; h < filled; h++)
+				position.getScoreCard().setScore(order[h], 
+						r.nextInt(4) == 0 ? 0 : ScoreTable.score(order[h], rolls[i + h]));
+			
+			// Policies are only asked to hold dice with a roll left
+			position.setPosition(rolls[i], 0, r.nextInt(2) + 1);
+			positions[i] = position;
+		}
+		game = new SimGame(DiceRandom.create(Inputs.SEED));
+	}
+	
+	/**
+	 * Decides which dice to hold in the next position
+	 * @return the dice held
+	 */
+	@Benchmark
+	public int holdDice() {
+		return policy.holdDice(nextPosition());
+	}
+	
+	/**
+	 * Decides which hand to score in the next position
+	 * @return the hand scored
+	 */
+	@Benchmark
+	public Hands chooseHand() {
+		return policy.chooseHand(nextPosition());
+	}
+	
+	/**
+	 * Plays a whole simulated game, 13 turns of holds and scores
+	 * @return the final score
+	 */
+	@Benchmark
+	public int playGame() {
+		return game.play(policy);
+	}
+	
+	// Cycles through the positions
+	private SimGame nextPosition() {
+		next = (next + 1) & (numPositions - 1);
+		return positions[next];
+	}
+	
+	// Creates the strategy with the given name
+	private static Strategy create(String name) {
+		if (name.equals("Random"))
+			return new RandomStrategy();
+		if (name.equals("OfAKinder"))
+			return new OfAKinderStrategy();
+		if (name.equals("UpperSectioner"))
+			return new UpperSectionerStrategy();
+		if (name.equals("FourAndUp"))
+			return new FourAndUpStrategy();
+		if (name.equals("Optimal"))
+			return new OptimalStrategy();
+		throw new IllegalArgumentException(name);
+	}
+}
@@ -0,0 +1,105 @@
+package model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A <code>BinaryInput</code> reads the compact binary formats written by a
+ * BinaryOutput from a ByteBuffer, usually a file mapped into memory.
+ * Reading past the end of the buffer throws BufferUnderflowException.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+final class BinaryInput {
+	private final ByteBuffer buf;
+	
+	/**
+	 * Constructs a BinaryInput reading from the buffer's position to its limit
+	 * @param buf the buffer
+	 */
+	BinaryInput(ByteBuffer buf) {
+		this.buf = buf;
+	}
+	
+	/**
+	 * Reads one byte
+	 * @return the byte, from 0 to 255
+	 */
+	int readByte() {
+		return buf.get() & 0xFF;
+	}
+	
+	/**
+	 * Reads a varint
+	 * @return the number
+	 * @throws IllegalStateException if the varint is longer than ten bytes
+	 */
+	long readVarint() {
+		long v = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = buf.get();
+			v |= (long) (b & 0x7F) << shift;
+			if (b >= 0)
+				return v;
+		}
+		throw new IllegalStateException("Malformed varint at " + buf.position());
+	}
+	
+	/**
+	 * Reads a varint that fits in an int
+	 * @return the number
+	 */
+	int readInt() {
+		return (int) readVarint();
+	}
+	
+	/**
+	 * Reads an int written as four bytes
+	 * @return the int
+	 */
+	int readFixedInt() {
+		return buf.getInt();
+	}
+	
+	/**
+	 * Reads a long written as eight bytes
+	 * @return the long
+	 */
+	long readLong() {
+		return buf.getLong();
+	}
+	
+	/**
+	 * Reads a String written by BinaryOutput.writeString()
+	 * @return the String
+	 */
+	String readString() {
+		byte[] bytes = new byte[readInt()];
+		buf.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Returns the position of the next byte to read
+	 * @return the position
+	 */
+	int position() {
+		return buf.position();
+	}
+	
+	/**
+	 * Moves to the given position
+	 * @param position the position of the next byte to read
+	 */
+	void seek(int position) {
+		buf.position(position);
+	}
+	
+	/**
+	 * Returns whether there are bytes left to read
+	 * @return true if there are more bytes
+	 */
+	boolean hasRemaining() {
+		return buf.hasRemaining();
+	}
+}
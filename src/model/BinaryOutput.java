@@ -0,0 +1,124 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A <code>BinaryOutput</code> collects the bytes of the compact binary
+ * formats (the GameJournal and its keyframes) in a growable array, to be
+ * written to a channel in one call.  Counts and scores are written as
+ * varints: seven bits a byte, low bits first, with the high bit set on
+ * every byte but the last, so small numbers take one byte.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+final class BinaryOutput {
+	private byte[] buf;
+	private int size;
+	
+	/**
+	 * Constructs an empty BinaryOutput
+	 * @param capacity the initial capacity, in bytes
+	 */
+	BinaryOutput(int capacity) {
+		buf = new byte[capacity];
+	}
+	
+	/**
+	 * Writes one byte
+	 * @param b the byte, in the low 8 bits
+	 */
+	void writeByte(int b) {
+		ensure(1);
+		buf[size++] = (byte) b;
+	}
+	
+	/**
+	 * Writes a number that is never negative as a varint
+	 * @param v the number
+	 */
+	void writeVarint(long v) {
+		ensure(10);
+		while ((v & ~0x7FL) != 0) {
+			buf[size++] = (byte) ((v & 0x7F) | 0x80);
+			v >>>= 7;
+		}
+		buf[size++] = (byte) v;
+	}
+	
+	/**
+	 * Writes an int as four bytes, high byte first
+	 * @param v the int
+	 */
+	void writeFixedInt(int v) {
+		ensure(4);
+		for (int shift = 24; shift >= 0; shift -= 8)
+			buf[size++] = (byte) (v >>> shift);
+	}
+	
+	/**
+	 * Writes a long as eight bytes, high byte first
+	 * @param v the long
+	 */
+	void writeLong(long v) {
+		ensure(8);
+		for (int shift = 56; shift >= 0; shift -= 8)
+			buf[size++] = (byte) (v >>> shift);
+	}
+	
+	/**
+	 * Writes a String as the varint length of its UTF-8 bytes, then the bytes
+	 * @param s the String
+	 */
+	void writeString(String s) {
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		writeVarint(bytes.length);
+		ensure(bytes.length);
+		System.arraycopy(bytes, 0, buf, size, bytes.length);
+		size += bytes.length;
+	}
+	
+	/**
+	 * Returns the number of bytes written
+	 * @return the size
+	 */
+	int size() {
+		return size;
+	}
+	
+	/**
+	 * Returns a copy of the bytes written
+	 * @return the bytes
+	 */
+	byte[] toByteArray() {
+		return Arrays.copyOf(buf, size);
+	}
+	
+	/**
+	 * Discards the bytes written
+	 */
+	void reset() {
+		size = 0;
+	}
+	
+	/**
+	 * Writes every byte written so far to the channel, and discards them
+	 * @param channel the channel
+	 * @throws IOException if the channel cannot be written
+	 */
+	void drainTo(WritableByteChannel channel) throws IOException {
+		ByteBuffer bytes = ByteBuffer.wrap(buf, 0, size);
+		while (bytes.hasRemaining())
+			channel.write(bytes);
+		size = 0;
+	}
+	
+	// Grows the array, if need be, to take n more bytes
+	private void ensure(int n) {
+		if (size + n > buf.length)
+			buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + n));
+	}
+}
@@ -0,0 +1,52 @@
+package model;
+
+import model.sim.Policy;
+import model.sim.SimGame;
+import model.sim.SimScoreCard;
+
+/**
+ * A <code>DeciderPolicy</code> makes the decisions of a TurnDecider in a
+ * simulated game, from a TurnState of the SimGame (see
+ * TurnDriver.simulate()).  The deciders of this package never keep a
+ * state past the call it is given to, so for them one TurnState is reset
+ * for every decision, and deciding creates no objects.  Any other decider
+ * is given a new TurnState for each decision, so the states it sees never
+ * change.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+final class DeciderPolicy implements Policy {
+	private final TurnDecider decider;
+	private final boolean reuse;			// Whether to reset one state
+	private final int[] roll = new int[5];
+	private TurnState state;
+
+	// Constructs the Policy of the given decider
+	DeciderPolicy(TurnDecider decider) {
+		this.decider = decider;
+		this.reuse = decider.getClass().getPackage() == DeciderPolicy.class.getPackage();
+	}
+
+	@Override
+	public int holdDice(SimGame game) {
+		return decider.holdDice(state(game));
+	}
+
+	@Override
+	public Hands chooseHand(SimGame game) {
+		return decider.chooseHand(state(game));
+	}
+
+	// Returns the state of the game's turn
+	private TurnState state(SimGame game) {
+		SimScoreCard sc = game.getScoreCard();
+		game.getRoll(roll);
+		if (state == null || !reuse)
+			state = new TurnState(roll, game.getHeldMask(), game.getNumRolls(), sc.getTakenMask(),
+					sc.getUpperTotal(), sc.canTakeYahtzeeBonus(), game.getRandom());
+		else
+			state.reset(roll, game.getHeldMask(), game.getNumRolls(), sc.getTakenMask(),
+					sc.getUpperTotal(), sc.canTakeYahtzeeBonus(), game.getRandom());
+		return state;
+	}
+}
@@ -1,30 +1,32 @@
 package model;
 
-import java.util.Observable;
-import java.util.Random;
+import java.util.EnumSet;
+
+import model.GameEvent.Change;
 
 /**
  * A <code>Dice</code> object consists of a rack of five dice for 
- * use in a Yahtzee game.  Since a Yahtzee game can only have
- * one set of five dice, this class implements the Singleton
- * design pattern.
+ * use in a Yahtzee game.  Each Game has one set of five dice
+ * (see Game.getDice()).  The Dice of the default Game are available
+ * through getInstance().  Each change is sent to the listeners as a
+ * GameEvent: rolling sends DICE and ROLLS with the dice rolled, holding
+ * sends HOLDS with the die held, and resetting sends HOLDS and ROLLS.
+ * 
+ * The dice are rolled with a DiceRandom, which can be replaced or 
+ * reseeded so that a game can be played again with the same rolls.
+ * Each roll, hold, and reset is passed to the Game the dice are played in,
+ * which awards the Yahtzee bonus and records it to its GameJournal.
  * @author Aaron Lamb
  * @version 2.0.1  2/2/2012
  */
-public class Dice extends Observable {
-	// The single instance of the dice class
-	private static Dice instance;
-	
+public class Dice extends EventSource {
 	/**
-	 * The <code>Dice</code> object implements the Singleton
-	 * design pattern, and can therefore have only one instance
-	 * of the class.  This method returns the instance.
-	 * @return the single instance of the <code>Dice</code> class
+	 * Returns the Dice of the default Game, the Game played by the GUI
+	 * (see SessionRegistry.getDefaultSession())
+	 * @return the Dice of the default Game
 	 */
 	public static Dice getInstance() {
-		if (instance == null)
-			instance = new Dice();
-		return instance;
+		return SessionRegistry.getInstance().getDefaultSession().getDice();
 	}
 	
 	// The number of dice in the race (5 for a regular Yahtzee game)
@@ -34,14 +36,15 @@ public class Dice extends Observable {
 	private int[] dice;
 	private boolean[] holds;
 	private int rolls;
-	private Random r;
+	private DiceRandom random;
+	private Game game;		// The Game the Dice are played in
 	
-	// Private constructor enforces the Singleton design pattern
-	private Dice() {
+	// Dice are created for a GameSession, with the session's generator
+	Dice(DiceRandom random) {
 		status = DiceStatus.READY;
 		dice = new int[numDice];
 		holds = new boolean[numDice];
-		r = new Random();
+		this.random = random;
 		roll(); // We won't expect the GUI to be able to display zeros, so we'll
 				// get some initial numbers for the dice
 	}
@@ -55,29 +58,98 @@ public class Dice extends Observable {
 	public void roll() {
 		status = DiceStatus.ROLLING;
 		if (rolls < 3) {
+			int rolled = 0;
 			for (int i = 0; i < numDice; i++) {
-				if (!holds[i])
-					dice[i] = r.nextInt(6) + 1;
+				if (!holds[i]) {
+					dice[i] = random.nextDie();
+					rolled |= 1 << i;
+				}
 			}
 			rolls++;
 			if (rolls > 2)
 				status = DiceStatus.OUT_OF_ROLLS;
-			setChanged();
-			notifyObservers();
+			if (game != null)
+				game.diceRolled(dice);
+			fire(new GameEvent(this, EnumSet.of(Change.DICE, Change.ROLLS), rolled, 0, null, null, null));
 			
 		} else {
 			throw new IndexOutOfBoundsException();
 		}
 	}
 	
+	// Called by the Game the Dice are played in, which is told of each
+	// roll, hold, and reset
+	void setGame(Game game) {
+		this.game = game;
+	}
+	
+	// Restores the roll, held dice, and number of rolls of a saved state,
+	// and notifies listeners
+	void restore(int[] roll, int heldMask, int rolls) {
+		int released = heldMask ^ getHeldMask();
+		for (int i = 0; i < numDice; i++) {
+			dice[i] = roll[i];
+			holds[i] = (heldMask >>> i & 1) != 0;
+		}
+		this.rolls = rolls;
+		if (rolls == 0)
+			status = DiceStatus.READY;
+		else if (rolls > 2)
+			status = DiceStatus.OUT_OF_ROLLS;
+		else
+			status = DiceStatus.ROLLING;
+		fire(new GameEvent(this, EnumSet.of(Change.DICE, Change.HOLDS, Change.ROLLS), 
+				(1 << numDice) - 1, released, null, null, null));
+	}
+	
+	// Returns the held dice as a bit mask
+	int getHeldMask() {
+		int mask = 0;
+		for (int i = 0; i < numDice; i++) {
+			if (holds[i])
+				mask |= 1 << i;
+		}
+		return mask;
+	}
+	
+	/**
+	 * Returns the generator the dice are rolled with.  Computer Strategies
+	 * that make random choices should draw from it too, so that a game
+	 * seeded the same way plays the same way.
+	 * @return the DiceRandom
+	 */
+	public DiceRandom getRandom() {
+		return random;
+	}
+	
+	/**
+	 * Replaces the generator the dice are rolled with
+	 * @param random the new DiceRandom
+	 * @throws IllegalArgumentException if random is null
+	 */
+	public void setRandom(DiceRandom random) {
+		if (random == null)
+			throw new IllegalArgumentException();
+		this.random = random;
+	}
+	
+	/**
+	 * Reseeds the generator the dice are rolled with
+	 * @param seed the new seed
+	 */
+	public void setSeed(long seed) {
+		random.setSeed(seed);
+	}
+	
 	/**
 	 * "Toggles" the current die between held or not held
 	 * @param die the die to be toggled
 	 */
 	public void toggleDie(int die) {
 		holds[die] = (holds[die]) ? false : true;
-		setChanged();
-		notifyObservers();
+		if (game != null)
+			game.diceToggled(die);
+		fire(new GameEvent(this, EnumSet.of(Change.HOLDS), 0, 1 << die, null, null, null));
 	}
 	
 	/**
@@ -118,10 +190,16 @@ public class Dice extends Observable {
 	 * Resets the dice for the next turn
 	 */
 	public void reset() {
+		int released = 0;
+		for (int i = 0; i < numDice; i++) {
+			if (holds[i])
+				released |= 1 << i;
+		}
 		holds = new boolean[numDice];
 		rolls = 0;
 		status = DiceStatus.READY;
-		setChanged();
-		notifyObservers();
+		if (game != null)
+			game.diceReset();
+		fire(new GameEvent(this, EnumSet.of(Change.HOLDS, Change.ROLLS), 0, released, null, null, null));
 	}
 }
\ No newline at end of file
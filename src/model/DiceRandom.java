@@ -0,0 +1,183 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A <code>DiceRandom</code> is a small, fast, seedable random number
+ * generator for rolling dice.  Unlike <code>java.util.Random</code> it has
+ * no shared state and no atomic updates, so every thread or game can own
+ * one without contention, and a generator seeded with the same seed always
+ * rolls the same dice.
+ *
+ * Several generators are available (see Kind), all with the same methods.
+ * Independent streams are derived from one master seed with seedFor(): a
+ * simulation that seeds game number g with seedFor(seed, g) rolls the same
+ * dice for every game whichever thread plays it, so its results are the
+ * same for any number of threads.
+ *
+ * A <code>DiceRandom</code> is not thread safe.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public abstract class DiceRandom {
+	/**
+	 * The system property that chooses the default Kind of generator
+	 * (splitmix, xoshiro, or counter)
+	 */
+	public static final String KIND_PROPERTY = "yahtzee.random";
+
+	/**
+	 * The kinds of generator
+	 */
+	public enum Kind {
+		/**
+		 * SplitMix64, the generator behind java.util.SplittableRandom: one
+		 * long of state, and the fastest to seed
+		 */
+		SPLITMIX {
+			@Override
+			public DiceRandom create(long seed) {
+				return new SplitMixRandom(seed);
+			}
+		},
+		/**
+		 * xoshiro256**: four longs of state, and a period of 2^256 - 1
+		 */
+		XOSHIRO {
+			@Override
+			public DiceRandom create(long seed) {
+				return new XoshiroRandom(seed);
+			}
+		},
+		/**
+		 * A counter-based generator: the nth number of a stream is a keyed
+		 * hash of n, so any position in the stream can be jumped to
+		 */
+		COUNTER {
+			@Override
+			public DiceRandom create(long seed) {
+				return new CounterRandom(seed);
+			}
+		};
+
+		/**
+		 * Creates a generator of this kind
+		 * @param seed the seed
+		 * @return the new generator
+		 */
+		public abstract DiceRandom create(long seed);
+	}
+
+	// The golden ratio increment of the SplitMix64 generator
+	static final long gamma = 0x9E3779B97F4A7C15L;
+
+	// Makes the seeds returned by newSeed() differ from call to call
+	private static final AtomicLong seedUniquifier = new AtomicLong(System.nanoTime());
+
+	/**
+	 * Creates a generator of the default Kind: the kind named by the system
+	 * property <code>yahtzee.random</code>, or SPLITMIX
+	 * @param seed the seed
+	 * @return the new generator
+	 */
+	public static DiceRandom create(long seed) {
+		return getDefaultKind().create(seed);
+	}
+
+	/**
+	 * Returns the default Kind of generator: the kind named by the system
+	 * property <code>yahtzee.random</code>, or SPLITMIX
+	 * @return the default Kind
+	 * @throws IllegalArgumentException if the property names no Kind
+	 */
+	public static Kind getDefaultKind() {
+		String name = System.getProperty(KIND_PROPERTY);
+		if (name == null)
+			return Kind.SPLITMIX;
+		return Kind.valueOf(name.trim().toUpperCase());
+	}
+
+	/**
+	 * Returns a seed that differs from those of every other call, for
+	 * dice that do not need to be reproducible
+	 * @return a new seed
+	 */
+	public static long newSeed() {
+		return mix(seedUniquifier.addAndGet(gamma) ^ System.nanoTime());
+	}
+
+	/**
+	 * Derives the seed of one game (or any other numbered stream) from a
+	 * master seed, so that every game of a simulation can be replayed on
+	 * its own, whichever thread plays it.
+	 * @param seed the master seed
+	 * @param stream the number of the game
+	 * @return the seed for the game
+	 */
+	public static long seedFor(long seed, long stream) {
+		return mix(seed ^ mix(stream * gamma + gamma));
+	}
+
+	/**
+	 * Reseeds the generator
+	 * @param seed the new seed
+	 */
+	public abstract void setSeed(long seed);
+
+	/**
+	 * Returns the next 64 random bits
+	 * @return a random long
+	 */
+	public abstract long nextLong();
+
+	/**
+	 * Rolls one die
+	 * @return a random face from 1 to 6
+	 */
+	public int nextDie() {
+		return (int) (((nextLong() >>> 32) * 6) >>> 32) + 1;
+	}
+
+	/**
+	 * Rolls dice into dice[from] to dice[to - 1].  This draws one long for
+	 * every two dice, so it is faster than calling nextDie() for each, but
+	 * it rolls different faces.
+	 * @param dice the array to receive the faces, each from 1 to 6
+	 * @param from the first index to fill
+	 * @param to the index after the last to fill
+	 */
+	public void rollDice(int[] dice, int from, int to) {
+		int i = from;
+		for (; i + 1 < to; i += 2) {
+			long bits = nextLong();
+			dice[i] = (int) (((bits >>> 32) * 6) >>> 32) + 1;
+			dice[i + 1] = (int) (((bits & 0xFFFFFFFFL) * 6) >>> 32) + 1;
+		}
+		if (i < to)
+			dice[i] = nextDie();
+	}
+
+	/**
+	 * Returns a random int from 0 (inclusive) to bound (exclusive)
+	 * @param bound the upper bound, which must be positive
+	 * @return a random int less than bound
+	 */
+	public int nextInt(int bound) {
+		return (int) (((nextLong() >>> 32) * bound) >>> 32);
+	}
+
+	/**
+	 * Returns a random boolean
+	 * @return true or false, with equal probability
+	 */
+	public boolean nextBoolean() {
+		return nextLong() < 0;
+	}
+
+	// The SplitMix64 finalizer
+	static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -0,0 +1,46 @@
+package model;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The <code>EventBus</code> delivers the GameEvents of one session (its Dice
+ * and its Game) to their listeners, one event at a time and in the order
+ * they were fired, whichever threads fire them.
+ *
+ * Firing never blocks and takes no lock.  The event is queued, and the
+ * thread that finds no delivery in progress delivers every queued event
+ * until the queue is empty; a thread that fires while another is delivering
+ * returns at once, leaving its event to that thread.  A listener with an
+ * executor is handed its event on that executor, in the same order, so a
+ * single-threaded executor such as the Swing event dispatch thread sees the
+ * events of a session in order.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+final class EventBus {
+	private final Queue<GameEvent> queue = new ConcurrentLinkedQueue<GameEvent>();
+
+	// The number of events posted and not yet delivered; the thread that
+	// raises it from 0 delivers until it falls back to 0
+	private final AtomicInteger pending = new AtomicInteger();
+
+	/**
+	 * Queues the event for delivery to the listeners of its source, and
+	 * delivers it (and any others queued) if no other thread is delivering
+	 * @param event the event, whose source is an EventSource using this bus
+	 */
+	void post(GameEvent event) {
+		queue.offer(event);
+		if (pending.getAndIncrement() != 0)
+			return;
+		int missed = 1;
+		do {
+			GameEvent next;
+			while ((next = queue.poll()) != null)
+				((EventSource) next.getSource()).deliver(next);
+			missed = pending.addAndGet(-missed);
+		} while (missed != 0);
+	}
+}
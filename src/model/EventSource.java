@@ -0,0 +1,219 @@
+package model;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An <code>EventSource</code> is a model object that tells its listeners of
+ * each change with a <code>GameEvent</code>.
+ *
+ * A listener is either called directly, by the thread delivering the event,
+ * or handed each event on its own executor.  The Swing views, for example,
+ * are handed their events on the event dispatch thread, however many turn
+ * threads change the model.  Events are delivered by an EventBus shared by
+ * the Dice and Game of a session, so every listener sees the events of a
+ * session in the order they were fired.  Adding and removing listeners
+ * copies the list of listeners, so firing an event takes no lock.
+ *
+ * Changes a thread makes between beginUpdate() and endUpdate() are
+ * coalesced: the listeners are notified once, when the thread's outermost
+ * endUpdate() is called, with a single event describing all of them.  A
+ * Strategy holding several dice, for example, notifies the listeners of the
+ * Dice once rather than once per die.  Calls to beginUpdate() and
+ * endUpdate() nest, and every beginUpdate() must be matched by an
+ * endUpdate() on the same thread, in a finally block.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public abstract class EventSource {
+	private static final Logger log = Logger.getLogger(EventSource.class.getName());
+
+	// The time taken to hand each event to the listeners, and for a
+	// listener with an executor to handle it there
+	private static final LatencyHistogram dispatchTime = Metrics.histogram(Metrics.EVENT_DISPATCH);
+	private static final LatencyHistogram deliveryTime = Metrics.histogram(Metrics.EVENT_DELIVERY);
+
+	private final EventBus bus;
+	private final List<Registration> listeners = new CopyOnWriteArrayList<Registration>();
+
+	// The logical action in progress on each thread, if any
+	private final ThreadLocal<Update> update = new ThreadLocal<Update>();
+
+	/**
+	 * Constructs an EventSource with its own EventBus
+	 */
+	EventSource() {
+		this(new EventBus());
+	}
+
+	/**
+	 * Constructs an EventSource whose events are delivered in order with
+	 * those of the other sources sharing the EventBus
+	 * @param bus the EventBus of the session
+	 */
+	EventSource(EventBus bus) {
+		this.bus = bus;
+	}
+
+	/**
+	 * Returns the EventBus delivering this source's events
+	 * @return the EventBus
+	 */
+	EventBus getEventBus() {
+		return bus;
+	}
+
+	/**
+	 * Registers a listener to be called directly, on the thread delivering
+	 * each event.  The listener should return quickly and must not block.
+	 * @param listener the listener to add
+	 */
+	public void addListener(GameListener listener) {
+		addListener(listener, null);
+	}
+
+	/**
+	 * Registers a listener to be handed each event on the given executor
+	 * @param listener the listener to add
+	 * @param executor the executor to run the listener on, or null to call
+	 * it directly
+	 * @throws IllegalArgumentException if listener is null
+	 */
+	public void addListener(GameListener listener, Executor executor) {
+		if (listener == null)
+			throw new IllegalArgumentException("listener is null");
+		listeners.add(new Registration(listener, executor));
+	}
+
+	/**
+	 * Removes every registration of the given listener
+	 * @param listener the listener to remove
+	 */
+	public void removeListener(GameListener listener) {
+		for (Registration r : listeners) {
+			if (r.listener == listener)
+				listeners.remove(r);
+		}
+	}
+
+	/**
+	 * Removes every listener
+	 */
+	public void removeListeners() {
+		listeners.clear();
+	}
+
+	/**
+	 * Returns the number of registered listeners
+	 * @return the number of listeners
+	 */
+	public int countListeners() {
+		return listeners.size();
+	}
+
+	/**
+	 * Starts a logical action on the calling thread: its changes are
+	 * collected, not sent, until the matching endUpdate()
+	 */
+	public void beginUpdate() {
+		Update u = update.get();
+		if (u == null) {
+			u = new Update();
+			update.set(u);
+		}
+		u.depth++;
+	}
+
+	/**
+	 * Ends a logical action on the calling thread.  If this ends the
+	 * outermost action and any changes were made, the listeners are
+	 * notified of them in one event.
+	 * @throws IllegalStateException if there is no matching beginUpdate()
+	 */
+	public void endUpdate() {
+		Update u = update.get();
+		if (u == null)
+			throw new IllegalStateException("endUpdate() without beginUpdate()");
+		if (--u.depth > 0)
+			return;
+		update.remove();
+		if (u.event != null)
+			bus.post(u.event);
+	}
+
+	/**
+	 * Notifies the listeners of a change, or collects it if a logical
+	 * action is in progress on the calling thread
+	 * @param event the change
+	 */
+	protected void fire(GameEvent event) {
+		Update u = update.get();
+		if (u != null)
+			u.event = (u.event == null) ? event : u.event.merge(event);
+		else
+			bus.post(event);
+	}
+
+	/**
+	 * Hands the event to each listener, in the order they were added.  This
+	 * is called by the EventBus, one event at a time.  A listener that fails
+	 * is logged, and does not stop the others from being notified.
+	 * @param event the change
+	 */
+	void deliver(GameEvent event) {
+		long start = Metrics.start();
+		for (Registration r : listeners) {
+			try {
+				if (r.executor == null)
+					r.listener.gameChanged(event);
+				else
+					r.executor.execute(new Delivery(r.listener, event));
+			} catch (RuntimeException ex) {
+				log.log(Level.SEVERE, "A listener failed on " + event, ex);
+			}
+		}
+		dispatchTime.recordSince(start);
+	}
+
+	// A listener and the executor it is run on (null to call it directly)
+	private static final class Registration {
+		final GameListener listener;
+		final Executor executor;
+
+		Registration(GameListener listener, Executor executor) {
+			this.listener = listener;
+			this.executor = executor;
+		}
+	}
+
+	// Hands one event to a listener on its executor
+	private static final class Delivery implements Runnable {
+		private final GameListener listener;
+		private final GameEvent event;
+
+		Delivery(GameListener listener, GameEvent event) {
+			this.listener = listener;
+			this.event = event;
+		}
+
+		@Override
+		public void run() {
+			long start = Metrics.start();
+			try {
+				listener.gameChanged(event);
+			} catch (RuntimeException ex) {
+				log.log(Level.SEVERE, "A listener failed on " + event, ex);
+			}
+			deliveryTime.recordSince(start);
+		}
+	}
+
+	// The nesting depth and collected changes of a thread's logical action
+	private static final class Update {
+		int depth;
+		GameEvent event;
+	}
+}
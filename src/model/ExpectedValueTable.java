@@ -0,0 +1,181 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The <code>ExpectedValueTable</code> holds the expected final score of a
+ * solitaire Yahtzee game played optimally from the start of any turn.
+ * The state at the start of a turn is the set of hands already used on the
+ * score card and the upper section subtotal, capped at 63 (the subtotal that
+ * earns the upper bonus).  Whether a Yahtzee has been scored, which decides
+ * if later Yahtzees earn the 100 point bonus, is part of the set of used
+ * hands: in this game the bonus is paid once the Yahtzee box is filled,
+ * whatever it was filled with.
+ *
+ * The table is solved by dynamic programming, from the full score card
+ * backwards, one number of used hands at a time.  All the states with the
+ * same number of used hands are independent, so each level is solved in
+ * parallel.  The table is solved once, the first time it is needed, and
+ * implements the Singleton design pattern.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class ExpectedValueTable {
+	/**
+	 * The upper section subtotal that earns the upper bonus
+	 */
+	public static final int UPPER_BONUS_THRESHOLD = 63;
+
+	// The number of upper subtotals kept for each set of used hands (0 to 63)
+	static final int numUpper = UPPER_BONUS_THRESHOLD + 1;
+
+	// The number of hands on a score card, and the mask with all of them used
+	static final int numHands = 13;
+	static final int fullMask = (1 << numHands) - 1;
+
+	private static ExpectedValueTable instance;
+	private static Thread solver;
+
+	/**
+	 * Returns the solved table, solving it first if it has not been solved
+	 * yet.  Solving takes a few seconds, so callers that can start early
+	 * should call solveInBackground() first.
+	 * @return the solved ExpectedValueTable
+	 */
+	public static synchronized ExpectedValueTable getInstance() {
+		if (instance == null)
+			instance = solve(Runtime.getRuntime().availableProcessors());
+		return instance;
+	}
+
+	/**
+	 * Starts solving the table on a background thread, if it has not been
+	 * solved or started yet.  This returns immediately.
+	 */
+	public static synchronized void solveInBackground() {
+		if (instance != null || solver != null)
+			return;
+		solver = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				getInstance();
+			}
+		}, "ExpectedValueTable solver");
+		solver.setDaemon(true);
+		solver.start();
+	}
+
+	// The expected future score at the start of a turn, at [mask * numUpper + upper]
+	final double[] value;
+
+	// Private constructor enforces the Singleton pattern
+	private ExpectedValueTable() {
+		value = new double[(fullMask + 1) * numUpper];
+	}
+
+	/**
+	 * Returns the expected final score of a game played optimally from the
+	 * start of a new game
+	 * @return the expected final score of an optimal game
+	 */
+	public double getExpectedScore() {
+		return value[0];
+	}
+
+	/**
+	 * Returns the expected score still to be earned, playing optimally from
+	 * the start of a turn with the given hands used and upper subtotal.
+	 * Bonuses earned in the future are included.
+	 * @param mask the hands used, as a bit mask (see ScoreCard.getTakenMask())
+	 * @param upper the upper section subtotal
+	 * @return the expected score still to be earned
+	 */
+	public double getValue(int mask, int upper) {
+		return value[mask * numUpper + Math.min(upper, UPPER_BONUS_THRESHOLD)];
+	}
+
+	// Solves the table, solving the states of each level of used hands
+	// in parallel across the given number of threads
+	private static ExpectedValueTable solve(int threads) {
+		final ExpectedValueTable table = new ExpectedValueTable();
+		final long[] reachable = reachableUpperTotals();
+		ExecutorService pool = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "ExpectedValueTable worker");
+				t.setDaemon(true);
+				return t;
+			}
+		});
+		try {
+			// The full score card is worth nothing more, so start one hand short
+			for (int used = numHands - 1; used >= 0; used--) {
+				List<Integer> masks = new ArrayList<Integer>();
+				for (int mask = 0; mask < fullMask; mask++) {
+					if (Integer.bitCount(mask) == used)
+						masks.add(mask);
+				}
+
+				// Split the level into a few chunks per thread
+				int chunks = Math.min(masks.size(), threads * 4);
+				List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+				for (int c = 0; c < chunks; c++) {
+					final List<Integer> chunk = masks.subList(
+							c * masks.size() / chunks, (c + 1) * masks.size() / chunks);
+					tasks.add(new Callable<Void>() {
+						@Override
+						public Void call() {
+							TurnEvaluator ev = new TurnEvaluator(table);
+							for (int mask : chunk) {
+								long ups = reachable[mask & 0x3F];
+								for (int up = 0; up < numUpper; up++) {
+									if ((ups >>> up & 1) != 0) {
+										ev.evaluate(mask, up);
+										table.value[mask * numUpper + up] = ev.getTurnValue();
+									}
+								}
+							}
+							return null;
+						}
+					});
+				}
+				for (Future<Void> f : pool.invokeAll(tasks))
+					f.get();
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(ex);
+		} catch (ExecutionException ex) {
+			throw new IllegalStateException(ex.getCause());
+		} finally {
+			pool.shutdown();
+		}
+		return table;
+	}
+
+	// Returns, for each set of used upper hands (the low six bits of a mask),
+	// the upper subtotals that can be reached as a bit set (bit n for subtotal n,
+	// with everything above 63 folded into 63)
+	private static long[] reachableUpperTotals() {
+		long[] reach = new long[64];
+		reach[0] = 1L;
+		for (int upperMask = 1; upperMask < 64; upperMask++) {
+			int face = Integer.numberOfTrailingZeros(upperMask) + 1;
+			long rest = reach[upperMask & (upperMask - 1)];
+			for (int up = 0; up < numUpper; up++) {
+				if ((rest >>> up & 1) != 0) {
+					for (int n = 0; n <= 5; n++)
+						reach[upperMask] |= 1L << Math.min(up + face * n, UPPER_BONUS_THRESHOLD);
+				}
+			}
+		}
+		return reach;
+	}
+}
@@ -1,7 +1,7 @@
 package model;
 
 /**
- * The FourAndUpStrategy implements the Strategy interface.
+ * The FourAndUpStrategy implements the Strategy and TurnDecider interfaces.
  * The FourAndUpStrategy is a computer strategy that takes a Yahtzee turn
  * by rolling the dice and holding die values that are greater than or equal
  * to four. 
@@ -10,8 +10,9 @@ package model;
  * @author Aaron Lamb
  * @version 2.0.1 2/6/2012
  */
-public class FourAndUpStrategy implements Strategy {
+public class FourAndUpStrategy implements Strategy, TurnDecider {
 	private final String name = "Four and Up";
+	private static final Hands[] hands = Hands.values();
 	
 	/**
 	 * Constructs a new FourAndUpStrategy
@@ -20,49 +21,39 @@ public class FourAndUpStrategy implements Strategy {
 	
 	/**
 	 * Take a turn for the computer player
+	 * @param game the Game in which to take the turn
 	 */
 	@Override
-	public void takeTurn() {
-		// Notify the Game object that a computer turn
-		// is in progress
-		Game.getInstance().notifyPlaying(true);
-		
-		// Create a new Thread for the turn
-		StrategyTurn turn = new StrategyTurn();
-		Thread t = new Thread(turn);
-		
-		// Take the turn
-		t.start();
+	public void takeTurn(Game game) {
+		// Play the turn on the Game's turn thread with the
+		// decisions below
+		TurnDriver.takeTurn(game, this);
 	}
 	
-	// Holds the dice for the strategy. See the class documentation
-	// for specifics
-	private void holdDice() {
-		int[] roll = Dice.getInstance().getRoll();
-		for (int i = 0; i < roll.length; i++) {
-			if (roll[i] > 3 && !Dice.getInstance().isHeld(i))
-				Dice.getInstance().toggleDie(i);
+	/**
+	 * Holds the dice for the strategy: every die of four and up, on top of
+	 * the dice already held
+	 * @param state the turn, after the latest roll
+	 * @return the dice to hold
+	 */
+	@Override
+	public int holdDice(TurnState state) {
+		int held = state.getHeldMask();
+		for (int i = 0; i < 5; i++) {
+			if (state.getDie(i) > 3)
+				held |= 1 << i;
 		}
+		return held;
 	}
-		
-	// Records a score for the strategy. See the class documentation
-	// for specific information
-	private void takeScore() {
-		int[] roll = Dice.getInstance().getRoll();
-		ScoreCard sc = Game.getInstance().getPlayers().get(0).getScoreCard();
-		int max = -1;
-		Hands maxHand = null;
-		for (Hands h : Hands.values()) {
-			int score = ScoreValidator.getInstance().scoreHand(h,  roll);
-			if (!sc.getScore(h).getScoreTaken() && score > max) {
-				max = score;
-				maxHand = h;
-			}
-		}
-		if (maxHand != null) {
-			//Dice.getInstance().reset();
-			Game.getInstance().takeScore(maxHand, ScoreValidator.getInstance().scoreHand(maxHand, roll));
-		}
+	
+	/**
+	 * Chooses the open hand that scores the most
+	 * @param state the turn, after the last roll
+	 * @return the hand to score
+	 */
+	@Override
+	public Hands chooseHand(TurnState state) {
+		return state.highestScoring(0, hands.length);
 	}
 
 	/**
@@ -72,27 +63,4 @@ public class FourAndUpStrategy implements Strategy {
 	public String getName() {
 		return name;
 	}
-	
-	// Creates a thread to take the computer turn
-	private class StrategyTurn implements Runnable {
-		@Override
-		public void run() {
-			int timeout = Game.getInstance().getStrategyPlaySpeed();
-			try {
-				while (Dice.getInstance().getNumRolls() < 3) {
-					Dice.getInstance().roll();
-					Thread.sleep(timeout);
-					holdDice();
-					Thread.sleep(timeout);
-				}
-				takeScore();
-				Game.getInstance().notifyPlaying(false);
-				Dice.getInstance().reset();
-				if (!Game.getInstance().isOver())
-					Game.getInstance().nextTurn();
-				else
-					Game.getInstance().showWinner();
-			} catch (Exception ex) { }			
-		}
-	}
 }
\ No newline at end of file
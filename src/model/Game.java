@@ -1,53 +1,72 @@
 package model;
 
+import java.util.EnumSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Observable;
 import java.util.Queue;
 
+import model.GameEvent.Change;
+
 /**
  * A <code>Game</code> object represents an instance of a Yahtzee game.
- * The game object implements the Singleton design pattern, and as such,
- * can only be instantiated one time. This particular design will not work
- * for a multi-game environment, such as a web environment where more than
- * one instance of the game would need to be instantiated, but it does add
- * a layer of security in a single-instance environment.
+ * Each Game belongs to a <code>GameSession</code>, created by the
+ * <code>SessionRegistry</code>, so that many games can be played at once
+ * in one program.  The GUI plays the default Game, returned by getInstance().
+ * 
+ * A <code>Game</code> object includes a queue of <code>Player</code>s, its
+ * own <code>Dice</code>, and a game <code>Status</code>.  Each change is
+ * sent to the listeners as a GameEvent describing what changed, in order
+ * with the events of its Dice.  The computer Strategies play their turns on
+ * their own threads, so the methods that read or change the queue of
+ * Players are synchronized.
  * 
- * A <code>Game</code> object includes a queue of <code>Player</code>s, and a
- * game <code>Status</code>.
+ * A Game can record its actions, and those of its Dice, to a GameJournal
+ * (see GameJournal.open()), from which the game can be replayed, and the
+ * final scores of its games to a ResultsStore (see setResultsStore()).
  * @author Aaron Lamb
  * @version 2.0.1 2/6/2012
  */
-public class Game extends Observable {
-	private static Game instance;
-	
+public class Game extends EventSource {
 	/**
-	 * Returns the current instance of the Game object
-	 * @return the current instance of the Game object
+	 * Returns the default Game, the Game played by the GUI
+	 * (see SessionRegistry.getDefaultSession())
+	 * @return the default Game
 	 */
 	public static Game getInstance() {
-		if (instance == null)
-			instance = new Game();
-		return instance;
+		return SessionRegistry.getInstance().getDefaultSession().getGame();
 	}
 	
+	private final Dice dice;			// The Dice for this Game
 	private Status status;				// The current Status of the Game
 	private Queue<Player> players; 		// The LIFO queue of Players in the game
 										// (determines turn order)
 	
 	private int strategyPlaySpeed;		// The play speed (rather, timeout) for the 
 										// Stategy game play
-	private Boolean strategyPlaying;	// A boolean conditional that lets us know
-										// if another strategy is playing its turn
+	private final TurnScheduler scheduler;	// Hands the turn from Player to Player
+	private volatile GameJournal journal;	// The journal recording the Game, if any
+	private volatile ResultsStore results;	// The store of finished games, if any
 	
-	// Private constructor implements Singleton pattern
-	private Game() {
+	// Games are created for a GameSession, with the session's Dice, and
+	// deliver their events on the same EventBus as the Dice
+	Game(Dice dice) {
+		super(dice.getEventBus());
+		this.dice = dice;
+		dice.setGame(this);
 		players = new LinkedList<Player>();
 		setStatus(Status.UNINITIALIZED);
-		strategyPlaying = false;
+		scheduler = new TurnScheduler(this);
 		strategyPlaySpeed = 500;
 	}
 	
+	/**
+	 * Returns the Dice used in this Game
+	 * @return the Dice for this Game
+	 */
+	public Dice getDice() {
+		return dice;
+	}
+	
 	/**
 	 * Gets the current Status of the Game
 	 * @return the current Status of the Game
@@ -57,20 +76,22 @@ public class Game extends Observable {
 	}
 	
 	/**
-	 * Set the current Status of the Game, notifies observers
+	 * Set the current Status of the Game, notifies listeners
 	 * @param status the Status to set
 	 * @throws IllegalArgumentException if status is null
 	 */
-	public void setStatus(Status status) {
+	public synchronized void setStatus(Status status) {
 		if (status == null)
 			throw new IllegalArgumentException();
 		this.status = status;
-		setChanged();
-		notifyObservers();
+		GameJournal j = journal;
+		if (j != null)
+			j.statusSet(status);
+		fire(new GameEvent(this, Change.STATUS));
 	}
 	
 	/**
-	 * Adds a new Player to the Game, notifies observers
+	 * Adds a new Player to the Game, notifies listeners
 	 * This should not be called when the game status is GAME_IN_PROGRESS, 
 	 * or it will not add the Player and return null. Players cannot be 
 	 * added in the middle of a game.
@@ -78,7 +99,7 @@ public class Game extends Observable {
 	 * @return true if the Player is added
 	 * @throws IllegalArgumentException if the player is null
 	 */
-	public Boolean addPlayer(Player p) {
+	public synchronized Boolean addPlayer(Player p) {
 		if (p == null) 
 			throw new IllegalArgumentException();
 		if (status.equals(Status.GAME_IN_PROGRESS))
@@ -86,9 +107,11 @@ public class Game extends Observable {
 		if (players.size() == 0)
 			p.markFirst();
 		players.add(p);
+		GameJournal j = journal;
+		if (j != null)
+			j.joined(p);
 		
-		setChanged();
-		notifyObservers();
+		fire(new GameEvent(this, Change.PLAYERS));
 		
 		return true;		
 	}
@@ -99,30 +122,45 @@ public class Game extends Observable {
 	 * Player at the front of the list the current Player.
 	 * @return a list of the Players in the Game, in order of current turn
 	 */
-	public List<Player> getPlayers() {
+	public synchronized List<Player> getPlayers() {
 		List<Player> output = new LinkedList<Player>(players);
 		return output;
 	}
 	
+	/**
+	 * Returns the current Player: the Player at the front of the list
+	 * returned by getPlayers(), without copying the list
+	 * @return the current Player, or null if there are no Players
+	 */
+	public synchronized Player getCurrentPlayer() {
+		return players.peek();
+	}
+	
 	/**
 	 * Records the passed score for the passed hand for the current
-	 * Player, and notifies the observers.
+	 * Player, and notifies the listeners.
 	 * @param hand the hand to score
 	 * @param score the score for the hand
 	 * @return true if the score can be taken, false if it cannot be
 	 * taken (i.e. if it has already been taken)
 	 * @throws IllegalArgumentException if hand is null
 	 */
-	public Boolean takeScore(Hands hand, int score) {
+	public synchronized Boolean takeScore(Hands hand, int score) {
 		if (hand.equals(null))
 			throw new IllegalArgumentException();
+		if (scheduler.isCancelled())
+			return false;
 		if (players.peek().getScoreCard().getScore(hand).getScoreTaken()) 
 			return false;
-		players.peek().takeScore(hand, score);
-		players.add(players.remove());
+		Player scorer = players.remove();
+		scorer.takeScore(hand, score);
+		players.add(scorer);
+		GameJournal j = journal;
+		if (j != null)
+			j.scored(hand, score);
 		
-		setChanged();
-		notifyObservers();
+		fire(new GameEvent(this, EnumSet.of(Change.SCORE, Change.TURN), 0, 0, 
+				scorer, hand, players.peek()));
 		
 		return true;
 	}
@@ -132,7 +170,7 @@ public class Game extends Observable {
 	 * @return true if the Strategy is currently playing
 	 */
 	public Boolean getStrategyPlaying() {
-		return strategyPlaying;
+		return scheduler.isPlaying();
 	}
 	
 	/**
@@ -140,14 +178,67 @@ public class Game extends Observable {
 	 * playing their turn (true) or finished (false).  This must
 	 * be called by the Strategy (even the HumanStrategy) when the
 	 * turn has begun and finished.  (The HumanStrategy may simply
-	 * call false initially, signifying that it's done.)
+	 * call false initially, signifying that it's done.)  This is ignored
+	 * if it comes from a turn that has been cancelled.
 	 * @param flag
 	 */
 	public void notifyPlaying(Boolean flag) {
-		strategyPlaying = flag;
+		if (!scheduler.setPlaying(flag))
+			return;
 		
-		setChanged();
-		notifyObservers();
+		fire(new GameEvent(this, Change.PLAYING));
+	}
+	
+	/**
+	 * Plays a computer Strategy's turn on its own thread.  The turn is
+	 * interrupted if the game is reset while it is playing, and anything
+	 * it asks of the Game after that is ignored.  Strategies should call 
+	 * this from takeTurn() rather than starting their own thread.
+	 * @param turn the turn to play
+	 */
+	public void playStrategyTurn(Runnable turn) {
+		scheduler.play(turn);
+	}
+	
+	// Plays the next step of the computer turn being played after the
+	// given pause, without holding the turn thread (see TurnDriver)
+	void continueStrategyTurn(Runnable step, long delay) {
+		scheduler.playLater(step, delay);
+	}
+	
+	/**
+	 * Returns a snapshot of the metrics for the computer Strategy turns of
+	 * every Game: how many are queued and playing, and how many have 
+	 * completed, failed, or been cancelled
+	 * @return the current TurnMetrics
+	 */
+	public TurnMetrics getTurnMetrics() {
+		return scheduler.getMetrics();
+	}
+	
+	/**
+	 * Cancels any computer Strategy turn being played in this Game, and
+	 * waits for it to stop.  No more computer turns can be played in this
+	 * Game after this is called; other Games play on.
+	 * @param timeout the longest time to wait for the turn to stop, in ms
+	 * @return true if the turn stopped, false if the wait timed out
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public boolean shutdown(long timeout) throws InterruptedException {
+		return scheduler.shutdown(timeout);
+	}
+	
+	/**
+	 * Stops the threads that play the computer Strategy turns of every
+	 * Game, dropping any turn waiting to play.  No more computer turns can
+	 * be played in any Game after this is called, so this should only be
+	 * called when the program exits.
+	 * @param timeout the longest time to wait for the threads to stop, in ms
+	 * @return true if the threads stopped, false if the wait timed out
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public static boolean shutdownAll(long timeout) throws InterruptedException {
+		return TurnScheduler.shutdownAll(timeout);
 	}
 	
 	/**
@@ -170,44 +261,120 @@ public class Game extends Observable {
 	
 	/**
 	 * Resets the scores for the Players for the current game and 
-	 * notifies observers.
+	 * notifies listeners.  A Strategy playing its turn is cancelled.
 	 */
-	public void resetScores() {
+	public synchronized void resetScores() {
+		scheduler.cancel();
 		while (!players.peek().isFirst()) 
 			players.add(players.remove());
 		for (Player p : players)
 			p.resetScoreCard();
+		GameJournal j = journal;
+		if (j != null)
+			j.scoresReset();
 		
-		setChanged();
-		notifyObservers();
+		fire(new GameEvent(this, EnumSet.of(Change.SCORE, Change.TURN), 0, 0, 
+				null, null, players.peek()));
 	}
 	
 	/**
 	 * Resets the current game by removing all the Players and resetting
-	 * the Game Status.  Notifies observers.
+	 * the Game Status.  A Strategy playing its turn is cancelled.  Notifies 
+	 * listeners.
 	 */
-	public void resetGame() {
+	public synchronized void resetGame() {
+		scheduler.cancel();
 		players = new LinkedList<Player>();
 		status = Status.UNINITIALIZED;
+		GameJournal j = journal;
+		if (j != null)
+			j.cleared();
+		
+		fire(new GameEvent(this, EnumSet.of(Change.PLAYERS, Change.STATUS, Change.TURN), 
+				0, 0, null, null, null));
+	}
+	
+	// Cancels any computer Strategy turn being played, when the Game's
+	// session is evicted
+	void cancelTurn() {
+		scheduler.cancel();
+	}
+	
+	// Starts recording the Game to the journal.  Called by GameJournal.open()
+	// holding the Game's lock, after the journal's first keyframe.
+	void setJournal(GameJournal journal) {
+		this.journal = journal;
+	}
+	
+	// Stops recording the Game to the journal, if it records to it
+	void clearJournal(GameJournal journal) {
+		if (this.journal == journal)
+			this.journal = null;
+	}
+	
+	// Writes the state of the Game and its Dice, for a keyframe or a
+	// SessionSnapshot
+	synchronized void writeState(BinaryOutput out) {
+		GameState.write(out, players, players.size(), status, 
+				GameState.packRoll(dice.getRoll()), dice.getHeldMask(), dice.getNumRolls());
+	}
+	
+	// Replaces the Players, Status, and Dice with those of a saved state,
+	// cancelling any computer turn being played, and notifies listeners
+	synchronized void restore(GameState state, int strategyPlaySpeed) {
+		scheduler.cancel();
+		players = new LinkedList<Player>(state.players);
+		status = state.status;
+		this.strategyPlaySpeed = strategyPlaySpeed;
+		dice.restore(state.roll, state.heldMask, state.rolls);
+		GameJournal j = journal;
+		if (j != null)
+			j.restored();
 		
-		setChanged();
-		notifyObservers();
+		fire(new GameEvent(this, EnumSet.of(Change.PLAYERS, Change.SCORE, Change.STATUS, Change.TURN), 
+				0, 0, null, null, players.peek()));
+	}
+	
+	// Called by the Dice when they are rolled, before they notify their
+	// listeners.  A Yahtzee earns the current Player the Yahtzee bonus if
+	// they have already scored a Yahtzee (see ScoreCard.takeYahtzeeBonus()).
+	synchronized void diceRolled(int[] roll) {
+		GameJournal j = journal;
+		if (j != null)
+			j.rolled(roll);
+		Player current = players.peek();
+		if (current != null && current.getScoreCard().yahtzee() && GameState.isYahtzee(roll))
+			current.getScoreCard().takeYahtzeeBonus();
+	}
+	
+	// Called by the Dice when a die is held or released
+	synchronized void diceToggled(int die) {
+		GameJournal j = journal;
+		if (j != null)
+			j.toggled(die);
+	}
+	
+	// Called by the Dice when they are reset for the next turn
+	synchronized void diceReset() {
+		GameJournal j = journal;
+		if (j != null)
+			j.diceReset();
 	}
 	
 	/**
 	 * Takes the turn for the next Player. This MUST be called after recording
 	 * a score in order to ensure Strategy functionality. Additionally, it must
-	 * be called to start a game. 
+	 * be called to start a game.  This never waits: if a Strategy is still
+	 * playing its turn, the call is dropped, because the Strategy calls 
+	 * nextTurn() itself when its turn is over.
 	 */
-	public synchronized void nextTurn() {
-		if (players != null) {
-			while (strategyPlaying) { }		// This is an ugly way to handle concurrancy,
-			players.peek().takeTurn();  	// but I don't really have the tools yet.
-											// I'm not pleased with using such a resource hog
-											// as this CPU melting while loop, but it's the only
-											// only dirty tool I have at the moment. 
-											// I hope to come back to this after a bit more study.
+	public void nextTurn() {
+		Player next;
+		synchronized (this) {
+			next = players.peek();
 		}
+		if (next != null)
+			scheduler.requestTurn(next);
 	}
 	
 	/**
@@ -215,53 +382,77 @@ public class Game extends Observable {
 	 * are full. 
 	 * @return true if Game is over, false if not
 	 */
-	public Boolean isOver() {
+	public synchronized Boolean isOver() {
 		if (status.equals(Status.UNINITIALIZED)) 
 			return false;
 		for (Player p : players) {
 			if (!p.getScoreCard().isFull())
 				return false;
 		}
-		status = Status.INITIALIZED;
+		if (status != Status.INITIALIZED) {
+			status = Status.INITIALIZED;
+			GameJournal j = journal;
+			if (j != null)
+				j.statusSet(status);
+		}
 		return true;
 	}
 	
 	/**
-	 * Records the scores from the current game, incrementing the cumulative score
+	 * Sets the store that recordScores() adds the final ScoreCards to
+	 * @param results the ResultsStore, or null to stop adding them
+	 */
+	public void setResultsStore(ResultsStore results) {
+		this.results = results;
+	}
+	
+	/**
+	 * Records the scores from the current game, incrementing the cumulative
+	 * score, and adds the ScoreCards to the ResultsStore, if there is one
 	 */
-	public void recordScores() {
+	public synchronized void recordScores() {
 		for (Player p : players) {
 			ScoreCard sc = p.getScoreCard();
-			int score = sc.getUpperTotal() + sc.getUpperBonus() + sc.getLowerTotal() + sc.getYahtzeeBonus();
+			int score = sc.getTotal();
 			p.incrementScore(score);
 		}
+		ResultsStore r = results;
+		if (r != null)
+			r.append(players);
+		GameJournal j = journal;
+		if (j != null)
+			j.scoresRecorded();
 	}
 	
 	/**
 	 * Rotates the queue of Players so the winner is at the head of the queue
-	 * Notifies observers
+	 * Notifies listeners
 	 */
-	public void showWinner() {
-		if (!isOver())
+	public synchronized void showWinner() {
+		if (scheduler.isCancelled() || !isOver())
 			return;
 		int finalScore;
 		ScoreCard sc;
 		int maxScore = -1;
 		for (Player p : players) {
 			sc = p.getScoreCard();
-			finalScore = sc.getUpperTotal() + sc.getUpperBonus() + sc.getLowerTotal() + sc.getYahtzeeBonus();
+			finalScore = sc.getTotal();
 			if (finalScore > maxScore)
 				maxScore = finalScore;
 		}
 		sc = players.peek().getScoreCard();
-		finalScore = sc.getUpperTotal() + sc.getUpperBonus() + sc.getLowerTotal() + sc.getYahtzeeBonus();
+		finalScore = sc.getTotal();
 		while (finalScore != maxScore) {
 			players.add(players.remove());
 			sc = players.peek().getScoreCard();
-			finalScore = sc.getUpperTotal() + sc.getUpperBonus() + sc.getLowerTotal() + sc.getYahtzeeBonus();
+			finalScore = sc.getTotal();
 		}
+		GameJournal j = journal;
+		if (j != null)
+			j.winnerShown();
 		
-		setChanged();
-		notifyObservers();
+		// isOver() has set the Status to INITIALIZED
+		fire(new GameEvent(this, EnumSet.of(Change.TURN, Change.STATUS), 0, 0, 
+				null, null, players.peek()));
 	}
 }
\ No newline at end of file
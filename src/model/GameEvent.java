@@ -0,0 +1,190 @@
+package model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A <code>GameEvent</code> describes a change to the Dice or the Game.  It
+ * is passed to the gameChanged() method of their listeners, so a
+ * listener can tell what changed and re-render only that: which dice
+ * were rolled or held, which hand was scored and by whom, and which Player
+ * is up.  When several changes are made in one logical action they are
+ * coalesced into one event (see EventSource).
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class GameEvent {
+	/**
+	 * The kinds of change an event can describe
+	 */
+	public enum Change {
+		/** Dice were rolled; getDiceMask() tells which */
+		DICE,
+		/** Dice were held or released; getHoldMask() tells which */
+		HOLDS,
+		/** The number of rolls and the DiceStatus changed */
+		ROLLS,
+		/** A hand was scored (see getPlayer() and getHand()), or the scores were reset */
+		SCORE,
+		/** A Strategy started or finished playing its turn */
+		PLAYING,
+		/** The Game Status changed */
+		STATUS,
+		/** Players were added or removed */
+		PLAYERS,
+		/** The turn order changed; getCurrentPlayer() is the Player who is up */
+		TURN
+	}
+
+	private final Object source;
+	private final Set<Change> changes;
+	private final int diceMask;
+	private final int holdMask;
+	private final Player player;
+	private final Hands hand;
+	private final Player current;
+
+	/**
+	 * Constructs a new GameEvent
+	 * @param source the Dice or Game that changed
+	 * @param changes the kinds of change
+	 * @param diceMask the dice rolled, as a bit mask
+	 * @param holdMask the dice held or released, as a bit mask
+	 * @param player the Player who scored, if any
+	 * @param hand the hand scored, if any
+	 * @param current the Player who is up, if the turn order changed
+	 */
+	GameEvent(Object source, Set<Change> changes, int diceMask, int holdMask,
+			Player player, Hands hand, Player current) {
+		this.source = source;
+		this.changes = Collections.unmodifiableSet(changes);
+		this.diceMask = diceMask;
+		this.holdMask = holdMask;
+		this.player = player;
+		this.hand = hand;
+		this.current = current;
+	}
+
+	/**
+	 * Constructs a new GameEvent for changes with no details
+	 * @param source the Dice or Game that changed
+	 * @param first the first kind of change
+	 * @param rest any other kinds of change
+	 */
+	GameEvent(Object source, Change first, Change... rest) {
+		this(source, EnumSet.of(first, rest), 0, 0, null, null, null);
+	}
+
+	/**
+	 * Returns this event merged with a later event from the same source.
+	 * The changes and dice masks are combined; the Player, hand, and
+	 * current Player are those of the later event where it has them.
+	 * @param later the later event
+	 * @return the merged event
+	 */
+	GameEvent merge(GameEvent later) {
+		EnumSet<Change> merged = EnumSet.copyOf(changes);
+		merged.addAll(later.changes);
+		return new GameEvent(source, merged, diceMask | later.diceMask, holdMask ^ later.holdMask,
+				later.hand != null ? later.player : player,
+				later.hand != null ? later.hand : hand,
+				later.changes.contains(Change.TURN) ? later.current : current);
+	}
+
+	/**
+	 * Returns the Dice or Game that changed
+	 * @return the source of the event
+	 */
+	public Object getSource() {
+		return source;
+	}
+
+	/**
+	 * Returns the kinds of change described by the event
+	 * @return the unmodifiable set of changes
+	 */
+	public Set<Change> getChanges() {
+		return changes;
+	}
+
+	/**
+	 * Returns whether the event describes the given kind of change
+	 * @param change the kind of change
+	 * @return true if the event includes the change
+	 */
+	public boolean changed(Change change) {
+		return changes.contains(change);
+	}
+
+	/**
+	 * Returns whether the event describes any of the given kinds of change
+	 * @param first a kind of change
+	 * @param rest more kinds of change
+	 * @return true if the event includes any of the changes
+	 */
+	public boolean changedAny(Change first, Change... rest) {
+		if (changes.contains(first))
+			return true;
+		for (Change c : rest) {
+			if (changes.contains(c))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the dice that were rolled: bit i is set if die i was rolled
+	 * @return the rolled dice, as a bit mask
+	 */
+	public int getDiceMask() {
+		return diceMask;
+	}
+
+	/**
+	 * Returns the dice that were held or released: bit i is set if die i
+	 * changed from held to not held or back.  A die toggled twice in one
+	 * coalesced event is not included.
+	 * @return the held or released dice, as a bit mask
+	 */
+	public int getHoldMask() {
+		return holdMask;
+	}
+
+	/**
+	 * Returns the Player who scored, for a SCORE change.  This is null
+	 * when every score was reset.
+	 * @return the Player who scored, or null
+	 */
+	public Player getPlayer() {
+		return player;
+	}
+
+	/**
+	 * Returns the hand that was scored, for a SCORE change.  If more than
+	 * one hand was scored in a coalesced event, this is the last.  This is
+	 * null when every score was reset.
+	 * @return the hand scored, or null
+	 */
+	public Hands getHand() {
+		return hand;
+	}
+
+	/**
+	 * Returns the Player who is up, for a TURN change
+	 * @return the current Player, or null if there are no Players
+	 */
+	public Player getCurrentPlayer() {
+		return current;
+	}
+
+	/**
+	 * Returns a String representation of the event
+	 */
+	@Override
+	public String toString() {
+		return "GameEvent" + changes + " dice=" + Integer.toBinaryString(diceMask)
+				+ " holds=" + Integer.toBinaryString(holdMask)
+				+ (hand != null ? " hand=" + hand : "");
+	}
+}
@@ -0,0 +1,320 @@
+package model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A <code>GameJournal</code> records every action of a Game to an
+ * append-only binary file, so that a game can be audited and replayed (see
+ * JournalReplayer): the Players who join, every roll of the Dice, every die
+ * held or released, every hand scored, and the Status changes, new games,
+ * recorded scores, and restored SessionSnapshots between them.
+ *
+ * Actions are recorded by the Game and its Dice as they are made, in the
+ * order they are made whichever threads make them.  Each record is a tag
+ * byte, the milliseconds since the previous record as a varint, and the
+ * action's details as varints (a roll takes two bytes), so a turn takes
+ * some 20 bytes.  Records are collected in a buffer and written to the
+ * file through a FileChannel when the buffer fills, or on flush() and
+ * close().
+ *
+ * Every keyframeInterval turns (hands scored) the journal records a
+ * keyframe, the whole GameState, and writes its offset to an index file
+ * beside the journal (see indexFileFor()).  The index has an entry of the
+ * same size for each keyframe, so the replayer finds the keyframe before
+ * any turn in one read.
+ *
+ * If the file cannot be written the failure is logged, the journal stops
+ * recording, and the IOException is thrown by the next flush() or close().
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class GameJournal implements Closeable {
+	private static final Logger log = Logger.getLogger(GameJournal.class.getName());
+
+	/**
+	 * The default number of turns between keyframes
+	 */
+	public static final int DEFAULT_KEYFRAME_INTERVAL = 64;
+
+	// The first bytes of a journal ("YZJN") and of its index ("YZJI"), and
+	// the version of the format
+	static final int MAGIC = 0x595A4A4E;
+	static final int INDEX_MAGIC = 0x595A4A49;
+	static final int VERSION = 1;
+
+	// The length of the index header: magic, version, and keyframe interval
+	static final int INDEX_HEADER = 9;
+
+	// The record tags
+	static final int JOIN = 1;			// name, Strategy name
+	static final int ROLL = 2;			// packed roll
+	static final int HOLD = 3;			// die
+	static final int RESET = 4;			// the Dice were reset
+	static final int SCORE = 5;			// hand, score
+	static final int STATUS = 6;		// Status
+	static final int NEW_GAME = 7;		// Game.resetScores()
+	static final int CLEAR = 8;			// Game.resetGame()
+	static final int RESULTS = 9;		// Game.recordScores()
+	static final int WINNER = 10;		// Game.showWinner()
+	static final int KEYFRAME = 11;		// turn, GameState
+	static final int RESTORE = 12;		// GameState, from a SessionSnapshot
+
+	// The records collected before they are written to the file
+	private static final int bufferSize = 64 * 1024;
+
+	private final Game game;
+	private final int keyframeInterval;
+	private final FileChannel channel;
+	private final FileChannel indexChannel;
+	private final BinaryOutput out;
+	private final BinaryOutput index;
+	private long position;		// The offset in the file of the buffered records
+	private long lastTime;		// When the last record was made (ms)
+	private int turns;			// The number of turns recorded
+	private boolean closed;
+	private IOException failure;	// Why the file could not be written, if it could not
+
+	/**
+	 * Starts recording the actions of a Game to a new journal, with a keyframe
+	 * every DEFAULT_KEYFRAME_INTERVAL turns
+	 * @param game the Game to record
+	 * @param file the journal file, which is replaced if it exists
+	 * @return the GameJournal
+	 * @throws IOException if the file cannot be created
+	 */
+	public static GameJournal open(Game game, Path file) throws IOException {
+		return open(game, file, DEFAULT_KEYFRAME_INTERVAL);
+	}
+
+	/**
+	 * Starts recording the actions of a Game to a new journal.  The first
+	 * record is a keyframe of the Game as it is, so a journal can be started
+	 * at any time, though it is best started between turns.  A Game records
+	 * to one journal at a time: this replaces any journal it records to.
+	 * @param game the Game to record
+	 * @param file the journal file, which is replaced if it exists
+	 * @param keyframeInterval the number of turns between keyframes
+	 * @return the GameJournal
+	 * @throws IOException if the file cannot be created
+	 * @throws IllegalArgumentException if keyframeInterval is not positive
+	 */
+	public static GameJournal open(Game game, Path file, int keyframeInterval) throws IOException {
+		if (keyframeInterval < 1)
+			throw new IllegalArgumentException("keyframeInterval must be positive");
+		GameJournal journal = new GameJournal(game, file, keyframeInterval);
+		synchronized (game) {
+			synchronized (journal) {
+				journal.keyframe();
+			}
+			game.setJournal(journal);
+		}
+		return journal;
+	}
+
+	/**
+	 * Returns the index file of a journal: the journal's file name with
+	 * ".idx" added, in the same directory
+	 * @param file the journal file
+	 * @return the index file
+	 */
+	public static Path indexFileFor(Path file) {
+		return file.resolveSibling(file.getFileName() + ".idx");
+	}
+
+	private GameJournal(Game game, Path file, int keyframeInterval) throws IOException {
+		this.game = game;
+		this.keyframeInterval = keyframeInterval;
+		out = new BinaryOutput(bufferSize + 1024);
+		index = new BinaryOutput(1024);
+		channel = FileChannel.open(file, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		try {
+			indexChannel = FileChannel.open(indexFileFor(file), StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		} catch (IOException ex) {
+			channel.close();
+			throw ex;
+		}
+		lastTime = System.currentTimeMillis();
+		out.writeFixedInt(MAGIC);
+		out.writeByte(VERSION);
+		out.writeVarint(keyframeInterval);
+		out.writeLong(lastTime);
+		index.writeFixedInt(INDEX_MAGIC);
+		index.writeByte(VERSION);
+		index.writeFixedInt(keyframeInterval);
+	}
+
+	/**
+	 * Returns the number of turns between keyframes
+	 * @return the keyframe interval
+	 */
+	public int getKeyframeInterval() {
+		return keyframeInterval;
+	}
+
+	/**
+	 * Returns the number of turns (hands scored) recorded so far
+	 * @return the number of turns
+	 */
+	public synchronized int getTurns() {
+		return turns;
+	}
+
+	/**
+	 * Writes the records collected so far to the file
+	 * @throws IOException if the file could not be written, now or since
+	 * the last flush
+	 */
+	public synchronized void flush() throws IOException {
+		if (!closed)
+			write();
+		if (failure != null)
+			throw failure;
+	}
+
+	/**
+	 * Stops recording, writes the records collected so far, and closes the
+	 * file.  Closing a closed journal does nothing.
+	 * @throws IOException if the file could not be written
+	 */
+	@Override
+	public void close() throws IOException {
+		game.clearJournal(this);
+		synchronized (this) {
+			if (closed)
+				return;
+			write();
+			closed = true;
+			try {
+				channel.close();
+			} finally {
+				indexChannel.close();
+			}
+			if (failure != null)
+				throw failure;
+		}
+	}
+
+	// The actions, recorded by the Game and the Dice.  The Game calls these
+	// holding its own lock, so they are recorded in the order they are made.
+
+	synchronized void joined(Player p) {
+		begin(JOIN);
+		out.writeString(p.getName());
+		out.writeString(p.getStrategyName());
+		end();
+	}
+
+	synchronized void rolled(int[] roll) {
+		begin(ROLL);
+		out.writeVarint(GameState.packRoll(roll));
+		end();
+	}
+
+	synchronized void toggled(int die) {
+		begin(HOLD);
+		out.writeByte(die);
+		end();
+	}
+
+	synchronized void diceReset() {
+		begin(RESET);
+		end();
+	}
+
+	synchronized void scored(Hands hand, int score) {
+		begin(SCORE);
+		out.writeByte(hand.ordinal());
+		out.writeVarint(score);
+		turns++;
+		if (turns % keyframeInterval == 0)
+			keyframe();
+		end();
+	}
+
+	synchronized void statusSet(Status status) {
+		begin(STATUS);
+		out.writeByte(status.ordinal());
+		end();
+	}
+
+	synchronized void scoresReset() {
+		begin(NEW_GAME);
+		end();
+	}
+
+	synchronized void cleared() {
+		begin(CLEAR);
+		end();
+	}
+
+	synchronized void scoresRecorded() {
+		begin(RESULTS);
+		end();
+	}
+
+	synchronized void winnerShown() {
+		begin(WINNER);
+		end();
+	}
+
+	// Records the state a SessionSnapshot restored.  The caller holds the
+	// Game's lock.
+	synchronized void restored() {
+		begin(RESTORE);
+		game.writeState(out);
+		end();
+	}
+
+	// Records the whole state of the Game, and indexes it.  The caller
+	// holds the Game's lock.
+	private void keyframe() {
+		index.writeLong(position + out.size());
+		begin(KEYFRAME);
+		out.writeVarint(turns);
+		game.writeState(out);
+	}
+
+	// Starts a record
+	private void begin(int tag) {
+		long now = System.currentTimeMillis();
+		out.writeByte(tag);
+		out.writeVarint(Math.max(0, now - lastTime));
+		lastTime = Math.max(now, lastTime);
+	}
+
+	// Ends a record, writing the buffer to the file once it fills
+	private void end() {
+		if (out.size() >= bufferSize)
+			write();
+	}
+
+	// Writes the buffered records, then the index entries pointing at them.
+	// A failure stops the recording, and is thrown by flush() or close().
+	private void write() {
+		if (failure != null || closed) {
+			out.reset();
+			index.reset();
+			return;
+		}
+		try {
+			int size = out.size();
+			out.drainTo(channel);
+			position += size;
+			index.drainTo(indexChannel);
+		} catch (IOException ex) {
+			failure = ex;
+			out.reset();
+			index.reset();
+			game.clearJournal(this);
+			log.log(Level.SEVERE, "The game journal could not be written", ex);
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package model;
+
+/**
+ * A <code>GameListener</code> is told of each change to the Dice or Game it
+ * is registered with (see EventSource.addListener()).  The GameEvent says
+ * what changed.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public interface GameListener {
+	/**
+	 * Called after the Dice or Game changes
+	 * @param event the change
+	 */
+	public void gameChanged(GameEvent event);
+}
@@ -0,0 +1,90 @@
+package model;
+
+/**
+ * A <code>GameSession</code> is one table: a Game with its own Players,
+ * Dice, and Status, independent of every other session.  Sessions are
+ * created, looked up, and evicted by the <code>SessionRegistry</code>.
+ * 
+ * A session records when it was last used, so that sessions left idle can
+ * be evicted.  Looking the session up uses it, and so does any change to
+ * its Game or Dice (a turn starting or ending, a score, a roll, a die held
+ * or released), so a session whose players are still playing is not idle.
+ * A session holds nothing beyond its Game and Dice, so many idle sessions
+ * can be kept in a small heap.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class GameSession {
+	private final String id;
+	private final Dice dice;
+	private final Game game;
+	private volatile long lastAccess;	// When the session was last used (ms)
+	
+	// Sessions are created by the SessionRegistry, with the generator
+	// for their dice
+	GameSession(String id, DiceRandom random) {
+		this.id = id;
+		this.dice = new Dice(random);
+		this.game = new Game(dice);
+		touch();
+		GameListener activity = new GameListener() {
+			@Override
+			public void gameChanged(GameEvent event) {
+				touch();
+			}
+		};
+		game.addListener(activity);
+		dice.addListener(activity);
+	}
+	
+	/**
+	 * Returns the id of the session, unique within its SessionRegistry
+	 * @return the session id
+	 */
+	public String getId() {
+		return id;
+	}
+	
+	/**
+	 * Returns the Game played in this session
+	 * @return the session's Game
+	 */
+	public Game getGame() {
+		return game;
+	}
+	
+	/**
+	 * Returns the Dice used in this session (the same as getGame().getDice())
+	 * @return the session's Dice
+	 */
+	public Dice getDice() {
+		return dice;
+	}
+	
+	/**
+	 * Returns when the session was last used: when it was created, last
+	 * looked up in the SessionRegistry, or last changed by its Game or Dice
+	 * @return the time of last use, in milliseconds since the epoch
+	 */
+	public long getLastAccess() {
+		return lastAccess;
+	}
+	
+	// Records that the session was used now
+	void touch() {
+		lastAccess = System.currentTimeMillis();
+	}
+	
+	// Ends the session: cancels any computer turn being played
+	void close() {
+		game.cancelTurn();
+	}
+	
+	/**
+	 * Returns a String representation of the session
+	 */
+	@Override
+	public String toString() {
+		return "GameSession " + id;
+	}
+}
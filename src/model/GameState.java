@@ -0,0 +1,330 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A <code>GameState</code> is the state of a Game and its Dice at one
+ * moment: the Players in turn order with their ScoreCards and cumulative
+ * scores, the game Status, and the roll, held dice, and number of rolls.
+ * The JournalReplayer rebuilds GameStates from a GameJournal by applying
+ * each recorded action by the same rules as the Game, and a
+ * SessionSnapshot saves one to a file.
+ *
+ * The Players of a replayed GameState, or of SessionSnapshot.getState(), do
+ * not play: each has a stand-in Strategy with the name of the Strategy it
+ * was recorded with.  A restored session's Players are given new Strategies
+ * of those names.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class GameState {
+	// The number of dice, and of faces on each
+	private static final int numDice = 5;
+	private static final int numFaces = 6;
+
+	// The state, read by Game.restore()
+	final ArrayDeque<Player> players;	// The Players, in turn order
+	Status status;
+	final int[] roll;
+	int heldMask;
+	int rolls;
+
+	// GameStates are built by the JournalReplayer and SessionSnapshot
+	GameState() {
+		players = new ArrayDeque<Player>();
+		status = Status.UNINITIALIZED;
+		roll = new int[numDice];
+		unpackRoll(0, roll);
+	}
+
+	/**
+	 * Returns the Players in order of turn, with the current Player first
+	 * @return an unmodifiable list of the Players
+	 */
+	public List<Player> getPlayers() {
+		return Collections.unmodifiableList(new ArrayList<Player>(players));
+	}
+
+	/**
+	 * Returns the current Player
+	 * @return the current Player, or null if there are no Players
+	 */
+	public Player getCurrentPlayer() {
+		return players.peek();
+	}
+
+	/**
+	 * Returns the Status of the Game
+	 * @return the Status
+	 */
+	public Status getStatus() {
+		return status;
+	}
+
+	/**
+	 * Returns the current roll of the dice
+	 * @return a copy of the roll
+	 */
+	public int[] getRoll() {
+		return roll.clone();
+	}
+
+	/**
+	 * Returns whether the given die is held
+	 * @param die the die (zero indexed)
+	 * @return true if the die is held
+	 */
+	public boolean isHeld(int die) {
+		return (heldMask >>> die & 1) != 0;
+	}
+
+	/**
+	 * Returns the number of rolls in the current turn
+	 * @return the number of rolls
+	 */
+	public int getNumRolls() {
+		return rolls;
+	}
+
+	/**
+	 * Returns a String representation of the state
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("GameState ").append(status);
+		for (Player p : players) {
+			sb.append(' ').append(p.getName()).append('=').append(p.getScoreCard().getTotal())
+					.append('/').append(p.getScore());
+		}
+		return sb.toString();
+	}
+
+	// The recorded actions, applied by the rules of Game.addPlayer(),
+	// Dice.roll(), and the rest
+
+	void join(Player p) {
+		if (players.isEmpty())
+			p.markFirst();
+		players.add(p);
+	}
+
+	void rolled(int packedRoll) {
+		unpackRoll(packedRoll, roll);
+		rolls++;
+		Player current = players.peek();
+		if (current != null && current.getScoreCard().yahtzee() && isYahtzee(roll))
+			current.getScoreCard().takeYahtzeeBonus();
+	}
+
+	void toggled(int die) {
+		heldMask ^= 1 << die;
+	}
+
+	void diceReset() {
+		heldMask = 0;
+		rolls = 0;
+	}
+
+	void scored(Hands hand, int score) {
+		Player scorer = players.remove();
+		scorer.takeScore(hand, score);
+		players.add(scorer);
+	}
+
+	void setStatus(Status status) {
+		this.status = status;
+	}
+
+	void scoresReset() {
+		while (!players.peek().isFirst())
+			players.add(players.remove());
+		for (Player p : players)
+			p.resetScoreCard();
+	}
+
+	void cleared() {
+		players.clear();
+		status = Status.UNINITIALIZED;
+	}
+
+	void scoresRecorded() {
+		for (Player p : players)
+			p.incrementScore(p.getScoreCard().getTotal());
+	}
+
+	void winnerShown() {
+		int maxScore = -1;
+		for (Player p : players)
+			maxScore = Math.max(maxScore, p.getScoreCard().getTotal());
+		while (players.peek().getScoreCard().getTotal() != maxScore)
+			players.add(players.remove());
+	}
+
+	/**
+	 * Writes a state in the binary format read by read()
+	 * @param out the output
+	 * @param players the Players, in turn order
+	 * @param numPlayers the number of Players
+	 * @param status the Status of the Game
+	 * @param packedRoll the roll, as packed by packRoll()
+	 * @param heldMask the held dice, as a bit mask
+	 * @param rolls the number of rolls in the current turn
+	 */
+	static void write(BinaryOutput out, Iterable<Player> players, int numPlayers, Status status,
+			int packedRoll, int heldMask, int rolls) {
+		out.writeByte(status.ordinal());
+		out.writeVarint(packedRoll);
+		out.writeByte(heldMask);
+		out.writeByte(rolls);
+		out.writeVarint(numPlayers);
+		for (Player p : players)
+			writePlayer(out, p);
+	}
+
+	/**
+	 * Writes this state in the binary format read by read()
+	 * @param out the output
+	 */
+	void write(BinaryOutput out) {
+		write(out, players, players.size(), status, packRoll(roll), heldMask, rolls);
+	}
+
+	/**
+	 * Reads a state written by write(), with stand-in Strategies
+	 * @param in the input
+	 * @return the state
+	 */
+	static GameState read(BinaryInput in) {
+		return read(in, false);
+	}
+
+	/**
+	 * Reads a state written by write()
+	 * @param in the input
+	 * @param playable true to give the Players new Strategies of the names
+	 * recorded, false to give them stand-ins
+	 * @return the state
+	 */
+	static GameState read(BinaryInput in, boolean playable) {
+		GameState state = new GameState();
+		state.status = Status.values()[in.readByte()];
+		unpackRoll(in.readInt(), state.roll);
+		state.heldMask = in.readByte();
+		state.rolls = in.readByte();
+		for (int n = in.readInt(); n > 0; n--)
+			state.players.add(readPlayer(in, playable));
+		return state;
+	}
+
+	// A Player is written as its name, Strategy name, whether it plays
+	// first, its cumulative score, and its ScoreCard: the hands taken as a
+	// bit mask, the score of each hand taken, and the Yahtzee bonus
+	private static void writePlayer(BinaryOutput out, Player p) {
+		out.writeString(p.getName());
+		out.writeString(p.getStrategyName());
+		out.writeByte(p.isFirst() ? 1 : 0);
+		out.writeVarint(p.getScore());
+		ScoreCard sc = p.getScoreCard();
+		int taken = sc.getTakenMask();
+		out.writeVarint(taken);
+		for (Hands hand : Hands.values()) {
+			if ((taken >>> hand.ordinal() & 1) != 0)
+				out.writeVarint(sc.getScore(hand).getScore());
+		}
+		out.writeVarint(sc.getYahtzeeBonus() / 100);
+		out.writeVarint(sc.getYahtzeeBonusTurn());
+	}
+
+	private static Player readPlayer(BinaryInput in, boolean playable) {
+		String name = in.readString();
+		String strategy = in.readString();
+		Player p = new Player(name, playable ? newStrategy(strategy) : new RecordedStrategy(strategy));
+		if (in.readByte() != 0)
+			p.markFirst();
+		p.incrementScore(in.readInt());
+		ScoreCard sc = p.getScoreCard();
+		int taken = in.readInt();
+		for (Hands hand : Hands.values()) {
+			if ((taken >>> hand.ordinal() & 1) != 0)
+				sc.setScore(hand, in.readInt());
+		}
+		int bonus = in.readInt() * 100;
+		sc.restoreYahtzeeBonus(bonus, in.readInt());
+		return p;
+	}
+
+	/**
+	 * Packs a roll of five dice into one number from 0 to 7775, the faces
+	 * less one as the digits of a base 6 number, so a roll is written in
+	 * two bytes
+	 * @param roll the roll
+	 * @return the packed roll
+	 */
+	static int packRoll(int[] roll) {
+		int packed = 0;
+		for (int i = numDice - 1; i >= 0; i--)
+			packed = packed * numFaces + roll[i] - 1;
+		return packed;
+	}
+
+	// Unpacks a roll packed by packRoll()
+	static void unpackRoll(int packed, int[] roll) {
+		for (int i = 0; i < numDice; i++) {
+			roll[i] = packed % numFaces + 1;
+			packed /= numFaces;
+		}
+	}
+
+	// Returns whether all five dice show the same face
+	static boolean isYahtzee(int[] roll) {
+		for (int i = 1; i < roll.length; i++) {
+			if (roll[i] != roll[0])
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Creates a new Strategy with the given name (see Strategy.getName())
+	 * @param name the name of the Strategy
+	 * @return the new Strategy, or a HumanStrategy if no Strategy has the name
+	 */
+	static Strategy newStrategy(String name) {
+		if (name.equals("Random"))
+			return new RandomStrategy();
+		if (name.equals("Of a Kinder"))
+			return new OfAKinderStrategy();
+		if (name.equals("Upper Section"))
+			return new UpperSectionerStrategy();
+		if (name.equals("Four and Up"))
+			return new FourAndUpStrategy();
+		if (name.equals("Optimal"))
+			return new OptimalStrategy();
+		if (name.equals("Monte Carlo"))
+			return new MonteCarloStrategy();
+		return new HumanStrategy();
+	}
+
+	// The Strategy of a replayed Player, which only knows the name of the
+	// Strategy that was recorded.  Like the HumanStrategy it does nothing.
+	static final class RecordedStrategy implements Strategy {
+		private final String name;
+
+		RecordedStrategy(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public void takeTurn(Game game) {
+			game.notifyPlaying(false);
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+	}
+}
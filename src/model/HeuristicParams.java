@@ -0,0 +1,229 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A <code>HeuristicParams</code> is a set of parameters for the simple
+ * rules the computer strategies play by (see HeuristicStrategy):
+ * <ul>
+ * <li>holdAtLeast - dice showing this face or higher are held (7 holds
+ * none)</li>
+ * <li>holdMatches - dice whose face shows up at least this many times are
+ * held (6 holds none)</li>
+ * <li>a weight and a bias for each hand - the roll is scored in the open
+ * hand for which weight * score + bias is highest, the first such hand on
+ * a tie</li>
+ * </ul>
+ * The FourAndUpStrategy, OfAKinderStrategy, and UpperSectionerStrategy are
+ * each one set of these parameters (see FOUR_AND_UP, OF_A_KINDER, and
+ * UPPER_SECTION), and a HeuristicStrategy with those parameters makes the
+ * same decisions they do.
+ *
+ * The parameters can be read and made as a vector of DIMENSIONS numbers,
+ * for a search over them (see model.sim.ParameterSearch): the two hold
+ * parameters, then the weight and the bias of each hand in order.  A
+ * HeuristicParams is immutable.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class HeuristicParams {
+	private static final Hands[] hands = Hands.values();
+	private static final int numHands = hands.length;
+	private static final int numUpper = 6;
+
+	/**
+	 * The number of parameters in the vector of a HeuristicParams
+	 */
+	public static final int DIMENSIONS = 2 + 2 * numHands;
+
+	/**
+	 * The least and greatest values of the hold parameters
+	 */
+	public static final int MIN_HOLD_AT_LEAST = 1;
+	public static final int MAX_HOLD_AT_LEAST = 7;
+	public static final int MIN_HOLD_MATCHES = 2;
+	public static final int MAX_HOLD_MATCHES = 6;
+
+	/**
+	 * The parameters of the FourAndUpStrategy: hold dice of four and up,
+	 * and score the open hand that scores the most
+	 */
+	public static final HeuristicParams FOUR_AND_UP = new HeuristicParams(4, MAX_HOLD_MATCHES,
+			fill(1, 1), fill(0, 0));
+
+	/**
+	 * The parameters of the OfAKinderStrategy: hold dice whose face shows
+	 * up two or more times, and score the open hand that scores the most
+	 */
+	public static final HeuristicParams OF_A_KINDER = new HeuristicParams(MAX_HOLD_AT_LEAST, 2,
+			fill(1, 1), fill(0, 0));
+
+	/**
+	 * The parameters of the UpperSectionerStrategy: hold as OF_A_KINDER
+	 * does, and score the best upper hand if it scores anything, or else
+	 * the best lower hand.  Any upper score outweighs every lower score,
+	 * and an upper score of 0 falls just below a lower score of 0.
+	 */
+	public static final HeuristicParams UPPER_SECTION = new HeuristicParams(MAX_HOLD_AT_LEAST, 2,
+			fill(100, 1), fill(-0.5, 0));
+
+	private final int holdAtLeast;
+	private final int holdMatches;
+	private final double[] weights;
+	private final double[] biases;
+
+	/**
+	 * Constructs a new HeuristicParams
+	 * @param holdAtLeast the least face of the dice to hold, from 1 to 7
+	 * @param holdMatches the least number of dice of a face to hold them,
+	 * from 2 to 6
+	 * @param weights the weight of each hand's score, by hand ordinal
+	 * @param biases the bias added to each hand's weighted score, by hand
+	 * ordinal
+	 * @throws IllegalArgumentException if a hold parameter is out of range,
+	 * or the weights or biases are not 13 finite numbers
+	 */
+	public HeuristicParams(int holdAtLeast, int holdMatches, double[] weights, double[] biases) {
+		if (holdAtLeast < MIN_HOLD_AT_LEAST || holdAtLeast > MAX_HOLD_AT_LEAST)
+			throw new IllegalArgumentException("holdAtLeast is not from 1 to 7: " + holdAtLeast);
+		if (holdMatches < MIN_HOLD_MATCHES || holdMatches > MAX_HOLD_MATCHES)
+			throw new IllegalArgumentException("holdMatches is not from 2 to 6: " + holdMatches);
+		checkHands(weights, "weights");
+		checkHands(biases, "biases");
+		this.holdAtLeast = holdAtLeast;
+		this.holdMatches = holdMatches;
+		this.weights = weights.clone();
+		this.biases = biases.clone();
+	}
+
+	/**
+	 * Makes a HeuristicParams from a vector of parameters, in the order of
+	 * toVector().  The hold parameters are rounded to the nearest whole
+	 * number and kept in range, so any vector of finite numbers makes a
+	 * valid HeuristicParams.
+	 * @param vector the parameters, DIMENSIONS long
+	 * @return the HeuristicParams
+	 * @throws IllegalArgumentException if the vector is not DIMENSIONS
+	 * finite numbers
+	 */
+	public static HeuristicParams fromVector(double[] vector) {
+		if (vector.length != DIMENSIONS)
+			throw new IllegalArgumentException("The vector is not " + DIMENSIONS + " long");
+		int atLeast = (int) Math.round(Math.max(MIN_HOLD_AT_LEAST, Math.min(MAX_HOLD_AT_LEAST, vector[0])));
+		int matches = (int) Math.round(Math.max(MIN_HOLD_MATCHES, Math.min(MAX_HOLD_MATCHES, vector[1])));
+		return new HeuristicParams(atLeast, matches, Arrays.copyOfRange(vector, 2, 2 + numHands),
+				Arrays.copyOfRange(vector, 2 + numHands, DIMENSIONS));
+	}
+
+	/**
+	 * Returns the parameters as a vector: holdAtLeast, holdMatches, the
+	 * weight of each hand, and the bias of each hand
+	 * @return a new array of DIMENSIONS numbers
+	 */
+	public double[] toVector() {
+		double[] vector = new double[DIMENSIONS];
+		vector[0] = holdAtLeast;
+		vector[1] = holdMatches;
+		System.arraycopy(weights, 0, vector, 2, numHands);
+		System.arraycopy(biases, 0, vector, 2 + numHands, numHands);
+		return vector;
+	}
+
+	/**
+	 * Returns the least face of the dice to hold
+	 * @return the face, from 1 to 7 (7 holds no die by its face)
+	 */
+	public int getHoldAtLeast() {
+		return holdAtLeast;
+	}
+
+	/**
+	 * Returns the least number of dice of a face to hold them
+	 * @return the number, from 2 to 6 (6 holds no die by its matches)
+	 */
+	public int getHoldMatches() {
+		return holdMatches;
+	}
+
+	/**
+	 * Returns the weight of a hand's score
+	 * @param hand the hand
+	 * @return the weight
+	 */
+	public double getWeight(Hands hand) {
+		return weights[hand.ordinal()];
+	}
+
+	/**
+	 * Returns the bias added to a hand's weighted score
+	 * @param hand the hand
+	 * @return the bias
+	 */
+	public double getBias(Hands hand) {
+		return biases[hand.ordinal()];
+	}
+
+	/**
+	 * Returns how much scoring a roll in a hand is worth to the strategy
+	 * @param hand the hand
+	 * @param score the score of the roll in the hand
+	 * @return weight * score + bias
+	 */
+	public double rank(Hands hand, int score) {
+		return weights[hand.ordinal()] * score + biases[hand.ordinal()];
+	}
+
+	/**
+	 * Returns whether another object is a HeuristicParams with the same
+	 * parameters
+	 */
+	@Override
+	public boolean equals(Object o) {
+		if (!(o instanceof HeuristicParams))
+			return false;
+		HeuristicParams p = (HeuristicParams) o;
+		return holdAtLeast == p.holdAtLeast && holdMatches == p.holdMatches
+				&& Arrays.equals(weights, p.weights) && Arrays.equals(biases, p.biases);
+	}
+
+	/**
+	 * Returns a hash code of the parameters
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * (31 * (31 * holdAtLeast + holdMatches) + Arrays.hashCode(weights))
+				+ Arrays.hashCode(biases);
+	}
+
+	/**
+	 * Returns the parameters as a line of text: the hold parameters, then
+	 * the weight and bias of each hand
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("hold >= ").append(holdAtLeast).append(", matches >= ").append(holdMatches);
+		for (Hands h : hands)
+			sb.append(String.format(", %s %.2f%+.2f", h, weights[h.ordinal()], biases[h.ordinal()]));
+		return sb.toString();
+	}
+
+	// Returns an array of one value for each hand: one value for the
+	// upper hands, and another for the lower hands
+	private static double[] fill(double upper, double lower) {
+		double[] values = new double[numHands];
+		for (int h = 0; h < numHands; h++)
+			values[h] = h < numUpper ? upper : lower;
+		return values;
+	}
+
+	// Checks that an array has a finite number for each hand
+	private static void checkHands(double[] values, String name) {
+		if (values == null || values.length != numHands)
+			throw new IllegalArgumentException(name + " is not " + numHands + " long");
+		for (double v : values) {
+			if (Double.isNaN(v) || Double.isInfinite(v))
+				throw new IllegalArgumentException(name + " has " + v);
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package model;
+
+/**
+ * The HeuristicStrategy implements the Strategy and TurnDecider interfaces.
+ * The HeuristicStrategy is a computer strategy that plays by the simple
+ * rules of a HeuristicParams: after each roll it holds the dice showing a
+ * high enough face and the dice whose face shows up often enough, on top
+ * of the dice already held, and rolls until the rolls run out or every die
+ * is held.  At the end of the turn it places the hand into the open
+ * category it ranks highest (weight * score + bias).
+ * 
+ * With HeuristicParams.FOUR_AND_UP, OF_A_KINDER, or UPPER_SECTION it makes
+ * the same decisions as the FourAndUpStrategy, OfAKinderStrategy, or
+ * UpperSectionerStrategy; other parameters can be found by a search over
+ * simulated games (see model.sim.ParameterSearch).
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public class HeuristicStrategy implements Strategy, TurnDecider {
+	private static final Hands[] hands = Hands.values();
+	
+	private final String name;
+	private final HeuristicParams params;
+	
+	/**
+	 * Constructs a new HeuristicStrategy named "Heuristic"
+	 * @param params the parameters to play by
+	 * @throws IllegalArgumentException if params is null
+	 */
+	public HeuristicStrategy(HeuristicParams params) {
+		this("Heuristic", params);
+	}
+	
+	/**
+	 * Constructs a new HeuristicStrategy
+	 * @param name the name of the strategy
+	 * @param params the parameters to play by
+	 * @throws IllegalArgumentException if params is null
+	 */
+	public HeuristicStrategy(String name, HeuristicParams params) {
+		if (params == null)
+			throw new IllegalArgumentException("params is null");
+		this.name = name;
+		this.params = params;
+	}
+	
+	/**
+	 * Take a turn for the computer player
+	 * @param game the Game in which to take the turn
+	 */
+	@Override
+	public void takeTurn(Game game) {
+		// Play the turn on the Game's turn thread with the
+		// decisions below
+		TurnDriver.takeTurn(game, this);
+	}
+	
+	/**
+	 * Holds the dice for the strategy: every die showing at least
+	 * holdAtLeast, and every die whose face shows up at least holdMatches
+	 * times, on top of the dice already held
+	 * @param state the turn, after the latest roll
+	 * @return the dice to hold
+	 */
+	@Override
+	public int holdDice(TurnState state) {
+		// Count the faces three bits to a face
+		int counts = 0;
+		for (int i = 0; i < 5; i++)
+			counts += 1 << (3 * state.getDie(i));
+		int held = state.getHeldMask();
+		for (int i = 0; i < 5; i++) {
+			int face = state.getDie(i);
+			if (face >= params.getHoldAtLeast() || (counts >>> (3 * face) & 7) >= params.getHoldMatches())
+				held |= 1 << i;
+		}
+		return held;
+	}
+	
+	/**
+	 * Chooses the open hand the parameters rank highest, the first such
+	 * hand on a tie
+	 * @param state the turn, after the last roll
+	 * @return the hand to score
+	 */
+	@Override
+	public Hands chooseHand(TurnState state) {
+		Hands best = null;
+		double max = Double.NEGATIVE_INFINITY;
+		for (Hands h : hands) {
+			if (state.isTaken(h))
+				continue;
+			double rank = params.rank(h, state.score(h));
+			if (best == null || rank > max) {
+				max = rank;
+				best = h;
+			}
+		}
+		return best;
+	}
+	
+	/**
+	 * Returns the parameters the strategy plays by
+	 * @return the parameters
+	 */
+	public HeuristicParams getParams() {
+		return params;
+	}
+	
+	/**
+	 * Returns the name of the strategy
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+}
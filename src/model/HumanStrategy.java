@@ -14,9 +14,10 @@ public class HumanStrategy implements Strategy {
 	
 	/**
 	 * Does nothing.
+	 * @param game the Game in which to take the turn
 	 */
-	public void takeTurn() { 
-		Game.getInstance().notifyPlaying(false);
+	public void takeTurn(Game game) { 
+		game.notifyPlaying(false);
 	}
 	
 	/**
@@ -0,0 +1,270 @@
+package model;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A <code>JournalReplayer</code> rebuilds the state of a game from the
+ * GameJournal it was recorded to, as it was after any turn.
+ *
+ * The journal is mapped into memory and read in place.  To rebuild the
+ * state after a turn, the replayer looks up the last keyframe at or before
+ * the turn in the journal's index (one read, at a fixed offset), reads the
+ * GameState of the keyframe, and applies the recorded actions from there
+ * to the turn, at most keyframeInterval turns.  If the index is missing or
+ * does not match the journal, it is rebuilt by reading the journal once.
+ *
+ * A journal cut short, by a crash for example, is replayed up to its last
+ * whole record.  The journal must be smaller than 2 GB.  A JournalReplayer
+ * is thread safe.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class JournalReplayer {
+	private final ByteBuffer journal;		// The journal, mapped into memory
+	private final LongBuffer keyframes;		// The offset of each keyframe
+	private final int keyframeInterval;
+	private final long startTime;
+
+	/**
+	 * Opens a journal for replay
+	 * @param file the journal file
+	 * @throws IOException if the file cannot be read or is not a journal
+	 */
+	public JournalReplayer(Path file) throws IOException {
+		journal = map(file);
+		BinaryInput in = new BinaryInput(journal.duplicate());
+		try {
+			if (in.readFixedInt() != GameJournal.MAGIC)
+				throw new IOException(file + " is not a game journal");
+			if (in.readByte() != GameJournal.VERSION)
+				throw new IOException(file + " is a journal of an unknown version");
+			keyframeInterval = in.readInt();
+			startTime = in.readLong();
+		} catch (BufferUnderflowException ex) {
+			throw new IOException(file + " is not a game journal");
+		}
+		LongBuffer index = readIndex(GameJournal.indexFileFor(file));
+		keyframes = (index != null) ? index : scanKeyframes(in);
+		if (keyframes.limit() == 0)
+			throw new IOException(file + " has no keyframe");
+	}
+
+	/**
+	 * Returns the number of turns between keyframes
+	 * @return the keyframe interval
+	 */
+	public int getKeyframeInterval() {
+		return keyframeInterval;
+	}
+
+	/**
+	 * Returns when the journal was started
+	 * @return the start time, in milliseconds since the epoch
+	 */
+	public long getStartTime() {
+		return startTime;
+	}
+
+	/**
+	 * Returns the number of turns (hands scored) recorded in the journal
+	 * @return the number of turns
+	 */
+	public int getTurnCount() {
+		Cursor c = new Cursor(keyframes.limit() - 1);
+		while (c.step())
+			;
+		return c.turn;
+	}
+
+	/**
+	 * Rebuilds the state of the game after the given turn: after the given
+	 * number of hands were scored, and before anything else was recorded.
+	 * Turn 0 is the state when the journal was started.
+	 * @param turn the turn
+	 * @return the GameState after the turn
+	 * @throws IllegalArgumentException if the turn is negative, or was not
+	 * recorded
+	 */
+	public GameState seekTurn(int turn) {
+		if (turn < 0)
+			throw new IllegalArgumentException("turn is negative");
+		Cursor c = new Cursor(Math.min(turn / keyframeInterval, keyframes.limit() - 1));
+		while (c.turn < turn) {
+			if (!c.step())
+				throw new IllegalArgumentException("The journal has only " + c.turn + " turns");
+		}
+		return c.state;
+	}
+
+	/**
+	 * Rebuilds the state of the game at the end of the journal
+	 * @return the last GameState recorded
+	 */
+	public GameState replay() {
+		Cursor c = new Cursor(keyframes.limit() - 1);
+		while (c.step())
+			;
+		return c.state;
+	}
+
+	// Maps a file into memory, read only
+	private static ByteBuffer map(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE)
+				throw new IOException(file + " is too large to replay");
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+
+	// Reads the keyframe offsets from the index, or returns null if there is
+	// no index or it does not match the journal
+	private LongBuffer readIndex(Path file) throws IOException {
+		if (!Files.isRegularFile(file))
+			return null;
+		ByteBuffer index = map(file);
+		if (index.limit() < GameJournal.INDEX_HEADER || index.getInt() != GameJournal.INDEX_MAGIC
+				|| index.get() != GameJournal.VERSION || index.getInt() != keyframeInterval)
+			return null;
+		LongBuffer offsets = index.slice().asLongBuffer();
+		int n = offsets.limit();
+		if (n == 0 || offsets.get(n - 1) >= journal.limit())
+			return null;
+		return offsets;
+	}
+
+	// Finds the keyframes by reading the whole journal, from the position
+	// after the header
+	private LongBuffer scanKeyframes(BinaryInput in) {
+		long[] offsets = new long[16];
+		int n = 0;
+		GameState ignored = new GameState();
+		while (in.hasRemaining()) {
+			int start = in.position();
+			try {
+				int tag = in.readByte();
+				in.readVarint();
+				if (tag == GameJournal.KEYFRAME) {
+					in.readInt();
+					GameState.read(in);
+					if (n == offsets.length)
+						offsets = Arrays.copyOf(offsets, n * 2);
+					offsets[n++] = start;
+				} else if (tag == GameJournal.RESTORE) {
+					GameState.read(in);
+				} else {
+					apply(tag, in, ignored, true);
+				}
+			} catch (BufferUnderflowException ex) {
+				break;
+			}
+		}
+		return LongBuffer.wrap(offsets, 0, n).slice();
+	}
+
+	// Reads the details of one record and applies its action to the state.
+	// When skipping, the details are read and nothing is applied.
+	private static void apply(int tag, BinaryInput in, GameState state, boolean skip) {
+		switch (tag) {
+		case GameJournal.JOIN:
+			String name = in.readString();
+			String strategy = in.readString();
+			if (!skip)
+				state.join(new Player(name, new GameState.RecordedStrategy(strategy)));
+			break;
+		case GameJournal.ROLL:
+			int roll = in.readInt();
+			if (!skip)
+				state.rolled(roll);
+			break;
+		case GameJournal.HOLD:
+			int die = in.readByte();
+			if (!skip)
+				state.toggled(die);
+			break;
+		case GameJournal.RESET:
+			if (!skip)
+				state.diceReset();
+			break;
+		case GameJournal.SCORE:
+			Hands hand = Hands.values()[in.readByte()];
+			int score = in.readInt();
+			if (!skip)
+				state.scored(hand, score);
+			break;
+		case GameJournal.STATUS:
+			Status status = Status.values()[in.readByte()];
+			if (!skip)
+				state.setStatus(status);
+			break;
+		case GameJournal.NEW_GAME:
+			if (!skip)
+				state.scoresReset();
+			break;
+		case GameJournal.CLEAR:
+			if (!skip)
+				state.cleared();
+			break;
+		case GameJournal.RESULTS:
+			if (!skip)
+				state.scoresRecorded();
+			break;
+		case GameJournal.WINNER:
+			if (!skip)
+				state.winnerShown();
+			break;
+		default:
+			throw new IllegalStateException("Unknown journal record " + tag);
+		}
+	}
+
+	// Replays the journal from a keyframe, one record at a time
+	private final class Cursor {
+		final BinaryInput in;
+		GameState state;
+		int turn;
+
+		// Starts at the given keyframe, with its state
+		Cursor(int keyframe) {
+			in = new BinaryInput(journal.duplicate());
+			in.seek((int) keyframes.get(keyframe));
+			if (in.readByte() != GameJournal.KEYFRAME)
+				throw new IllegalStateException("The journal index does not point at a keyframe");
+			in.readVarint();
+			turn = in.readInt();
+			state = GameState.read(in);
+		}
+
+		// Applies the next record, returning false at the end of the journal
+		boolean step() {
+			if (!in.hasRemaining())
+				return false;
+			int start = in.position();
+			try {
+				int tag = in.readByte();
+				in.readVarint();
+				if (tag == GameJournal.KEYFRAME) {
+					in.readInt();
+					GameState.read(in);
+				} else if (tag == GameJournal.RESTORE) {
+					state = GameState.read(in);
+				} else {
+					apply(tag, in, state, false);
+					if (tag == GameJournal.SCORE)
+						turn++;
+				}
+				return true;
+			} catch (BufferUnderflowException ex) {
+				in.seek(start);
+				return false;
+			}
+		}
+	}
+}
@@ -0,0 +1,240 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A <code>LatencyHistogram</code> is a distribution of durations kept by
+ * Metrics, such as the time each computer turn takes, from which the mean,
+ * maximum, and percentiles can be read.
+ *
+ * Durations are counted in buckets laid out as in an HdrHistogram: below
+ * 64 nanoseconds each bucket holds one value, and above it each power of
+ * two is split into 32 buckets, so a duration is kept to within about 3%
+ * from a nanosecond up to the largest kept, about 18 minutes (longer ones
+ * are counted as that).  Recording a duration is a few shifts and one
+ * atomic add; the buckets are striped by thread as in a StripedCounter, so
+ * threads rarely touch the same cache line, and are summed when they are
+ * read.  Nothing is recorded while Metrics are disabled.
+ *
+ * A LatencyHistogram is thread safe, and takes no lock.  Its summaries are
+ * read from the buckets as they are, so a duration recorded while they are
+ * read may be counted in one and not another.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class LatencyHistogram implements LatencyHistogramMXBean {
+	// The buckets of each power of two, the largest duration kept, and the
+	// number of buckets up to it
+	private static final int subBits = 5;
+	private static final int subBuckets = 1 << subBits;
+	private static final long maxValue = (1L << 40) - 1;
+	private static final int numBuckets = bucketOf(maxValue) + 1;
+
+	// The longs between the count, sum, and maximum of each stripe, so
+	// each stripe has its own cache line
+	private static final int padding = 8;
+	private static final int COUNT = 0;
+	private static final int SUM = 1;
+	private static final int MAX = 2;
+
+	private final String name;
+	private final int mask;					// The number of stripes, less one
+	private final AtomicLongArray buckets;	// numBuckets counts per stripe
+	private final AtomicLongArray totals;	// The count, sum, and max per stripe
+
+	// Histograms are made by Metrics.histogram()
+	LatencyHistogram(String name) {
+		this.name = name;
+		int n = Metrics.stripes();
+		mask = n - 1;
+		buckets = new AtomicLongArray(n * numBuckets);
+		totals = new AtomicLongArray(n * padding);
+	}
+
+	/**
+	 * Returns the name of the histogram
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Records the time since a start time taken by Metrics.start().  Nothing
+	 * is recorded if the start time is 0, as it is when Metrics are disabled.
+	 * @param start the start time, from Metrics.start()
+	 */
+	public void recordSince(long start) {
+		if (start != 0)
+			record(System.nanoTime() - start);
+	}
+
+	/**
+	 * Records a duration, if Metrics are enabled
+	 * @param nanos the duration, in nanoseconds
+	 */
+	public void record(long nanos) {
+		if (!Metrics.isEnabled())
+			return;
+		long value = Math.max(0, Math.min(nanos, maxValue));
+		int s = (int) Thread.currentThread().getId() & mask;
+		buckets.getAndIncrement(s * numBuckets + bucketOf(value));
+		int t = s * padding;
+		totals.getAndIncrement(t + COUNT);
+		totals.getAndAdd(t + SUM, value);
+		long max;
+		while ((max = totals.get(t + MAX)) < value && !totals.compareAndSet(t + MAX, max, value))
+			;
+	}
+
+	/**
+	 * Returns the number of durations recorded
+	 * @return the count
+	 */
+	@Override
+	public long getCount() {
+		return total(COUNT);
+	}
+
+	/**
+	 * Returns the mean duration, in nanoseconds
+	 * @return the mean, or 0 if nothing has been recorded
+	 */
+	public double getMean() {
+		long n = total(COUNT);
+		return n == 0 ? 0 : (double) total(SUM) / n;
+	}
+
+	/**
+	 * Returns the longest duration, in nanoseconds
+	 * @return the maximum, or 0 if nothing has been recorded
+	 */
+	public long getMax() {
+		long max = 0;
+		for (int s = 0; s <= mask; s++)
+			max = Math.max(max, totals.get(s * padding + MAX));
+		return max;
+	}
+
+	/**
+	 * Returns a percentile of the durations, in nanoseconds: the largest
+	 * duration in the bucket holding the given fraction of the durations
+	 * recorded, no more than the maximum
+	 * @param percentile the percentile, from 0 to 100
+	 * @return the duration, or 0 if nothing has been recorded
+	 * @throws IllegalArgumentException if the percentile is not from 0 to 100
+	 */
+	public long getPercentile(double percentile) {
+		if (!(percentile >= 0 && percentile <= 100))
+			throw new IllegalArgumentException("percentile is not from 0 to 100: " + percentile);
+		long[] counts = new long[numBuckets];
+		long n = 0;
+		for (int s = 0; s <= mask; s++) {
+			for (int b = 0; b < numBuckets; b++) {
+				long c = buckets.get(s * numBuckets + b);
+				counts[b] += c;
+				n += c;
+			}
+		}
+		if (n == 0)
+			return 0;
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+		long seen = 0;
+		int b = 0;
+		while (b < numBuckets - 1 && (seen += counts[b]) < rank)
+			b++;
+		return Math.min(highestIn(b), getMax());
+	}
+
+	/**
+	 * Returns the mean duration, in microseconds
+	 */
+	@Override
+	public double getMeanMicros() {
+		return getMean() / 1000;
+	}
+
+	/**
+	 * Returns the longest duration, in microseconds
+	 */
+	@Override
+	public double getMaxMicros() {
+		return getMax() / 1000.0;
+	}
+
+	/**
+	 * Returns the median duration, in microseconds
+	 */
+	@Override
+	public double getMedianMicros() {
+		return getPercentile(50) / 1000.0;
+	}
+
+	/**
+	 * Returns the 90th percentile duration, in microseconds
+	 */
+	@Override
+	public double get90thPercentileMicros() {
+		return getPercentile(90) / 1000.0;
+	}
+
+	/**
+	 * Returns the 99th percentile duration, in microseconds
+	 */
+	@Override
+	public double get99thPercentileMicros() {
+		return getPercentile(99) / 1000.0;
+	}
+
+	/**
+	 * Returns the 99.9th percentile duration, in microseconds
+	 */
+	@Override
+	public double get999thPercentileMicros() {
+		return getPercentile(99.9) / 1000.0;
+	}
+
+	/**
+	 * Clears the histogram
+	 */
+	@Override
+	public void reset() {
+		for (int i = 0; i < buckets.length(); i++)
+			buckets.set(i, 0);
+		for (int i = 0; i < totals.length(); i++)
+			totals.set(i, 0);
+	}
+
+	/**
+	 * Returns a summary of the histogram as a line of text, in microseconds
+	 */
+	@Override
+	public String toString() {
+		return String.format("%s count %d  mean %.1f  p50 %.1f  p90 %.1f  p99 %.1f  p99.9 %.1f  max %.1f us",
+				name, getCount(), getMeanMicros(), getMedianMicros(), get90thPercentileMicros(),
+				get99thPercentileMicros(), get999thPercentileMicros(), getMaxMicros());
+	}
+
+	// Sums one of the totals over the stripes
+	private long total(int which) {
+		long sum = 0;
+		for (int s = 0; s <= mask; s++)
+			sum += totals.get(s * padding + which);
+		return sum;
+	}
+
+	// Returns the bucket of a value from 0 to maxValue: the value itself
+	// below 2 * subBuckets, and above it the value's top subBits + 1 bits,
+	// offset by subBuckets for each bit shifted off
+	private static int bucketOf(long value) {
+		int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - subBits);
+		return (shift << subBits) + (int) (value >>> shift);
+	}
+
+	// Returns the largest value counted in a bucket
+	private static long highestIn(int bucket) {
+		int shift = Math.max(0, (bucket >> subBits) - 1);
+		long lowest = (long) (bucket - (shift << subBits)) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+}
@@ -0,0 +1,58 @@
+package model;
+
+/**
+ * The <code>LatencyHistogramMXBean</code> is the management interface of a
+ * LatencyHistogram, registered by Metrics under the name
+ * <code>model:type=Metrics,name=</code> and the histogram's name.  The
+ * durations are in microseconds.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public interface LatencyHistogramMXBean {
+	/**
+	 * Returns the number of durations recorded
+	 * @return the count
+	 */
+	public long getCount();
+
+	/**
+	 * Returns the mean duration
+	 * @return the mean, in microseconds
+	 */
+	public double getMeanMicros();
+
+	/**
+	 * Returns the longest duration
+	 * @return the maximum, in microseconds
+	 */
+	public double getMaxMicros();
+
+	/**
+	 * Returns the median duration
+	 * @return the median, in microseconds
+	 */
+	public double getMedianMicros();
+
+	/**
+	 * Returns the 90th percentile duration
+	 * @return the percentile, in microseconds
+	 */
+	public double get90thPercentileMicros();
+
+	/**
+	 * Returns the 99th percentile duration
+	 * @return the percentile, in microseconds
+	 */
+	public double get99thPercentileMicros();
+
+	/**
+	 * Returns the 99.9th percentile duration
+	 * @return the percentile, in microseconds
+	 */
+	public double get999thPercentileMicros();
+
+	/**
+	 * Clears the histogram
+	 */
+	public void reset();
+}
@@ -0,0 +1,268 @@
+package model;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * <code>Metrics</code> keeps the counters and latency histograms that show
+ * where the time goes during play, and publishes them over JMX.  The model
+ * records:
+ * <ul>
+ * <li>turn.&lt;strategy&gt; - how long each computer turn of a Strategy
+ * takes to play, from when its thread starts it to when it ends</li>
+ * <li>turn.wait - how long each computer turn waits for a turn thread
+ * after nextTurn() hands it to the TurnScheduler</li>
+ * <li>event.dispatch - how long the listeners of an EventSource take to
+ * be handed each event</li>
+ * <li>event.delivery - how long a listener with an executor (the Swing
+ * views, for example) takes to handle each event on it</li>
+ * <li>scoreValidator.calls - the number of rolls scored through the
+ * ScoreValidator</li>
+ * </ul>
+ * and the GUI records gui.refreshPlayers, the time the players panel takes
+ * to refresh.  Other code can add its own with counter() and histogram().
+ *
+ * Metrics are disabled unless the system property
+ * <code>yahtzee.metrics</code> is true or setEnabled(true) is called.  While
+ * they are disabled each measurement costs a read of one volatile field:
+ * start() returns 0 without reading the clock, and the counters and
+ * histograms ignore what they are given.  Enabled, they record without
+ * locks into striped counters (see StripedCounter and LatencyHistogram).
+ * The first time they are enabled, a MetricsMXBean is registered with the
+ * platform MBeanServer as <code>model:type=Metrics</code>, and a
+ * LatencyHistogramMXBean for each histogram as
+ * <code>model:type=Metrics,name=&lt;name&gt;</code>, so they can be watched
+ * from JConsole or VisualVM; dump() returns them all as text.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class Metrics {
+	/**
+	 * The system property that enables metrics when the program starts
+	 */
+	public static final String ENABLED_PROPERTY = "yahtzee.metrics";
+
+	/**
+	 * The names of the metrics the model records
+	 */
+	public static final String TURN_PREFIX = "turn.";
+	public static final String TURN_WAIT = "turn.wait";
+	public static final String EVENT_DISPATCH = "event.dispatch";
+	public static final String EVENT_DELIVERY = "event.delivery";
+	public static final String SCORE_VALIDATOR_CALLS = "scoreValidator.calls";
+
+	// The stripes of each counter and histogram: the processors, rounded up
+	// to a power of two, and at most 64
+	private static final int stripes = Integer.highestOneBit(
+			Math.min(64, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+
+	private static final ConcurrentMap<String, StripedCounter> counters =
+			new ConcurrentHashMap<String, StripedCounter>();
+	private static final ConcurrentMap<String, LatencyHistogram> histograms =
+			new ConcurrentHashMap<String, LatencyHistogram>();
+
+	private static volatile boolean enabled;
+	private static boolean registered;	// Whether the MXBeans are registered
+
+	static {
+		if (Boolean.getBoolean(ENABLED_PROPERTY))
+			setEnabled(true);
+	}
+
+	// Metrics has only static methods
+	private Metrics() { }
+
+	// Returns the logger of failures to register the MXBeans, which is
+	// only looked up on a failure, since loading the logging framework
+	// would slow the startup of every program that scores a roll
+	private static Logger log() {
+		return Logger.getLogger(Metrics.class.getName());
+	}
+
+	/**
+	 * Returns whether metrics are being recorded
+	 * @return true if metrics are enabled
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Starts or stops recording metrics.  The first time they are started,
+	 * the MXBeans are registered with the platform MBeanServer.
+	 * @param flag whether to record metrics
+	 */
+	public static void setEnabled(boolean flag) {
+		if (flag)
+			registerAll();
+		enabled = flag;
+	}
+
+	/**
+	 * Returns the time to measure a duration from, or 0 if metrics are
+	 * disabled.  Pass it to LatencyHistogram.recordSince() at the end.
+	 * @return the start time, in the units of System.nanoTime(), or 0
+	 */
+	public static long start() {
+		if (!enabled)
+			return 0;
+		long now = System.nanoTime();
+		return now != 0 ? now : 1;
+	}
+
+	/**
+	 * Returns the counter of the given name, creating it if there is none
+	 * @param name the name of the counter
+	 * @return the StripedCounter
+	 */
+	public static StripedCounter counter(String name) {
+		StripedCounter c = counters.get(name);
+		if (c == null) {
+			StripedCounter created = new StripedCounter(name);
+			c = counters.putIfAbsent(name, created);
+			if (c == null)
+				c = created;
+		}
+		return c;
+	}
+
+	/**
+	 * Returns the histogram of the given name, creating it (and registering
+	 * its MXBean, if metrics have been enabled) if there is none
+	 * @param name the name of the histogram
+	 * @return the LatencyHistogram
+	 */
+	public static LatencyHistogram histogram(String name) {
+		LatencyHistogram h = histograms.get(name);
+		if (h == null) {
+			LatencyHistogram created = new LatencyHistogram(name);
+			h = histograms.putIfAbsent(name, created);
+			if (h == null) {
+				h = created;
+				synchronized (Metrics.class) {
+					if (registered)
+						register(objectName(name), h);
+				}
+			}
+		}
+		return h;
+	}
+
+	/**
+	 * Returns the histogram of the turn times of a Strategy
+	 * @param strategy the name of the Strategy
+	 * @return the LatencyHistogram
+	 */
+	public static LatencyHistogram turnTime(String strategy) {
+		return histogram(TURN_PREFIX + strategy);
+	}
+
+	/**
+	 * Returns every counter and histogram as text, one per line, in order
+	 * of their names.  Histograms are in microseconds.
+	 * @return the text
+	 */
+	public static String dump() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Metrics ").append(enabled ? "enabled" : "disabled").append('\n');
+		for (StripedCounter c : new TreeMap<String, StripedCounter>(counters).values())
+			sb.append(c).append('\n');
+		for (LatencyHistogram h : new TreeMap<String, LatencyHistogram>(histograms).values())
+			sb.append(h).append('\n');
+		return sb.toString();
+	}
+
+	/**
+	 * Clears every counter and histogram
+	 */
+	public static void reset() {
+		for (StripedCounter c : counters.values())
+			c.reset();
+		for (LatencyHistogram h : histograms.values())
+			h.reset();
+	}
+
+	// Returns the number of stripes of each counter and histogram
+	static int stripes() {
+		return stripes;
+	}
+
+	// Registers the MetricsMXBean and the histograms' MXBeans, once
+	private static synchronized void registerAll() {
+		if (registered)
+			return;
+		registered = true;
+		try {
+			register(new ObjectName("model:type=Metrics"), new Bean());
+		} catch (JMException ex) {
+			log().log(Level.WARNING, "The metrics could not be registered", ex);
+		}
+		for (LatencyHistogram h : histograms.values())
+			register(objectName(h.getName()), h);
+	}
+
+	// Registers an MXBean, unless one is registered under the name.  A
+	// failure is logged; the metrics are still recorded.
+	private static void register(ObjectName name, Object bean) {
+		if (name == null)
+			return;
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			if (!server.isRegistered(name))
+				server.registerMBean(bean, name);
+		} catch (JMException | SecurityException ex) {
+			log().log(Level.WARNING, "The metric " + name + " could not be registered", ex);
+		}
+	}
+
+	// Returns the ObjectName of a histogram's MXBean, or null if the name
+	// cannot be made into one
+	private static ObjectName objectName(String histogram) {
+		try {
+			return new ObjectName("model:type=Metrics,name=" + ObjectName.quote(histogram));
+		} catch (JMException ex) {
+			log().log(Level.WARNING, "The metric " + histogram + " could not be named", ex);
+			return null;
+		}
+	}
+
+	// The MetricsMXBean, which hands each call to the static methods
+	private static final class Bean implements MetricsMXBean {
+		@Override
+		public boolean isEnabled() {
+			return Metrics.isEnabled();
+		}
+
+		@Override
+		public void setEnabled(boolean enabled) {
+			Metrics.setEnabled(enabled);
+		}
+
+		@Override
+		public Map<String, Long> getCounters() {
+			Map<String, Long> values = new TreeMap<String, Long>();
+			for (StripedCounter c : counters.values())
+				values.put(c.getName(), c.get());
+			return values;
+		}
+
+		@Override
+		public String dump() {
+			return Metrics.dump();
+		}
+
+		@Override
+		public void reset() {
+			Metrics.reset();
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package model;
+
+import java.util.Map;
+
+/**
+ * The <code>MetricsMXBean</code> is the management interface of Metrics,
+ * registered under the name <code>model:type=Metrics</code>.  It turns the
+ * metrics on and off, and reads or clears all of them at once.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public interface MetricsMXBean {
+	/**
+	 * Returns whether metrics are being recorded
+	 * @return true if metrics are enabled
+	 */
+	public boolean isEnabled();
+
+	/**
+	 * Starts or stops recording metrics
+	 * @param enabled whether to record metrics
+	 */
+	public void setEnabled(boolean enabled);
+
+	/**
+	 * Returns the value of every counter
+	 * @return the counts, by counter name
+	 */
+	public Map<String, Long> getCounters();
+
+	/**
+	 * Returns every counter and histogram as text, one per line
+	 * @return the text
+	 */
+	public String dump();
+
+	/**
+	 * Clears every counter and histogram
+	 */
+	public void reset();
+}
@@ -0,0 +1,143 @@
+package model;
+
+import model.sim.RolloutSearch;
+import model.sim.SimScoreCard;
+
+/**
+ * The MonteCarloStrategy implements the Strategy interface.
+ * The MonteCarloStrategy is a computer strategy that makes each decision by
+ * playing it out: before each roll it tries every distinct way of holding
+ * the dice, and at the end of the turn every open hand, playing each to the
+ * end of the game many times with a simpler strategy (by default the
+ * FourAndUpStrategy), and takes the one with the highest mean final score.
+ * The rollouts run in parallel on every processor for a fixed time budget
+ * per decision (see RolloutSearch), so the strategy plays better on more
+ * processors.  Unlike the OptimalStrategy it needs no precomputed table.
+ *
+ * The budget is 20 milliseconds per decision, unless the system property
+ * <code>yahtzee.montecarlo.millis</code> sets another.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public class MonteCarloStrategy implements Strategy {
+	/**
+	 * The system property that sets the default time budget of each
+	 * decision, in milliseconds
+	 */
+	public static final String BUDGET_PROPERTY = "yahtzee.montecarlo.millis";
+
+	/**
+	 * The time budget of each decision, in milliseconds, if the system
+	 * property does not set one
+	 */
+	public static final int DEFAULT_BUDGET = 20;
+
+	private static final Hands[] hands = Hands.values();
+
+	private final String name = "Monte Carlo";
+	private final RolloutSearch search;
+	private final long budget;						// In nanoseconds
+	private final SimScoreCard card = new SimScoreCard();	// The card of the current turn
+
+	/**
+	 * Constructs a new MonteCarloStrategy that plays its rollouts like the
+	 * FourAndUpStrategy, on one thread per processor, with the default
+	 * time budget
+	 */
+	public MonteCarloStrategy() {
+		this(new FourAndUpStrategy(), Integer.getInteger(BUDGET_PROPERTY, DEFAULT_BUDGET),
+				Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Constructs a new MonteCarloStrategy
+	 * @param rollout the computer strategy to play the rollouts like
+	 * @param millis the time budget of each decision, in milliseconds
+	 * @param threads the number of threads to play the rollouts on
+	 * @throws IllegalArgumentException if the rollout strategy cannot be
+	 * simulated (see model.sim.Policies), millis is less than 1, or threads
+	 * is less than 1
+	 */
+	public MonteCarloStrategy(Strategy rollout, long millis, int threads) {
+		if (millis < 1)
+			throw new IllegalArgumentException("millis is less than 1: " + millis);
+		this.search = new RolloutSearch(rollout, threads);
+		this.budget = millis * 1000000;
+	}
+
+	/**
+	 * Take a turn for the computer player
+	 * @param game the Game in which to take the turn
+	 */
+	@Override
+	public void takeTurn(Game game) {
+		// Play the turn on the Game's turn thread with the
+		// decisions of a search of this Game
+		TurnDriver.takeTurn(game, new TurnSearch(game));
+	}
+
+	// Copies the current player's score card for the search, before each
+	// decision, since a Yahtzee may have earned the bonus
+	private void loadCard(Game game) {
+		ScoreCard sc = game.getPlayers().get(0).getScoreCard();
+		card.reset();
+		for (Hands h : hands) {
+			Score s = sc.getScore(h);
+			if (s.getScoreTaken())
+				card.setScore(h, s.getScore());
+		}
+		card.restoreYahtzeeBonus(sc.getYahtzeeBonus(), !sc.canTakeYahtzeeBonus());
+	}
+
+	/**
+	 * Returns the name of the strategy
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the number of rollouts the strategy has played, over all of
+	 * its decisions
+	 * @return the number of rollouts
+	 */
+	public long getRollouts() {
+		return search.getRollouts();
+	}
+
+	// Decides a turn in a Game by searching from the player's whole score
+	// card, which is more than a TurnState holds.  If the turn is cancelled
+	// during a search, the interrupt is restored and the dice are left as
+	// they are, and the TurnDriver ends the turn.
+	private class TurnSearch implements TurnDecider {
+		private final Game game;
+
+		// Constructs the decisions of a turn in the given Game
+		TurnSearch(Game game) {
+			this.game = game;
+		}
+
+		@Override
+		public int holdDice(TurnState state) {
+			loadCard(game);
+			try {
+				return search.bestHold(card, state.getRoll(), state.getNumRolls(), budget);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return state.getHeldMask();
+			}
+		}
+
+		@Override
+		public Hands chooseHand(TurnState state) {
+			loadCard(game);
+			try {
+				return search.bestHand(card, state.getRoll(), budget);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return state.highestScoring(0, hands.length);
+			}
+		}
+	}
+}
@@ -1,10 +1,7 @@
 package model;
 
-import java.util.HashSet;
-import java.util.Set;
-
 /**
- * The OfAKinderStrategy implements the Strategy interface.
+ * The OfAKinderStrategy implements the Strategy and TurnDecider interfaces.
  * The OfAKinderStrategy is a computer strategy that takes a Yahtzee turn
  * by rolling the dice and holding die values that occur 2 or more times,
  * rerolling the rest.  For example, if the initial hand is [2, 4, 3, 1, 4], 
@@ -15,9 +12,9 @@ import java.util.Set;
  * @author Aaron Lamb
  * @version 2.0.1 2/6/2012
  */
-public class OfAKinderStrategy implements Strategy {
+public class OfAKinderStrategy implements Strategy, TurnDecider {
 	private final String name = "Of a Kinder";
-	Set<Integer> toHold;
+	private static final Hands[] hands = Hands.values();
 	
 	/**
 	 * Constructs a new OfAKinderStrategy
@@ -26,57 +23,34 @@ public class OfAKinderStrategy implements Strategy {
 	
 	/**
 	 * Take a turn for the computer player
+	 * @param game the Game in which to take the turn
 	 */
 	@Override
-	public void takeTurn() {
-		// Notify the Game object that a computer turn
-		// is in progress
-		Game.getInstance().notifyPlaying(true);
-		
-		// Create a new Thread for the turn
-		StrategyTurn turn = new StrategyTurn();
-		Thread t = new Thread(turn);
-		
-		// Take the turn
-		t.start();
+	public void takeTurn(Game game) {
+		// Play the turn on the Game's turn thread with the
+		// decisions below
+		TurnDriver.takeTurn(game, this);
 	}
-		
-	// Holds the dice for the strategy. See the class documentation
-	// for specifics
-	private void holdDice() {
-		toHold = new HashSet<Integer>();
-		int[] roll = Dice.getInstance().getRoll();
-		for (int i = 0; i < roll.length; i++) {
-			for (int j = i + 1; j < roll.length; j++) {
-				if (roll[i] == roll[j]) {
-					toHold.add(i);
-					toHold.add(j);
-				}
-			}
-		}
-		for (int i : toHold) {
-			if (!Dice.getInstance().isHeld(i))
-				Dice.getInstance().toggleDie(i);
-		}
+	
+	/**
+	 * Holds the dice for the strategy: every die whose face shows up two or
+	 * more times, on top of the dice already held
+	 * @param state the turn, after the latest roll
+	 * @return the dice to hold
+	 */
+	@Override
+	public int holdDice(TurnState state) {
+		return state.getHeldMask() | state.getMatchedMask();
 	}
-
-	// Records a score for the strategy. See the class documentation
-	// for specific information
-	private void takeScore() {
-		int[] roll = Dice.getInstance().getRoll();
-		ScoreCard sc = Game.getInstance().getPlayers().get(0).getScoreCard();
-		int max = -1;
-		Hands maxHand = null;
-		for (Hands h : Hands.values()) {
-			int score = ScoreValidator.getInstance().scoreHand(h,  roll);
-			if (!sc.getScore(h).getScoreTaken() && score > max) {
-				max = score;
-				maxHand = h;
-			}
-		}
-		if (maxHand != null) {
-			Game.getInstance().takeScore(maxHand, ScoreValidator.getInstance().scoreHand(maxHand, roll));
-		}
+	
+	/**
+	 * Chooses the open hand that scores the most
+	 * @param state the turn, after the last roll
+	 * @return the hand to score
+	 */
+	@Override
+	public Hands chooseHand(TurnState state) {
+		return state.highestScoring(0, hands.length);
 	}
 
 	/**
@@ -86,27 +60,4 @@ public class OfAKinderStrategy implements Strategy {
 	public String getName() {
 		return name;
 	}
-	
-	// Creates a thread to take the computer turn
-	private class StrategyTurn implements Runnable {
-		@Override
-		public void run() {
-			int timeout = Game.getInstance().getStrategyPlaySpeed();
-			try {
-				while (Dice.getInstance().getNumRolls() < 3) {
-					Dice.getInstance().roll();
-					Thread.sleep(timeout);
-					holdDice();
-					Thread.sleep(timeout);
-				}
-				takeScore();
-				Game.getInstance().notifyPlaying(false);
-				Dice.getInstance().reset();
-				if (!Game.getInstance().isOver())
-					Game.getInstance().nextTurn();
-				else
-					Game.getInstance().showWinner();
-			} catch (Exception ex) { }			
-		}
-	}
 }
\ No newline at end of file
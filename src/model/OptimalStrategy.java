@@ -0,0 +1,103 @@
+package model;
+
+/**
+ * The OptimalStrategy implements the Strategy and TurnDecider interfaces.
+ * The OptimalStrategy is a computer strategy that plays to maximize its
+ * expected final score, as if it were playing a game alone.  The expected
+ * value of every position at the start of a turn is solved once, ahead of
+ * time, by the ExpectedValueTable.  During a turn the strategy holds the
+ * dice that give the highest expected value, stops rolling when no reroll
+ * can improve on the dice it has, and places the hand into the category
+ * that gives the highest expected final score (which is not always the
+ * highest score for that hand).
+ * 
+ * The strategy keeps the evaluation of the turn from one decision to the
+ * next, so an OptimalStrategy decides for one player at a time.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public class OptimalStrategy implements Strategy, TurnDecider {
+	private final String name = "Optimal";
+	private TurnEvaluator evaluator;	// The evaluator for the current turn
+	private int mask = -1;				// The hands taken when it was evaluated
+	private int upper = -1;				// The upper total when it was evaluated
+	private final int[] toHold = new int[7];	// How many dice of each face to hold
+	
+	/**
+	 * Constructs a new OptimalStrategy, and starts solving the table of
+	 * expected values if it has not been solved yet
+	 */
+	public OptimalStrategy() { 
+		ExpectedValueTable.solveInBackground();
+	}
+	
+	/**
+	 * Take a turn for the computer player
+	 * @param game the Game in which to take the turn
+	 */
+	@Override
+	public void takeTurn(Game game) {
+		// Play the turn on the Game's turn thread with the
+		// decisions below
+		TurnDriver.takeTurn(game, this);
+	}
+	
+	/**
+	 * Holds the dice for the strategy: the dice of the keeper with the
+	 * highest expected value, or every die if no reroll can improve on them
+	 * @param state the turn, after the latest roll
+	 * @return the dice to hold
+	 */
+	@Override
+	public int holdDice(TurnState state) {
+		evaluate(state);
+		int index = state.getRollIndex();
+		int keeper = evaluator.bestKeeper(index, state.getRollsLeft(), state.canTakeYahtzeeBonus());
+		
+		// Hold one die for each die in the keeper
+		for (int face = 1; face <= 6; face++)
+			toHold[face] = TurnEvaluator.getKeeperCount(keeper, face);
+		int held = 0;
+		for (int i = 0; i < 5; i++) {
+			int face = state.getDie(i);
+			if (toHold[face] > 0) {
+				toHold[face]--;
+				held |= 1 << i;
+			}
+		}
+		return held;
+	}
+	
+	/**
+	 * Chooses the hand for the strategy: the open hand with the highest
+	 * expected final score
+	 * @param state the turn, after the last roll
+	 * @return the hand to score
+	 */
+	@Override
+	public Hands chooseHand(TurnState state) {
+		evaluate(state);
+		return evaluator.bestHand(state.getRollIndex());
+	}
+	
+	// Evaluates the turn for the state's score card, unless it has already
+	// been evaluated
+	private void evaluate(TurnState state) {
+		if (evaluator == null)
+			evaluator = new TurnEvaluator(ExpectedValueTable.getInstance());
+		int up = Math.min(state.getUpperTotal(), ExpectedValueTable.UPPER_BONUS_THRESHOLD);
+		if (state.getTakenMask() != mask || up != upper) {
+			mask = state.getTakenMask();
+			upper = up;
+			evaluator.evaluate(mask, upper);
+		}
+	}
+
+	/**
+	 * Returns the name of the strategy
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+}
@@ -1,15 +1,14 @@
 package model;
 
-import java.util.Observable;
-
 /**
  * A <code>Player</code> object represents a player in a Yahtzee game.
  * The player has a name, a Strategy object, a ScoreCard object, and 
- * a cumulative score. The <code>Player</code> object extends Observabele.
+ * a cumulative score.  Changes to a Player are made through the Game,
+ * which tells its listeners of them.
  * @author Aaron Lamb
  * @version 2.0.1 2/2/2012
  */
-public class Player extends Observable {
+public class Player {
 	private PlayerIdentity identity;
 	private ScoreCard sc;
 	private int score;
@@ -33,9 +32,10 @@ public class Player extends Observable {
 	 * Initiates a turn for the player.  This method must be
 	 * called at the start of a turn by the Game object, or 
 	 * the Strategy will not take the appropriate turn.
+	 * @param game the Game in which the turn is taken
 	 */
-	public void takeTurn() {
-		identity.getStrategy().takeTurn();
+	public void takeTurn(Game game) {
+		identity.getStrategy().takeTurn(game);
 	}
 	
 	/**
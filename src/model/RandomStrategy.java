@@ -1,70 +1,65 @@
 package model;
 
-import java.util.Random;
-
 /**
- * The RandomStrategy implements the Strategy interface.
+ * The RandomStrategy implements the Strategy and TurnDecider interfaces.
  * The RandomStrategy is a computer strategy that takes a Yahtzee turn
  * by rolling the dice and randomly choosing which dice to reroll each turn, 
- * then chooses a random category to assign the hand.
+ * then chooses a random category to assign the hand.  Its choices are
+ * drawn from the generator the Dice are rolled with (see Dice.getRandom()),
+ * so a game seeded the same way is played the same way.
  * @author Aaron Lamb
  * @version 2.0.1 2/6/2012
  */
-public class RandomStrategy implements Strategy {
+public class RandomStrategy implements Strategy, TurnDecider {
 	private final String name = "Random";
-	private Random r;
+	private static final Hands[] hands = Hands.values();
 	
 	/**
 	 * Constructs a new RandomStrategy
 	 */
-	public RandomStrategy() { 
-		r = new Random();
-	}
+	public RandomStrategy() { }
 	
 	/**
 	 * Take a turn for the computer player
+	 * @param game the Game in which to take the turn
 	 */
 	@Override
-	public void takeTurn() {
-		// Notify the Game object that a computer turn
-		// is in progress
-		Game.getInstance().notifyPlaying(true);
-		
-		// Create a new Thread for the turn
-		StrategyTurn turn = new StrategyTurn();
-		Thread t = new Thread(turn);
-		
-		// Take the turn
-		t.start();
+	public void takeTurn(Game game) {
+		// Play the turn on the Game's turn thread with the
+		// decisions below
+		TurnDriver.takeTurn(game, this);
 	}
 	
-	// Holds the dice for the strategy. See the class documentation
-	// for specifics
-	private void holdDice() {
-		int[] roll = Dice.getInstance().getRoll();
-		for (int i = 0; i < roll.length; i++) {
+	/**
+	 * Holds the dice for the strategy: each die is held or released at random
+	 * @param state the turn, after the latest roll
+	 * @return the dice to hold
+	 */
+	@Override
+	public int holdDice(TurnState state) {
+		// Toggle each die with even odds
+		int held = state.getHeldMask();
+		DiceRandom r = state.getRandom();
+		for (int i = 0; i < 5; i++) {
 			if (r.nextBoolean())
-				Dice.getInstance().toggleDie(i);
+				held ^= 1 << i;
 		}
+		return held;
 	}
 	
-	// Records a score for the strategy. See the class documentation
-	// for specific information
-	private void takeScore() {
-		// Retrieve the roll and the score card
-		int[] roll = Dice.getInstance().getRoll();
-		ScoreCard sc = Game.getInstance().getPlayers().get(0).getScoreCard();
-		
-		// Choose a preliminary hand at random
-		Hands hand = Hands.values()[r.nextInt(Hands.values().length)];
-		
-		// Check if the score for the random hand is taken; keep choosing
-		// random hands until a score is available
-		while (sc.getScore(hand).getScoreTaken())
-			hand = Hands.values()[r.nextInt(Hands.values().length)];
-		
-		//Dice.getInstance().reset();
-		Game.getInstance().takeScore(hand, ScoreValidator.getInstance().scoreHand(hand, roll));	
+	/**
+	 * Chooses a random open hand to score
+	 * @param state the turn, after the last roll
+	 * @return the hand to score
+	 */
+	@Override
+	public Hands chooseHand(TurnState state) {
+		// Choose a hand at random until one is open
+		DiceRandom r = state.getRandom();
+		Hands hand = hands[r.nextInt(hands.length)];
+		while (state.isTaken(hand))
+			hand = hands[r.nextInt(hands.length)];
+		return hand;
 	}
 
 	/**
@@ -74,27 +69,4 @@ public class RandomStrategy implements Strategy {
 	public String getName() {
 		return name;
 	}
-	
-	// Creates a thread to take the computer turn
-	private class StrategyTurn implements Runnable {
-		@Override
-		public void run() {
-			int timeout = Game.getInstance().getStrategyPlaySpeed();
-			try {
-				while (Dice.getInstance().getNumRolls() < 3) {
-					Dice.getInstance().roll();
-					Thread.sleep(timeout);
-					holdDice();
-					Thread.sleep(timeout);
-				}
-				takeScore();
-				Game.getInstance().notifyPlaying(false);
-				Dice.getInstance().reset();
-				if (!Game.getInstance().isOver())
-					Game.getInstance().nextTurn();
-				else
-					Game.getInstance().showWinner();
-			} catch (Exception ex) { }			
-		}
-	}
 }
\ No newline at end of file
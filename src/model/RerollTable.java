@@ -0,0 +1,268 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * The <code>RerollTable</code> is a precomputed probability engine for
+ * choosing which dice to hold.  For every keeper (a multiset of zero to
+ * five held dice, numbered as in TurnEvaluator) it holds the exact
+ * distribution of the rolls that rerolling the other dice can lead to, as
+ * the index of each roll (see ScoreTable) and its probability.
+ *
+ * Only the rolls a keeper can lead to are stored, one after another for
+ * each keeper, so the whole table has 4368 outcomes rather than 462 * 252:
+ * holding four dice leads to one of 6 rolls, and holding none to any of the
+ * 252.  The expected value of holding a keeper, given a value for every
+ * roll, is one multiply-add per outcome, and the best of the 32 ways to
+ * hold five dice takes a few thousand at most; nothing is allocated.  The
+ * chance that rerolling around each keeper completes each hand is kept in
+ * its own table, so it is a single array read.
+ *
+ * The table is built once, when the class is loaded, and is immutable, so
+ * every Strategy and thread can share it.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class RerollTable {
+	/**
+	 * The number of keepers (multisets of zero to five dice)
+	 */
+	public static final int NUM_KEEPERS = TurnEvaluator.NUM_KEEPERS;
+
+	// The number of dice, and of ways to hold them
+	private static final int numDice = 5;
+	private static final int numHolds = 1 << numDice;
+
+	private static final Hands[] hands = Hands.values();
+
+	// The outcomes of each keeper, at [start[keeper], start[keeper + 1])
+	private static final int[] start = new int[NUM_KEEPERS + 1];
+
+	// The roll index and probability of each outcome
+	private static final short[] outcomeRoll;
+	private static final double[] outcomeProbability;
+
+	// The chance that rerolling around each keeper scores more than 0 in
+	// each hand, at [keeper * hands.length + hand.ordinal()]
+	private static final double[] completion = new double[NUM_KEEPERS * hands.length];
+
+	static {
+		// Count the outcomes: rerolling n dice leads to one of C(n + 5, 5)
+		// multisets of faces
+		int total = 0;
+		for (int k = 0; k < NUM_KEEPERS; k++) {
+			start[k] = total;
+			total += multisets(numDice - size(k));
+		}
+		start[NUM_KEEPERS] = total;
+		outcomeRoll = new short[total];
+		outcomeProbability = new double[total];
+
+		// Walk the rerolled faces of each keeper in order, as counts of
+		// each face, and weigh each multiset by the number of ways to roll it
+		int[] dice = new int[numDice];
+		int[] counts = new int[6];
+		for (int k = 0; k < NUM_KEEPERS; k++) {
+			int rerolled = numDice - size(k);
+			double oneWay = Math.pow(6, -rerolled);
+			int o = start[k];
+			Arrays.fill(counts, 0);
+			counts[0] = rerolled;
+			while (true) {
+				int d = 0;
+				long ways = factorial(rerolled);
+				for (int f = 0; f < 6; f++) {
+					ways /= factorial(counts[f]);
+					for (int c = TurnEvaluator.getKeeperCount(k, f + 1) + counts[f]; c > 0; c--)
+						dice[d++] = f + 1;
+				}
+				outcomeRoll[o] = (short) ScoreTable.indexOf(dice);
+				outcomeProbability[o] = ways * oneWay;
+				for (Hands h : hands) {
+					if (ScoreTable.score(h, outcomeRoll[o]) > 0)
+						completion[k * hands.length + h.ordinal()] += outcomeProbability[o];
+				}
+				o++;
+				if (!nextMultiset(counts))
+					break;
+			}
+		}
+	}
+
+	// Private constructor: the RerollTable is never instantiated
+	private RerollTable() { }
+
+	/**
+	 * Returns the keeper made of the held dice of a roll
+	 * @param dice the five dice, from 1 to 6
+	 * @param heldMask the dice held: bit i is set if dice[i] is held
+	 * @return the keeper of the held dice
+	 * @throws IllegalArgumentException if a die is not from 1 to 6
+	 */
+	public static int keeperOf(int[] dice, int heldMask) {
+		return TurnEvaluator.getKeeper(dice, heldMask);
+	}
+
+	/**
+	 * Returns the first outcome of a keeper.  The outcomes of a keeper are
+	 * the indexes from start(keeper) to end(keeper), exclusive, passed to
+	 * getRoll() and getProbability().
+	 * @param keeper the keeper
+	 * @return the index of its first outcome
+	 */
+	public static int start(int keeper) {
+		return start[keeper];
+	}
+
+	/**
+	 * Returns the end of the outcomes of a keeper (see start())
+	 * @param keeper the keeper
+	 * @return the index after its last outcome
+	 */
+	public static int end(int keeper) {
+		return start[keeper + 1];
+	}
+
+	/**
+	 * Returns the roll an outcome leads to
+	 * @param outcome the index of the outcome
+	 * @return the index of the roll (see ScoreTable.indexOf())
+	 */
+	public static int getRoll(int outcome) {
+		return outcomeRoll[outcome];
+	}
+
+	/**
+	 * Returns the probability of an outcome
+	 * @param outcome the index of the outcome
+	 * @return the probability, greater than 0
+	 */
+	public static double getProbability(int outcome) {
+		return outcomeProbability[outcome];
+	}
+
+	/**
+	 * Returns the expected value of holding a keeper and rerolling the
+	 * other dice once
+	 * @param keeper the keeper to hold
+	 * @param rollValues the value of each roll, indexed as by ScoreTable
+	 * @return the expected value of the roll rerolling leads to
+	 */
+	public static double expectedValue(int keeper, double[] rollValues) {
+		double sum = 0;
+		for (int o = start[keeper]; o < start[keeper + 1]; o++)
+			sum += outcomeProbability[o] * rollValues[outcomeRoll[o]];
+		return sum;
+	}
+
+	/**
+	 * Returns the chance that holding a keeper and rerolling the other dice
+	 * once leads to a roll that scores more than 0 in a hand
+	 * @param keeper the keeper to hold
+	 * @param hand the hand
+	 * @return the probability, from 0 to 1
+	 */
+	public static double completionProbability(int keeper, Hands hand) {
+		return completion[keeper * hands.length + hand.ordinal()];
+	}
+
+	/**
+	 * Returns the chance that holding a keeper and rerolling the other dice
+	 * once leads to a roll that scores at least a given score in a hand
+	 * @param keeper the keeper to hold
+	 * @param hand the hand
+	 * @param minScore the least score
+	 * @return the probability, from 0 to 1
+	 */
+	public static double probabilityOf(int keeper, Hands hand, int minScore) {
+		double sum = 0;
+		for (int o = start[keeper]; o < start[keeper + 1]; o++) {
+			if (ScoreTable.score(hand, outcomeRoll[o]) >= minScore)
+				sum += outcomeProbability[o];
+		}
+		return sum;
+	}
+
+	/**
+	 * Returns the dice to hold for the highest expected value after
+	 * rerolling the others once.  Holding dice of the same faces in other
+	 * positions is worth the same; the first such mask is returned.
+	 * @param dice the five dice, from 1 to 6
+	 * @param rollValues the value of each roll, indexed as by ScoreTable
+	 * @return the held mask: bit i is set if dice[i] should be held
+	 * @throws IllegalArgumentException if a die is not from 1 to 6
+	 */
+	public static int bestHold(int[] dice, double[] rollValues) {
+		int best = 0;
+		double bestValue = Double.NEGATIVE_INFINITY;
+		for (int m = 0; m < numHolds; m++) {
+			double v = expectedValue(keeperOf(dice, m), rollValues);
+			if (v > bestValue) {
+				bestValue = v;
+				best = m;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Returns the dice to hold for the highest chance of completing a hand
+	 * (scoring more than 0 in it) after rerolling the others once
+	 * @param dice the five dice, from 1 to 6
+	 * @param hand the hand
+	 * @return the held mask: bit i is set if dice[i] should be held
+	 * @throws IllegalArgumentException if a die is not from 1 to 6
+	 */
+	public static int bestHoldFor(int[] dice, Hands hand) {
+		int best = 0;
+		double bestChance = -1;
+		for (int m = 0; m < numHolds; m++) {
+			double p = completionProbability(keeperOf(dice, m), hand);
+			if (p > bestChance) {
+				bestChance = p;
+				best = m;
+			}
+		}
+		return best;
+	}
+
+	// Returns the number of dice in a keeper
+	private static int size(int keeper) {
+		int n = 0;
+		for (int f = 1; f <= 6; f++)
+			n += TurnEvaluator.getKeeperCount(keeper, f);
+		return n;
+	}
+
+	// Returns the number of multisets of n faces
+	private static int multisets(int n) {
+		int m = 1;
+		for (int i = 1; i <= 5; i++)
+			m = m * (n + i) / i;
+		return m;
+	}
+
+	private static long factorial(int n) {
+		long f = 1;
+		for (int i = 2; i <= n; i++)
+			f *= i;
+		return f;
+	}
+
+	// Steps the face counts to the next multiset of the same size, in
+	// order, returning false after the last (all of the sixth face)
+	private static boolean nextMultiset(int[] counts) {
+		// Move one die from the first face that has any to the next face,
+		// and the rest of that face's dice back to the first face
+		for (int f = 0; f < 5; f++) {
+			if (counts[f] > 0) {
+				int rest = counts[f] - 1;
+				counts[f] = 0;
+				counts[f + 1]++;
+				counts[0] += rest;
+				return true;
+			}
+		}
+		return false;
+	}
+}
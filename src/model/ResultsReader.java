@@ -0,0 +1,248 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A <code>ResultsReader</code> answers aggregate queries over a
+ * ResultsStore: the average score of each hand, the average total, and how
+ * often the bonuses were earned, for each Strategy or each Player.
+ *
+ * The column files are mapped into memory, and a query reads only the
+ * columns it needs, in order, a block of rows at a time: the block of each
+ * column is copied into an array, then each row's values are added into
+ * its group's sums.  The rows are split recursively across a
+ * work-stealing ForkJoinPool, each split summing its own rows, and the sums
+ * are merged as the splits are joined, so a scan of hundreds of millions of
+ * rows runs at the speed of memory.  The sums are exact integers, so the
+ * results do not depend on the number of threads.
+ *
+ * A reader sees the rows written to the store when it was opened.  It is
+ * thread safe.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class ResultsReader {
+	// The number of rows read at a time, and the most rows a task sums
+	// without splitting.  Both divide the rows in a mapped segment, so no
+	// block crosses segments.
+	private static final int blockRows = 4096;
+	private static final long rowsPerTask = 1 << 22;
+
+	// The size of each mapped part of a column file
+	private static final long segmentBytes = 1L << 30;
+
+	private final Column[] columns = new Column[ResultsStore.NUM_COLUMNS];
+	private final List<String> players;
+	private final List<String> strategies;
+	private final long rows;
+	private final ForkJoinPool pool;
+
+	/**
+	 * Opens a store for reading, with one thread per processor
+	 * @param dir the directory of the store
+	 * @throws IOException if the store cannot be read
+	 */
+	public ResultsReader(Path dir) throws IOException {
+		this(dir, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Opens a store for reading
+	 * @param dir the directory of the store
+	 * @param threads the number of threads to scan with
+	 * @throws IOException if the store cannot be read
+	 * @throws IllegalArgumentException if threads is less than 1
+	 */
+	public ResultsReader(Path dir, int threads) throws IOException {
+		// Size and map the columns before reading the dictionaries: the
+		// store writes a name before any row that uses it, so every id in
+		// the rows counted is in the dictionaries read afterwards
+		long n = Long.MAX_VALUE;
+		FileChannel[] channels = new FileChannel[columns.length];
+		try {
+			for (int c = 0; c < columns.length; c++) {
+				channels[c] = FileChannel.open(ResultsStore.columnFile(dir, c), StandardOpenOption.READ);
+				n = Math.min(n, channels[c].size() / ResultsStore.columnWidth(c));
+			}
+			for (int c = 0; c < columns.length; c++)
+				columns[c] = new Column(channels[c], ResultsStore.columnWidth(c), n);
+		} finally {
+			for (FileChannel ch : channels) {
+				if (ch != null)
+					ch.close();
+			}
+		}
+		rows = n;
+		players = Collections.unmodifiableList(
+				ResultsStore.readDictionary(ResultsStore.dictionaryFile(dir, ResultsStore.PLAYER)));
+		strategies = Collections.unmodifiableList(
+				ResultsStore.readDictionary(ResultsStore.dictionaryFile(dir, ResultsStore.STRATEGY)));
+		pool = new ForkJoinPool(threads);
+	}
+
+	/**
+	 * Returns the number of rows
+	 * @return the number of rows
+	 */
+	public long getRows() {
+		return rows;
+	}
+
+	/**
+	 * Returns the names of the Players, in order of their ids
+	 * @return the unmodifiable list of names
+	 */
+	public List<String> getPlayers() {
+		return players;
+	}
+
+	/**
+	 * Returns the names of the Strategies, in order of their ids
+	 * @return the unmodifiable list of names
+	 */
+	public List<String> getStrategies() {
+		return strategies;
+	}
+
+	/**
+	 * Sums every row by Strategy
+	 * @return the ResultsSummary of each Strategy
+	 */
+	public ResultsSummary summarizeByStrategy() {
+		return summarize(ResultsStore.STRATEGY, strategies);
+	}
+
+	/**
+	 * Sums every row by Player.  This keeps the sums of every Player for
+	 * each task, so it needs some 150 bytes per Player per thread.
+	 * @return the ResultsSummary of each Player
+	 */
+	public ResultsSummary summarizeByPlayer() {
+		return summarize(ResultsStore.PLAYER, players);
+	}
+
+	/**
+	 * Stops the threads of the reader.  No more queries can be made.
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+	// Sums the rows grouped by the ids in the given column
+	private ResultsSummary summarize(int groupColumn, List<String> names) {
+		long[] sums = pool.invoke(new RowRange(groupColumn, names.size(), 0, rows));
+		return new ResultsSummary(names, sums);
+	}
+
+	// Sums the rows from (inclusive) to (exclusive), splitting the range in
+	// half, on a block boundary, until it is small enough to sum directly
+	@SuppressWarnings("serial")
+	private class RowRange extends RecursiveTask<long[]> {
+		private final int groupColumn;
+		private final int groups;
+		private final long from;
+		private final long to;
+
+		RowRange(int groupColumn, int groups, long from, long to) {
+			this.groupColumn = groupColumn;
+			this.groups = groups;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected long[] compute() {
+			if (to - from <= rowsPerTask)
+				return sum();
+			long mid = (from + (to - from) / 2) / blockRows * blockRows;
+			RowRange left = new RowRange(groupColumn, groups, from, mid);
+			RowRange right = new RowRange(groupColumn, groups, mid, to);
+			left.fork();
+			long[] sums = right.compute();
+			long[] other = left.join();
+			for (int i = 0; i < sums.length; i++)
+				sums[i] += other[i];
+			return sums;
+		}
+
+		// Sums the range on this thread, a block at a time: the block of
+		// each column is read into an array, then each row's values are
+		// added to its group's sums, which keeps the additions for one row
+		// independent of each other
+		private long[] sum() {
+			final int width = ResultsSummary.WIDTH;
+			final int hands = ResultsSummary.NUM_HANDS;
+			long[] sums = new long[groups * width];
+			int[] ids = new int[blockRows];
+			byte[][] values = new byte[ResultsStore.NUM_COLUMNS][blockRows];
+			for (long row = from; row < to; row += blockRows) {
+				int n = (int) Math.min(blockRows, to - row);
+				if (groupColumn == ResultsStore.PLAYER) {
+					columns[groupColumn].getInts(row, ids, n);
+				} else {
+					byte[] group = values[groupColumn];
+					columns[groupColumn].getBytes(row, group, n);
+					for (int i = 0; i < n; i++)
+						ids[i] = group[i] & 0xFF;
+				}
+				for (int c = ResultsStore.FIRST_HAND; c < ResultsStore.NUM_COLUMNS; c++)
+					columns[c].getBytes(row, values[c], n);
+				for (int i = 0; i < n; i++) {
+					int base = ids[i] * width;
+					for (int h = 0; h < hands; h++)
+						sums[base + h] += values[ResultsStore.FIRST_HAND + h][i] & 0xFF;
+					int bonuses = values[ResultsStore.YAHTZEE_BONUSES][i] & 0xFF;
+					if (values[ResultsStore.UPPER_BONUS][i] != 0)
+						sums[base + ResultsSummary.UPPER_BONUS_ROWS]++;
+					if (bonuses != 0)
+						sums[base + ResultsSummary.YAHTZEE_BONUS_ROWS]++;
+					sums[base + ResultsSummary.YAHTZEE_BONUSES] += bonuses;
+					sums[base + ResultsSummary.ROWS]++;
+				}
+			}
+			return sums;
+		}
+	}
+
+	// A column file mapped into memory, in segments of at most segmentBytes
+	private static final class Column {
+		private final ByteBuffer[] segments;
+		private final int width;
+
+		Column(FileChannel channel, int width, long rows) throws IOException {
+			this.width = width;
+			long size = rows * width;
+			segments = new ByteBuffer[(int) ((size + segmentBytes - 1) / segmentBytes)];
+			for (int s = 0; s < segments.length; s++) {
+				long start = s * segmentBytes;
+				segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(segmentBytes, size - start));
+			}
+		}
+
+		// Reads n one-byte values from the given row on
+		void getBytes(long row, byte[] dst, int n) {
+			segmentAt(row).get(dst, 0, n);
+		}
+
+		// Reads n four-byte values from the given row on
+		void getInts(long row, int[] dst, int n) {
+			segmentAt(row).asIntBuffer().get(dst, 0, n);
+		}
+
+		// Returns a view of the segment holding the row, positioned at it
+		private ByteBuffer segmentAt(long row) {
+			long pos = row * width;
+			ByteBuffer b = segments[(int) (pos / segmentBytes)].duplicate();
+			b.position((int) (pos % segmentBytes));
+			return b;
+		}
+	}
+}
@@ -0,0 +1,349 @@
+package model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A <code>ResultsStore</code> keeps the final ScoreCard of every Player of
+ * every finished game, for analysis (see ResultsReader).  A Game given a
+ * store (see Game.setResultsStore()) adds a row for each Player whenever
+ * recordScores() is called; simulations can add rows directly.
+ *
+ * The store is a directory of column files, appended to and never
+ * rewritten.  Each column holds one value for every row, at a fixed width:
+ * the Player's id (4 bytes), the Strategy's id (1 byte), the score of each
+ * of the 13 hands, the upper bonus, and the number of Yahtzee bonuses (1
+ * byte each), so a row takes 20 bytes and an aggregate reads only the
+ * columns it needs, in order.  Player and Strategy names are given ids in
+ * the order they are first seen, and kept in two dictionary files.
+ *
+ * Rows are collected in buffers and appended to the files through
+ * FileChannels when the buffers fill, or on flush() and close().  A store
+ * left with columns of different lengths, by a crash for example, is cut
+ * back to its last whole row when it is opened.  One ResultsStore at a
+ * time may write to a directory; its methods are thread safe.  If the
+ * files cannot be written the failure is logged, the store stops adding
+ * rows, and the IOException is thrown by the next flush() or close().
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class ResultsStore implements Closeable {
+	private static final Logger log = Logger.getLogger(ResultsStore.class.getName());
+
+	// The columns, in the order of their index in a row
+	static final int PLAYER = 0;
+	static final int STRATEGY = 1;
+	static final int FIRST_HAND = 2;	// The column of the first hand (ONES)
+	static final int UPPER_BONUS = FIRST_HAND + 13;
+	static final int YAHTZEE_BONUSES = UPPER_BONUS + 1;
+	static final int NUM_COLUMNS = YAHTZEE_BONUSES + 1;
+
+	// The most Strategies a store can hold, since their ids are one byte
+	static final int MAX_STRATEGIES = 256;
+
+	// The number of rows collected before they are appended to the files
+	private static final int bufferRows = 16 * 1024;
+
+	private static final Hands[] hands = Hands.values();
+
+	/**
+	 * Returns the file of a column
+	 * @param dir the directory of the store
+	 * @param column the column
+	 * @return the column's file
+	 */
+	static Path columnFile(Path dir, int column) {
+		String name;
+		if (column == PLAYER)
+			name = "player";
+		else if (column == STRATEGY)
+			name = "strategy";
+		else if (column == UPPER_BONUS)
+			name = "upper_bonus";
+		else if (column == YAHTZEE_BONUSES)
+			name = "yahtzee_bonuses";
+		else
+			name = hands[column - FIRST_HAND].name().toLowerCase();
+		return dir.resolve(name + ".col");
+	}
+
+	/**
+	 * Returns the width of a column's values
+	 * @param column the column
+	 * @return the width in bytes
+	 */
+	static int columnWidth(int column) {
+		return column == PLAYER ? 4 : 1;
+	}
+
+	/**
+	 * Returns the dictionary file of Player or Strategy names
+	 * @param dir the directory of the store
+	 * @param column PLAYER or STRATEGY
+	 * @return the dictionary file
+	 */
+	static Path dictionaryFile(Path dir, int column) {
+		return dir.resolve(column == PLAYER ? "players.dict" : "strategies.dict");
+	}
+
+	/**
+	 * Reads a dictionary file: the names in order of their ids, each written
+	 * by BinaryOutput.writeString().  A name cut short is ignored.
+	 * @param file the file
+	 * @return the names
+	 * @throws IOException if the file exists and cannot be read
+	 */
+	static List<String> readDictionary(Path file) throws IOException {
+		List<String> names = new ArrayList<String>();
+		if (!Files.exists(file))
+			return names;
+		BinaryInput in = new BinaryInput(ByteBuffer.wrap(Files.readAllBytes(file)));
+		try {
+			while (in.hasRemaining())
+				names.add(in.readString());
+		} catch (RuntimeException ex) {
+			// The last name was cut short
+		}
+		return names;
+	}
+
+	private final FileChannel[] channels = new FileChannel[NUM_COLUMNS];
+	private final ByteBuffer[] buffers = new ByteBuffer[NUM_COLUMNS];
+	private final FileChannel[] dictChannels = new FileChannel[2];
+	private final BinaryOutput[] newNames = new BinaryOutput[2];
+	private final Map<String, Integer> playerIds = new HashMap<String, Integer>();
+	private final Map<String, Integer> strategyIds = new HashMap<String, Integer>();
+	private long rows;			// The number of rows, written and buffered
+	private boolean closed;
+	private IOException failure;	// Why the files could not be written, if they could not
+
+	/**
+	 * Opens a store for adding rows, creating the directory and the
+	 * store if they do not exist
+	 * @param dir the directory of the store
+	 * @throws IOException if the store cannot be opened, or another
+	 * ResultsStore is writing to it
+	 */
+	public ResultsStore(Path dir) throws IOException {
+		Files.createDirectories(dir);
+		try {
+			for (int d = 0; d < 2; d++)
+				dictChannels[d] = FileChannel.open(dictionaryFile(dir, d), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+			lock(dir);
+			for (int d = 0; d < 2; d++) {
+				List<String> names = readDictionary(dictionaryFile(dir, d));
+				Map<String, Integer> ids = (d == PLAYER) ? playerIds : strategyIds;
+				for (String name : names)
+					ids.put(name, ids.size());
+				dictChannels[d].position(dictionaryLength(names));
+				dictChannels[d].truncate(dictChannels[d].position());
+				newNames[d] = new BinaryOutput(256);
+			}
+			rows = Long.MAX_VALUE;
+			for (int c = 0; c < NUM_COLUMNS; c++) {
+				channels[c] = FileChannel.open(columnFile(dir, c), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+				rows = Math.min(rows, channels[c].size() / columnWidth(c));
+				buffers[c] = ByteBuffer.allocate(bufferRows * columnWidth(c));
+			}
+			for (int c = 0; c < NUM_COLUMNS; c++) {
+				channels[c].truncate(rows * columnWidth(c));
+				channels[c].position(rows * columnWidth(c));
+			}
+		} catch (IOException | RuntimeException ex) {
+			try {
+				closeChannels();
+			} catch (IOException closing) {
+				ex.addSuppressed(closing);
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Returns the number of rows in the store, including those not yet
+	 * written to the files
+	 * @return the number of rows
+	 */
+	public synchronized long getRows() {
+		return rows;
+	}
+
+	/**
+	 * Adds a row for each Player of a finished game: the Player's name,
+	 * Strategy name, and ScoreCard
+	 * @param players the Players
+	 */
+	public synchronized void append(Iterable<Player> players) {
+		for (Player p : players)
+			append(p.getName(), p.getStrategyName(), p.getScoreCard());
+	}
+
+	/**
+	 * Adds a row for one Player of a finished game
+	 * @param player the name of the Player
+	 * @param strategy the name of the Player's Strategy
+	 * @param card the Player's ScoreCard
+	 */
+	public synchronized void append(String player, String strategy, ScoreCard card) {
+		if (!begin(player, strategy))
+			return;
+		for (Hands hand : hands)
+			buffers[FIRST_HAND + hand.ordinal()].put((byte) card.getScore(hand).getScore());
+		end(card.getUpperBonus(), card.getYahtzeeBonus() / 100);
+	}
+
+	/**
+	 * Adds a row for one Player of a finished game, from its scores, as
+	 * simulations keep them
+	 * @param player the name of the Player
+	 * @param strategy the name of the Player's Strategy
+	 * @param scores the score of each hand, indexed by the hand's ordinal
+	 * @param upperBonus the upper bonus (0 or 35)
+	 * @param yahtzeeBonuses the number of Yahtzee bonuses
+	 */
+	public synchronized void append(String player, String strategy, int[] scores,
+			int upperBonus, int yahtzeeBonuses) {
+		if (!begin(player, strategy))
+			return;
+		for (int h = 0; h < scores.length; h++)
+			buffers[FIRST_HAND + h].put((byte) scores[h]);
+		end(upperBonus, yahtzeeBonuses);
+	}
+
+	/**
+	 * Writes the rows collected so far to the files
+	 * @throws IOException if the files could not be written, now or since
+	 * the last flush
+	 */
+	public synchronized void flush() throws IOException {
+		write();
+		if (failure != null)
+			throw failure;
+	}
+
+	/**
+	 * Writes the rows collected so far, and closes the files.  Closing a
+	 * closed store does nothing.
+	 * @throws IOException if the files could not be written
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (closed)
+			return;
+		write();
+		closed = true;
+		closeChannels();
+		if (failure != null)
+			throw failure;
+	}
+
+	// Starts a row with the ids of the Player and Strategy, returning false
+	// if the store has failed or been closed
+	private boolean begin(String player, String strategy) {
+		if (failure != null || closed)
+			return false;
+		int strategyId = idOf(STRATEGY, strategyIds, strategy);
+		buffers[PLAYER].putInt(idOf(PLAYER, playerIds, player));
+		buffers[STRATEGY].put((byte) strategyId);
+		return true;
+	}
+
+	// Ends a row with its bonuses, writing the buffers once they fill
+	private void end(int upperBonus, int yahtzeeBonuses) {
+		buffers[UPPER_BONUS].put((byte) upperBonus);
+		buffers[YAHTZEE_BONUSES].put((byte) yahtzeeBonuses);
+		rows++;
+		if (!buffers[PLAYER].hasRemaining())
+			write();
+	}
+
+	// Returns the id of a name, giving it the next id if it is new
+	private int idOf(int dict, Map<String, Integer> ids, String name) {
+		Integer id = ids.get(name);
+		if (id == null) {
+			if (dict == STRATEGY && ids.size() == MAX_STRATEGIES)
+				throw new IllegalStateException("A ResultsStore holds at most " + MAX_STRATEGIES + " strategies");
+			id = ids.size();
+			ids.put(name, id);
+			newNames[dict].writeString(name);
+		}
+		return id;
+	}
+
+	// Writes the new names, then the buffered rows, so no row is written
+	// before the names of its ids.  A failure stops the store, and is thrown
+	// by flush() or close().
+	private void write() {
+		if (failure != null || closed)
+			return;
+		try {
+			for (int d = 0; d < 2; d++)
+				newNames[d].drainTo(dictChannels[d]);
+			for (int c = 0; c < NUM_COLUMNS; c++) {
+				ByteBuffer buf = buffers[c];
+				buf.flip();
+				while (buf.hasRemaining())
+					channels[c].write(buf);
+				buf.clear();
+			}
+		} catch (IOException ex) {
+			failure = ex;
+			log.log(Level.SEVERE, "The results store could not be written", ex);
+		}
+	}
+
+	// Locks the store for this ResultsStore, by locking the dictionary of
+	// Player names, which is held open until the store is closed
+	private void lock(Path dir) throws IOException {
+		FileLock lock;
+		try {
+			lock = dictChannels[PLAYER].tryLock();
+		} catch (OverlappingFileLockException ex) {
+			lock = null;
+		}
+		if (lock == null)
+			throw new IOException(dir + " is being written by another ResultsStore");
+	}
+
+	// Returns the length of a dictionary file holding the names
+	private static long dictionaryLength(List<String> names) {
+		BinaryOutput out = new BinaryOutput(256);
+		for (String name : names)
+			out.writeString(name);
+		return out.size();
+	}
+
+	// Closes every channel that was opened
+	private void closeChannels() throws IOException {
+		IOException first = null;
+		List<FileChannel> all = new ArrayList<FileChannel>();
+		for (FileChannel ch : dictChannels)
+			all.add(ch);
+		for (FileChannel ch : channels)
+			all.add(ch);
+		for (FileChannel ch : all) {
+			try {
+				if (ch != null)
+					ch.close();
+			} catch (IOException ex) {
+				if (first == null)
+					first = ex;
+			}
+		}
+		if (first != null)
+			throw first;
+	}
+}
@@ -0,0 +1,146 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A <code>ResultsSummary</code> holds the sums of the rows of a
+ * ResultsStore for each group (each Strategy or each Player, see
+ * ResultsReader): the number of rows, the sum of each hand's scores, and
+ * how often the bonuses were earned.  Every sum is an integer, so the
+ * averages are exact.  A ResultsSummary is immutable.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class ResultsSummary {
+	// The sums kept for each group, in the order they are kept: the sum of
+	// each hand, then the bonuses and the number of rows
+	static final int NUM_HANDS = 13;
+	static final int UPPER_BONUS_ROWS = NUM_HANDS;
+	static final int YAHTZEE_BONUS_ROWS = UPPER_BONUS_ROWS + 1;
+	static final int YAHTZEE_BONUSES = YAHTZEE_BONUS_ROWS + 1;
+	static final int ROWS = YAHTZEE_BONUSES + 1;
+	static final int WIDTH = ROWS + 1;
+
+	// The value of the bonuses
+	private static final int upperBonusValue = 35;
+	private static final int yahtzeeBonusValue = 100;
+
+	private final List<String> names;	// The name of each group, by id
+	private final long[] sums;			// WIDTH sums for each group, by id
+	private final Map<String, Integer> ids;	// The id of each group, by name
+
+	// Summaries are made by the ResultsReader
+	ResultsSummary(List<String> names, long[] sums) {
+		this.names = names;
+		this.sums = sums;
+		ids = new HashMap<String, Integer>();
+		for (int g = 0; g < names.size(); g++)
+			ids.put(names.get(g), g);
+	}
+
+	/**
+	 * Returns the names of the groups that have rows, in order of their ids
+	 * @return the unmodifiable list of names
+	 */
+	public List<String> getGroups() {
+		List<String> groups = new ArrayList<String>();
+		for (int g = 0; g < names.size(); g++) {
+			if (sums[g * WIDTH + ROWS] > 0)
+				groups.add(names.get(g));
+		}
+		return Collections.unmodifiableList(groups);
+	}
+
+	/**
+	 * Returns the number of rows (games played) of a group
+	 * @param group the name of the group
+	 * @return the number of rows, or 0 if there is no such group
+	 */
+	public long getRows(String group) {
+		return sum(group, ROWS);
+	}
+
+	/**
+	 * Returns the average score of a hand for a group
+	 * @param group the name of the group
+	 * @param hand the hand
+	 * @return the average score, or 0 if the group has no rows
+	 */
+	public double getAverage(String group, Hands hand) {
+		return average(group, sum(group, hand.ordinal()));
+	}
+
+	/**
+	 * Returns the average final score of a group, with the bonuses
+	 * @param group the name of the group
+	 * @return the average final score, or 0 if the group has no rows
+	 */
+	public double getAverageTotal(String group) {
+		long total = sum(group, UPPER_BONUS_ROWS) * upperBonusValue
+				+ sum(group, YAHTZEE_BONUSES) * yahtzeeBonusValue;
+		for (int h = 0; h < NUM_HANDS; h++)
+			total += sum(group, h);
+		return average(group, total);
+	}
+
+	/**
+	 * Returns the fraction of a group's games that earned the upper bonus
+	 * @param group the name of the group
+	 * @return the upper bonus rate, from 0 to 1
+	 */
+	public double getUpperBonusRate(String group) {
+		return average(group, sum(group, UPPER_BONUS_ROWS));
+	}
+
+	/**
+	 * Returns the fraction of a group's games that earned at least one
+	 * Yahtzee bonus
+	 * @param group the name of the group
+	 * @return the Yahtzee bonus rate, from 0 to 1
+	 */
+	public double getYahtzeeBonusRate(String group) {
+		return average(group, sum(group, YAHTZEE_BONUS_ROWS));
+	}
+
+	/**
+	 * Returns the mean number of Yahtzee bonuses a group earned per game
+	 * @param group the name of the group
+	 * @return the Yahtzee bonuses per game
+	 */
+	public double getYahtzeeBonusesPerGame(String group) {
+		return average(group, sum(group, YAHTZEE_BONUSES));
+	}
+
+	/**
+	 * Returns a summary of each group, one line per group
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (String group : getGroups()) {
+			sb.append(String.format("%-14s rows %d  mean %.2f  upper bonus %.1f%%  yahtzee bonus %.1f%% ",
+					group, getRows(group), getAverageTotal(group),
+					getUpperBonusRate(group) * 100, getYahtzeeBonusRate(group) * 100));
+			for (Hands hand : Hands.values())
+				sb.append(String.format(" %.2f", getAverage(group, hand)));
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+
+	// Returns one sum of a group, or 0 if there is no such group
+	private long sum(String group, int index) {
+		Integer g = ids.get(group);
+		return g == null ? 0 : sums[g * WIDTH + index];
+	}
+
+	// Returns a sum of a group divided by its number of rows
+	private double average(String group, long sum) {
+		long n = getRows(group);
+		return n == 0 ? 0 : (double) sum / n;
+	}
+}
@@ -1,32 +1,48 @@
 package model;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
-import java.util.Observable;
+import java.util.List;
 
 /**
  * A Score Card keeps score for a certain player.  The ScoreCard object
  * implements the Iterator design pattern.
+ * 
+ * The Scores are kept in an array indexed by the ordinal of their hand, and
+ * the totals are kept up to date as scores are recorded, so every query is
+ * a field or array read.  Scores should only be recorded through setScore().
  * @author Aaron Lamb
  * @version 1.5.0 2011
  */
-public class ScoreCard extends Observable implements Iterable<Score> {
-	private ArrayList<Score> card;
+public class ScoreCard implements Iterable<Score> {
+	// The number of hands in the upper section (Ones through Sixes)
+	private static final int numUpper = 6;
+	
+	// The upper total that earns the upper bonus, and the bonus
+	private static final int upperBonusThreshold = 63;
+	private static final int upperBonusValue = 35;
+	
+	private final Score[] card;			// The Scores, indexed by hand ordinal
+	private final List<Score> cardList;	// A read-only view of card, for iterating
+	private int upperTotal;
+	private int lowerTotal;
 	private boolean yahtzee;
 	private int yahtzeeBonus;
 	private int yahtzeeBonusTurnNumber;
 	private int upperBonus;
 	private int count;
+	private int takenMask;
 	
 	/**
 	 * Constructs a new ScoreCard object
 	 */
 	public ScoreCard() {
-		card = new ArrayList<Score>();
-		card.ensureCapacity(13);
-		for (Hands hand : Hands.values())
-			card.add(new Score(hand));
-		card.trimToSize();
+		Hands[] hands = Hands.values();
+		card = new Score[hands.length];
+		for (Hands hand : hands)
+			card[hand.ordinal()] = new Score(hand);
+		cardList = Collections.unmodifiableList(Arrays.asList(card));
 	}
 	
 	/**
@@ -37,20 +53,23 @@ public class ScoreCard extends Observable implements Iterable<Score> {
 	 * @return true if the score is recorded, false if it cannot be
 	 */
 	public boolean setScore(Hands hand, int score) {
-		for (Score s : card) {
-			if (s.getHand() == hand && s.getScoreTaken() != true) { 
-				s.setScore(score);
-				count++;
-				if (hand == Hands.YAHTZEE)
-					yahtzee = true;
-				if (upperBonus != 35) {
-					if (getUpperTotal() > 62)
-						upperBonus = 35;
-				}
-				return true;
-			}
+		int h = hand.ordinal();
+		Score s = card[h];
+		if (s.getScoreTaken())
+			return false;
+		s.setScore(score);
+		count++;
+		takenMask |= 1 << h;
+		if (h < numUpper) {
+			upperTotal += score;
+			if (upperTotal >= upperBonusThreshold)
+				upperBonus = upperBonusValue;
+		} else {
+			lowerTotal += score;
 		}
-		return false;
+		if (hand == Hands.YAHTZEE)
+			yahtzee = true;
+		return true;
 	}
 	
 	/**
@@ -59,11 +78,9 @@ public class ScoreCard extends Observable implements Iterable<Score> {
 	 * @return the Score object corresponding to the passed hand
 	 */
 	public Score getScore(Hands hand) {
-		for (Score s : card) {
-			if (s.getHand().equals(hand))
-				return s;
-		}
-		return null;
+		if (hand == null)
+			return null;
+		return card[hand.ordinal()];
 	}
 	
 	/**
@@ -73,10 +90,7 @@ public class ScoreCard extends Observable implements Iterable<Score> {
 	 * @return the score for the first six categories on a Yahtzee score card
 	 */
 	public int getUpperTotal() {
-		int sum = 0;
-		for (int i = 0; i < 6; i++) 
-			sum += card.get(i).getScore();
-		return sum;
+		return upperTotal;
 	}
 	
 	/**
@@ -87,10 +101,7 @@ public class ScoreCard extends Observable implements Iterable<Score> {
 	 * @return the score for the last seven categories on a Yahtzee score card
 	 */
 	public int getLowerTotal() {
-		int sum = 0;
-		for (int i = 6; i < 13; i++)
-			sum += card.get(i).getScore();
-		return sum;
+		return lowerTotal;
 	}
 	
 	/**
@@ -111,6 +122,15 @@ public class ScoreCard extends Observable implements Iterable<Score> {
 		return yahtzeeBonus;
 	}
 	
+	/**
+	 * Returns the total score on the ScoreCard: the upper and lower totals
+	 * and both bonuses
+	 * @return the total score
+	 */
+	public int getTotal() {
+		return upperTotal + upperBonus + lowerTotal + yahtzeeBonus;
+	}
+	
 	/**
 	 * Returns whether or not a Yahtzee has been scored
 	 * @return true if a Yahtzee has been scored, false if not
@@ -127,18 +147,48 @@ public class ScoreCard extends Observable implements Iterable<Score> {
 	 * may call the Yahtzee bonus everytime a Yahtzee is rolled and yahtzee() is true.
 	 */
 	public void takeYahtzeeBonus() {
-		if (yahtzee && count != yahtzeeBonusTurnNumber) {
+		if (canTakeYahtzeeBonus()) {
 			yahtzeeBonus += 100;
 			yahtzeeBonusTurnNumber = count;
 		}
 	}
 	
+	/**
+	 * Returns whether a Yahtzee rolled now would earn the Yahtzee bonus: a
+	 * Yahtzee has been scored, and no bonus has been taken this turn
+	 * @return true if takeYahtzeeBonus() would take the bonus
+	 */
+	public boolean canTakeYahtzeeBonus() {
+		return yahtzee && count != yahtzeeBonusTurnNumber;
+	}
+	
+	// Returns when the last Yahtzee bonus was taken (the number of hands
+	// scored at the time), for saving the ScoreCard
+	int getYahtzeeBonusTurn() {
+		return yahtzeeBonusTurnNumber;
+	}
+	
+	// Restores the Yahtzee bonus of a saved ScoreCard, after its scores
+	void restoreYahtzeeBonus(int bonus, int turn) {
+		yahtzeeBonus = bonus;
+		yahtzeeBonusTurnNumber = turn;
+	}
+	
+	/**
+	 * Returns the hands that have been taken as a bit mask: the bit
+	 * (1 << hand.ordinal()) is set if a score has been recorded for hand.
+	 * @return the bit mask of the hands taken
+	 */
+	public int getTakenMask() {
+		return takenMask;
+	}
+	
 	/**
 	 * Checks whether the ScoreCard is full
 	 * @return true if the ScoreCard is full, false otherwise
 	 */
 	public boolean isFull() {
-		return count == 13;
+		return count == card.length;
 	}
 	
 	/**
@@ -158,6 +208,6 @@ public class ScoreCard extends Observable implements Iterable<Score> {
 
 	@Override
 	public Iterator<Score> iterator() {
-		return card.iterator();
+		return cardList.iterator();
 	}
 }
\ No newline at end of file
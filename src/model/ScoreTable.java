@@ -0,0 +1,144 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * The <code>ScoreTable</code> is a precomputed lookup engine for scoring
+ * Yahtzee hands.  There are only 252 distinct rolls of five dice once the
+ * order of the dice is ignored, so every roll is indexed by a perfect hash
+ * of its dice and the score for every hand is stored in a flat table.
+ *
+ * Scoring a roll never sorts, boxes, allocates, or modifies the roll: the
+ * index of a roll is the sum of five weights, one per die, looked up in a
+ * small table, and the score is a single array read after that.
+ *
+ * The table is built once from the rules in <code>ScoreValidator</code>,
+ * so the two always agree.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class ScoreTable {
+	/**
+	 * The number of distinct rolls of five dice (the number of
+	 * multisets of size five drawn from six faces)
+	 */
+	public static final int NUM_ROLLS = 252;
+
+	// The number of dice in a roll
+	private static final int numDice = 5;
+
+	// The number of hands on a score card
+	private static final int numHands = Hands.values().length;
+
+	// The hash weight for each face (indexed by face, so index 0 is unused).
+	// No two multisets of five faces share the same sum of weights, which
+	// makes the sum a perfect hash for a roll regardless of the dice order.
+	private static final int[] faceWeight = { 0, 0, 1, 25, 118, 198, 207 };
+
+	// Maps a weight sum to the index of the roll, or -1 if no roll has that sum
+	private static final short[] rollIndex = new short[5 * 207 + 1];
+
+	// The sorted dice for each roll index
+	private static final byte[] rollDice = new byte[NUM_ROLLS * numDice];
+
+	// The score for each roll and hand, at [index * numHands + hand.ordinal()]
+	private static final byte[] scores = new byte[NUM_ROLLS * numHands];
+
+	static {
+		Arrays.fill(rollIndex, (short) -1);
+		ScoreValidator reference = ScoreValidator.getInstance();
+		Hands[] hands = Hands.values();
+		int[] roll = new int[numDice];
+		int index = 0;
+
+		// Walk every sorted roll, in lexicographic order
+		for (roll[0] = 1; roll[0] <= 6; roll[0]++)
+		for (roll[1] = roll[0]; roll[1] <= 6; roll[1]++)
+		for (roll[2] = roll[1]; roll[2] <= 6; roll[2]++)
+		for (roll[3] = roll[2]; roll[3] <= 6; roll[3]++)
+		for (roll[4] = roll[3]; roll[4] <= 6; roll[4]++) {
+			int key = 0;
+			for (int i = 0; i < numDice; i++) {
+				key += faceWeight[roll[i]];
+				rollDice[index * numDice + i] = (byte) roll[i];
+			}
+			rollIndex[key] = (short) index;
+			for (Hands h : hands)
+				scores[index * numHands + h.ordinal()] = (byte) reference.referenceScore(h, roll.clone());
+			index++;
+		}
+	}
+
+	// Private constructor: the ScoreTable is never instantiated
+	private ScoreTable() { }
+
+	/**
+	 * Returns the index (0 to 251) of the given roll.  Any ordering of
+	 * the same five dice has the same index.  The roll is not modified.
+	 * @param roll the five dice of the roll, each from 1 to 6
+	 * @return the index of the roll
+	 * @throws IllegalArgumentException if the roll is not five dice
+	 * from 1 to 6
+	 */
+	public static int indexOf(int[] roll) {
+		if (roll.length != numDice)
+			throw new IllegalArgumentException();
+		int key = 0;
+		for (int i = 0; i < numDice; i++) {
+			int face = roll[i];
+			if (face < 1 || face > 6)
+				throw new IllegalArgumentException();
+			key += faceWeight[face];
+		}
+		return rollIndex[key];
+	}
+
+	/**
+	 * Returns the score of the roll with the given index for the given hand
+	 * @param hand the hand to score
+	 * @param index the index of the roll, as returned by indexOf()
+	 * @return the score for this hand and roll
+	 */
+	public static int score(Hands hand, int index) {
+		return scores[index * numHands + hand.ordinal()];
+	}
+
+	/**
+	 * Returns the score of the given roll for the given hand.  The roll
+	 * is not modified.
+	 * @param hand the hand to score
+	 * @param roll the five dice of the roll, each from 1 to 6
+	 * @return the score for this hand and roll
+	 * @throws IllegalArgumentException if the roll is not five dice
+	 * from 1 to 6
+	 */
+	public static int score(Hands hand, int[] roll) {
+		return scores[indexOf(roll) * numHands + hand.ordinal()];
+	}
+
+	/**
+	 * Scores the roll with the given index for every hand in one pass,
+	 * writing the score for each hand to scores[hand.ordinal()].  Hands
+	 * whose bit (1 << hand.ordinal()) is set in the skip mask are not
+	 * scored and are written as -1.
+	 * @param index the index of the roll, as returned by indexOf()
+	 * @param skipMask the hands to skip, or 0 to score every hand
+	 * @param scores the array to receive the scores, at least 13 long
+	 */
+	public static void scoreAll(int index, int skipMask, int[] scores) {
+		int base = index * numHands;
+		for (int h = 0; h < numHands; h++)
+			scores[h] = ((skipMask >>> h) & 1) != 0 ? -1 : ScoreTable.scores[base + h];
+	}
+
+	/**
+	 * Returns the die at the given position of the sorted roll with the
+	 * given index
+	 * @param index the index of the roll
+	 * @param die the position of the die in the sorted roll (zero indexed)
+	 * @return the face of the die, from 1 to 6
+	 */
+	public static int getDie(int index, int die) {
+		return rollDice[index * numDice + die];
+	}
+}
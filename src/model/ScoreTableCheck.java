@@ -0,0 +1,98 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Checks the precomputed <code>ScoreTable</code> against the rules.  Every
+ * one of the 7776 ordered rolls of five dice is scored for all 13 hands
+ * with scoreHand() and scoreAll(), with and without a partly filled
+ * ScoreCard, and each score is compared with the score worked out from
+ * the rules by ScoreValidator.  Each roll is also checked to be unchanged
+ * after it is scored.  Run it with no arguments; it prints the number of
+ * mismatches and exits with 1 if there were any.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class ScoreTableCheck {
+	// The number of mismatches printed before the rest are only counted
+	private static final int maxReported = 20;
+
+	private final ScoreValidator validator = ScoreValidator.getInstance();
+	private final Hands[] hands = Hands.values();
+	private int checks;
+	private int mismatches;
+
+	// Private constructor: the check is only run from main()
+	private ScoreTableCheck() { }
+
+	/**
+	 * Runs the check
+	 * @param args not used
+	 */
+	public static void main(String[] args) {
+		ScoreTableCheck check = new ScoreTableCheck();
+		check.run();
+		System.out.println(check.checks + " scores checked, "
+				+ check.mismatches + " mismatches");
+		System.exit(check.mismatches == 0 ? 0 : 1);
+	}
+
+	// Checks every ordered roll
+	private void run() {
+		// A card with every other hand taken, so scoreAll() must skip them
+		ScoreCard card = new ScoreCard();
+		for (int h = 0; h < hands.length; h += 2)
+			card.setScore(hands[h], 0);
+
+		int[] roll = new int[5];
+		int[] expected = new int[hands.length];
+		int[] scores = new int[hands.length];
+		for (int r = 0; r < 7776; r++) {
+			for (int i = 0, n = r; i < roll.length; i++, n /= 6)
+				roll[i] = n % 6 + 1;
+			int[] original = roll.clone();
+
+			for (int h = 0; h < hands.length; h++)
+				expected[h] = validator.referenceScore(hands[h], roll.clone());
+
+			for (int h = 0; h < hands.length; h++)
+				compare("scoreHand", roll, hands[h], expected[h],
+						validator.scoreHand(hands[h], roll));
+			unchanged("scoreHand", roll, original);
+
+			validator.scoreAll(roll, scores);
+			for (int h = 0; h < hands.length; h++)
+				compare("scoreAll", roll, hands[h], expected[h], scores[h]);
+			unchanged("scoreAll", roll, original);
+
+			validator.scoreAll(roll, card, scores);
+			for (int h = 0; h < hands.length; h++)
+				compare("scoreAll with a card", roll, hands[h],
+						h % 2 == 0 ? -1 : expected[h], scores[h]);
+			unchanged("scoreAll with a card", roll, original);
+		}
+	}
+
+	// Counts a score, and reports it if it is not the expected one
+	private void compare(String method, int[] roll, Hands hand, int expected, int actual) {
+		checks++;
+		if (actual != expected)
+			report(method + " " + Arrays.toString(roll) + " " + hand
+					+ ": expected " + expected + ", got " + actual);
+	}
+
+	// Reports a roll that was changed by scoring it
+	private void unchanged(String method, int[] roll, int[] original) {
+		if (!Arrays.equals(roll, original)) {
+			report(method + " changed " + Arrays.toString(original)
+					+ " to " + Arrays.toString(roll));
+			System.arraycopy(original, 0, roll, 0, roll.length);
+		}
+	}
+
+	// Counts a mismatch, printing the first few
+	private void report(String message) {
+		if (mismatches++ < maxReported)
+			System.out.println(message);
+	}
+}
@@ -14,6 +14,9 @@ import java.util.Set;
 public class ScoreValidator {
 	private static ScoreValidator instance;
 	
+	// Counts the calls that score a roll, when Metrics are enabled
+	private static final StripedCounter calls = Metrics.counter(Metrics.SCORE_VALIDATOR_CALLS);
+	
 	/**
 	 * Returns the instance of the ScoreValidator
 	 * @return the instance of the ScoreValidator
@@ -28,12 +31,48 @@ public class ScoreValidator {
 	private ScoreValidator() { }
 	
 	/**
-	 * Scores the given roll for the given hand
+	 * Scores the given roll for the given hand.  The score is looked up
+	 * in the precomputed ScoreTable; the roll is not modified.
 	 * @param hand The hand to score
 	 * @param roll The roll of dice to score
 	 * @return the score for this hand and roll
+	 * @throws IllegalArgumentException if the roll is not five dice from 1 to 6
 	 */
 	public int scoreHand(Hands hand, int[] roll) {
+		calls.increment();
+		return ScoreTable.score(hand, roll);
+	}
+	
+	/**
+	 * Scores the given roll for all 13 hands at once, writing the score
+	 * for each hand to scores[hand.ordinal()].  The roll is not modified.
+	 * @param roll The roll of dice to score
+	 * @param scores The array to receive the scores, at least 13 long
+	 * @throws IllegalArgumentException if the roll is not five dice from 1 to 6
+	 */
+	public void scoreAll(int[] roll, int[] scores) {
+		calls.increment();
+		ScoreTable.scoreAll(ScoreTable.indexOf(roll), 0, scores);
+	}
+	
+	/**
+	 * Scores the given roll for every hand that has not been taken on
+	 * the given ScoreCard, writing the score for each hand to 
+	 * scores[hand.ordinal()].  Hands already taken are written as -1, so
+	 * they never win a search for the maximum score.
+	 * @param roll The roll of dice to score
+	 * @param sc The ScoreCard whose taken hands are skipped
+	 * @param scores The array to receive the scores, at least 13 long
+	 * @throws IllegalArgumentException if the roll is not five dice from 1 to 6
+	 */
+	public void scoreAll(int[] roll, ScoreCard sc, int[] scores) {
+		calls.increment();
+		ScoreTable.scoreAll(ScoreTable.indexOf(roll), sc.getTakenMask(), scores);
+	}
+	
+	// Scores the given roll for the given hand from the rules themselves,
+	// sorting the roll in place.  This is only used to build the ScoreTable.
+	int referenceScore(Hands hand, int[] roll) {
 		// First, sort the array to get the dice in numerical order
 		Arrays.sort(roll);
 		
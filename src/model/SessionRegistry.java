@@ -0,0 +1,183 @@
+package model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The <code>SessionRegistry</code> keeps every <code>GameSession</code> in
+ * the program, so that many games can be played at once.  Sessions are
+ * created, looked up by id, and evicted, either one at a time or all those
+ * left idle for too long.  All of its methods are thread safe.
+ * 
+ * There is always a default session, which cannot be evicted.  The GUI
+ * plays the default session's Game, which is what Game.getInstance() and 
+ * Dice.getInstance() return.  The registry implements the Singleton design
+ * pattern.
+ * 
+ * If the system property <code>yahtzee.seed</code> is set, the dice of 
+ * every session are seeded from it and the session's id (see 
+ * DiceRandom.seedFor()), so a session with the same id rolls the same 
+ * dice from run to run however many sessions there are.  Otherwise every
+ * session's dice are seeded differently.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class SessionRegistry {
+	/**
+	 * The id of the default session
+	 */
+	public static final String DEFAULT_SESSION_ID = "default";
+	
+	/**
+	 * The system property with the master seed for the dice of the sessions
+	 */
+	public static final String SEED_PROPERTY = "yahtzee.seed";
+	
+	private static final SessionRegistry instance = new SessionRegistry();
+	
+	/**
+	 * Returns the instance of the SessionRegistry
+	 * @return the SessionRegistry
+	 */
+	public static SessionRegistry getInstance() {
+		return instance;
+	}
+	
+	private final ConcurrentMap<String, GameSession> sessions;
+	private final AtomicLong nextId;		// The number for the next generated id
+	private final GameSession defaultSession;
+	private final Long seed;				// The master seed, if there is one
+	
+	// Private constructor enforces the Singleton pattern
+	private SessionRegistry() {
+		sessions = new ConcurrentHashMap<String, GameSession>();
+		nextId = new AtomicLong();
+		seed = Long.getLong(SEED_PROPERTY);
+		defaultSession = newSession(DEFAULT_SESSION_ID);
+		sessions.put(DEFAULT_SESSION_ID, defaultSession);
+	}
+	
+	/**
+	 * Returns the default session, the one played by the GUI
+	 * @return the default GameSession
+	 */
+	public GameSession getDefaultSession() {
+		return defaultSession;
+	}
+	
+	/**
+	 * Creates a new session with a generated id
+	 * @return the new GameSession
+	 */
+	public GameSession create() {
+		while (true) {
+			String id = "table-" + nextId.incrementAndGet();
+			GameSession session = newSession(id);
+			if (sessions.putIfAbsent(id, session) == null)
+				return session;
+		}
+	}
+	
+	/**
+	 * Creates a new session with the given id
+	 * @param id the id for the session
+	 * @return the new GameSession
+	 * @throws IllegalArgumentException if id is null, or a session
+	 * with the id already exists
+	 */
+	public GameSession create(String id) {
+		if (id == null)
+			throw new IllegalArgumentException();
+		GameSession session = newSession(id);
+		if (sessions.putIfAbsent(id, session) != null)
+			throw new IllegalArgumentException("Session " + id + " already exists");
+		return session;
+	}
+	
+	/**
+	 * Looks up the session with the given id, and records that it was used
+	 * @param id the id of the session
+	 * @return the GameSession, or null if there is no session with the id
+	 */
+	public GameSession get(String id) {
+		if (id == null)
+			return null;
+		GameSession session = sessions.get(id);
+		if (session != null)
+			session.touch();
+		return session;
+	}
+	
+	/**
+	 * Evicts the session with the given id, cancelling any computer turn
+	 * being played in it
+	 * @param id the id of the session
+	 * @return true if the session was evicted, false if there is no
+	 * session with the id
+	 * @throws IllegalArgumentException if id is the default session's id
+	 */
+	public boolean evict(String id) {
+		if (DEFAULT_SESSION_ID.equals(id))
+			throw new IllegalArgumentException("The default session cannot be evicted");
+		GameSession session = (id == null) ? null : sessions.remove(id);
+		if (session == null)
+			return false;
+		session.close();
+		return true;
+	}
+	
+	/**
+	 * Evicts every session (other than the default session) that has not
+	 * been used for at least the given time.  A session whose computer
+	 * player is in the middle of a turn is never evicted, however long the
+	 * turn has gone without a change.
+	 * @param maxIdleMillis the longest a session may be idle, in milliseconds
+	 * @return the number of sessions evicted
+	 */
+	public int evictIdle(long maxIdleMillis) {
+		long cutoff = System.currentTimeMillis() - maxIdleMillis;
+		int evicted = 0;
+		for (GameSession session : sessions.values()) {
+			// Remove only the session checked, in case the id has been
+			// evicted and reused since
+			if (session != defaultSession && isIdle(session, cutoff)
+					&& sessions.remove(session.getId(), session)) {
+				session.close();
+				evicted++;
+			}
+		}
+		return evicted;
+	}
+	
+	// Returns whether the session has not been used since the cutoff, and
+	// no computer player is in the middle of a turn in it
+	private static boolean isIdle(GameSession session, long cutoff) {
+		return session.getLastAccess() <= cutoff && !session.getGame().getStrategyPlaying();
+	}
+	
+	// Creates a session, with dice seeded from the master seed and the id
+	// if there is a master seed
+	private GameSession newSession(String id) {
+		long sessionSeed = (seed != null) ? DiceRandom.seedFor(seed, streamFor(id)) : DiceRandom.newSeed();
+		return new GameSession(id, DiceRandom.create(sessionSeed));
+	}
+	
+	// Returns the stream number for a session id: its 64 bit FNV-1a hash
+	private static long streamFor(String id) {
+		long hash = 0xCBF29CE484222325L;
+		for (int i = 0; i < id.length(); i++) {
+			hash ^= id.charAt(i);
+			hash *= 0x100000001B3L;
+		}
+		return hash;
+	}
+	
+	/**
+	 * Returns the number of sessions, including the default session
+	 * @return the number of sessions
+	 */
+	public int size() {
+		return sessions.size();
+	}
+}
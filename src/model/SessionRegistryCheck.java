@@ -0,0 +1,51 @@
+package model;
+
+/**
+ * Checks that <code>SessionRegistry.evictIdle()</code> evicts only idle
+ * sessions.  A session whose player keeps rolling and holding dice, with
+ * no other change to its Game, must survive evictions for far longer than
+ * the idle limit, and must be evicted once its player stops.  Run it with
+ * no arguments; it prints what it found and exits with 1 if the check
+ * failed.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class SessionRegistryCheck {
+	// The idle limit, and how often the player rolls or holds a die (ms)
+	private static final long maxIdle = 200;
+	private static final long step = 50;
+
+	// Private constructor: the check is only run from main()
+	private SessionRegistryCheck() { }
+
+	/**
+	 * Runs the check
+	 * @param args not used
+	 * @throws InterruptedException if the check is interrupted
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		SessionRegistry registry = SessionRegistry.getInstance();
+		GameSession session = registry.create();
+		Dice dice = session.getDice();
+
+		// Roll and hold for five times the idle limit, evicting as we go
+		boolean survived = true;
+		for (long t = 0; t < 5 * maxIdle; t += step) {
+			if (dice.getNumRolls() < 3)
+				dice.roll();
+			else
+				dice.reset();
+			dice.toggleDie((int) (t / step) % 5);
+			Thread.sleep(step);
+			survived &= registry.evictIdle(maxIdle) == 0;
+		}
+		System.out.println("Rolling session " + (survived ? "survived" : "was evicted"));
+
+		// Then leave it idle.  (Looking it up would use it, so the check
+		// counts the sessions evicted; this is the only one there is.)
+		Thread.sleep(2 * maxIdle);
+		boolean evicted = registry.evictIdle(maxIdle) == 1;
+		System.out.println("Idle session " + (evicted ? "was evicted" : "survived"));
+		System.exit(survived && evicted ? 0 : 1);
+	}
+}
@@ -0,0 +1,220 @@
+package model;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A <code>SessionSnapshot</code> is a saved copy of the whole state of a
+ * GameSession: its Players in turn order with their Strategies, ScoreCards,
+ * and cumulative scores, the game Status, the roll, held dice, and number
+ * of rolls, and the Strategy play speed.  A snapshot can be written to a
+ * file, read back, and restored into a session, in this run of the program
+ * or a later one.
+ *
+ * A snapshot is taken in two steps, so that the thread playing the game is
+ * held up as little as possible.  capture() copies the state into a compact
+ * binary form (the format of a GameJournal keyframe, some 30 bytes a
+ * Player) holding the Game's lock, which takes about a millisecond for a
+ * thousand Players.  write() or writeInBackground() then writes the bytes
+ * to a temporary file beside the target, forces them to the disk, and
+ * renames the temporary file over the target, so the target always holds
+ * either the old snapshot or the new one, never part of one.  The GUI
+ * captures on the event dispatch thread and writes in the background.
+ *
+ * The file begins with a magic number and a format version, and read()
+ * rejects files of any other version.  A SessionSnapshot is immutable.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class SessionSnapshot {
+	// The first bytes of a snapshot ("YZSS"), and the version of the format
+	static final int MAGIC = 0x595A5353;
+	static final int VERSION = 1;
+
+	// Writes snapshots for writeInBackground(), one at a time
+	private static final ExecutorService writer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "Snapshot writer");
+			t.setDaemon(true);
+			return t;
+		}
+	});
+
+	private final byte[] bytes;		// The snapshot, as written to the file
+	private final String sessionId;
+	private final long time;
+	private final int strategyPlaySpeed;
+	private final int stateOffset;	// Where the GameState begins in bytes
+
+	private SessionSnapshot(byte[] bytes) {
+		this.bytes = bytes;
+		BinaryInput in = new BinaryInput(ByteBuffer.wrap(bytes));
+		in.readFixedInt();
+		in.readByte();
+		time = in.readLong();
+		sessionId = in.readString();
+		strategyPlaySpeed = in.readInt();
+		stateOffset = in.position();
+	}
+
+	/**
+	 * Takes a snapshot of a session.  This holds the session's Game lock
+	 * while it copies the state.  A computer turn being played is captured
+	 * as it is at that moment.
+	 * @param session the session
+	 * @return the snapshot
+	 */
+	public static SessionSnapshot capture(GameSession session) {
+		Game game = session.getGame();
+		BinaryOutput out = new BinaryOutput(4096);
+		out.writeFixedInt(MAGIC);
+		out.writeByte(VERSION);
+		out.writeLong(System.currentTimeMillis());
+		out.writeString(session.getId());
+		out.writeVarint(game.getStrategyPlaySpeed());
+		game.writeState(out);
+		return new SessionSnapshot(out.toByteArray());
+	}
+
+	/**
+	 * Reads a snapshot from a file written by write()
+	 * @param file the file
+	 * @return the snapshot
+	 * @throws IOException if the file cannot be read, or is not a snapshot
+	 * of this version
+	 */
+	public static SessionSnapshot read(Path file) throws IOException {
+		byte[] bytes = Files.readAllBytes(file);
+		try {
+			ByteBuffer header = ByteBuffer.wrap(bytes);
+			if (header.getInt() != MAGIC)
+				throw new IOException(file + " is not a session snapshot");
+			if (header.get() != VERSION)
+				throw new IOException(file + " is a snapshot of an unknown version");
+			SessionSnapshot snapshot = new SessionSnapshot(bytes);
+			snapshot.decode(false);
+			return snapshot;
+		} catch (BufferUnderflowException | IllegalStateException | IndexOutOfBoundsException ex) {
+			throw new IOException(file + " is not a whole session snapshot", ex);
+		}
+	}
+
+	/**
+	 * Returns the id of the session the snapshot was taken of
+	 * @return the session id
+	 */
+	public String getSessionId() {
+		return sessionId;
+	}
+
+	/**
+	 * Returns when the snapshot was taken
+	 * @return the time, in milliseconds since the epoch
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * Returns the size of the snapshot, as written to a file
+	 * @return the size in bytes
+	 */
+	public int size() {
+		return bytes.length;
+	}
+
+	/**
+	 * Returns the state saved in the snapshot.  Its Players are copies, with
+	 * stand-in Strategies (see GameState).
+	 * @return the GameState
+	 */
+	public GameState getState() {
+		return decode(false);
+	}
+
+	/**
+	 * Restores the snapshot into a session, replacing its Players, Status,
+	 * Dice, and play speed.  Any computer turn being played in the session
+	 * is cancelled, and the listeners of the Game and Dice are notified.  The
+	 * Players are new, each with a new Strategy of the name saved.  If the
+	 * game was in progress, call nextTurn() on the Game to resume it.
+	 * @param session the session, which need not be the one the snapshot
+	 * was taken of
+	 */
+	public void restore(GameSession session) {
+		session.getGame().restore(decode(true), strategyPlaySpeed);
+	}
+
+	/**
+	 * Writes the snapshot to a file, replacing it atomically: the bytes are
+	 * written to a temporary file in the same directory, forced to the disk,
+	 * and the temporary file renamed over the target
+	 * @param file the file
+	 * @throws IOException if the file cannot be written
+	 */
+	public void write(Path file) throws IOException {
+		Path dir = file.toAbsolutePath().getParent();
+		Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+		try {
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+				ByteBuffer buf = ByteBuffer.wrap(bytes);
+				while (buf.hasRemaining())
+					channel.write(buf);
+				channel.force(true);
+			}
+			try {
+				Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException ex) {
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Writes the snapshot to a file, as write() does, on a background thread.
+	 * Snapshots written in the background are written one at a time, in the
+	 * order they were handed over.
+	 * @param file the file
+	 * @return a Future that returns the file once it is written, or throws
+	 * the IOException if it could not be
+	 */
+	public Future<Path> writeInBackground(final Path file) {
+		return writer.submit(new Callable<Path>() {
+			@Override
+			public Path call() throws IOException {
+				write(file);
+				return file;
+			}
+		});
+	}
+
+	/**
+	 * Returns a String representation of the snapshot
+	 */
+	@Override
+	public String toString() {
+		return "SessionSnapshot of " + sessionId + ", " + bytes.length + " bytes";
+	}
+
+	// Reads the GameState from the bytes
+	private GameState decode(boolean playable) {
+		ByteBuffer buf = ByteBuffer.wrap(bytes);
+		buf.position(stateOffset);
+		return GameState.read(new BinaryInput(buf), playable);
+	}
+}
@@ -0,0 +1,29 @@
+package model;
+
+/**
+ * The SplitMix64 generator (see DiceRandom.Kind.SPLITMIX): a Weyl sequence
+ * of one long, passed through a mixing function
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+final class SplitMixRandom extends DiceRandom {
+	private long state;
+
+	/**
+	 * Constructs a new SplitMixRandom with the given seed
+	 * @param seed the seed
+	 */
+	SplitMixRandom(long seed) {
+		this.state = seed;
+	}
+
+	@Override
+	public void setSeed(long seed) {
+		this.state = seed;
+	}
+
+	@Override
+	public long nextLong() {
+		return mix(state += gamma);
+	}
+}
@@ -3,18 +3,24 @@ package model;
 /**
  * A <code>Strategy</code> object should have a name, which
  * can identify it to a user, and a takeTurn method.
- * The takeTurn method MUST call the notifyPlaying(false) method
+ * The takeTurn method is passed the Game in which to take the turn, and
+ * should use that Game and its Dice (see Game.getDice()) rather than
+ * the default Game, since more than one Game can be played at once (see
+ * GameSession).  A Strategy belongs to one Player and plays one turn at a
+ * time.  The takeTurn method MUST call the notifyPlaying(false) method
  * of the Game object in order to allow the game to continue.
  * 
  * In addition, the Strategy should a) reset the dice by calling
  * the reset() method of the Dice object, and b) call the nextTurn() 
  * or showWinner() (whichever is appropriate) method of the Game
  * object.  In order to support animation, the takeTurn method 
- * should run in a new thread.
+ * should play the turn on its own thread by passing it to the
+ * playStrategyTurn() method of the Game object, which lets the
+ * Game cancel the turn if the game is reset.
  * @author Aaron Lamb
  * @version 2.0.1 2/6/2012
  */
 public interface Strategy {
-	public void takeTurn();
+	public void takeTurn(Game game);
 	public String getName();
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package model;
+
+/**
+ * A <code>TurnDecider</code> makes the decisions of a computer player as
+ * pure functions of a TurnState: which dice to hold after a roll, and
+ * which hand to score at the end of the turn.  It never touches a Game or
+ * Dice, never sleeps, and starts no threads, so the same decisions can be
+ * played in an interactive Game by a TurnDriver, which rolls, animates,
+ * and scores the turn, or millions of times a second in a simulation (see
+ * model.sim.Policies.forDecider()).
+ *
+ * A TurnDecider should keep no state between calls, so one can be shared
+ * by every thread; one that does, such as the OptimalStrategy, which keeps
+ * the evaluation of the turn, decides for one player at a time.  Deciders
+ * that make random choices draw from the TurnState's generator (see
+ * TurnState.getRandom()).
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public interface TurnDecider {
+	/**
+	 * Chooses the dice to hold before the next roll.  Holding every die
+	 * ends the rolling for the turn.  This is only called while a roll is
+	 * left in the turn.
+	 * @param state the turn, after the latest roll
+	 * @return the dice to hold, as a bit mask (bit i is set to hold die i)
+	 */
+	public int holdDice(TurnState state);
+	
+	/**
+	 * Chooses the hand to score at the end of the turn
+	 * @param state the turn, after the last roll
+	 * @return the hand to score, which must not be taken
+	 */
+	public Hands chooseHand(TurnState state);
+}
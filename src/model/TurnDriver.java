@@ -0,0 +1,153 @@
+package model;
+
+import model.sim.Policy;
+
+/**
+ * The <code>TurnDriver</code> plays a computer turn in a Game with the
+ * decisions of a TurnDecider.  It takes care of everything the Strategy
+ * interface asks of a turn: it plays the turn on the Game's turn thread
+ * (see Game.playStrategyTurn()), rolls the dice, pauses for the Game's
+ * strategy play speed after each roll and each hold so the turn can be
+ * watched, holds the dice the decider chooses in one update, scores the
+ * hand it chooses, resets the dice, and passes the turn on or shows the
+ * winner.  A computer Strategy whose decisions are a TurnDecider only has
+ * to call takeTurn() from its own.
+ * 
+ * The dice are rolled until the decider holds every die or the rolls run
+ * out.  The pauses do not hold a turn thread: the turn is played in steps,
+ * a roll or a hold each, and the step after a pause is scheduled to run
+ * when it is over.  With no pause the turn is played in one go.  A turn
+ * cancelled by a reset of the Game stops at the next step.  A decider that
+ * is interrupted while it decides (one that searches, say) should restore
+ * the interrupt and return any choice; the turn then stops without playing
+ * it.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class TurnDriver {
+	// The number of dice, and the mask that holds all of them
+	private static final int numDice = 5;
+	private static final int allHeld = (1 << numDice) - 1;
+	
+	// Private constructor: TurnDriver has only static methods
+	private TurnDriver() { }
+	
+	/**
+	 * Starts a computer turn in the Game, played on the Game's turn thread
+	 * @param game the Game in which to take the turn
+	 * @param decider the decisions of the turn
+	 */
+	public static void takeTurn(Game game, TurnDecider decider) {
+		// Notify the Game object that a computer turn
+		// is in progress
+		game.notifyPlaying(true);
+		
+		// Take the turn on the Game's turn thread
+		game.playStrategyTurn(new DriverTurn(game, decider));
+	}
+	
+	/**
+	 * Returns a new Policy that makes the decisions of the given decider in
+	 * a simulated game, so the same code decides its turns in simulations
+	 * and in interactive games (see model.sim.Policies.forDecider())
+	 * @param decider the decider
+	 * @return a new Policy for the decider
+	 * @throws IllegalArgumentException if decider is null
+	 */
+	public static Policy simulate(TurnDecider decider) {
+		if (decider == null)
+			throw new IllegalArgumentException("decider is null");
+		return new DeciderPolicy(decider);
+	}
+	
+	// Holds the dice chosen by the decider, releasing the rest, in one update
+	private static void holdDice(Dice dice, int held) {
+		dice.beginUpdate();
+		try {
+			for (int i = 0; i < numDice; i++) {
+				if (dice.isHeld(i) != ((held >>> i & 1) != 0))
+					dice.toggleDie(i);
+			}
+		} finally {
+			dice.endUpdate();
+		}
+	}
+	
+	// Records the score of the hand chosen by the decider
+	private static void takeScore(Game game, Hands hand) {
+		if (hand == null || game.getCurrentPlayer().getScoreCard().getScore(hand).getScoreTaken())
+			throw new IllegalStateException("The decider chose a hand that is taken: " + hand);
+		game.takeScore(hand, ScoreValidator.getInstance().scoreHand(hand, game.getDice().getRoll()));
+	}
+	
+	// Takes the computer turn on the Game's turn thread, one step at a time
+	private static final class DriverTurn implements Runnable {
+		private final Game game;
+		private final Dice dice;
+		private final TurnDecider decider;
+		private final int timeout;		// The pause after each step (ms)
+		private boolean rolled;			// Whether the last step was a roll
+		
+		// Constructs a turn in the given Game
+		DriverTurn(Game game, TurnDecider decider) {
+			this.game = game;
+			this.dice = game.getDice();
+			this.decider = decider;
+			this.timeout = game.getStrategyPlaySpeed();
+		}
+		
+		@Override
+		public void run() {
+			// Play steps until one is followed by a pause, or the turn ends
+			while (step()) {
+				if (Thread.interrupted())
+					return;				// The turn was cancelled
+				if (timeout > 0) {
+					game.continueStrategyTurn(this, timeout);
+					return;
+				}
+			}
+		}
+		
+		// Plays the next step of the turn: a roll, or the hold after it.
+		// Returns false if the turn is over or was cancelled.
+		private boolean step() {
+			if (!rolled) {
+				dice.roll();
+				rolled = true;
+				return true;
+			}
+			rolled = false;
+			if (dice.getNumRolls() >= 3)
+				return endTurn();
+			int held = decider.holdDice(TurnState.of(game)) & allHeld;
+			if (Thread.interrupted())
+				return false;			// Cancelled while deciding
+			if (held == allHeld)
+				return endTurn();
+			holdDice(dice, held);
+			return true;
+		}
+		
+		// Scores the hand the decider chooses and passes the turn on.
+		// Returns false, since the turn is over.
+		private boolean endTurn() {
+			Hands hand = decider.chooseHand(TurnState.of(game));
+			if (Thread.interrupted())
+				return false;			// Cancelled while deciding
+			game.beginUpdate();		// Score and end the turn in one update
+			try {
+				takeScore(game, hand);
+				game.notifyPlaying(false);
+			} finally {
+				game.endUpdate();
+			}
+			dice.reset();
+			if (!game.isOver())
+				game.nextTurn();
+			else
+				game.showWinner();
+			return false;
+		}
+	}
+}
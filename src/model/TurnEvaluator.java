@@ -0,0 +1,426 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A <code>TurnEvaluator</code> works out the optimal play for one turn of
+ * a solitaire Yahtzee game, given the expected value of every state at the
+ * start of the next turn from an <code>ExpectedValueTable</code>.  After
+ * evaluate() is called for a state, the best dice to hold and the best
+ * hand to score for any roll are table lookups.
+ *
+ * Dice to hold are described by "keepers": the 462 multisets of zero to
+ * five dice.  The expected value of rerolling around a keeper is the
+ * average of the keepers with one more die, one for each face, so the
+ * expected value of every keeper takes only six additions per keeper.
+ *
+ * A <code>TurnEvaluator</code> keeps its working tables between calls, so
+ * it is not thread safe: every thread needs its own.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public class TurnEvaluator {
+	/**
+	 * The number of keepers (multisets of zero to five dice)
+	 */
+	public static final int NUM_KEEPERS = 462;
+
+	// The bonus for each Yahtzee rolled after the Yahtzee box is filled
+	private static final int yahtzeeBonus = 100;
+
+	// The upper bonus
+	private static final int upperBonus = 35;
+
+	private static final int numRolls = ScoreTable.NUM_ROLLS;
+	private static final int numHands = ExpectedValueTable.numHands;
+	private static final int numUpper = ExpectedValueTable.numUpper;
+	private static final int yahtzeeBit = 1 << Hands.YAHTZEE.ordinal();
+	private static final Hands[] hands = Hands.values();
+
+	// The number of each face (index 0 for ones) in each keeper, at [keeper * 6 + face - 1]
+	private static final byte[] keeperCounts = new byte[NUM_KEEPERS * 6];
+
+	// The keeper made of all five dice of each roll
+	private static final short[] rollKeeper = new short[numRolls];
+
+	// The keeper with one more die of each face, at [keeper * 6 + face - 1],
+	// or -1 for keepers of five dice
+	private static final short[] keeperPlus = new short[NUM_KEEPERS * 6];
+
+	// The keeper with one less die of each face, at [keeper * 6 + face - 1],
+	// or -1 if the keeper has no die of that face
+	private static final short[] keeperMinus = new short[NUM_KEEPERS * 6];
+
+	// The roll made by each keeper of five dice, or -1 for smaller keepers
+	private static final short[] keeperRoll = new short[NUM_KEEPERS];
+
+	// The keepers that can be held from each roll,
+	// at [subKeeperStart[roll], subKeeperStart[roll + 1])
+	private static final int[] subKeeperStart = new int[numRolls + 1];
+	private static short[] subKeeper;
+
+	// Whether each roll is a Yahtzee
+	private static final boolean[] isYahtzee = new boolean[numRolls];
+
+	static {
+		// Index every keeper by the base 6 number made of its face counts.
+		// Keepers are numbered from the smallest, so a keeper always comes
+		// after every keeper it contains.
+		int[] keeperOf = new int[6 * 6 * 6 * 6 * 6 * 6];
+		int[] counts = new int[6];
+		int keeper = 0;
+		for (int size = 0; size <= 5; size++) {
+			for (int code = 0; code < keeperOf.length; code++) {
+				decode(code, counts);
+				if (sum(counts) == size) {
+					keeperOf[code] = keeper;
+					for (int f = 0; f < 6; f++)
+						keeperCounts[keeper * 6 + f] = (byte) counts[f];
+					keeper++;
+				}
+			}
+		}
+
+		// Link every keeper to the keepers one die larger and smaller
+		int[] dice = new int[5];
+		for (int k = 0; k < NUM_KEEPERS; k++) {
+			for (int f = 0; f < 6; f++)
+				counts[f] = keeperCounts[k * 6 + f];
+			int size = sum(counts);
+			for (int f = 0; f < 6; f++) {
+				counts[f]++;
+				keeperPlus[k * 6 + f] = (short) (size < 5 ? keeperOf[encode(counts)] : -1);
+				counts[f] -= 2;
+				keeperMinus[k * 6 + f] = (short) (counts[f] >= 0 ? keeperOf[encode(counts)] : -1);
+				counts[f]++;
+			}
+			keeperRoll[k] = -1;
+			if (size == 5) {
+				int d = 0;
+				for (int f = 0; f < 6; f++) {
+					for (int c = 0; c < counts[f]; c++)
+						dice[d++] = f + 1;
+				}
+				keeperRoll[k] = (short) ScoreTable.indexOf(dice);
+				rollKeeper[keeperRoll[k]] = (short) k;
+			}
+		}
+
+		// Find the keepers that can be held from every roll
+		short[] subs = new short[4368];
+		int n = 0;
+		int[] sub = new int[6];
+		for (int r = 0; r < numRolls; r++) {
+			subKeeperStart[r] = n;
+			Arrays.fill(counts, 0);
+			for (int i = 0; i < 5; i++)
+				counts[ScoreTable.getDie(r, i) - 1]++;
+			isYahtzee[r] = max(counts) == 5;
+			for (int code = 0; code < keeperOf.length; code++) {
+				decode(code, sub);
+				boolean fits = true;
+				for (int f = 0; f < 6; f++) {
+					if (sub[f] > counts[f])
+						fits = false;
+				}
+				if (fits)
+					subs[n++] = (short) keeperOf[code];
+			}
+		}
+		subKeeperStart[numRolls] = n;
+		subKeeper = subs;
+	}
+
+	private final double[] value;
+
+	private int mask;
+	private int upper;
+	private boolean bonusEligible;
+
+	// The value of each roll with 0, 1, and 2 rolls left, once no more
+	// Yahtzee bonus can be earned this turn
+	private final double[][] rollValue = new double[3][numRolls];
+	// The same, while a Yahtzee bonus can still be earned this turn
+	private final double[][] bonusRollValue = new double[3][numRolls];
+	// The value of each keeper with 0 and 1 rolls left after the reroll
+	private final double[][] keeperValue = new double[2][NUM_KEEPERS];
+	private final double[][] bonusKeeperValue = new double[2][NUM_KEEPERS];
+	// The expected value of each keeper before the first roll
+	private final double[] firstKeeperValue = new double[NUM_KEEPERS];
+	// The best value of each keeper or any keeper it contains
+	private final double[] bestBelow = new double[NUM_KEEPERS];
+	// The best hand to score for each roll
+	private final byte[] bestHand = new byte[numRolls];
+
+	/**
+	 * Constructs a new TurnEvaluator using the values in the given table
+	 * @param table the table of the value of each state at the start of a turn
+	 */
+	public TurnEvaluator(ExpectedValueTable table) {
+		this.value = table.value;
+	}
+
+	/**
+	 * Evaluates a turn that starts with the given hands used and upper
+	 * subtotal.  This must be called before any of the other methods.
+	 * @param mask the hands used, as a bit mask (see ScoreCard.getTakenMask())
+	 * @param upper the upper section subtotal
+	 * @throws IllegalArgumentException if every hand has been used
+	 */
+	public void evaluate(int mask, int upper) {
+		if (mask == ExpectedValueTable.fullMask)
+			throw new IllegalArgumentException();
+		this.mask = mask;
+		this.upper = Math.min(upper, ExpectedValueTable.UPPER_BONUS_THRESHOLD);
+		this.bonusEligible = (mask & yahtzeeBit) != 0;
+
+		// With no rolls left, a roll is worth its best hand
+		double[] last = rollValue[0];
+		Arrays.fill(last, Double.NEGATIVE_INFINITY);
+		for (int h = 0; h < numHands; h++) {
+			if ((mask >>> h & 1) != 0)
+				continue;
+			int next = (mask | (1 << h)) * numUpper;
+			if (h < 6) {
+				for (int r = 0; r < numRolls; r++) {
+					double v = upperHandValue(h, r, next);
+					if (v > last[r]) {
+						last[r] = v;
+						bestHand[r] = (byte) h;
+					}
+				}
+			} else {
+				// The lower hands leave the upper subtotal alone
+				double future = value[next + this.upper];
+				for (int r = 0; r < numRolls; r++) {
+					double v = ScoreTable.score(hands[h], r) + future;
+					if (v > last[r]) {
+						last[r] = v;
+						bestHand[r] = (byte) h;
+					}
+				}
+			}
+		}
+
+		// Work back through the rerolls
+		for (int left = 1; left <= 2; left++) {
+			expect(rollValue[left - 1], keeperValue[left - 1]);
+			hold(keeperValue[left - 1], rollValue[left]);
+		}
+
+		// While the Yahtzee bonus can be earned, the first Yahtzee rolled in
+		// the turn is worth the bonus on top of its value without the bonus
+		if (bonusEligible) {
+			for (int r = 0; r < numRolls; r++)
+				bonusRollValue[0][r] = isYahtzee[r] ? yahtzeeBonus + last[r] : last[r];
+			for (int left = 1; left <= 2; left++) {
+				expect(bonusRollValue[left - 1], bonusKeeperValue[left - 1]);
+				hold(bonusKeeperValue[left - 1], bonusRollValue[left]);
+				for (int r = 0; r < numRolls; r++) {
+					if (isYahtzee[r])
+						bonusRollValue[left][r] = yahtzeeBonus + rollValue[left][r];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the expected score still to be earned from the start of
+	 * the evaluated turn, before the first roll
+	 * @return the expected value of the evaluated turn
+	 */
+	public double getTurnValue() {
+		expect(bonusEligible ? bonusRollValue[2] : rollValue[2], firstKeeperValue);
+		return firstKeeperValue[0];
+	}
+
+	/**
+	 * Returns the keeper (the dice to hold) with the highest expected value
+	 * for the given roll.  Holding every die (getRollKeeper()) means there
+	 * is nothing to gain from rolling again.
+	 * @param roll the index of the current roll (see ScoreTable.indexOf())
+	 * @param rollsLeft the number of rolls left in the turn, 1 or 2
+	 * @param bonusPending true if a Yahtzee rolled later this turn would still
+	 * earn the Yahtzee bonus
+	 * @return the best keeper to hold
+	 */
+	public int bestKeeper(int roll, int rollsLeft, boolean bonusPending) {
+		double[] values = (bonusPending && bonusEligible)
+				? bonusKeeperValue[rollsLeft - 1] : keeperValue[rollsLeft - 1];
+		int best = rollKeeper[roll];
+		double bestValue = values[best];
+		for (int i = subKeeperStart[roll]; i < subKeeperStart[roll + 1]; i++) {
+			int k = subKeeper[i];
+			if (values[k] > bestValue) {
+				bestValue = values[k];
+				best = k;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Returns the expected value of holding the given keeper
+	 * @param keeper the keeper to hold
+	 * @param rollsLeft the number of rolls left in the turn, 1 or 2
+	 * @param bonusPending true if a Yahtzee rolled later this turn would still
+	 * earn the Yahtzee bonus
+	 * @return the expected score still to be earned after holding the keeper
+	 */
+	public double getKeeperValue(int keeper, int rollsLeft, boolean bonusPending) {
+		return (bonusPending && bonusEligible)
+				? bonusKeeperValue[rollsLeft - 1][keeper] : keeperValue[rollsLeft - 1][keeper];
+	}
+
+	/**
+	 * Returns the hand with the highest expected value to score for the
+	 * given roll
+	 * @param roll the index of the roll (see ScoreTable.indexOf())
+	 * @return the best hand to score
+	 */
+	public Hands bestHand(int roll) {
+		return hands[bestHand[roll]];
+	}
+
+	/**
+	 * Returns the expected score still to be earned after scoring the
+	 * given roll for the given hand, including the score for the hand
+	 * and any upper bonus it earns
+	 * @param hand the hand to score, which must not have been used
+	 * @param roll the index of the roll (see ScoreTable.indexOf())
+	 * @return the expected value of scoring the hand
+	 */
+	public double getHandValue(Hands hand, int roll) {
+		return handValue(hand.ordinal(), roll);
+	}
+
+	/**
+	 * Returns the keeper made of all five dice of the given roll
+	 * @param roll the index of the roll (see ScoreTable.indexOf())
+	 * @return the keeper that holds every die
+	 */
+	public static int getRollKeeper(int roll) {
+		return rollKeeper[roll];
+	}
+
+	/**
+	 * Returns the keeper made of the held dice of a roll
+	 * @param dice the five dice, from 1 to 6
+	 * @param heldMask the dice held: bit i is set if dice[i] is held
+	 * @return the keeper of the held dice
+	 * @throws IllegalArgumentException if a die is not from 1 to 6
+	 */
+	public static int getKeeper(int[] dice, int heldMask) {
+		int keeper = 0;		// The keeper of no dice
+		for (int i = 0; i < dice.length; i++) {
+			if ((heldMask >>> i & 1) == 0)
+				continue;
+			if (dice[i] < 1 || dice[i] > 6)
+				throw new IllegalArgumentException("A die is not from 1 to 6: " + dice[i]);
+			keeper = keeperPlus[keeper * 6 + dice[i] - 1];
+		}
+		return keeper;
+	}
+
+	/**
+	 * Returns how many dice showing the given face are in the given keeper
+	 * @param keeper the keeper
+	 * @param face the face, from 1 to 6
+	 * @return the number of dice showing the face
+	 */
+	public static int getKeeperCount(int keeper, int face) {
+		return keeperCounts[keeper * 6 + face - 1];
+	}
+
+	/**
+	 * Returns whether the given roll is a Yahtzee
+	 * @param roll the index of the roll (see ScoreTable.indexOf())
+	 * @return true if all five dice show the same face
+	 */
+	public static boolean isYahtzee(int roll) {
+		return isYahtzee[roll];
+	}
+
+	// The value of scoring the roll for the hand: its score, any upper bonus
+	// it earns, and the value of the state it leads to
+	private double handValue(int h, int r) {
+		int next = (mask | (1 << h)) * numUpper;
+		if (h < 6)
+			return upperHandValue(h, r, next);
+		return ScoreTable.score(hands[h], r) + value[next + upper];
+	}
+
+	// The value of scoring the roll for an upper hand, given the offset
+	// of the state it leads to in the value table
+	private double upperHandValue(int h, int r, int next) {
+		int score = ScoreTable.score(hands[h], r);
+		int up = Math.min(upper + score, ExpectedValueTable.UPPER_BONUS_THRESHOLD);
+		if (upper < ExpectedValueTable.UPPER_BONUS_THRESHOLD && up == ExpectedValueTable.UPPER_BONUS_THRESHOLD)
+			score += upperBonus;
+		return score + value[next + up];
+	}
+
+	// Fills in the expected value of every keeper, given the value of every roll.
+	// Keepers are visited from the largest, so the keepers with one more die
+	// are always done first.
+	private void expect(double[] rolls, double[] keepers) {
+		for (int k = NUM_KEEPERS - 1; k >= 0; k--) {
+			if (keeperRoll[k] >= 0) {
+				keepers[k] = rolls[keeperRoll[k]];
+			} else {
+				int base = k * 6;
+				keepers[k] = (keepers[keeperPlus[base]] + keepers[keeperPlus[base + 1]]
+						+ keepers[keeperPlus[base + 2]] + keepers[keeperPlus[base + 3]]
+						+ keepers[keeperPlus[base + 4]] + keepers[keeperPlus[base + 5]]) / 6;
+			}
+		}
+	}
+
+	// Fills in the value of every roll as the value of its best keeper.
+	// Keepers are visited from the smallest, so the best value of a keeper
+	// or anything it contains builds on the keepers one die smaller.
+	private void hold(double[] keepers, double[] rolls) {
+		for (int k = 0; k < NUM_KEEPERS; k++) {
+			double best = keepers[k];
+			int base = k * 6;
+			for (int f = 0; f < 6; f++) {
+				int smaller = keeperMinus[base + f];
+				if (smaller >= 0 && bestBelow[smaller] > best)
+					best = bestBelow[smaller];
+			}
+			bestBelow[k] = best;
+			if (keeperRoll[k] >= 0)
+				rolls[keeperRoll[k]] = best;
+		}
+	}
+
+	// Decodes a base 6 number into six face counts
+	private static void decode(int code, int[] counts) {
+		for (int f = 0; f < 6; f++) {
+			counts[f] = code % 6;
+			code /= 6;
+		}
+	}
+
+	// Encodes six face counts as a base 6 number
+	private static int encode(int[] counts) {
+		int code = 0;
+		for (int f = 5; f >= 0; f--)
+			code = code * 6 + counts[f];
+		return code;
+	}
+
+	private static int sum(int[] a) {
+		int s = 0;
+		for (int x : a)
+			s += x;
+		return s;
+	}
+
+	private static int max(int[] a) {
+		int m = 0;
+		for (int x : a)
+			m = Math.max(m, x);
+		return m;
+	}
+}
@@ -0,0 +1,157 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A <code>TurnHint</code> holds the expected value of every choice open to
+ * a player partway through a turn: each way of holding the dice before the
+ * next roll, and each open hand the roll could be scored in.  Each value is
+ * the expected score still to be earned, from the roll to the end of the
+ * game, playing optimally from then on as if alone (see TurnEvaluator), so
+ * the values of all the choices can be compared.
+ *
+ * A hint takes about a millisecond to evaluate with a TurnEvaluator, once
+ * the ExpectedValueTable has been solved.  A TurnHint is immutable.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class TurnHint {
+	// The number of ways to hold five dice
+	private static final int numHolds = 1 << 5;
+
+	private static final Hands[] hands = Hands.values();
+
+	private final int rollsLeft;
+	private final double[] handValues;	// By hand ordinal, NaN if taken
+	private final double[] holdValues;	// By held mask, NaN if no rolls are left
+	private final Hands bestHand;
+	private final int bestHold;			// The best held mask, -1 if no rolls are left
+
+	private TurnHint(int rollsLeft, double[] handValues, double[] holdValues) {
+		this.rollsLeft = rollsLeft;
+		this.handValues = handValues;
+		this.holdValues = holdValues;
+		Hands best = null;
+		for (Hands h : hands) {
+			if (!Double.isNaN(handValues[h.ordinal()])
+					&& (best == null || handValues[h.ordinal()] > handValues[best.ordinal()]))
+				best = h;
+		}
+		bestHand = best;
+		int hold = -1;
+		for (int m = 0; m < numHolds && rollsLeft > 0; m++) {
+			if (hold < 0 || holdValues[m] > holdValues[hold])
+				hold = m;
+		}
+		bestHold = hold;
+	}
+
+	/**
+	 * Evaluates the choices for a roll of the current player.  The evaluator
+	 * is re-evaluated for the player's score card.
+	 * @param evaluator the TurnEvaluator to use, which is not thread safe
+	 * @param takenMask the hands the player has used (see
+	 * ScoreCard.getTakenMask())
+	 * @param upperTotal the player's upper section subtotal
+	 * @param bonusPending whether a Yahtzee rolled later this turn would
+	 * earn the Yahtzee bonus (see ScoreCard.canTakeYahtzeeBonus())
+	 * @param roll the five dice
+	 * @param rollsLeft the number of rolls left in the turn, from 0 to 2
+	 * @return the TurnHint
+	 * @throws IllegalArgumentException if every hand has been used, the roll
+	 * is not five dice from 1 to 6, or rollsLeft is not from 0 to 2
+	 */
+	public static TurnHint evaluate(TurnEvaluator evaluator, int takenMask, int upperTotal,
+			boolean bonusPending, int[] roll, int rollsLeft) {
+		if (rollsLeft < 0 || rollsLeft > 2)
+			throw new IllegalArgumentException("rollsLeft is not from 0 to 2: " + rollsLeft);
+		int index = ScoreTable.indexOf(roll);
+		evaluator.evaluate(takenMask, upperTotal);
+		double[] handValues = new double[hands.length];
+		for (Hands h : hands) {
+			handValues[h.ordinal()] = ((takenMask >>> h.ordinal() & 1) != 0)
+					? Double.NaN : evaluator.getHandValue(h, index);
+		}
+		double[] holdValues = new double[numHolds];
+		if (rollsLeft == 0) {
+			Arrays.fill(holdValues, Double.NaN);
+		} else {
+			for (int m = 0; m < numHolds; m++)
+				holdValues[m] = evaluator.getKeeperValue(TurnEvaluator.getKeeper(roll, m), rollsLeft, bonusPending);
+		}
+		return new TurnHint(rollsLeft, handValues, holdValues);
+	}
+
+	/**
+	 * Returns the number of rolls left in the turn
+	 * @return the rolls left, from 0 to 2
+	 */
+	public int getRollsLeft() {
+		return rollsLeft;
+	}
+
+	/**
+	 * Returns the expected value of scoring the roll in a hand now
+	 * @param hand the hand
+	 * @return the expected value, or NaN if the hand has been used
+	 */
+	public double getHandValue(Hands hand) {
+		return handValues[hand.ordinal()];
+	}
+
+	/**
+	 * Returns the open hand with the highest expected value to score the
+	 * roll in now
+	 * @return the best hand
+	 */
+	public Hands getBestHand() {
+		return bestHand;
+	}
+
+	/**
+	 * Returns the expected value of holding some of the dice and rolling
+	 * the rest.  Holding every die is worth the same as not rolling again.
+	 * @param heldMask the dice held: bit i is set if die i is held
+	 * @return the expected value, or NaN if no rolls are left
+	 */
+	public double getHoldValue(int heldMask) {
+		return holdValues[heldMask & (numHolds - 1)];
+	}
+
+	/**
+	 * Returns the dice it is best to hold for the next roll
+	 * @return the held mask with the highest expected value, or -1 if no
+	 * rolls are left
+	 */
+	public int getBestHold() {
+		return bestHold;
+	}
+
+	/**
+	 * Returns whether rolling again is expected to be worth more than
+	 * scoring the roll now.  It is not when the best hold is every die.
+	 * @return true if it is best to roll again
+	 */
+	public boolean shouldRoll() {
+		return bestHold >= 0 && bestHold != numHolds - 1
+				&& holdValues[bestHold] > handValues[bestHand.ordinal()];
+	}
+
+	/**
+	 * Returns the expected value of the best choice: the best dice to hold,
+	 * or the best hand to score
+	 * @return the best expected value
+	 */
+	public double getBestValue() {
+		return shouldRoll() ? holdValues[bestHold] : handValues[bestHand.ordinal()];
+	}
+
+	/**
+	 * Returns the best choice as a line of text
+	 */
+	@Override
+	public String toString() {
+		return String.format(shouldRoll() ? "hold %2$s (%1$.1f)" : "score %3$s (%1$.1f)",
+				getBestValue(), Integer.toBinaryString(bestHold), bestHand);
+	}
+}
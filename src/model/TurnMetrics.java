@@ -0,0 +1,95 @@
+package model;
+
+/**
+ * A <code>TurnMetrics</code> object is a snapshot of the executor that
+ * plays the computer Strategy turns for the Game: how many turns are
+ * waiting and playing, and how many have finished, failed, or been
+ * cancelled since the Game was created.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class TurnMetrics {
+	private final int threads;
+	private final int queued;
+	private final int active;
+	private final long completed;
+	private final long failed;
+	private final long cancelled;
+
+	/**
+	 * Constructs a new TurnMetrics snapshot
+	 * @param threads the most turns that can play at once
+	 * @param queued the turns waiting to play, or to go on after a pause
+	 * @param active the turns playing
+	 * @param completed the turns that have finished, including failed turns
+	 * @param failed the turns that ended with an exception
+	 * @param cancelled the turns that were cancelled
+	 */
+	TurnMetrics(int threads, int queued, int active, long completed, long failed, long cancelled) {
+		this.threads = threads;
+		this.queued = queued;
+		this.active = active;
+		this.completed = completed;
+		this.failed = failed;
+		this.cancelled = cancelled;
+	}
+
+	/**
+	 * Returns the most turns that can play at once
+	 * @return the number of turn threads
+	 */
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Returns the number of turns waiting for a thread, or for a pause to
+	 * end
+	 * @return the queued turns
+	 */
+	public int getQueued() {
+		return queued;
+	}
+
+	/**
+	 * Returns the number of turns playing
+	 * @return the active turns
+	 */
+	public int getActive() {
+		return active;
+	}
+
+	/**
+	 * Returns the number of turns that have finished, including those
+	 * that failed
+	 * @return the completed turns
+	 */
+	public long getCompleted() {
+		return completed;
+	}
+
+	/**
+	 * Returns the number of turns that ended with an exception
+	 * @return the failed turns
+	 */
+	public long getFailed() {
+		return failed;
+	}
+
+	/**
+	 * Returns the number of turns that were cancelled
+	 * @return the cancelled turns
+	 */
+	public long getCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * Returns the metrics as a single line of text
+	 */
+	@Override
+	public String toString() {
+		return "threads=" + threads + " queued=" + queued + " active=" + active
+				+ " completed=" + completed + " failed=" + failed + " cancelled=" + cancelled;
+	}
+}
@@ -0,0 +1,332 @@
+package model;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The <code>TurnScheduler</code> hands the turn from one Player to the next
+ * for the Game.  Nothing waits for a turn to end: a turn is started as soon
+ * as it is requested, and a request made while a computer Strategy is still
+ * playing is dropped, since the Strategy requests the next turn itself when
+ * it finishes (see Strategy).  Between turns no thread is running.
+ *
+ * The computer turns of every Game are played on one shared executor with
+ * a fixed number of threads, so a game between computer players reuses the
+ * same threads turn after turn rather than starting a thread per turn, and
+ * many Games can share a few threads.  A turn that requests the next turn
+ * only queues it, and returns.  A turn that pauses so it can be watched
+ * does not hold a thread while it waits: it plays in steps, and each step
+ * after a pause is scheduled to run when the pause is over (see
+ * playLater()), so the turns of other Games play in the meantime.  Turns
+ * can be cancelled when the game is reset: a cancelled turn is interrupted
+ * or never runs its next step, and anything it goes on to ask of the Game
+ * afterwards is ignored.  A turn that fails with an
+ * exception is logged and counted, and the Strategy is marked as no longer
+ * playing so the game is not left waiting on it.  When Metrics are
+ * enabled, the time each computer turn waits for a thread and takes to
+ * play is recorded there.
+ *
+ * The number of turn threads is the system property
+ * <code>yahtzee.turnThreads</code> (2 by default).  The threads are virtual
+ * threads when the system property <code>yahtzee.virtualThreads</code> is
+ * true and the Java runtime has them, and daemon threads otherwise.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+final class TurnScheduler {
+	/**
+	 * The system property that sets the number of turn threads
+	 */
+	static final String TURN_THREADS_PROPERTY = "yahtzee.turnThreads";
+
+	/**
+	 * The system property that asks for turns to run on virtual threads
+	 */
+	static final String VIRTUAL_THREADS_PROPERTY = "yahtzee.virtualThreads";
+
+	private static final Logger log = Logger.getLogger(TurnScheduler.class.getName());
+
+	// The executor shared by every Game, and its finished, failed, and
+	// cancelled turns
+	private static final ScheduledThreadPoolExecutor executor = createExecutor();
+	private static final AtomicLong completed = new AtomicLong();
+	private static final AtomicLong failed = new AtomicLong();
+	private static final AtomicLong cancelled = new AtomicLong();
+
+	// The time computer turns wait for a turn thread (see Metrics)
+	private static final LatencyHistogram waitTime = Metrics.histogram(Metrics.TURN_WAIT);
+
+	private final Game game;
+
+	// The generation of turns being played; cancel() starts a new one
+	private volatile int generation;
+
+	// The step of a turn running on each turn thread
+	private final ThreadLocal<Step> currentStep = new ThreadLocal<Step>();
+
+	private boolean playing;		// Whether a Strategy is playing its turn
+	private Future<?> turn;			// The next or running step of the computer turn, if any
+	private LatencyHistogram turnTime;	// The turn times of the Strategy asked to play, if metrics are enabled
+	private boolean stepRunning;	// Whether a step of this Game's turn is running
+	private boolean stopped;		// Whether shutdown() has been called
+
+	/**
+	 * Constructs a new TurnScheduler for the given Game
+	 * @param game the Game whose turns are scheduled
+	 */
+	TurnScheduler(Game game) {
+		this.game = game;
+	}
+
+	/**
+	 * Returns whether a Strategy is currently playing its turn
+	 * @return true if a Strategy is playing
+	 */
+	synchronized boolean isPlaying() {
+		return playing;
+	}
+
+	/**
+	 * Records that a Strategy has started (true) or finished (false)
+	 * playing its turn.  This is ignored if it comes from a cancelled turn.
+	 * @param flag whether the Strategy is playing
+	 * @return true if it was recorded, false if it was ignored
+	 */
+	synchronized boolean setPlaying(boolean flag) {
+		if (isCancelled())
+			return false;
+		playing = flag;
+		if (!flag)
+			turn = null;
+		return true;
+	}
+
+	/**
+	 * Requests a turn for the given Player.  The turn is started on the
+	 * calling thread, unless a Strategy is still playing (it will request
+	 * the next turn itself) or the request comes from a cancelled turn.
+	 * @param p the Player to take the turn
+	 */
+	void requestTurn(Player p) {
+		synchronized (this) {
+			if (playing || isCancelled())
+				return;
+			turnTime = Metrics.isEnabled() ? Metrics.turnTime(p.getStrategyName()) : null;
+		}
+		p.takeTurn(game);
+	}
+
+	/**
+	 * Queues a computer turn on the executor
+	 * @param strategyTurn the turn to play
+	 * @throws IllegalStateException if the scheduler has been shut down
+	 */
+	synchronized void play(Runnable strategyTurn) {
+		if (isCancelled())
+			return;
+		if (stopped || executor.isShutdown())
+			throw new IllegalStateException("The turn scheduler has been shut down");
+		schedule(new Step(strategyTurn, generation, turnTime, 0), 0);
+	}
+
+	/**
+	 * Plays the next step of the computer turn being played after the
+	 * given pause, without holding a turn thread during the pause.  This
+	 * must be called from a step of the turn, which then returns; it is
+	 * ignored if the turn was cancelled, or the scheduler has been shut
+	 * down, which ends the turn.
+	 * @param next the next step of the turn
+	 * @param delay the pause before the step, in milliseconds
+	 * @throws IllegalStateException if not called from a computer turn
+	 */
+	synchronized void playLater(Runnable next, long delay) {
+		Step step = currentStep.get();
+		if (step == null)
+			throw new IllegalStateException("Not called from a computer turn");
+		if (isCancelled() || stopped)
+			return;
+		try {
+			schedule(new Step(next, step.gen, step.time, step.turnStart), delay);
+			step.continued = true;
+		} catch (RejectedExecutionException ex) { }	// Shut down: the turn ends
+	}
+
+	/**
+	 * Cancels the turn being played, if any.  The turn's thread is
+	 * interrupted, and any later request it makes is ignored.
+	 */
+	synchronized void cancel() {
+		generation++;
+		playing = false;
+		if (turn != null) {
+			if (turn.cancel(true))
+				cancelled.incrementAndGet();
+			turn = null;
+		}
+	}
+
+	/**
+	 * Cancels the turn being played in this Game, if any, and waits for
+	 * it to stop.  No more computer turns can be played in the Game; the
+	 * turns of other Games are not affected.
+	 * @param timeout the longest time to wait, in milliseconds
+	 * @return true if the turn stopped, false if the wait timed out
+	 * @throws InterruptedException if the calling thread is interrupted
+	 */
+	synchronized boolean shutdown(long timeout) throws InterruptedException {
+		cancel();
+		stopped = true;
+		long end = System.currentTimeMillis() + timeout;
+		while (stepRunning) {
+			long left = end - System.currentTimeMillis();
+			if (left <= 0)
+				return false;
+			wait(left);
+		}
+		return true;
+	}
+
+	/**
+	 * Stops the executor shared by every Game, dropping the turns waiting
+	 * to play, and waits for the turn threads to finish.  No more computer
+	 * turns can be played in any Game, so this should only be called when
+	 * the program exits.
+	 * @param timeout the longest time to wait, in milliseconds
+	 * @return true if the threads finished, false if the wait timed out
+	 * @throws InterruptedException if the calling thread is interrupted
+	 */
+	static boolean shutdownAll(long timeout) throws InterruptedException {
+		cancelled.addAndGet(executor.shutdownNow().size());
+		return executor.awaitTermination(timeout, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Returns whether the calling thread is playing a turn that was cancelled
+	 * @return true if the calling thread's turn was cancelled
+	 */
+	boolean isCancelled() {
+		Step step = currentStep.get();
+		return step != null && step.gen != generation;
+	}
+
+	/**
+	 * Returns a snapshot of the metrics of the executor shared by every Game
+	 * @return the current TurnMetrics
+	 */
+	TurnMetrics getMetrics() {
+		return new TurnMetrics(executor.getCorePoolSize(), executor.getQueue().size(),
+				executor.getActiveCount(), completed.get(), failed.get(), cancelled.get());
+	}
+
+	// Reports a turn that failed, and releases the game from waiting on it
+	private void failed(Throwable ex) {
+		failed.incrementAndGet();
+		log.log(Level.SEVERE, "A computer turn failed", ex);
+		if (!isCancelled())
+			game.notifyPlaying(false);
+	}
+
+	// Queues a step of a turn to run after the given pause
+	private void schedule(Step step, long delay) {
+		step.queued = Metrics.start();
+		if (step.queued != 0)
+			step.queued += TimeUnit.MILLISECONDS.toNanos(delay);
+		turn = executor.schedule(step, delay, TimeUnit.MILLISECONDS);
+	}
+
+	// Creates the executor shared by every Game.  Cancelled steps are
+	// removed from its queue at once, and steps still waiting for their
+	// pause are dropped when it is shut down.
+	private static ScheduledThreadPoolExecutor createExecutor() {
+		int threads = Math.max(1, Integer.getInteger(TURN_THREADS_PROPERTY, 2));
+		ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(threads, createThreadFactory());
+		pool.setKeepAliveTime(60, TimeUnit.SECONDS);
+		pool.allowCoreThreadTimeOut(true);
+		pool.setRemoveOnCancelPolicy(true);
+		pool.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+		return pool;
+	}
+
+	// Creates the factory for turn threads: virtual threads if they were
+	// asked for and the runtime has them, otherwise daemon threads
+	private static ThreadFactory createThreadFactory() {
+		if (Boolean.getBoolean(VIRTUAL_THREADS_PROPERTY)) {
+			try {
+				Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+				Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+				builder = builderClass.getMethod("name", String.class, long.class)
+						.invoke(builder, "Strategy turn ", 1L);
+				Method factory = builderClass.getMethod("factory");
+				return (ThreadFactory) factory.invoke(builder);
+			} catch (Exception ex) {
+				log.info("Virtual threads are not available; using platform threads");
+			}
+		}
+		return new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "Strategy turn " + count.incrementAndGet());
+				t.setDaemon(true);
+				return t;
+			}
+		};
+	}
+
+	// One step of a computer turn: the whole turn, or the part of it after
+	// a pause.  The turn's time is recorded when a step ends without
+	// scheduling another.
+	private final class Step implements Runnable {
+		private final Runnable body;
+		private final int gen;				// The generation of the turn
+		private final LatencyHistogram time;	// The turn times, or null
+		private long turnStart;				// When the turn's first step started
+		private long queued;				// When the step was due to run
+		private boolean continued;			// Whether it scheduled the next step
+
+		Step(Runnable body, int gen, LatencyHistogram time, long turnStart) {
+			this.body = body;
+			this.gen = gen;
+			this.time = time;
+			this.turnStart = turnStart;
+		}
+
+		@Override
+		public void run() {
+			long start = Metrics.start();
+			if (turnStart == 0)
+				turnStart = start;
+			waitTime.recordSince(queued);
+			currentStep.set(this);
+			synchronized (TurnScheduler.this) {
+				stepRunning = true;
+			}
+			try {
+				if (!isCancelled())
+					body.run();
+			} catch (RuntimeException | Error ex) {
+				failed(ex);
+			} finally {
+				currentStep.remove();
+				synchronized (TurnScheduler.this) {
+					stepRunning = false;
+					TurnScheduler.this.notifyAll();
+				}
+				if (!continued) {
+					completed.incrementAndGet();
+					if (time != null)
+						time.recordSince(turnStart);
+				}
+			}
+		}
+	}
+}
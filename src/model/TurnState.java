@@ -0,0 +1,251 @@
+package model;
+
+/**
+ * A <code>TurnState</code> is everything a computer player can see partway
+ * through a turn: the roll, which dice are held, how many rolls have been
+ * taken, and the player's score card, reduced to the hands taken, the upper
+ * section subtotal, and whether a Yahtzee would still earn the bonus.  It
+ * is what a TurnDecider decides from, whether the turn is being played in
+ * an interactive Game (see TurnDriver) or in a simulation.
+ *
+ * A TurnState is immutable: nothing a decider, or any code outside this
+ * package, can call changes one.  It also carries the generator the dice
+ * are rolled with, for deciders that make random choices, so that a game
+ * seeded the same way is played the same way; drawing from it is the only
+ * change a decider should make.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class TurnState {
+	// The number of dice, and the number of rolls in a turn
+	private static final int numDice = 5;
+	private static final int maxRolls = 3;
+
+	private static final Hands[] hands = Hands.values();
+
+	// Only reset() changes these, for the deciders of this package, which
+	// never keep a state past the call it is given to
+	private final int[] roll = new int[numDice];
+	private int rollIndex;
+	private int heldMask;
+	private int rolls;
+	private int takenMask;
+	private int upperTotal;
+	private boolean bonusPending;
+	private DiceRandom random;
+
+	/**
+	 * Constructs a new TurnState
+	 * @param roll the five dice, each from 1 to 6, which are copied
+	 * @param heldMask the dice held: bit i is set if die i is held
+	 * @param rolls the number of rolls taken this turn, from 1 to 3
+	 * @param takenMask the hands taken on the score card (see
+	 * ScoreCard.getTakenMask())
+	 * @param upperTotal the upper section subtotal
+	 * @param bonusPending whether a Yahtzee rolled later this turn would
+	 * earn the Yahtzee bonus (see ScoreCard.canTakeYahtzeeBonus())
+	 * @param random the generator the dice are rolled with
+	 * @throws IllegalArgumentException if the roll is not five dice from 1
+	 * to 6, rolls is not from 1 to 3, or every hand is taken
+	 */
+	public TurnState(int[] roll, int heldMask, int rolls, int takenMask, int upperTotal,
+			boolean bonusPending, DiceRandom random) {
+		reset(roll, heldMask, rolls, takenMask, upperTotal, bonusPending, random);
+	}
+
+	// Resets the state in place, with the arguments of the constructor.
+	// This lets a simulation decide turn after turn for the deciders of
+	// this package without creating a TurnState for each decision (see
+	// DeciderPolicy); a state handed to any other decider is never reset.
+	void reset(int[] roll, int heldMask, int rolls, int takenMask, int upperTotal,
+			boolean bonusPending, DiceRandom random) {
+		if (rolls < 1 || rolls > maxRolls)
+			throw new IllegalArgumentException("rolls is not from 1 to 3: " + rolls);
+		if ((takenMask & ((1 << hands.length) - 1)) == (1 << hands.length) - 1)
+			throw new IllegalArgumentException("Every hand is taken");
+		this.rollIndex = ScoreTable.indexOf(roll);
+		System.arraycopy(roll, 0, this.roll, 0, numDice);
+		this.heldMask = heldMask & ((1 << numDice) - 1);
+		this.rolls = rolls;
+		this.takenMask = takenMask;
+		this.upperTotal = upperTotal;
+		this.bonusPending = bonusPending;
+		this.random = random;
+	}
+
+	/**
+	 * Returns the state of the current player's turn in a Game, after the
+	 * dice have been rolled
+	 * @param game the Game
+	 * @return the TurnState
+	 * @throws IllegalArgumentException if the dice have not been rolled
+	 */
+	public static TurnState of(Game game) {
+		Dice dice = game.getDice();
+		ScoreCard sc = game.getCurrentPlayer().getScoreCard();
+		int held = 0;
+		for (int i = 0; i < numDice; i++) {
+			if (dice.isHeld(i))
+				held |= 1 << i;
+		}
+		return new TurnState(dice.getRoll(), held, dice.getNumRolls(), sc.getTakenMask(),
+				sc.getUpperTotal(), sc.canTakeYahtzeeBonus(), dice.getRandom());
+	}
+
+	/**
+	 * Returns the face of the given die
+	 * @param die the die (zero indexed)
+	 * @return the face of the die, from 1 to 6
+	 */
+	public int getDie(int die) {
+		return roll[die];
+	}
+
+	/**
+	 * Returns the five dice
+	 * @return a copy of the roll
+	 */
+	public int[] getRoll() {
+		return roll.clone();
+	}
+
+	/**
+	 * Returns the index of the roll (see ScoreTable.indexOf())
+	 * @return the index of the roll
+	 */
+	public int getRollIndex() {
+		return rollIndex;
+	}
+
+	/**
+	 * Returns the dice held, as a bit mask
+	 * @return the held dice (bit i is set if die i is held)
+	 */
+	public int getHeldMask() {
+		return heldMask;
+	}
+
+	/**
+	 * Returns whether the given die is held
+	 * @param die the die (zero indexed)
+	 * @return true if the die is held
+	 */
+	public boolean isHeld(int die) {
+		return (heldMask >>> die & 1) != 0;
+	}
+
+	/**
+	 * Returns the number of rolls taken this turn
+	 * @return the rolls taken, from 1 to 3
+	 */
+	public int getNumRolls() {
+		return rolls;
+	}
+
+	/**
+	 * Returns the number of rolls left this turn
+	 * @return the rolls left, from 0 to 2
+	 */
+	public int getRollsLeft() {
+		return maxRolls - rolls;
+	}
+
+	/**
+	 * Returns the hands taken on the score card, as a bit mask
+	 * @return the taken hands (bit hand.ordinal() is set if it is taken)
+	 */
+	public int getTakenMask() {
+		return takenMask;
+	}
+
+	/**
+	 * Returns whether a hand has been taken on the score card
+	 * @param hand the hand
+	 * @return true if the hand is taken
+	 */
+	public boolean isTaken(Hands hand) {
+		return (takenMask >>> hand.ordinal() & 1) != 0;
+	}
+
+	/**
+	 * Returns the upper section subtotal, without the upper bonus
+	 * @return the upper total
+	 */
+	public int getUpperTotal() {
+		return upperTotal;
+	}
+
+	/**
+	 * Returns whether a Yahtzee rolled later this turn would earn the
+	 * Yahtzee bonus
+	 * @return true if the bonus can still be taken this turn
+	 */
+	public boolean canTakeYahtzeeBonus() {
+		return bonusPending;
+	}
+
+	/**
+	 * Returns the generator the dice are rolled with, for deciders that
+	 * make random choices
+	 * @return the random number generator
+	 */
+	public DiceRandom getRandom() {
+		return random;
+	}
+
+	/**
+	 * Returns the score of the roll in a hand
+	 * @param hand the hand
+	 * @return the score, or -1 if the hand is taken
+	 */
+	public int score(Hands hand) {
+		return isTaken(hand) ? -1 : ScoreTable.score(hand, rollIndex);
+	}
+
+	/**
+	 * Returns the dice whose face shows on at least one other die, as a
+	 * bit mask
+	 * @return the matched dice (bit i is set if die i is matched)
+	 */
+	public int getMatchedMask() {
+		// Count the faces three bits to a face
+		int counts = 0;
+		for (int i = 0; i < numDice; i++)
+			counts += 1 << (3 * roll[i]);
+		int matched = 0;
+		for (int i = 0; i < numDice; i++) {
+			if ((counts >>> (3 * roll[i]) & 7) > 1)
+				matched |= 1 << i;
+		}
+		return matched;
+	}
+
+	// Returns the open hand from ordinal from to ordinal to (exclusive)
+	// that scores the most, the first such hand on a tie, or null if every
+	// hand in the range is taken
+	Hands highestScoring(int from, int to) {
+		Hands best = null;
+		int max = -1;
+		for (int h = from; h < to; h++) {
+			int score = score(hands[h]);
+			if (score > max) {
+				max = score;
+				best = hands[h];
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Returns the state as a line of text
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("roll ");
+		for (int i = 0; i < numDice; i++)
+			sb.append(roll[i]).append(isHeld(i) ? "*" : "");
+		return sb.append(" (").append(rolls).append(" of 3) taken ")
+				.append(Integer.toBinaryString(takenMask)).append(" upper ").append(upperTotal)
+				.toString();
+	}
+}
@@ -1,10 +1,7 @@
 package model;
 
-import java.util.HashSet;
-import java.util.Set;
-
 /**
- * The UpperSectionerStrategy implements the Strategy interface.
+ * The UpperSectionerStrategy implements the Strategy and TurnDecider interfaces.
  * The UpperSectionerStrategy is a computer strategy that takes a Yahtzee turn
  * by rolling the dice and holding die values based on the same logic used by
  * the OfAKinderStrategy. 
@@ -13,13 +10,14 @@ import java.util.Set;
  * hands Ones, Twos, Threes, Fours, Fives, Sixes.  If there is an available score
  * in the upper section, the Strategy will choose the highest scoring hand.  If no 
  * Upper Section categories remain, the strategy will choose the remaining category 
- * that provides the maximum score for that hand. 
+ * that provides the maximum score for that hand.  If only Upper Section categories
+ * remain and none of them scores, the strategy scores 0 in the first of them.
  * @author Aaron Lamb
  * @version 2.0.1 2/6/2012
  */
-public class UpperSectionerStrategy implements Strategy {
+public class UpperSectionerStrategy implements Strategy, TurnDecider {
 	private final String name = "Upper Section";
-	Set<Integer> toHold;
+	private static final Hands[] hands = Hands.values();
 	
 	/**
 	 * Constructs a new UpperSectionerStrategy
@@ -28,70 +26,39 @@ public class UpperSectionerStrategy implements Strategy {
 	
 	/**
 	 * Take a turn for the computer player
+	 * @param game the Game in which to take the turn
 	 */
 	@Override
-	public void takeTurn() {
-		// Notify the Game object that a computer turn
-		// is in progress
-		Game.getInstance().notifyPlaying(true);
-		
-		// Create a new Thread for the turn
-		StrategyTurn turn = new StrategyTurn();
-		Thread t = new Thread(turn);
-		
-		// Take the turn
-		t.start();
+	public void takeTurn(Game game) {
+		// Play the turn on the Game's turn thread with the
+		// decisions below
+		TurnDriver.takeTurn(game, this);
 	}
 	
-	// Holds the dice for the strategy. See the class documentation
-	// for specifics
-	private void holdDice() {
-		toHold = new HashSet<Integer>();
-		int[] roll = Dice.getInstance().getRoll();
-		for (int i = 0; i < roll.length; i++) {
-			for (int j = i + 1; j < roll.length; j++) {
-				if (roll[i] == roll[j]) {
-					toHold.add(i);
-					toHold.add(j);
-				}
-			}
-		}
-		for (int i : toHold) {
-			if (!Dice.getInstance().isHeld(i))
-				Dice.getInstance().toggleDie(i);
-		}
+	/**
+	 * Holds the dice for the strategy: every die whose face shows up two or
+	 * more times, on top of the dice already held
+	 * @param state the turn, after the latest roll
+	 * @return the dice to hold
+	 */
+	@Override
+	public int holdDice(TurnState state) {
+		return state.getHeldMask() | state.getMatchedMask();
 	}
-		
-	// Records a score for the strategy. See the class documentation
-	// for specific information
-	private void takeScore() {
-		int[] roll = Dice.getInstance().getRoll();
-		ScoreCard sc = Game.getInstance().getPlayers().get(0).getScoreCard();
-		int max = -1;
-		Hands maxHand = null;
-		for (int i = 0; i < 6; i++) {
-			int score = ScoreValidator.getInstance().scoreHand(Hands.values()[i],  roll);
-			if (!sc.getScore(Hands.values()[i]).getScoreTaken() && score > max) {
-				max = score;
-				maxHand = Hands.values()[i];
-			}
-		}
-		if (maxHand != null && max > 0) {
-			Game.getInstance().takeScore(maxHand, ScoreValidator.getInstance().scoreHand(maxHand, roll));
-		} else {
-			max = -1;
-			maxHand = null;
-			for (int i = 6; i < 13; i++) {
-				int score = ScoreValidator.getInstance().scoreHand(Hands.values()[i], roll);
-				if (!sc.getScore(Hands.values()[i]).getScoreTaken() && score > max) {
-					max = score;
-					maxHand = Hands.values()[i];
-				}
-			}
-			if (maxHand != null) {
-				Game.getInstance().takeScore(maxHand, ScoreValidator.getInstance().scoreHand(maxHand, roll));
-			}
-		}
+	
+	/**
+	 * Chooses the hand to score: the best upper hand if it scores anything,
+	 * or else the best lower hand (see the class documentation)
+	 * @param state the turn, after the last roll
+	 * @return the hand to score
+	 */
+	@Override
+	public Hands chooseHand(TurnState state) {
+		Hands upper = state.highestScoring(0, 6);
+		if (upper != null && state.score(upper) > 0)
+			return upper;
+		Hands lower = state.highestScoring(6, hands.length);
+		return lower != null ? lower : upper;
 	}
 
 	/**
@@ -101,27 +68,4 @@ public class UpperSectionerStrategy implements Strategy {
 	public String getName() {
 		return name;
 	}
-	
-	// Creates a thread to take the computer turn
-	private class StrategyTurn implements Runnable {
-		@Override
-		public void run() {
-			int timeout = Game.getInstance().getStrategyPlaySpeed();
-			try {
-				while (Dice.getInstance().getNumRolls() < 3) {
-					Dice.getInstance().roll();
-					Thread.sleep(timeout);
-					holdDice();
-					Thread.sleep(timeout);
-				}
-				takeScore();
-				Game.getInstance().notifyPlaying(false);
-				Dice.getInstance().reset();
-				if (!Game.getInstance().isOver())
-					Game.getInstance().nextTurn();
-				else
-					Game.getInstance().showWinner();
-			} catch (Exception ex) { }			
-		}
-	}
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package model;
+
+/**
+ * The xoshiro256** generator (see DiceRandom.Kind.XOSHIRO).  Its four longs
+ * of state are filled from the seed by SplitMix64, as its authors suggest,
+ * so that no seed gives the all-zero state.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+final class XoshiroRandom extends DiceRandom {
+	private long s0;
+	private long s1;
+	private long s2;
+	private long s3;
+
+	/**
+	 * Constructs a new XoshiroRandom with the given seed
+	 * @param seed the seed
+	 */
+	XoshiroRandom(long seed) {
+		setSeed(seed);
+	}
+
+	@Override
+	public void setSeed(long seed) {
+		s0 = mix(seed += gamma);
+		s1 = mix(seed += gamma);
+		s2 = mix(seed += gamma);
+		s3 = mix(seed + gamma);
+	}
+
+	@Override
+	public long nextLong() {
+		long result = Long.rotateLeft(s1 * 5, 7) * 9;
+		long t = s1 << 17;
+		s2 ^= s0;
+		s3 ^= s1;
+		s1 ^= s2;
+		s0 ^= s3;
+		s2 ^= t;
+		s3 = Long.rotateLeft(s3, 45);
+		return result;
+	}
+}
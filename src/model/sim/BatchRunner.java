@@ -0,0 +1,368 @@
+package model.sim;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import model.DiceRandom;
+import model.FourAndUpStrategy;
+import model.Hands;
+import model.OfAKinderStrategy;
+import model.OptimalStrategy;
+import model.RandomStrategy;
+import model.Strategy;
+import model.UpperSectionerStrategy;
+
+/**
+ * The <code>BatchRunner</code> is the headless command-line mode of the
+ * program (see view.YahtzeeMain): it plays simulated solitaire games of
+ * computer strategies and streams the final score card of every game to
+ * standard output or a file, as CSV or binary records.  It uses no AWT or
+ * Swing classes, so it starts in a few tens of milliseconds and runs on
+ * servers with no display.  The arguments are:
+ * <pre>
+ *   --strategy NAMES   comma-separated strategies (default: Random,
+ *                      Of a Kinder, Upper Section, Four and Up; also Optimal)
+ *   --games N          games for each strategy (default 10000)
+ *   --seed S           master seed (default: a new seed each run)
+ *   --threads T        threads to play on (default: one per processor)
+ *   --format csv|binary   output format (default csv)
+ *   --out FILE         output file (default: standard output)
+ * </pre>
+ * Strategy names are matched ignoring case, spaces, and dashes.  Game g is
+ * rolled from the same seed for every strategy, as in a Tournament, and
+ * from the same seed as game g of a Simulator or Tournament with the same
+ * master seed.  The records come out in order of the game, then of the
+ * strategy, whatever the number of threads, so a run can be repeated
+ * exactly.  A summary of each strategy is written to standard error.
+ *
+ * A CSV record is a line of the strategy name, the game number, the
+ * score of each hand, the upper bonus, the Yahtzee bonus, and the total,
+ * after a header line.  The binary format starts with the magic number
+ * "YZBR", a version byte, the number of strategies (one byte) and each
+ * name (as DataOutput.writeUTF()), the master seed and the number of games
+ * (eight bytes each); then each record takes 24 bytes: the strategy's
+ * index (one byte), the game number (eight bytes), the score of each hand
+ * (one byte each), the upper bonus, and the number of Yahtzee bonuses (one
+ * byte each).  Numbers are big-endian.
+ *
+ * The games are played in blocks, each on a worker thread that also
+ * encodes its records, and the blocks are written in order by the calling
+ * thread, with only a few blocks a thread ahead of the output.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class BatchRunner {
+	/**
+	 * The first bytes of the binary format ("YZBR"), and its version
+	 */
+	public static final int MAGIC = 0x595A4252;
+	public static final int VERSION = 1;
+
+	/**
+	 * The exit status of a run that succeeded, that failed to write its
+	 * results, and that was given bad arguments
+	 */
+	public static final int OK = 0;
+	public static final int FAILED = 1;
+	public static final int USAGE = 2;
+
+	// The games in the first block and in the largest blocks, and the
+	// blocks each thread may be ahead of the output.  The blocks start
+	// small, so that the first results come out soon after startup.
+	private static final int firstBlockGames = 4;
+	private static final int blockGames = 256;
+	private static final int blocksAhead = 4;
+
+	private static final Hands[] hands = Hands.values();
+
+	private static final String usage = "Usage: YahtzeeMain [--strategy NAMES] [--games N] [--seed S]"
+			+ " [--threads T] [--format csv|binary] [--out FILE]";
+
+	private final List<Strategy> strategies = new ArrayList<Strategy>();
+	private long games = 10000;
+	private long seed = DiceRandom.newSeed();
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private boolean binary;
+	private String out;
+
+	// Runs are made by run()
+	private BatchRunner() { }
+
+	/**
+	 * Runs the batch mode with the given arguments, writing the results
+	 * to standard output or the file, and exits with the exit status
+	 * @param args the arguments (see the class documentation)
+	 */
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+		System.exit(run(args, new FileOutputStream(FileDescriptor.out), System.err));
+	}
+
+	/**
+	 * Runs the batch mode with the given arguments
+	 * @param args the arguments (see the class documentation)
+	 * @param stdout where to write the results if no file is given
+	 * @param stderr where to write the summary and any errors
+	 * @return the exit status: OK, FAILED, or USAGE
+	 */
+	public static int run(String[] args, OutputStream stdout, PrintStream stderr) {
+		BatchRunner runner = new BatchRunner();
+		try {
+			runner.parse(args);
+		} catch (IllegalArgumentException ex) {
+			stderr.println(ex.getMessage());
+			stderr.println(usage);
+			return USAGE;
+		}
+		try (OutputStream out = new BufferedOutputStream(
+				runner.out == null ? stdout : Files.newOutputStream(Paths.get(runner.out)), 1 << 16)) {
+			runner.play(out, stderr);
+			return OK;
+		} catch (IOException ex) {
+			stderr.println("The results could not be written: " + ex.getMessage());
+			return FAILED;
+		} catch (ExecutionException ex) {
+			stderr.println("A simulation failed: " + ex.getCause());
+			return FAILED;
+		}
+	}
+
+	// Reads the arguments
+	private void parse(String[] args) {
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			if (arg.equals("--help") || arg.equals("-h"))
+				throw new IllegalArgumentException("Plays simulated games and writes their scores");
+			if (!arg.startsWith("--"))
+				throw new IllegalArgumentException("Unknown argument: " + arg);
+			if (i + 1 >= args.length)
+				throw new IllegalArgumentException("Missing the value of " + arg);
+			String value = args[++i];
+			try {
+				if (arg.equals("--strategy")) {
+					for (String name : value.split(","))
+						strategies.add(strategy(name));
+				} else if (arg.equals("--games")) {
+					games = Long.parseLong(value);
+					if (games < 1)
+						throw new IllegalArgumentException("--games must be at least 1");
+				} else if (arg.equals("--seed")) {
+					seed = Long.parseLong(value);
+				} else if (arg.equals("--threads")) {
+					threads = Integer.parseInt(value);
+					if (threads < 1)
+						throw new IllegalArgumentException("--threads must be at least 1");
+				} else if (arg.equals("--format")) {
+					if (!value.equals("csv") && !value.equals("binary"))
+						throw new IllegalArgumentException("Unknown format: " + value);
+					binary = value.equals("binary");
+				} else if (arg.equals("--out")) {
+					out = value;
+				} else {
+					throw new IllegalArgumentException("Unknown argument: " + arg);
+				}
+			} catch (NumberFormatException ex) {
+				throw new IllegalArgumentException("Not a number: " + arg + " " + value);
+			}
+		}
+		if (strategies.isEmpty()) {
+			strategies.add(new RandomStrategy());
+			strategies.add(new OfAKinderStrategy());
+			strategies.add(new UpperSectionerStrategy());
+			strategies.add(new FourAndUpStrategy());
+		}
+		if (strategies.size() > 255)
+			throw new IllegalArgumentException("Too many strategies");
+	}
+
+	// Returns a new strategy with the given name, ignoring case, spaces,
+	// and dashes
+	private static Strategy strategy(String name) {
+		String key = name.replaceAll("[\\s-]", "").toLowerCase();
+		if (key.equals("random"))
+			return new RandomStrategy();
+		if (key.equals("ofakinder"))
+			return new OfAKinderStrategy();
+		if (key.equals("uppersection") || key.equals("upperhalf"))
+			return new UpperSectionerStrategy();
+		if (key.equals("fourandup"))
+			return new FourAndUpStrategy();
+		if (key.equals("optimal"))
+			return new OptimalStrategy();
+		throw new IllegalArgumentException("Unknown strategy: " + name.trim());
+	}
+
+	// Plays the games on the worker threads, and writes their blocks in
+	// order.  A simulation that fails is thrown as an ExecutionException.
+	private void play(OutputStream out, PrintStream stderr) throws IOException, ExecutionException {
+		long start = System.nanoTime();
+		long firstResults = -1;
+		writeHeader(out);
+		ScoreStats[] stats = new ScoreStats[strategies.size()];
+		for (int s = 0; s < stats.length; s++)
+			stats[s] = new ScoreStats(strategies.get(s).getName());
+		ExecutorService pool = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "Batch worker");
+				t.setDaemon(true);
+				return t;
+			}
+		});
+		try {
+			ArrayDeque<Future<Block>> pending = new ArrayDeque<Future<Block>>();
+			long next = 0;
+			long size = firstBlockGames;
+			while (next < games || !pending.isEmpty()) {
+				// Keep every thread a few blocks ahead of the output
+				while (next < games && pending.size() < threads * blocksAhead) {
+					long to = Math.min(games, next + size);
+					size = Math.min(blockGames, size * 2);
+					pending.add(pool.submit(new Block(next, to)));
+					next = to;
+				}
+				Block b = pending.remove().get();
+				out.write(b.bytes, 0, b.size);
+				for (int s = 0; s < stats.length; s++)
+					stats[s].merge(b.stats[s]);
+				if (firstResults < 0) {
+					out.flush();
+					firstResults = System.nanoTime() - start;
+				}
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted", ex);
+		} finally {
+			pool.shutdownNow();
+		}
+		out.flush();
+		List<ScoreStats> results = new ArrayList<ScoreStats>();
+		for (ScoreStats s : stats)
+			results.add(s);
+		stderr.print(Tournament.report(results));
+		stderr.printf("%d games of %d strategies in %.1f ms (first results after %.1f ms), seed %d%n",
+				games, stats.length, (System.nanoTime() - start) / 1e6, firstResults / 1e6, seed);
+	}
+
+	// Writes the CSV header line or the binary header
+	private void writeHeader(OutputStream out) throws IOException {
+		if (binary) {
+			DataOutputStream data = new DataOutputStream(out);
+			data.writeInt(MAGIC);
+			data.writeByte(VERSION);
+			data.writeByte(strategies.size());
+			for (Strategy s : strategies)
+				data.writeUTF(s.getName());
+			data.writeLong(seed);
+			data.writeLong(games);
+			data.flush();
+		} else {
+			StringBuilder sb = new StringBuilder("strategy,game");
+			for (Hands h : hands)
+				sb.append(',').append(h.name().toLowerCase());
+			sb.append(",upper_bonus,yahtzee_bonus,total\n");
+			out.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	// Plays a block of games with every strategy, on a worker thread, and
+	// encodes their records
+	private final class Block implements Callable<Block> {
+		private final long from;
+		private final long to;
+		byte[] bytes;
+		int size;
+		ScoreStats[] stats;
+
+		Block(long from, long to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public Block call() throws IOException {
+			int n = strategies.size();
+			Policy[] policies = new Policy[n];
+			stats = new ScoreStats[n];
+			for (int s = 0; s < n; s++) {
+				policies[s] = Policies.forStrategy(strategies.get(s));
+				stats[s] = new ScoreStats(strategies.get(s).getName());
+			}
+			DiceRandom random = DiceRandom.create(seed);
+			SimGame game = new SimGame(random);
+			SimScoreCard card = game.getScoreCard();
+			Encoder encoder = new Encoder((int) (to - from) * n * 64);
+			for (long g = from; g < to; g++) {
+				long gameSeed = DiceRandom.seedFor(seed, g);
+				for (int s = 0; s < n; s++) {
+					random.setSeed(gameSeed);
+					game.play(policies[s]);
+					stats[s].add(card);
+					if (binary)
+						encoder.binary(s, g, card);
+					else
+						encoder.csv(strategies.get(s).getName(), g, card);
+				}
+			}
+			bytes = encoder.buf();
+			size = encoder.size();
+			return this;
+		}
+	}
+
+	// Encodes records into a growable array
+	private static final class Encoder extends ByteArrayOutputStream {
+		private final DataOutputStream data = new DataOutputStream(this);
+		private final StringBuilder line = new StringBuilder(128);
+
+		Encoder(int capacity) {
+			super(capacity);
+		}
+
+		// Writes a record as a CSV line
+		void csv(String strategy, long game, SimScoreCard card) throws IOException {
+			line.setLength(0);
+			line.append(strategy).append(',').append(game);
+			for (Hands h : hands)
+				line.append(',').append(card.getScore(h));
+			line.append(',').append(card.getUpperBonus()).append(',').append(card.getYahtzeeBonus())
+					.append(',').append(card.getTotal()).append('\n');
+			for (int i = 0; i < line.length(); i++)
+				write(line.charAt(i));	// The names and numbers are ASCII
+		}
+
+		// Writes a record as 24 bytes
+		void binary(int strategy, long game, SimScoreCard card) throws IOException {
+			data.writeByte(strategy);
+			data.writeLong(game);
+			for (Hands h : hands)
+				data.writeByte(card.getScore(h));
+			data.writeByte(card.getUpperBonus());
+			data.writeByte(card.getYahtzeeBonus() / 100);
+		}
+
+		// Returns the array holding the records
+		byte[] buf() {
+			return buf;
+		}
+	}
+}
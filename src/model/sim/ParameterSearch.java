@@ -0,0 +1,489 @@
+package model.sim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.logging.Logger;
+
+import model.DiceRandom;
+import model.HeuristicParams;
+import model.HeuristicStrategy;
+
+/**
+ * A <code>ParameterSearch</code> tunes the parameters of a HeuristicStrategy
+ * by playing large numbers of simulated solitaire games.  It is an elitist
+ * evolution strategy: each generation keeps the best quarter of its
+ * candidates as parents, fills the rest with mutations of them (each
+ * parameter moved by a normal step with chance 1/4), and plays every
+ * candidate on the same games.  The step size grows when a mutation beats
+ * every parent and shrinks when none does.
+ *
+ * Candidates are compared with common random numbers: game g of an
+ * evaluation is rolled from the same seed for every candidate, as in a
+ * Tournament, so two candidates that play alike score alike, and the
+ * difference between them has far less variance than either score.  The
+ * games are split across a work-stealing ForkJoinPool and their totals
+ * kept as exact integer sums, so the search gives the same result whatever
+ * the number of threads.  Each generation plays new games, so parents are
+ * judged afresh rather than kept for a lucky run.
+ *
+ * At the end, the best parameters and the starting ones are played on
+ * games no generation has played, and the result gives the mean score of
+ * each and their difference, with 95% confidence intervals.  The progress
+ * of each generation is logged at INFO.
+ *
+ * A ParameterSearch either plays on a pool of its own, which shutdown()
+ * stops when the caller is done with it, or on a pool the caller shares
+ * among several searches and stops itself.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public class ParameterSearch {
+	private static final Logger log = Logger.getLogger(ParameterSearch.class.getName());
+
+	// The number of games below which a task plays its games rather than
+	// split (each game is played by every candidate)
+	private static final long gamesPerTask = 1024;
+
+	// The normal quantile of a two-sided 95% confidence interval
+	private static final double z95 = 1.96;
+
+	// The chance that a mutation moves each parameter, and how far it moves
+	// it at a step size of 1: a face or a match for the hold parameters,
+	// a quarter for a weight, and three points for a bias
+	private static final double mutationRate = 0.25;
+	private static final double[] scale = new double[HeuristicParams.DIMENSIONS];
+
+	// The step size's bounds, and how it changes after each generation
+	private static final double minStep = 0.05;
+	private static final double maxStep = 4;
+	private static final double widen = 1.5;
+	private static final double narrow = 0.8;
+
+	static {
+		int numHands = (HeuristicParams.DIMENSIONS - 2) / 2;
+		scale[0] = 1;
+		scale[1] = 1;
+		for (int h = 0; h < numHands; h++) {
+			scale[2 + h] = 0.25;
+			scale[2 + numHands + h] = 3;
+		}
+	}
+
+	private final ForkJoinPool pool;
+	private final boolean ownsPool;		// Whether shutdown() stops the pool
+
+	/**
+	 * Constructs a new ParameterSearch that plays on a pool of its own with
+	 * the given number of threads.  Call shutdown() when done with it.
+	 * @param threads the number of threads
+	 * @throws IllegalArgumentException if threads is less than 1
+	 */
+	public ParameterSearch(int threads) {
+		if (threads < 1)
+			throw new IllegalArgumentException("threads is less than 1: " + threads);
+		this.pool = new ForkJoinPool(threads);
+		this.ownsPool = true;
+	}
+
+	/**
+	 * Constructs a new ParameterSearch that plays on the caller's pool,
+	 * which may be shared with other searches.  The caller shuts the pool
+	 * down; shutdown() leaves it running.
+	 * @param pool the pool to play on
+	 * @throws IllegalArgumentException if pool is null
+	 */
+	public ParameterSearch(ForkJoinPool pool) {
+		if (pool == null)
+			throw new IllegalArgumentException("pool is null");
+		this.pool = pool;
+		this.ownsPool = false;
+	}
+
+	/**
+	 * Constructs a new ParameterSearch that plays on a pool of its own with
+	 * one thread per processor.  Call shutdown() when done with it.
+	 */
+	public ParameterSearch() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Searches for the parameters with the highest mean final score
+	 * @param start the parameters to start from, and to compare with
+	 * @param generations the number of generations
+	 * @param population the number of candidates in each generation, at
+	 * least 2
+	 * @param games the number of games each candidate plays in each
+	 * generation
+	 * @param validationGames the number of games the best and the starting
+	 * parameters play at the end
+	 * @param seed the master seed for the games and the mutations
+	 * @return the best parameters found, and how they compare with the
+	 * starting ones
+	 * @throws IllegalArgumentException if start is null, generations is
+	 * less than 1, population is less than 2, or games or validationGames
+	 * is less than 2
+	 */
+	public Result search(HeuristicParams start, int generations, int population, long games,
+			long validationGames, long seed) {
+		if (start == null)
+			throw new IllegalArgumentException("start is null");
+		if (generations < 1)
+			throw new IllegalArgumentException("generations is less than 1: " + generations);
+		if (population < 2)
+			throw new IllegalArgumentException("population is less than 2: " + population);
+		if (games < 2)
+			throw new IllegalArgumentException("games is less than 2: " + games);
+		if (validationGames < 2)
+			throw new IllegalArgumentException("validationGames is less than 2: " + validationGames);
+		Random random = new Random(seed);
+		int numParents = Math.max(1, population / 4);
+		List<HeuristicParams> parents = new ArrayList<HeuristicParams>(Collections.singletonList(start));
+		double step = 1;
+		for (int gen = 0; gen < generations; gen++) {
+			List<HeuristicParams> candidates = new ArrayList<HeuristicParams>(parents);
+			while (candidates.size() < population)
+				candidates.add(mutate(parents.get(random.nextInt(parents.size())), step, random));
+			final Evaluation e = evaluate(candidates, games, DiceRandom.seedFor(seed, gen + 1));
+
+			// Rank the candidates by mean score; a mutation beating every
+			// parent widens the step
+			Integer[] order = new Integer[candidates.size()];
+			for (int c = 0; c < order.length; c++)
+				order[c] = c;
+			Arrays.sort(order, new Comparator<Integer>() {
+				@Override
+				public int compare(Integer a, Integer b) {
+					return Double.compare(e.getMean(b), e.getMean(a));
+				}
+			});
+			boolean improved = order[0] >= parents.size();
+			step = Math.max(minStep, Math.min(maxStep, step * (improved ? widen : narrow)));
+			parents = new ArrayList<HeuristicParams>();
+			for (int p = 0; p < numParents && p < order.length; p++)
+				parents.add(candidates.get(order[p]));
+			log.info(String.format("Generation %d: best %.2f +/- %.2f, step %.2f: %s", gen + 1,
+					e.getMean(order[0]), e.getHalfWidth(order[0]), step, parents.get(0)));
+		}
+
+		// Compare the best with the start on games no generation has played
+		List<HeuristicParams> finalists = new ArrayList<HeuristicParams>();
+		finalists.add(start);
+		finalists.add(parents.get(0));
+		return new Result(start, parents.get(0), evaluate(finalists, validationGames, DiceRandom.seedFor(seed, 0)));
+	}
+
+	/**
+	 * Plays the given number of games with each set of parameters, every
+	 * set on the same games
+	 * @param candidates the parameters to compare
+	 * @param games the number of games for each candidate, at least 2
+	 * @param seed the master seed for the games
+	 * @return the scores of the candidates, and their differences from the
+	 * first candidate
+	 * @throws IllegalArgumentException if there are no candidates, or games
+	 * is less than 2
+	 */
+	public Evaluation evaluate(List<HeuristicParams> candidates, long games, long seed) {
+		if (candidates.isEmpty())
+			throw new IllegalArgumentException("candidates is empty");
+		if (games < 2)
+			throw new IllegalArgumentException("games is less than 2: " + games);
+		HeuristicParams[] params = candidates.toArray(new HeuristicParams[candidates.size()]);
+		return new Evaluation(params, games, pool.invoke(new GameRange(params, 0, games, seed)));
+	}
+
+	/**
+	 * Stops the threads of the search's own pool; a pool passed in by the
+	 * caller is left running.  A search on its own pool cannot be run again
+	 * afterwards.
+	 */
+	public void shutdown() {
+		if (ownsPool)
+			pool.shutdown();
+	}
+
+	// Returns a mutation of the parameters: each parameter is moved by a
+	// normal step with chance mutationRate, and at least one is moved
+	private static HeuristicParams mutate(HeuristicParams p, double step, Random random) {
+		double[] v = p.toVector();
+		boolean moved = false;
+		while (!moved) {
+			for (int d = 0; d < v.length; d++) {
+				if (random.nextDouble() < mutationRate) {
+					v[d] += step * scale[d] * random.nextGaussian();
+					moved = true;
+				}
+			}
+		}
+		return HeuristicParams.fromVector(v);
+	}
+
+	/**
+	 * An <code>Evaluation</code> holds the scores of a set of candidates
+	 * that played the same games: the mean final score of each, and the
+	 * mean of its difference from the first candidate, game by game, each
+	 * with the half width of its 95% confidence interval.
+	 */
+	public static final class Evaluation {
+		private final HeuristicParams[] candidates;
+		private final long games;
+		private final Totals totals;
+
+		private Evaluation(HeuristicParams[] candidates, long games, Totals totals) {
+			this.candidates = candidates;
+			this.games = games;
+			this.totals = totals;
+		}
+
+		/**
+		 * Returns the number of candidates
+		 * @return the number of candidates
+		 */
+		public int size() {
+			return candidates.length;
+		}
+
+		/**
+		 * Returns a candidate
+		 * @param candidate the index of the candidate
+		 * @return its parameters
+		 */
+		public HeuristicParams getCandidate(int candidate) {
+			return candidates[candidate];
+		}
+
+		/**
+		 * Returns the number of games each candidate played
+		 * @return the number of games
+		 */
+		public long getGames() {
+			return games;
+		}
+
+		/**
+		 * Returns the mean final score of a candidate
+		 * @param candidate the index of the candidate
+		 * @return the mean score
+		 */
+		public double getMean(int candidate) {
+			return (double) totals.sums[candidate] / games;
+		}
+
+		/**
+		 * Returns the half width of the 95% confidence interval of a
+		 * candidate's mean final score
+		 * @param candidate the index of the candidate
+		 * @return the half width
+		 */
+		public double getHalfWidth(int candidate) {
+			return halfWidth(totals.sums[candidate], totals.squares[candidate]);
+		}
+
+		/**
+		 * Returns the mean of a candidate's final score less the first
+		 * candidate's, in the same games
+		 * @param candidate the index of the candidate
+		 * @return the mean difference
+		 */
+		public double getDifference(int candidate) {
+			return (double) totals.differences[candidate] / games;
+		}
+
+		/**
+		 * Returns the half width of the 95% confidence interval of a
+		 * candidate's mean difference from the first candidate
+		 * @param candidate the index of the candidate
+		 * @return the half width
+		 */
+		public double getDifferenceHalfWidth(int candidate) {
+			return halfWidth(totals.differences[candidate], totals.differenceSquares[candidate]);
+		}
+
+		// Returns the half width of the confidence interval of the mean of
+		// values with the given sum and sum of squares
+		private double halfWidth(long sum, long squares) {
+			double mean = (double) sum / games;
+			double variance = Math.max(0, (squares - mean * sum) / (games - 1));
+			return z95 * Math.sqrt(variance / games);
+		}
+	}
+
+	/**
+	 * The <code>Result</code> of a search: the best parameters found, and
+	 * how they compare with the starting parameters on games no generation
+	 * played
+	 */
+	public static final class Result {
+		private final HeuristicParams start;
+		private final HeuristicParams best;
+		private final Evaluation validation;	// The start, then the best
+
+		private Result(HeuristicParams start, HeuristicParams best, Evaluation validation) {
+			this.start = start;
+			this.best = best;
+			this.validation = validation;
+		}
+
+		/**
+		 * Returns the best parameters found
+		 * @return the best parameters
+		 */
+		public HeuristicParams getBest() {
+			return best;
+		}
+
+		/**
+		 * Returns the parameters the search started from
+		 * @return the starting parameters
+		 */
+		public HeuristicParams getStart() {
+			return start;
+		}
+
+		/**
+		 * Returns the comparison of the starting and the best parameters:
+		 * candidate 0 is the start, and candidate 1 the best
+		 * @return the Evaluation
+		 */
+		public Evaluation getValidation() {
+			return validation;
+		}
+
+		/**
+		 * Returns the mean final score of the best parameters
+		 * @return the mean score
+		 */
+		public double getMean() {
+			return validation.getMean(1);
+		}
+
+		/**
+		 * Returns the half width of the 95% confidence interval of the
+		 * best parameters' mean final score
+		 * @return the half width
+		 */
+		public double getHalfWidth() {
+			return validation.getHalfWidth(1);
+		}
+
+		/**
+		 * Returns how many points a game the best parameters score over the
+		 * starting parameters
+		 * @return the mean improvement
+		 */
+		public double getImprovement() {
+			return validation.getDifference(1);
+		}
+
+		/**
+		 * Returns the half width of the 95% confidence interval of the
+		 * improvement
+		 * @return the half width
+		 */
+		public double getImprovementHalfWidth() {
+			return validation.getDifferenceHalfWidth(1);
+		}
+
+		/**
+		 * Returns the result as a text report
+		 */
+		@Override
+		public String toString() {
+			return String.format("best  %.2f +/- %.2f  %s%nstart %.2f +/- %.2f  %s%n"
+					+ "improvement %.2f +/- %.2f points a game over %d games%n",
+					getMean(), getHalfWidth(), best, validation.getMean(0), validation.getHalfWidth(0),
+					start, getImprovement(), getImprovementHalfWidth(), validation.getGames());
+		}
+	}
+
+	// The sums of the final scores of each candidate, of their squares, and
+	// of the differences from the first candidate and their squares
+	private static final class Totals {
+		final long[] sums;
+		final long[] squares;
+		final long[] differences;
+		final long[] differenceSquares;
+
+		Totals(int candidates) {
+			sums = new long[candidates];
+			squares = new long[candidates];
+			differences = new long[candidates];
+			differenceSquares = new long[candidates];
+		}
+
+		// Adds the totals of other games
+		Totals merge(Totals other) {
+			for (int c = 0; c < sums.length; c++) {
+				sums[c] += other.sums[c];
+				squares[c] += other.squares[c];
+				differences[c] += other.differences[c];
+				differenceSquares[c] += other.differenceSquares[c];
+			}
+			return this;
+		}
+	}
+
+	// Plays the games numbered from (inclusive) to (exclusive) with every
+	// candidate, splitting the range in half until it is small enough to
+	// play directly
+	@SuppressWarnings("serial")
+	private static class GameRange extends RecursiveTask<Totals> {
+		private final HeuristicParams[] candidates;
+		private final long from;
+		private final long to;
+		private final long seed;
+
+		GameRange(HeuristicParams[] candidates, long from, long to, long seed) {
+			this.candidates = candidates;
+			this.from = from;
+			this.to = to;
+			this.seed = seed;
+		}
+
+		@Override
+		protected Totals compute() {
+			if (to - from <= gamesPerTask)
+				return play();
+			long mid = from + (to - from) / 2;
+			GameRange left = new GameRange(candidates, from, mid, seed);
+			GameRange right = new GameRange(candidates, mid, to, seed);
+			left.fork();
+			Totals totals = right.compute();
+			return totals.merge(left.join());
+		}
+
+		// Plays the range on this thread, each game from the same seed for
+		// every candidate
+		private Totals play() {
+			int n = candidates.length;
+			Policy[] policies = new Policy[n];
+			for (int c = 0; c < n; c++)
+				policies[c] = Policies.forDecider(new HeuristicStrategy(candidates[c]));
+			DiceRandom random = DiceRandom.create(seed);
+			SimGame game = new SimGame(random);
+			Totals totals = new Totals(n);
+			for (long g = from; g < to; g++) {
+				long gameSeed = DiceRandom.seedFor(seed, g);
+				int first = 0;
+				for (int c = 0; c < n; c++) {
+					random.setSeed(gameSeed);
+					int score = game.play(policies[c]);
+					if (c == 0)
+						first = score;
+					totals.sums[c] += score;
+					totals.squares[c] += (long) score * score;
+					totals.differences[c] += score - first;
+					totals.differenceSquares[c] += (long) (score - first) * (score - first);
+				}
+			}
+			return totals;
+		}
+	}
+}
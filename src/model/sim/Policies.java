@@ -0,0 +1,53 @@
+package model.sim;
+
+import model.OptimalStrategy;
+import model.Strategy;
+import model.TurnDecider;
+import model.TurnDriver;
+
+/**
+ * The <code>Policies</code> class creates the Policy that makes the same
+ * decisions as each computer Strategy, so that any strategy can be played
+ * in a simulated game.  A Strategy whose decisions are a TurnDecider is
+ * played by that decider itself, so given the same dice, a Policy holds
+ * the same dice and scores the same hand as its Strategy.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class Policies {
+	// Private constructor: Policies is never instantiated
+	private Policies() { }
+	
+	/**
+	 * Creates a new Policy that plays like the given strategy.  Every call
+	 * returns a new Policy, so each simulation thread can have its own.
+	 * @param strategy the strategy to play like
+	 * @return a new Policy for the strategy
+	 * @throws IllegalArgumentException if the strategy is not a computer
+	 * strategy that can be simulated (a HumanStrategy cannot, and a
+	 * MonteCarloStrategy, which plays rollouts itself, is not)
+	 */
+	public static Policy forStrategy(Strategy strategy) {
+		// The OptimalStrategy keeps the evaluation of the turn, so each
+		// Policy plays with its own
+		if (strategy instanceof OptimalStrategy)
+			return forDecider(new OptimalStrategy());
+		if (strategy instanceof TurnDecider)
+			return forDecider((TurnDecider) strategy);
+		throw new IllegalArgumentException("Cannot simulate " 
+				+ (strategy == null ? null : strategy.getName()));
+	}
+	
+	/**
+	 * Creates a new Policy that makes the decisions of the given
+	 * TurnDecider, from a TurnState of the simulated game.  This is how
+	 * every computer strategy but the MonteCarloStrategy is simulated: the
+	 * same code decides their turns in simulations and in interactive games.
+	 * @param decider the decider
+	 * @return a new Policy for the decider
+	 * @throws IllegalArgumentException if decider is null
+	 */
+	public static Policy forDecider(TurnDecider decider) {
+		return TurnDriver.simulate(decider);
+	}
+}
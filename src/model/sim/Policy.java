@@ -0,0 +1,33 @@
+package model.sim;
+
+import model.Hands;
+
+/**
+ * A <code>Policy</code> makes the decisions of a Strategy for a simulated
+ * game: which dice to hold after a roll, and which hand to score at the end
+ * of a turn.  A Policy only looks at the SimGame it is given; it never
+ * touches the Game or Dice of an interactive game, never sleeps, and never
+ * starts threads.
+ * 
+ * A Policy may keep working state between calls, so it is not thread safe:
+ * every simulation thread needs its own (see Policies.forStrategy()).
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public interface Policy {
+	/**
+	 * Chooses the dice to hold before the next roll.  Holding every die
+	 * ends the rolling for the turn.
+	 * @param game the game, after the latest roll
+	 * @return the dice to hold, as a bit mask (bit i is set to hold die i)
+	 */
+	public int holdDice(SimGame game);
+	
+	/**
+	 * Chooses the hand to score at the end of the turn.  The hand must not
+	 * already be taken on the game's score card.
+	 * @param game the game, after the last roll of the turn
+	 * @return the hand to score
+	 */
+	public Hands chooseHand(SimGame game);
+}
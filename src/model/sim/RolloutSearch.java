@@ -0,0 +1,288 @@
+package model.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import model.DiceRandom;
+import model.Hands;
+import model.ScoreTable;
+import model.Strategy;
+import model.TurnEvaluator;
+
+/**
+ * A <code>RolloutSearch</code> chooses the dice to hold and the hand to
+ * score by Monte Carlo rollouts: each choice open to the player is played
+ * out to the end of the game, again and again, by the Policy of a computer
+ * Strategy, and the choice with the highest mean final score is taken.
+ * It needs no precomputed table, so it plays any rules a SimGame and a
+ * Policy can play.
+ *
+ * A decision is given a time budget rather than a number of rollouts.  The
+ * calling thread and threads - 1 workers each play rollouts of every
+ * choice in turn until the budget is spent, and their totals are summed,
+ * so the more threads there are, the more rollouts each choice gets and
+ * the better the choice.  Each thread has its own SimGame, Policy, and
+ * stream of dice (seeded by DiceRandom.newSeed()), kept from decision to
+ * decision, and a rollout creates no objects.  The workers are shared by
+ * every RolloutSearch.
+ *
+ * A RolloutSearch makes one decision at a time: it is not meant to be
+ * called by more than one thread at once.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class RolloutSearch {
+	// The number of dice, and the number of ways to hold them
+	private static final int numDice = 5;
+	private static final int numHolds = 1 << numDice;
+
+	private static final Hands[] hands = Hands.values();
+	private static final int maxRolls = 3;
+
+	// The worker threads, created as decisions need them and shared by
+	// every search
+	private static final ExecutorService workers = Executors.newCachedThreadPool(new ThreadFactory() {
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "Rollout worker");
+			t.setDaemon(true);
+			return t;
+		}
+	});
+
+	private final Strategy strategy;
+	private final int threads;
+	private final AtomicLong rollouts = new AtomicLong();
+
+	// The rollout state of each thread that plays rollouts for this search
+	private final ThreadLocal<Worker> worker = new ThreadLocal<Worker>() {
+		@Override
+		protected Worker initialValue() {
+			return new Worker(Policies.forStrategy(strategy));
+		}
+	};
+
+	// The choices of the decision being made: held masks or hand ordinals
+	private final int[] choices = new int[numHolds];
+
+	/**
+	 * Constructs a new RolloutSearch that plays rollouts with the Policy of
+	 * the given strategy on the given number of threads
+	 * @param strategy the computer strategy to play rollouts like
+	 * @param threads the number of threads, including the calling thread
+	 * @throws IllegalArgumentException if the strategy cannot be simulated
+	 * or threads is less than 1
+	 */
+	public RolloutSearch(Strategy strategy, int threads) {
+		Policies.forStrategy(strategy); // Fail fast on strategies that cannot be simulated
+		if (threads < 1)
+			throw new IllegalArgumentException("threads is less than 1: " + threads);
+		this.strategy = strategy;
+		this.threads = threads;
+	}
+
+	/**
+	 * Constructs a new RolloutSearch that plays rollouts with the Policy of
+	 * the given strategy on one thread per processor
+	 * @param strategy the computer strategy to play rollouts like
+	 * @throws IllegalArgumentException if the strategy cannot be simulated
+	 */
+	public RolloutSearch(Strategy strategy) {
+		this(strategy, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Chooses the dice to hold before the next roll.  Every distinct set of
+	 * held dice is a choice, including holding every die, which stops
+	 * rolling and lets the Policy score the roll.
+	 * @param card the player's score card, which is not changed
+	 * @param roll the five dice, each from 1 to 6
+	 * @param rolls the number of rolls taken this turn, 1 or 2
+	 * @param nanos the time budget for the decision, in nanoseconds
+	 * @return the dice to hold, as a bit mask (bit i is set to hold die i)
+	 * @throws IllegalArgumentException if rolls is not 1 or 2, or a die is
+	 * not from 1 to 6
+	 * @throws InterruptedException if the thread is interrupted
+	 */
+	public int bestHold(SimScoreCard card, int[] roll, int rolls, long nanos)
+			throws InterruptedException {
+		if (rolls < 1 || rolls >= maxRolls)
+			throw new IllegalArgumentException("rolls is not 1 or 2: " + rolls);
+
+		// Holding dice of the same faces in other positions is the same
+		// choice, so keep the first mask of each keeper
+		boolean[] seen = new boolean[TurnEvaluator.NUM_KEEPERS];
+		int n = 0;
+		for (int m = 0; m < numHolds; m++) {
+			int keeper = TurnEvaluator.getKeeper(roll, m);
+			if (!seen[keeper]) {
+				seen[keeper] = true;
+				choices[n++] = m;
+			}
+		}
+		return choices[search(new Decision(card, roll, rolls, n), nanos)];
+	}
+
+	/**
+	 * Chooses the hand to score a roll in, from the hands open on the card
+	 * @param card the player's score card, which is not changed
+	 * @param roll the five dice, each from 1 to 6
+	 * @param nanos the time budget for the decision, in nanoseconds
+	 * @return the hand to score
+	 * @throws IllegalArgumentException if every hand has been taken, or a
+	 * die is not from 1 to 6
+	 * @throws InterruptedException if the thread is interrupted
+	 */
+	public Hands bestHand(SimScoreCard card, int[] roll, long nanos) throws InterruptedException {
+		int n = 0;
+		for (Hands h : hands) {
+			if (!card.isTaken(h))
+				choices[n++] = h.ordinal();
+		}
+		if (n == 0)
+			throw new IllegalArgumentException("Every hand has been taken");
+		return hands[choices[search(new Decision(card, roll, 0, n), nanos)]];
+	}
+
+	/**
+	 * Returns the number of rollouts played by the search so far
+	 * @return the number of rollouts
+	 */
+	public long getRollouts() {
+		return rollouts.get();
+	}
+
+	/**
+	 * Returns the number of threads playing rollouts for each decision
+	 * @return the number of threads
+	 */
+	public int getThreads() {
+		return threads;
+	}
+
+	// Plays rollouts of the decision's choices on every thread until the
+	// budget is spent, and returns the index of the choice with the
+	// highest mean final score
+	private int search(final Decision d, long nanos) throws InterruptedException {
+		final long deadline = System.nanoTime() + nanos;
+		List<Future<Totals>> futures = new ArrayList<Future<Totals>>(threads - 1);
+		try {
+			for (int t = 1; t < threads; t++) {
+				futures.add(workers.submit(new Callable<Totals>() {
+					@Override
+					public Totals call() {
+						return worker.get().play(d, deadline);
+					}
+				}));
+			}
+			Totals totals = worker.get().play(d, deadline);
+			for (Future<Totals> f : futures)
+				totals.add(f.get());
+
+			int best = 0;
+			long played = 0;
+			for (int c = 0; c < d.count; c++) {
+				played += totals.counts[c];
+				if (totals.mean(c) > totals.mean(best))
+					best = c;
+			}
+			rollouts.addAndGet(played);
+			return best;
+		} catch (ExecutionException ex) {
+			throw new IllegalStateException("A rollout failed", ex.getCause());
+		} finally {
+			// Stop the workers of an interrupted or failed decision
+			for (Future<Totals> f : futures)
+				f.cancel(true);
+		}
+	}
+
+	// A decision being searched: the position, and the number of choices
+	// (held masks for a hold, hand ordinals for a hand).  The choices are
+	// read from the search's array, which is not changed until the
+	// decision has been made.
+	private final class Decision {
+		final SimScoreCard card = new SimScoreCard();
+		final int[] roll = new int[numDice];
+		final int rollIndex;
+		final int rolls;		// The rolls taken, or 0 to choose a hand
+		final int count;
+
+		Decision(SimScoreCard card, int[] roll, int rolls, int count) {
+			this.card.copyFrom(card);
+			System.arraycopy(roll, 0, this.roll, 0, numDice);
+			this.rollIndex = ScoreTable.indexOf(roll);
+			this.rolls = rolls;
+			this.count = count;
+		}
+
+		// Plays one rollout of a choice in the given game, and returns its
+		// final score
+		int rollout(SimGame game, Policy policy, int choice) {
+			SimScoreCard sc = game.getScoreCard();
+			sc.copyFrom(card);
+			if (rolls == 0) {
+				Hands hand = hands[choices[choice]];
+				sc.setScore(hand, ScoreTable.score(hand, rollIndex));
+			} else {
+				game.setPosition(roll, choices[choice], rolls);
+				game.finishTurn(policy);
+			}
+			return game.playOut(policy);
+		}
+	}
+
+	// The sum of the final scores of each choice's rollouts, and their number
+	private static final class Totals {
+		final long[] sums;
+		final long[] counts;
+
+		Totals(int count) {
+			sums = new long[count];
+			counts = new long[count];
+		}
+
+		// Adds the totals of another thread
+		void add(Totals other) {
+			for (int c = 0; c < sums.length; c++) {
+				sums[c] += other.sums[c];
+				counts[c] += other.counts[c];
+			}
+		}
+
+		// Returns the mean final score of a choice
+		double mean(int choice) {
+			return (double) sums[choice] / counts[choice];
+		}
+	}
+
+	// The rollout state of one thread: its own game, dice, and policy
+	private static final class Worker {
+		final SimGame game = new SimGame(DiceRandom.create(DiceRandom.newSeed()));
+		final Policy policy;
+
+		Worker(Policy policy) {
+			this.policy = policy;
+		}
+
+		// Plays rollouts of every choice in turn until the deadline, at
+		// least once each, or until the thread is interrupted
+		Totals play(Decision d, long deadline) {
+			Totals totals = new Totals(d.count);
+			do {
+				for (int c = 0; c < d.count; c++) {
+					totals.sums[c] += d.rollout(game, policy, c);
+					totals.counts[c]++;
+				}
+			} while (System.nanoTime() - deadline < 0 && !Thread.currentThread().isInterrupted());
+			return totals;
+		}
+	}
+}
@@ -0,0 +1,188 @@
+package model.sim;
+
+/**
+ * A <code>ScoreStats</code> accumulates the final scores of simulated games
+ * of one strategy: the full histogram of scores, from which the mean,
+ * standard deviation and percentiles are exact, and how often the upper
+ * bonus and the Yahtzee bonus were earned.
+ * 
+ * Every count is an integer, so merging the stats of separate runs gives
+ * exactly the same result in any order.  A ScoreStats is not thread safe;
+ * each thread accumulates its own and they are merged afterwards.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public class ScoreStats {
+	private final String name;
+	private final long[] histogram;
+	private long games;
+	private long sum;
+	private long sumOfSquares;
+	private long upperBonusGames;
+	private long yahtzeeBonusGames;
+	private long yahtzeeBonuses;
+	
+	/**
+	 * Constructs a new, empty ScoreStats
+	 * @param name the name of the strategy the scores are for
+	 */
+	public ScoreStats(String name) {
+		this.name = name;
+		this.histogram = new long[Simulator.MAX_SCORE + 1];
+	}
+	
+	/**
+	 * Adds the result of a finished game
+	 * @param card the score card of the game
+	 */
+	public void add(SimScoreCard card) {
+		int score = card.getTotal();
+		histogram[score]++;
+		games++;
+		sum += score;
+		sumOfSquares += (long) score * score;
+		if (card.getUpperBonus() > 0)
+			upperBonusGames++;
+		if (card.getYahtzeeBonus() > 0) {
+			yahtzeeBonusGames++;
+			yahtzeeBonuses += card.getYahtzeeBonus() / 100;
+		}
+	}
+	
+	/**
+	 * Adds all the games of another ScoreStats to this one
+	 * @param other the stats to merge into this one
+	 * @return this ScoreStats
+	 */
+	public ScoreStats merge(ScoreStats other) {
+		for (int score = 0; score < histogram.length; score++)
+			histogram[score] += other.histogram[score];
+		games += other.games;
+		sum += other.sum;
+		sumOfSquares += other.sumOfSquares;
+		upperBonusGames += other.upperBonusGames;
+		yahtzeeBonusGames += other.yahtzeeBonusGames;
+		yahtzeeBonuses += other.yahtzeeBonuses;
+		return this;
+	}
+	
+	/**
+	 * Returns the name of the strategy
+	 * @return the name of the strategy
+	 */
+	public String getName() {
+		return name;
+	}
+	
+	/**
+	 * Returns the number of games
+	 * @return the number of games
+	 */
+	public long getGames() {
+		return games;
+	}
+	
+	/**
+	 * Returns the mean final score
+	 * @return the mean score, or 0 if there are no games
+	 */
+	public double getMean() {
+		return games == 0 ? 0 : (double) sum / games;
+	}
+	
+	/**
+	 * Returns the standard deviation of the final scores
+	 * @return the standard deviation, or 0 if there are fewer than two games
+	 */
+	public double getStandardDeviation() {
+		if (games < 2)
+			return 0;
+		double mean = getMean();
+		double variance = ((double) sumOfSquares - games * mean * mean) / (games - 1);
+		return Math.sqrt(Math.max(variance, 0));
+	}
+	
+	/**
+	 * Returns the lowest score that at least the given percentage of
+	 * games scored at or below (the nearest rank percentile)
+	 * @param percent the percentile, from 0 to 100
+	 * @return the score at the percentile, or 0 if there are no games
+	 * @throws IllegalArgumentException if percent is out of range
+	 */
+	public int getPercentile(double percent) {
+		if (percent < 0 || percent > 100)
+			throw new IllegalArgumentException();
+		long rank = Math.max(1, (long) Math.ceil(percent / 100 * games));
+		long seen = 0;
+		for (int score = 0; score < histogram.length; score++) {
+			seen += histogram[score];
+			if (seen >= rank)
+				return score;
+		}
+		return 0;
+	}
+	
+	/**
+	 * Returns the lowest final score
+	 * @return the lowest score, or 0 if there are no games
+	 */
+	public int getMin() {
+		return getPercentile(0);
+	}
+	
+	/**
+	 * Returns the highest final score
+	 * @return the highest score, or 0 if there are no games
+	 */
+	public int getMax() {
+		for (int score = histogram.length - 1; score >= 0; score--) {
+			if (histogram[score] > 0)
+				return score;
+		}
+		return 0;
+	}
+	
+	/**
+	 * Returns (by value) the number of games ending with each score
+	 * @return the histogram of final scores, indexed by score
+	 */
+	public long[] getHistogram() {
+		return histogram.clone();
+	}
+	
+	/**
+	 * Returns the fraction of games that earned the upper bonus
+	 * @return the upper bonus rate, from 0 to 1
+	 */
+	public double getUpperBonusRate() {
+		return games == 0 ? 0 : (double) upperBonusGames / games;
+	}
+	
+	/**
+	 * Returns the fraction of games that earned at least one Yahtzee bonus
+	 * @return the Yahtzee bonus rate, from 0 to 1
+	 */
+	public double getYahtzeeBonusRate() {
+		return games == 0 ? 0 : (double) yahtzeeBonusGames / games;
+	}
+	
+	/**
+	 * Returns the mean number of Yahtzee bonuses earned per game
+	 * @return the Yahtzee bonuses per game
+	 */
+	public double getYahtzeeBonusesPerGame() {
+		return games == 0 ? 0 : (double) yahtzeeBonuses / games;
+	}
+	
+	/**
+	 * Returns a one line summary of the stats
+	 */
+	@Override
+	public String toString() {
+		return String.format("%-14s games %d  mean %.2f  sd %.2f  min %d  p10 %d  p50 %d  p90 %d  p99 %d  max %d"
+				+ "  upper bonus %.1f%%  yahtzee bonus %.1f%%",
+				name, games, getMean(), getStandardDeviation(), getMin(), getPercentile(10), 
+				getPercentile(50), getPercentile(90), getPercentile(99), getMax(),
+				getUpperBonusRate() * 100, getYahtzeeBonusRate() * 100);
+	}
+}
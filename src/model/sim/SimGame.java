@@ -0,0 +1,197 @@
+package model.sim;
+
+import model.DiceRandom;
+import model.Hands;
+import model.ScoreTable;
+
+/**
+ * A <code>SimGame</code> plays complete solitaire Yahtzee games without the
+ * interactive Game and Dice objects: no threads, no sleeping, and no
+ * change events.  Turns follow the same rules as an interactive
+ * game: up to three rolls, dice held between rolls, one hand scored per
+ * turn, and the Yahtzee bonus taken for a turn in which a Yahtzee is rolled
+ * after the Yahtzee box has been filled.
+ * 
+ * A SimGame reuses its dice and score card from game to game and creates
+ * no objects while playing.  It is not thread safe: every simulation
+ * thread needs its own.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class SimGame {
+	// The number of dice, and rolls in a turn
+	private static final int numDice = 5;
+	private static final int maxRolls = 3;
+	
+	// The mask that holds every die
+	private static final int allHeld = (1 << numDice) - 1;
+	
+	private final DiceRandom random;
+	private final SimScoreCard card;
+	private final int[] dice;
+	private final int[] rolled;		// The new faces for the dice rolled
+	private int rollIndex;
+	private int heldMask;
+	private int rolls;
+	
+	/**
+	 * Constructs a new SimGame that rolls dice with the given generator
+	 * @param random the random number generator for the dice
+	 */
+	public SimGame(DiceRandom random) {
+		this.random = random;
+		this.card = new SimScoreCard();
+		this.dice = new int[numDice];
+		this.rolled = new int[numDice];
+	}
+	
+	/**
+	 * Plays a complete game with the given policy, from an empty score card
+	 * @param policy the policy making the decisions
+	 * @return the final score of the game
+	 */
+	public int play(Policy policy) {
+		card.reset();
+		return playOut(policy);
+	}
+	
+	/**
+	 * Plays the turns left in the game with the given policy, from the
+	 * start of the next turn.  The score card is left as it is, so a game
+	 * can be played out from any position (see finishTurn()).
+	 * @param policy the policy making the decisions
+	 * @return the final score of the game
+	 */
+	public int playOut(Policy policy) {
+		while (!card.isFull())
+			playTurn(policy);
+		return card.getTotal();
+	}
+	
+	/**
+	 * Plays the rest of the current turn from the position set by
+	 * setPosition(): the dice that are not held are rolled, and the policy
+	 * holds and rolls until the rolls run out or it holds every die, then
+	 * scores a hand.  If every die is held, or no rolls are left, the hand
+	 * is scored at once.
+	 * @param policy the policy making the decisions
+	 */
+	public void finishTurn(Policy policy) {
+		while (rolls < maxRolls && heldMask != allHeld) {
+			roll();
+			if (rolls < maxRolls)
+				heldMask = policy.holdDice(this) & allHeld;
+		}
+		Hands hand = policy.chooseHand(this);
+		if (!card.setScore(hand, ScoreTable.score(hand, rollIndex)))
+			throw new IllegalStateException(hand + " has already been scored");
+	}
+	
+	// Plays one turn: roll, hold, and roll again until the rolls run out
+	// or the policy holds every die, then score a hand
+	private void playTurn(Policy policy) {
+		heldMask = 0;
+		rolls = 0;
+		finishTurn(policy);
+	}
+	
+	// Rolls the dice that are not held, drawing their faces in bulk
+	private void roll() {
+		random.rollDice(rolled, 0, numDice - Integer.bitCount(heldMask));
+		for (int i = 0, j = 0; i < numDice; i++) {
+			if ((heldMask >>> i & 1) == 0)
+				dice[i] = rolled[j++];
+		}
+		rolls++;
+		rollIndex = ScoreTable.indexOf(dice);
+		if (ScoreTable.score(Hands.YAHTZEE, rollIndex) > 0)
+			card.takeYahtzeeBonus();
+	}
+	
+	/**
+	 * Sets up a position in the current turn, as if the given roll had just
+	 * been rolled with the given dice held.  The score card is left as it is.
+	 * This lets a policy be asked about a particular position, for analysis
+	 * and benchmarks, or a game be played out from it with finishTurn().
+	 * No Yahtzee bonus is taken for the roll.
+	 * @param roll the five dice, each from 1 to 6
+	 * @param heldMask the dice held, as a bit mask
+	 * @param rolls the number of rolls taken this turn, from 1 to 3
+	 * @throws IllegalArgumentException if the position is not valid
+	 */
+	public void setPosition(int[] roll, int heldMask, int rolls) {
+		if (rolls < 1 || rolls > maxRolls)
+			throw new IllegalArgumentException();
+		rollIndex = ScoreTable.indexOf(roll);
+		System.arraycopy(roll, 0, dice, 0, numDice);
+		this.heldMask = heldMask & allHeld;
+		this.rolls = rolls;
+	}
+	
+	/**
+	 * Returns the face of the given die
+	 * @param die the die (zero indexed)
+	 * @return the face of the die, from 1 to 6
+	 */
+	public int getDie(int die) {
+		return dice[die];
+	}
+	
+	/**
+	 * Copies the current roll into the given array
+	 * @param roll the array to receive the five dice
+	 */
+	public void getRoll(int[] roll) {
+		System.arraycopy(dice, 0, roll, 0, numDice);
+	}
+	
+	/**
+	 * Returns the index of the current roll (see ScoreTable.indexOf())
+	 * @return the index of the current roll
+	 */
+	public int getRollIndex() {
+		return rollIndex;
+	}
+	
+	/**
+	 * Returns the dice currently held, as a bit mask
+	 * @return the held dice (bit i is set if die i is held)
+	 */
+	public int getHeldMask() {
+		return heldMask;
+	}
+	
+	/**
+	 * Returns whether the given die is held
+	 * @param die the die (zero indexed)
+	 * @return true if the die is held
+	 */
+	public boolean isHeld(int die) {
+		return (heldMask >>> die & 1) != 0;
+	}
+	
+	/**
+	 * Returns the number of rolls taken so far this turn
+	 * @return the number of rolls this turn
+	 */
+	public int getNumRolls() {
+		return rolls;
+	}
+	
+	/**
+	 * Returns the score card for the game
+	 * @return the score card
+	 */
+	public SimScoreCard getScoreCard() {
+		return card;
+	}
+	
+	/**
+	 * Returns the random number generator of the game, for policies
+	 * that make random decisions
+	 * @return the random number generator
+	 */
+	public DiceRandom getRandom() {
+		return random;
+	}
+}
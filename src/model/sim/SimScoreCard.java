@@ -0,0 +1,209 @@
+package model.sim;
+
+import model.Hands;
+
+/**
+ * A <code>SimScoreCard</code> keeps score for a simulated game.  It follows
+ * exactly the same rules as the <code>ScoreCard</code> of an interactive
+ * game (the upper bonus of 35 once the upper total reaches 63, and 100
+ * points for each turn a Yahtzee is rolled after the Yahtzee box has been
+ * filled), but it is a plain, reusable set of counters: it sends no
+ * events and creates no objects, so one card can score millions of
+ * games.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public final class SimScoreCard {
+	private static final int numHands = Hands.values().length;
+	
+	private final int[] scores;
+	private int takenMask;
+	private int count;
+	private int upperTotal;
+	private int lowerTotal;
+	private int upperBonus;
+	private boolean yahtzee;
+	private int yahtzeeBonus;
+	private int yahtzeeBonusTurnNumber;
+	
+	/**
+	 * Constructs a new, empty SimScoreCard
+	 */
+	public SimScoreCard() {
+		scores = new int[numHands];
+	}
+	
+	/**
+	 * Clears the card for a new game
+	 */
+	public void reset() {
+		for (int i = 0; i < numHands; i++)
+			scores[i] = 0;
+		takenMask = 0;
+		count = 0;
+		upperTotal = 0;
+		lowerTotal = 0;
+		upperBonus = 0;
+		yahtzee = false;
+		yahtzeeBonus = 0;
+		yahtzeeBonusTurnNumber = 0;
+	}
+	
+	/**
+	 * Makes this card a copy of another, so a game can be played on from
+	 * the other card's position without changing it
+	 * @param other the card to copy
+	 */
+	public void copyFrom(SimScoreCard other) {
+		System.arraycopy(other.scores, 0, scores, 0, numHands);
+		takenMask = other.takenMask;
+		count = other.count;
+		upperTotal = other.upperTotal;
+		lowerTotal = other.lowerTotal;
+		upperBonus = other.upperBonus;
+		yahtzee = other.yahtzee;
+		yahtzeeBonus = other.yahtzeeBonus;
+		yahtzeeBonusTurnNumber = other.yahtzeeBonusTurnNumber;
+	}
+	
+	/**
+	 * Restores the Yahtzee bonus of a card being copied from a ScoreCard,
+	 * after its scores have been set
+	 * @param bonus the Yahtzee bonus earned
+	 * @param takenThisTurn whether the bonus has already been taken in the
+	 * turn being played (see ScoreCard.canTakeYahtzeeBonus())
+	 */
+	public void restoreYahtzeeBonus(int bonus, boolean takenThisTurn) {
+		yahtzeeBonus = bonus;
+		yahtzeeBonusTurnNumber = takenThisTurn ? count : -1;
+	}
+	
+	/**
+	 * Sets the score corresponding to the given hand to the given score.
+	 * If the score is already taken this will return false and do nothing.
+	 * @param hand the hand for which to record the score
+	 * @param score the score to record for the corresponding hand
+	 * @return true if the score is recorded, false if it cannot be
+	 */
+	public boolean setScore(Hands hand, int score) {
+		int h = hand.ordinal();
+		if ((takenMask >>> h & 1) != 0)
+			return false;
+		scores[h] = score;
+		takenMask |= 1 << h;
+		count++;
+		if (h < 6) {
+			upperTotal += score;
+			if (upperTotal > 62)
+				upperBonus = 35;
+		} else {
+			lowerTotal += score;
+		}
+		if (hand == Hands.YAHTZEE)
+			yahtzee = true;
+		return true;
+	}
+	
+	/**
+	 * Takes the Yahtzee bonus, at most once per turn, if the Yahtzee box
+	 * has been filled.  This follows ScoreCard.takeYahtzeeBonus(), and 
+	 * should be called for every roll that is a Yahtzee.
+	 */
+	public void takeYahtzeeBonus() {
+		if (yahtzee && count != yahtzeeBonusTurnNumber) {
+			yahtzeeBonus += 100;
+			yahtzeeBonusTurnNumber = count;
+		}
+	}
+	
+	/**
+	 * Returns whether a Yahtzee rolled now would earn the Yahtzee bonus
+	 * @return true if the bonus can still be taken this turn
+	 */
+	public boolean canTakeYahtzeeBonus() {
+		return yahtzee && count != yahtzeeBonusTurnNumber;
+	}
+	
+	/**
+	 * Returns the score recorded for the given hand, or 0 if none has been
+	 * @param hand the hand
+	 * @return the score for the hand
+	 */
+	public int getScore(Hands hand) {
+		return scores[hand.ordinal()];
+	}
+	
+	/**
+	 * Returns whether a score has been recorded for the given hand
+	 * @param hand the hand
+	 * @return true if the hand has been taken
+	 */
+	public boolean isTaken(Hands hand) {
+		return (takenMask >>> hand.ordinal() & 1) != 0;
+	}
+	
+	/**
+	 * Returns the hands that have been taken as a bit mask, as 
+	 * ScoreCard.getTakenMask() does
+	 * @return the bit mask of the hands taken
+	 */
+	public int getTakenMask() {
+		return takenMask;
+	}
+	
+	/**
+	 * Returns the total of the upper six hands, without the upper bonus
+	 * @return the upper total
+	 */
+	public int getUpperTotal() {
+		return upperTotal;
+	}
+	
+	/**
+	 * Returns the total of the lower seven hands, without the Yahtzee bonus
+	 * @return the lower total
+	 */
+	public int getLowerTotal() {
+		return lowerTotal;
+	}
+	
+	/**
+	 * Returns the upper bonus: 35 if the upper total is at least 63, or 0
+	 * @return the upper bonus
+	 */
+	public int getUpperBonus() {
+		return upperBonus;
+	}
+	
+	/**
+	 * Returns the Yahtzee bonus earned so far
+	 * @return the Yahtzee bonus
+	 */
+	public int getYahtzeeBonus() {
+		return yahtzeeBonus;
+	}
+	
+	/**
+	 * Returns whether the Yahtzee box has been filled
+	 * @return true if a Yahtzee has been scored
+	 */
+	public boolean yahtzee() {
+		return yahtzee;
+	}
+	
+	/**
+	 * Checks whether the card is full
+	 * @return true if every hand has been taken
+	 */
+	public boolean isFull() {
+		return count == numHands;
+	}
+	
+	/**
+	 * Returns the final score: both totals and both bonuses
+	 * @return the total score on the card
+	 */
+	public int getTotal() {
+		return upperTotal + upperBonus + lowerTotal + yahtzeeBonus;
+	}
+}
@@ -0,0 +1,123 @@
+package model.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import model.DiceRandom;
+import model.Strategy;
+
+/**
+ * The <code>Simulator</code> plays large numbers of simulated solitaire
+ * games of a Strategy across several threads, and counts the final scores.
+ * Each game is seeded from the master seed and the number of the game, so
+ * a simulation gives the same counts whatever the number of threads.  The
+ * dice are rolled with the default kind of DiceRandom (see
+ * DiceRandom.getDefaultKind()).
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public class Simulator {
+	/**
+	 * The highest final score possible in a game: 140 for the upper section
+	 * with its bonus, 235 for the lower section, and 1200 for a Yahtzee
+	 * bonus in each of the twelve turns after the Yahtzee box is filled
+	 */
+	public static final int MAX_SCORE = 1575;
+	
+	private final int threads;
+	
+	/**
+	 * Constructs a new Simulator that plays on the given number of threads
+	 * @param threads the number of threads
+	 * @throws IllegalArgumentException if threads is less than 1
+	 */
+	public Simulator(int threads) {
+		if (threads < 1)
+			throw new IllegalArgumentException();
+		this.threads = threads;
+	}
+	
+	/**
+	 * Constructs a new Simulator that plays on one thread per processor
+	 */
+	public Simulator() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Plays the given number of games of the strategy, and counts how many
+	 * games ended with each final score.
+	 * @param strategy the computer strategy to play
+	 * @param games the number of games to play
+	 * @param seed the master seed for the games
+	 * @return the number of games ending with each score, indexed by score
+	 * (MAX_SCORE + 1 long)
+	 * @throws IllegalArgumentException if the strategy cannot be simulated
+	 */
+	public long[] run(final Strategy strategy, final long games, final long seed) {
+		Policies.forStrategy(strategy); // Fail fast on strategies that cannot be simulated
+		ExecutorService pool = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "Simulator worker");
+				t.setDaemon(true);
+				return t;
+			}
+		});
+		try {
+			// Give each thread an equal, contiguous block of games
+			List<Callable<long[]>> tasks = new ArrayList<Callable<long[]>>();
+			for (int t = 0; t < threads; t++) {
+				final long from = games * t / threads;
+				final long to = games * (t + 1) / threads;
+				tasks.add(new Callable<long[]>() {
+					@Override
+					public long[] call() {
+						return play(strategy, from, to, seed);
+					}
+				});
+			}
+			long[] counts = new long[MAX_SCORE + 1];
+			for (Future<long[]> f : pool.invokeAll(tasks)) {
+				long[] part = f.get();
+				for (int score = 0; score <= MAX_SCORE; score++)
+					counts[score] += part[score];
+			}
+			return counts;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(ex);
+		} catch (ExecutionException ex) {
+			throw new IllegalStateException(ex.getCause());
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Plays the games numbered from (inclusive) to (exclusive) on the
+	 * calling thread, and counts how many ended with each final score
+	 * @param strategy the computer strategy to play
+	 * @param from the number of the first game
+	 * @param to the number after the last game
+	 * @param seed the master seed for the games
+	 * @return the number of games ending with each score, indexed by score
+	 */
+	public static long[] play(Strategy strategy, long from, long to, long seed) {
+		Policy policy = Policies.forStrategy(strategy);
+		DiceRandom random = DiceRandom.create(seed);
+		SimGame game = new SimGame(random);
+		long[] counts = new long[MAX_SCORE + 1];
+		for (long g = from; g < to; g++) {
+			random.setSeed(DiceRandom.seedFor(seed, g));
+			counts[game.play(policy)]++;
+		}
+		return counts;
+	}
+}
@@ -0,0 +1,137 @@
+package model.sim;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import model.DiceRandom;
+import model.Strategy;
+
+/**
+ * A <code>Tournament</code> compares computer strategies over large numbers
+ * of simulated solitaire games.  The games are split recursively across a
+ * work-stealing ForkJoinPool; every split accumulates its own ScoreStats,
+ * and the halves are merged as they are joined, so no locks are needed.
+ * 
+ * Every strategy plays the same games: game number g is rolled from the
+ * same seed for every strategy.  Since each game is seeded from the master
+ * seed and its number, and the stats are exact integer counts, the results
+ * do not depend on the number of threads or on how the work was split.
+ * The dice are rolled with the default kind of DiceRandom (see
+ * DiceRandom.getDefaultKind()).
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+public class Tournament {
+	// The number of games below which a task plays its games rather than split
+	private static final long gamesPerTask = 4096;
+	
+	private final ForkJoinPool pool;
+	
+	/**
+	 * Constructs a new Tournament that plays on the given number of threads
+	 * @param threads the number of threads
+	 * @throws IllegalArgumentException if threads is less than 1
+	 */
+	public Tournament(int threads) {
+		this.pool = new ForkJoinPool(threads);
+	}
+	
+	/**
+	 * Constructs a new Tournament that plays on one thread per processor
+	 */
+	public Tournament() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Plays the given number of games of each strategy
+	 * @param strategies the computer strategies to compare
+	 * @param games the number of games for each strategy
+	 * @param seed the master seed for the games
+	 * @return the stats for each strategy, in the same order
+	 * @throws IllegalArgumentException if a strategy cannot be simulated
+	 */
+	public List<ScoreStats> run(List<Strategy> strategies, long games, long seed) {
+		List<ScoreStats> results = new ArrayList<ScoreStats>();
+		for (Strategy s : strategies)
+			Policies.forStrategy(s); // Fail fast on strategies that cannot be simulated
+		for (Strategy s : strategies)
+			results.add(pool.invoke(new GameRange(s, 0, games, seed)));
+		return results;
+	}
+	
+	/**
+	 * Stops the threads of the tournament.  The tournament cannot be run
+	 * again afterwards.
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}
+	
+	/**
+	 * Formats the results of a tournament as a text report, one line per
+	 * strategy, ranked by mean score
+	 * @param results the results of a tournament
+	 * @return the report
+	 */
+	public static String report(List<ScoreStats> results) {
+		List<ScoreStats> ranked = new ArrayList<ScoreStats>(results);
+		Collections.sort(ranked, new Comparator<ScoreStats>() {
+			@Override
+			public int compare(ScoreStats a, ScoreStats b) {
+				return Double.compare(b.getMean(), a.getMean());
+			}
+		});
+		StringBuilder sb = new StringBuilder();
+		for (ScoreStats s : ranked)
+			sb.append(s).append('\n');
+		return sb.toString();
+	}
+	
+	// Plays the games numbered from (inclusive) to (exclusive), splitting
+	// the range in half until it is small enough to play directly
+	@SuppressWarnings("serial")
+	private static class GameRange extends RecursiveTask<ScoreStats> {
+		private final Strategy strategy;
+		private final long from;
+		private final long to;
+		private final long seed;
+		
+		public GameRange(Strategy strategy, long from, long to, long seed) {
+			this.strategy = strategy;
+			this.from = from;
+			this.to = to;
+			this.seed = seed;
+		}
+		
+		@Override
+		protected ScoreStats compute() {
+			if (to - from <= gamesPerTask)
+				return play();
+			long mid = from + (to - from) / 2;
+			GameRange left = new GameRange(strategy, from, mid, seed);
+			GameRange right = new GameRange(strategy, mid, to, seed);
+			left.fork();
+			ScoreStats stats = right.compute();
+			return stats.merge(left.join());
+		}
+		
+		// Plays the range on this thread
+		private ScoreStats play() {
+			Policy policy = Policies.forStrategy(strategy);
+			DiceRandom random = DiceRandom.create(seed);
+			SimGame game = new SimGame(random);
+			ScoreStats stats = new ScoreStats(strategy.getName());
+			for (long g = from; g < to; g++) {
+				random.setSeed(DiceRandom.seedFor(seed, g));
+				game.play(policy);
+				stats.add(game.getScoreCard());
+			}
+			return stats;
+		}
+	}
+}
@@ -0,0 +1,945 @@
+package view;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.GradientPaint;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Transparency;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import javax.swing.JComponent;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.Timer;
+
+import model.Dice;
+import model.Game;
+import model.GameEvent;
+import model.GameEvent.Change;
+import model.GameListener;
+import model.Hands;
+import model.LatencyHistogram;
+import model.Metrics;
+import model.Player;
+import model.Score;
+import model.ScoreCard;
+import model.ScoreValidator;
+import model.Status;
+
+/**
+ * The BoardView is the painted view of a Yahtzee game: the dice, the score
+ * card of the current player (or of the player clicked on), and the
+ * players, all drawn with Java2D rather than built from components.  The
+ * dice are clicked to hold them, the Roll button to roll them, and a hand
+ * on the score card to score it, as in the component view.
+ *
+ * The board is split into three areas, each a component of its own, that
+ * keep a copy of what they show.  When the Game or the Dice change, each
+ * area compares the model with its copy and marks only the regions that
+ * differ, such as a die, a cell of the score card, or a player's row, and
+ * the marked regions are repainted at most once a frame (60 frames a
+ * second), however fast the computer players play.  Painting reads only
+ * the copies, and skips whatever lies outside the region being repainted.
+ * The faces of the dice are drawn once at the current size into images
+ * compatible with the screen, and only drawn again when the board is
+ * resized to a new die size.  The players are listed in the order they sat
+ * down, with the player who is up highlighted, so a new turn repaints two
+ * rows however many players there are.
+ *
+ * The BoardView listens to the Game and the Dice on the event dispatch
+ * thread until dispose() is called.
+ * @author Aaron Lamb
+ * @version 2.1.0 10/17/2026
+ */
+@SuppressWarnings("serial")
+class BoardView extends JPanel {
+	// The shortest time between two frames, in milliseconds
+	private static final int frameMillis = 1000 / 60;
+
+	// The time each area takes to paint (see Metrics)
+	private static final LatencyHistogram paintTime = Metrics.histogram("gui.boardPaint");
+
+	private static final Hands[] hands = Hands.values();
+	private static final int numDice = 5;
+	private static final int maxRolls = 3;
+
+	// The colors of the board
+	private static final Color FELT = new Color(30, 110, 60);
+	private static final Color FELT_DARK = new Color(12, 60, 32);
+	private static final Color PAPER = new Color(252, 250, 240);
+	private static final Color HEADER = new Color(40, 70, 130);
+	private static final Color HEADER_DARK = new Color(20, 40, 90);
+	private static final Color RULE = new Color(210, 205, 190);
+	private static final Color POSSIBLE_FILL = new Color(225, 225, 225);
+	private static final Color GOLD = new Color(230, 180, 20);
+
+	private final Game game;
+	private final Dice dice;
+	private final Observer observer = new Observer();
+	private final DiceArea diceArea = new DiceArea();
+	private final CardArea cardArea = new CardArea();
+	private final PlayersArea playersArea = new PlayersArea();
+	private final Timer frameTimer;
+	private long lastFrame;			// When the last frame was repainted, in nanoseconds
+
+	/**
+	 * Constructs a BoardView of the Game and Dice, which listens to them on
+	 * the given executor
+	 * @param game the Game to show
+	 * @param dice the Dice of the Game
+	 * @param edt the executor that runs tasks on the event dispatch thread
+	 */
+	BoardView(Game game, Dice dice, Executor edt) {
+		this.game = game;
+		this.dice = dice;
+		setLayout(null);
+		setBackground(FELT_DARK);
+		setPreferredSize(new Dimension(440, 560));
+		add(diceArea);
+		add(cardArea);
+		add(playersArea);
+		frameTimer = new Timer(frameMillis, new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				flush();
+			}
+		});
+		frameTimer.setRepeats(false);
+		observer.gameChanged(null);
+		dice.addListener(observer, edt);
+		game.addListener(observer, edt);
+	}
+
+	/**
+	 * Stops listening to the Game and the Dice
+	 */
+	void dispose() {
+		dice.removeListener(observer);
+		game.removeListener(observer);
+		frameTimer.stop();
+	}
+
+	/**
+	 * Lays out the dice at the top of the board, the score card below
+	 * them, and the players below that
+	 */
+	@Override
+	public void doLayout() {
+		int w = getWidth();
+		int h = getHeight();
+		int gap = 6;
+		int diceHeight = Math.max(56, h * 22 / 100);
+		int cardHeight = Math.max(140, h * 42 / 100);
+		diceArea.setBounds(gap, gap, w - 2 * gap, diceHeight);
+		cardArea.setBounds(gap, 2 * gap + diceHeight, w - 2 * gap, cardHeight);
+		int y = 3 * gap + diceHeight + cardHeight;
+		playersArea.setBounds(gap, y, w - 2 * gap, Math.max(0, h - y - gap));
+	}
+
+	// Repaints the marked regions at the next frame: now, if the last frame
+	// was at least a frame ago, or else a frame after the last
+	private void schedule() {
+		if (frameTimer.isRunning())
+			return;
+		long wait = frameMillis - (System.nanoTime() - lastFrame) / 1000000;
+		frameTimer.setInitialDelay((int) Math.max(0, Math.min(frameMillis, wait)));
+		frameTimer.start();
+	}
+
+	// Repaints the regions marked since the last frame
+	private void flush() {
+		lastFrame = System.nanoTime();
+		diceArea.flush();
+		cardArea.flush();
+		playersArea.flush();
+	}
+
+	// Returns whether a human player is up in a game in progress, and so
+	// may roll, hold, and score
+	private boolean humanTurn() {
+		return game.getStatus().equals(Status.GAME_IN_PROGRESS) && !game.getStrategyPlaying()
+				&& game.getCurrentPlayer() != null;
+	}
+
+	// Returns whether a game is in progress or just finished, so that
+	// there are score cards to show
+	private boolean playing() {
+		return game.getStatus().equals(Status.GAME_IN_PROGRESS) || game.isOver();
+	}
+
+	// Returns the text cut to fit the width, with an ellipsis if it is cut
+	private static String fit(String text, FontMetrics fm, int width) {
+		if (fm.stringWidth(text) <= width)
+			return text;
+		int end = text.length();
+		while (end > 0 && fm.stringWidth(text.substring(0, end)) + fm.stringWidth("...") > width)
+			end--;
+		return text.substring(0, end) + "...";
+	}
+
+	// Draws the text centered in the rectangle
+	private static void drawCentered(Graphics2D g, String text, Rectangle r) {
+		FontMetrics fm = g.getFontMetrics();
+		g.drawString(text, r.x + (r.width - fm.stringWidth(text)) / 2,
+				r.y + (r.height - fm.getHeight()) / 2 + fm.getAscent());
+	}
+
+	// Updates the areas that show what changed.  A null event updates them
+	// all, when the board is built.
+	private class Observer implements GameListener {
+		@Override
+		public void gameChanged(GameEvent e) {
+			if (e == null || e.changedAny(Change.DICE, Change.HOLDS, Change.ROLLS, Change.PLAYING, Change.STATUS))
+				diceArea.update();
+			if (e == null || e.changedAny(Change.TURN, Change.PLAYERS, Change.STATUS))
+				cardArea.showPlayer(playing() ? game.getCurrentPlayer() : null);
+			if (e == null || e.changedAny(Change.DICE, Change.ROLLS, Change.SCORE, Change.PLAYING,
+					Change.STATUS, Change.PLAYERS, Change.TURN))
+				cardArea.update();
+			if (e == null || e.changedAny(Change.SCORE, Change.TURN, Change.PLAYERS, Change.STATUS))
+				playersArea.update();
+		}
+	}
+
+	// An Area is one part of the board.  It keeps a copy of what it shows,
+	// marks the regions whose copy changes, and paints from the copy.
+	private abstract class Area extends JComponent {
+		private final Rectangle dirty = new Rectangle();
+		private boolean marked;			// Whether any region is marked
+
+		// Constructs an Area that passes its mouse events on
+		Area() {
+			setOpaque(true);
+			MouseAdapter mouse = new MouseAdapter() {
+				@Override
+				public void mouseClicked(MouseEvent e) {
+					clicked(e.getX(), e.getY());
+				}
+
+				@Override
+				public void mouseMoved(MouseEvent e) {
+					moved(e.getX(), e.getY());
+				}
+
+				@Override
+				public void mouseExited(MouseEvent e) {
+					moved(-1, -1);
+				}
+			};
+			addMouseListener(mouse);
+			addMouseMotionListener(mouse);
+		}
+
+		// Brings the copy up to date with the model, marking what changed
+		abstract void update();
+
+		// Lays out the regions of the area at a new size
+		abstract void layoutArea(int w, int h);
+
+		// Paints the part of the area within the clip
+		abstract void paintArea(Graphics2D g, Rectangle clip);
+
+		// Handles a click at the point
+		void clicked(int x, int y) { }
+
+		// Handles the mouse moving to the point, or out of the area (-1, -1)
+		void moved(int x, int y) { }
+
+		// Marks a region to repaint at the next frame
+		void mark(Rectangle r) {
+			if (r.isEmpty())
+				return;
+			if (marked) {
+				dirty.add(r);
+			} else {
+				dirty.setBounds(r);
+				marked = true;
+			}
+			schedule();
+		}
+
+		// Marks the whole area to repaint at the next frame
+		void markAll() {
+			mark(new Rectangle(0, 0, getWidth(), getHeight()));
+		}
+
+		// Repaints the marked region
+		void flush() {
+			if (marked) {
+				marked = false;
+				repaint(dirty);
+			}
+		}
+
+		@Override
+		public void setBounds(int x, int y, int w, int h) {
+			boolean resized = w != getWidth() || h != getHeight();
+			super.setBounds(x, y, w, h);
+			if (resized)
+				layoutArea(w, h);
+		}
+
+		@Override
+		protected void paintComponent(Graphics g) {
+			long start = Metrics.start();
+			Graphics2D g2 = (Graphics2D) g.create();
+			try {
+				g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+				g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+				Rectangle clip = g2.getClipBounds();
+				paintArea(g2, (clip != null) ? clip : new Rectangle(0, 0, getWidth(), getHeight()));
+			} finally {
+				g2.dispose();
+			}
+			paintTime.recordSince(start);
+		}
+	}
+
+	// The DiceArea shows the five dice, the count of rolls, and the Roll
+	// button.  The held dice have a red border, and the dice are faded
+	// before the first roll of a turn.
+	private class DiceArea extends Area {
+		private final int[] roll = new int[numDice];	// The faces on display
+		private int held;								// The held dice, as a bit mask
+		private int rolls;								// The rolls taken this turn
+		private boolean canRoll;						// Whether the Roll button is on
+		private boolean canHold;						// Whether the dice can be held
+		private final Rectangle[] dieRects = new Rectangle[numDice];
+		private final Rectangle counter = new Rectangle();
+		private final Rectangle button = new Rectangle();
+		private Font font;
+		private int spriteSize;							// The size of the dice images
+		private BufferedImage[] sprites;				// By face - 1, then held
+		private BufferedImage felt;						// The background, at this size
+
+		DiceArea() {
+			for (int i = 0; i < numDice; i++)
+				dieRects[i] = new Rectangle();
+		}
+
+		@Override
+		void update() {
+			int[] r = dice.getRoll();
+			int h = 0;
+			for (int i = 0; i < numDice; i++) {
+				if (dice.isHeld(i))
+					h |= 1 << i;
+			}
+			int n = dice.getNumRolls();
+			boolean turn = humanTurn();
+			boolean faded = (n == 0) != (rolls == 0);
+			for (int i = 0; i < numDice; i++) {
+				if (r[i] != roll[i] || ((h ^ held) >>> i & 1) != 0 || faded) {
+					roll[i] = r[i];
+					mark(dieRects[i]);
+				}
+			}
+			held = h;
+			if (n != rolls || turn != canRoll) {
+				mark(counter);
+				mark(button);
+			}
+			rolls = n;
+			canRoll = turn;
+			canHold = turn && n > 0 && n < maxRolls;
+		}
+
+		@Override
+		void layoutArea(int w, int h) {
+			int pad = Math.max(4, h / 10);
+			int buttonWidth = Math.max(64, w / 5);
+			int avail = Math.max(0, w - buttonWidth - 3 * pad);
+			int size = Math.max(8, Math.min(avail * 100 / (numDice * 100 + (numDice - 1) * 15), h - 2 * pad));
+			int gap = size * 15 / 100;
+			int x = pad + (avail - numDice * size - (numDice - 1) * gap) / 2;
+			for (int i = 0; i < numDice; i++)
+				dieRects[i].setBounds(x + i * (size + gap), (h - size) / 2, size, size);
+			int lineHeight = Math.max(18, Math.min(36, (h - 2 * pad) / 2));
+			counter.setBounds(w - pad - buttonWidth, h / 2 - lineHeight - 2, buttonWidth, lineHeight);
+			button.setBounds(w - pad - buttonWidth, h / 2 + 2, buttonWidth, lineHeight);
+			font = new Font("SansSerif", Font.BOLD, Math.max(9, Math.min(lineHeight * 11 / 20, buttonWidth / 7)));
+			if (size != spriteSize) {
+				spriteSize = size;
+				sprites = new BufferedImage[2 * 6];
+			}
+			felt = null;
+		}
+
+		@Override
+		void paintArea(Graphics2D g, Rectangle clip) {
+			g.drawImage(felt(), clip.x, clip.y, clip.x + clip.width, clip.y + clip.height,
+					clip.x, clip.y, clip.x + clip.width, clip.y + clip.height, null);
+			Composite normal = g.getComposite();
+			if (rolls == 0)
+				g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.4f));
+			for (int i = 0; i < numDice; i++) {
+				Rectangle r = dieRects[i];
+				if (roll[i] >= 1 && r.intersects(clip))
+					g.drawImage(sprite(roll[i], (held >>> i & 1) != 0), r.x, r.y, null);
+			}
+			g.setComposite(normal);
+			g.setFont(font);
+			if (counter.intersects(clip)) {
+				g.setColor(Color.WHITE);
+				drawCentered(g, (rolls == 0) ? "Ready" : "Roll " + rolls + " of " + maxRolls, counter);
+			}
+			if (button.intersects(clip)) {
+				boolean on = canRoll && rolls < maxRolls;
+				g.setPaint(on ? new GradientPaint(0, button.y, new Color(255, 230, 140), 0, button.y + button.height, GOLD)
+						: new GradientPaint(0, button.y, Color.LIGHT_GRAY, 0, button.y + button.height, Color.GRAY));
+				int arc = button.height / 2;
+				g.fillRoundRect(button.x, button.y, button.width - 1, button.height - 1, arc, arc);
+				g.setColor(on ? Color.DARK_GRAY : new Color(100, 100, 100));
+				g.setStroke(new BasicStroke(1.5f));
+				g.drawRoundRect(button.x, button.y, button.width - 1, button.height - 1, arc, arc);
+				drawCentered(g, "Roll Dice", button);
+			}
+		}
+
+		// Returns the background, drawing it the first time it is shown at
+		// this size
+		private BufferedImage felt() {
+			if (felt == null) {
+				int w = Math.max(1, getWidth());
+				int h = Math.max(1, getHeight());
+				GraphicsConfiguration gc = getGraphicsConfiguration();
+				felt = (gc != null) ? gc.createCompatibleImage(w, h)
+						: new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+				Graphics2D g = felt.createGraphics();
+				g.setPaint(new GradientPaint(0, 0, FELT, 0, h, FELT_DARK));
+				g.fillRect(0, 0, w, h);
+				g.dispose();
+			}
+			return felt;
+		}
+
+		// Returns the image of a face, drawing it the first time it is shown
+		// at this size
+		private BufferedImage sprite(int face, boolean isHeld) {
+			int i = face - 1 + (isHeld ? 6 : 0);
+			if (sprites[i] == null)
+				sprites[i] = drawDie(getGraphicsConfiguration(), spriteSize, face, isHeld);
+			return sprites[i];
+		}
+
+		@Override
+		void clicked(int x, int y) {
+			if (button.contains(x, y)) {
+				if (!humanTurn())
+					return;
+				try {
+					dice.roll();
+				} catch (Exception ex) {
+					JOptionPane.showMessageDialog(null, "You have already rolled three times!\nPlease score your hand.");
+				}
+				return;
+			}
+			for (int i = 0; i < numDice; i++) {
+				if (canHold && dieRects[i].contains(x, y))
+					dice.toggleDie(i);
+			}
+		}
+	}
+
+	// The pips of each face, as cells of a 3 by 3 grid numbered by row
+	private static final int[][] pips = {
+		{ 4 }, { 0, 8 }, { 0, 4, 8 }, { 0, 2, 6, 8 }, { 0, 2, 4, 6, 8 }, { 0, 2, 3, 5, 6, 8 }
+	};
+
+	// Draws a die into a new image of the given size, compatible with the
+	// screen if the configuration is known
+	private static BufferedImage drawDie(GraphicsConfiguration gc, int size, int face, boolean held) {
+		BufferedImage image = (gc != null) ? gc.createCompatibleImage(size, size, Transparency.TRANSLUCENT)
+				: new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = image.createGraphics();
+		try {
+			g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+			int shadow = Math.max(1, size / 24);
+			int body = size - shadow - 1;
+			int arc = size / 4;
+			g.setColor(new Color(0, 0, 0, 70));
+			g.fillRoundRect(shadow, shadow, body, body, arc, arc);
+			g.setPaint(new GradientPaint(0, 0, Color.WHITE, body, body, new Color(215, 212, 200)));
+			g.fillRoundRect(0, 0, body, body, arc, arc);
+			float border = held ? Math.max(2f, size / 14f) : Math.max(1f, size / 40f);
+			g.setStroke(new BasicStroke(border));
+			g.setColor(held ? Color.RED : Color.GRAY);
+			int inset = (int) Math.ceil(border / 2);
+			g.drawRoundRect(inset, inset, body - 2 * inset, body - 2 * inset, arc, arc);
+			float r = body / 11f;
+			for (int cell : pips[face - 1]) {
+				float cx = body * (cell % 3 + 1) / 4f;
+				float cy = body * (cell / 3 + 1) / 4f;
+				g.setPaint(new GradientPaint(cx - r, cy - r, new Color(70, 70, 70), cx + r, cy + r, Color.BLACK));
+				g.fill(new Ellipse2D.Float(cx - r, cy - r, 2 * r, 2 * r));
+			}
+		} finally {
+			g.dispose();
+		}
+		return image;
+	}
+
+	// The CardArea shows a Player's score card: the score of each hand
+	// taken, and the score of the roll in each open hand when it is the
+	// Player's turn, with the bonuses and totals.  A human player clicks an
+	// open hand to score it.
+	private class CardArea extends Area {
+		// The cells after the hands: the derived fields, in the order
+		// they are laid out
+		private static final int upperBonus = 13;
+		private static final int upperTotal = 14;
+		private static final int yahtzeeBonus = 15;
+		private static final int lowerTotal = 16;
+		private static final int total = 17;
+		private static final int numCells = 18;
+
+		// What a cell shows
+		private static final int EMPTY = 0;			// Nothing
+		private static final int TAKEN = 1;			// A score taken
+		private static final int POSSIBLE = 2;		// The score of the roll in an open hand
+		private static final int DERIVED = 3;		// A bonus or total, if it is not 0
+
+		private final String[] labels = new String[numCells];
+		private final Rectangle[] cells = new Rectangle[numCells];
+		private final Rectangle title = new Rectangle();
+		private final int[] kinds = new int[numCells];
+		private final int[] values = new int[numCells];
+		private final int[] possible = new int[hands.length];
+		private Player player;				// The Player whose card is shown, if any
+		private String name = "";			// The title on display
+		private boolean canScore;			// Whether the hands can be clicked
+		private int hover = -1;				// The hand under the mouse, if it can be scored
+		private Font font;
+		private Font bold;
+
+		CardArea() {
+			for (int i = 0; i < numCells; i++)
+				cells[i] = new Rectangle();
+			for (Hands h : hands)
+				labels[h.ordinal()] = h.toString();
+			labels[upperBonus] = "Upper bonus";
+			labels[upperTotal] = "Upper Total";
+			labels[yahtzeeBonus] = "Yahtzee bonus";
+			labels[lowerTotal] = "Lower Total";
+			labels[total] = "TOTAL SCORE";
+		}
+
+		// Shows the passed Player's score card, or none if it is null
+		void showPlayer(Player p) {
+			player = p;
+		}
+
+		@Override
+		void update() {
+			String text = (player != null) ? player.getName() + "'s scorecard" : "";
+			if (!text.equals(name)) {
+				name = text;
+				mark(title);
+			}
+			if (player == null) {
+				for (int i = 0; i < numCells; i++)
+					set(i, EMPTY, 0);
+				canScore = false;
+				return;
+			}
+
+			// Score the roll in every open hand in one pass, if it is this
+			// Player's turn and the dice have been rolled
+			ScoreCard sc = player.getScoreCard();
+			boolean rolled = dice.getNumRolls() > 0 && game.getCurrentPlayer() == player;
+			if (rolled)
+				ScoreValidator.getInstance().scoreAll(dice.getRoll(), sc, possible);
+			else
+				Arrays.fill(possible, 0);
+			for (Hands h : hands) {
+				Score s = sc.getScore(h);
+				if (s.getScoreTaken())
+					set(h.ordinal(), TAKEN, s.getScore());
+				else if (possible[h.ordinal()] > 0)
+					set(h.ordinal(), POSSIBLE, possible[h.ordinal()]);
+				else
+					set(h.ordinal(), EMPTY, 0);
+			}
+			int up = sc.getUpperBonus();
+			int yb = sc.getYahtzeeBonus();
+			int ut = sc.getUpperTotal() + up;
+			int lt = sc.getLowerTotal() + yb;
+			set(upperBonus, DERIVED, up);
+			set(yahtzeeBonus, DERIVED, yb);
+			set(upperTotal, DERIVED, ut);
+			set(lowerTotal, DERIVED, lt);
+			set(total, DERIVED, ut + lt);
+			canScore = rolled && humanTurn();
+			if (!canScore)
+				setHover(-1);
+		}
+
+		// Shows what a cell shows, marking it if that changed
+		private void set(int cell, int kind, int value) {
+			if (kinds[cell] != kind || values[cell] != value) {
+				kinds[cell] = kind;
+				values[cell] = value;
+				mark(cells[cell]);
+			}
+		}
+
+		// Highlights the hand under the mouse, marking the cells that change
+		private void setHover(int cell) {
+			if (cell != hover) {
+				if (hover >= 0)
+					mark(cells[hover]);
+				if (cell >= 0)
+					mark(cells[cell]);
+				hover = cell;
+			}
+		}
+
+		// The upper hands and their bonus and total are in the left
+		// column, the lower hands and theirs in the right column, and the
+		// total across the bottom, under the title
+		@Override
+		void layoutArea(int w, int h) {
+			int rows = 11;
+			int rowHeight = Math.max(1, h / rows);
+			int half = w / 2;
+			title.setBounds(0, 0, w, rowHeight);
+			for (int i = 0; i < 6; i++)
+				cells[i].setBounds(0, (i + 1) * rowHeight, half, rowHeight);
+			cells[upperBonus].setBounds(0, 7 * rowHeight, half, rowHeight);
+			cells[upperTotal].setBounds(0, 8 * rowHeight, half, rowHeight);
+			for (int i = 6; i < hands.length; i++)
+				cells[i].setBounds(half, (i - 5) * rowHeight, w - half, rowHeight);
+			cells[yahtzeeBonus].setBounds(half, 8 * rowHeight, w - half, rowHeight);
+			cells[lowerTotal].setBounds(half, 9 * rowHeight, w - half, rowHeight);
+			cells[total].setBounds(0, 10 * rowHeight, w, h - 10 * rowHeight);
+			int size = Math.max(9, Math.min(20, rowHeight * 3 / 5));
+			font = new Font("SansSerif", Font.PLAIN, size);
+			bold = font.deriveFont(Font.BOLD);
+		}
+
+		@Override
+		void paintArea(Graphics2D g, Rectangle clip) {
+			g.setColor(PAPER);
+			g.fill(clip);
+			if (title.intersects(clip)) {
+				g.setPaint(new GradientPaint(0, title.y, HEADER, 0, title.y + title.height, HEADER_DARK));
+				g.fill(title);
+				g.setColor(Color.WHITE);
+				g.setFont(bold);
+				drawCentered(g, name, title);
+			}
+			g.setStroke(new BasicStroke(1f));
+			for (int i = 0; i < numCells; i++) {
+				if (cells[i].intersects(clip))
+					paintCell(g, i);
+			}
+
+			// The line between the columns
+			int half = getWidth() / 2;
+			g.setColor(RULE);
+			g.drawLine(half, title.height, half, cells[total].y);
+		}
+
+		// Paints a cell: its label on the left and its score on the right
+		private void paintCell(Graphics2D g, int cell) {
+			Rectangle r = cells[cell];
+			int kind = kinds[cell];
+			if (cell == hover) {
+				g.setColor(Color.YELLOW);
+				g.fill(r);
+			} else if (kind == POSSIBLE) {
+				g.setColor(POSSIBLE_FILL);
+				g.fill(r);
+			}
+			g.setColor(RULE);
+			g.drawLine(r.x, r.y + r.height - 1, r.x + r.width, r.y + r.height - 1);
+			if (cell == total) {
+				g.setColor(Color.DARK_GRAY);
+				g.setStroke(new BasicStroke(2f));
+				g.drawLine(r.x, r.y + 1, r.x + r.width, r.y + 1);
+				g.setStroke(new BasicStroke(1f));
+			}
+			g.setFont((cell >= hands.length) ? bold : font);
+			FontMetrics fm = g.getFontMetrics();
+			int pad = 6;
+			int y = r.y + (r.height - fm.getHeight()) / 2 + fm.getAscent();
+			String value = (kind == TAKEN || kind == POSSIBLE || (kind == DERIVED && values[cell] > 0))
+					? Integer.toString(values[cell]) : "";
+			int valueWidth = fm.stringWidth(value);
+			g.setColor(kind == POSSIBLE ? Color.DARK_GRAY : Color.BLACK);
+			g.drawString(fit(labels[cell], fm, r.width - valueWidth - 3 * pad), r.x + pad, y);
+			g.setColor(kind == POSSIBLE ? new Color(90, 90, 90) : Color.BLACK);
+			g.drawString(value, r.x + r.width - pad - valueWidth, y);
+		}
+
+		// Returns the open hand at the point, if the Player can score it,
+		// or -1
+		private int handAt(int x, int y) {
+			if (!canScore)
+				return -1;
+			for (int i = 0; i < hands.length; i++) {
+				if (kinds[i] != TAKEN && cells[i].contains(x, y))
+					return i;
+			}
+			return -1;
+		}
+
+		@Override
+		void moved(int x, int y) {
+			setHover(handAt(x, y));
+		}
+
+		@Override
+		void clicked(int x, int y) {
+			int cell = handAt(x, y);
+			if (cell >= 0 && player != null)
+				YahtzeeGUI.takeScore(game, dice, player, hands[cell]);
+		}
+	}
+
+	// The PlayersArea lists each Player's name, strategy, score in the
+	// current game, and score over the session, in the order they sat
+	// down.  The Player who is up is highlighted, in pink when the game is
+	// over, and the Players leading the game have a gold star.  When there
+	// are too many to list in one column, they are listed in up to three.
+	// Clicking a Player shows their score card.
+	private class PlayersArea extends Area {
+		private static final int maxColumns = 3;
+		private static final int minRowHeight = 14;
+		private static final int maxRowHeight = 26;
+
+		private final List<Row> rows = new ArrayList<Row>();
+		private final Map<Player, Row> byPlayer = new IdentityHashMap<Player, Row>();
+		private int rowHeight;
+		private int columns;
+		private int perColumn;			// The rows in each column
+		private Font font;
+		private Font bold;
+		private Shape star;				// A star the size of a row, at the origin
+
+		@Override
+		void update() {
+			List<Player> players = game.getPlayers();
+
+			// Seat any new Players after the others, and drop any who left
+			boolean reseat = players.size() != rows.size();
+			for (Player p : players) {
+				if (!byPlayer.containsKey(p))
+					reseat = true;
+			}
+			if (reseat) {
+				Map<Player, Row> seated = new IdentityHashMap<Player, Row>();
+				for (Player p : players)
+					seated.put(p, byPlayer.containsKey(p) ? byPlayer.get(p) : new Row(p));
+				List<Row> kept = new ArrayList<Row>();
+				for (Row r : rows) {
+					if (seated.containsKey(r.player))
+						kept.add(r);
+				}
+				for (Player p : players) {
+					if (!byPlayer.containsKey(p))
+						kept.add(seated.get(p));
+				}
+				rows.clear();
+				rows.addAll(kept);
+				byPlayer.clear();
+				byPlayer.putAll(seated);
+				layoutArea(getWidth(), getHeight());
+				markAll();
+			}
+
+			// Refresh each row, marking those that changed
+			boolean playing = playing();
+			int highlight = !playing ? Row.NONE : game.isOver() ? Row.WINNER : Row.UP;
+			int lead = 1;
+			if (playing) {
+				for (Player p : players)
+					lead = Math.max(lead, p.getScoreCard().getTotal());
+			}
+			Player current = players.isEmpty() ? null : players.get(0);
+			for (int i = 0; i < rows.size(); i++) {
+				Row r = rows.get(i);
+				int score = r.player.getScoreCard().getTotal();
+				if (r.set(score, r.player.getScore(), (r.player == current) ? highlight : Row.NONE,
+						playing && score == lead))
+					mark(rowRect(i));
+			}
+		}
+
+		// Returns the region of a row
+		private Rectangle rowRect(int i) {
+			if (perColumn == 0 || i >= columns * perColumn)
+				return new Rectangle();
+			int width = getWidth() / columns;
+			return new Rectangle((i / perColumn) * width, (i % perColumn + 1) * rowHeight, width, rowHeight);
+		}
+
+		@Override
+		void layoutArea(int w, int h) {
+			int n = Math.max(1, rows.size());
+			int fit = Math.max(1, h / minRowHeight - 1);
+			columns = Math.min(maxColumns, (n + fit - 1) / fit);
+			perColumn = Math.min(fit, (n + columns - 1) / columns);
+			rowHeight = Math.max(minRowHeight, Math.min(maxRowHeight, h / (perColumn + 1)));
+			int size = Math.max(9, rowHeight * 3 / 5);
+			font = new Font("SansSerif", Font.PLAIN, size);
+			bold = font.deriveFont(Font.BOLD);
+			star = star(rowHeight * 0.35);
+		}
+
+		@Override
+		void paintArea(Graphics2D g, Rectangle clip) {
+			g.setColor(PAPER);
+			g.fill(clip);
+			int width = getWidth() / columns;
+			for (int c = 0; c < columns; c++) {
+				Rectangle header = new Rectangle(c * width, 0, width, rowHeight);
+				if (header.intersects(clip)) {
+					g.setPaint(new GradientPaint(0, 0, HEADER, 0, rowHeight, HEADER_DARK));
+					g.fill(header);
+					g.setColor(Color.WHITE);
+					g.setFont(bold);
+					paintColumns(g, header, "Player", "Type", "Game", "Total");
+				}
+			}
+			int shown = Math.min(rows.size(), columns * perColumn);
+			for (int i = 0; i < shown; i++) {
+				Rectangle r = rowRect(i);
+				if (r.intersects(clip))
+					paintRow(g, r, rows.get(i), (i == shown - 1) ? rows.size() - shown : 0);
+			}
+		}
+
+		// Paints a row, or how many more Players there are if some do not fit
+		private void paintRow(Graphics2D g, Rectangle r, Row row, int more) {
+			if (more > 0) {
+				g.setColor(Color.DARK_GRAY);
+				g.setFont(font);
+				drawCentered(g, "and " + (more + 1) + " more", r);
+				return;
+			}
+			if (row.highlight != Row.NONE) {
+				Color c = (row.highlight == Row.WINNER) ? Color.PINK : Color.YELLOW;
+				g.setPaint(new GradientPaint(0, r.y, c.brighter(), 0, r.y + r.height, c));
+				g.fill(r);
+			}
+			g.setColor(RULE);
+			g.drawLine(r.x, r.y + r.height - 1, r.x + r.width, r.y + r.height - 1);
+			if (row.leader) {
+				AffineTransform at = g.getTransform();
+				g.translate(r.x + rowHeight / 2.0, r.y + rowHeight / 2.0);
+				g.setColor(GOLD);
+				g.fill(star);
+				g.setColor(new Color(150, 110, 0));
+				g.draw(star);
+				g.setTransform(at);
+			}
+			g.setColor(Color.BLACK);
+			g.setFont((row.highlight != Row.NONE) ? bold : font);
+			paintColumns(g, r, row.name, row.type, Integer.toString(row.score), Integer.toString(row.cumScore));
+		}
+
+		// Paints the columns of a row: the name after room for the star,
+		// the type, and the two scores right aligned.  The type is left out
+		// if the row is narrow.
+		private void paintColumns(Graphics2D g, Rectangle r, String name, String type, String score, String cum) {
+			FontMetrics fm = g.getFontMetrics();
+			int y = r.y + (r.height - fm.getHeight()) / 2 + fm.getAscent();
+			int scoreWidth = Math.max(fm.stringWidth("Total") + 4, r.width / 6);
+			int nameX = r.x + rowHeight;
+			int scoresX = r.x + r.width - 2 * scoreWidth - 4;
+			boolean narrow = r.width < 220;
+			int typeX = narrow ? scoresX : nameX + (scoresX - nameX) / 2;
+			g.drawString(fit(name, fm, typeX - nameX - 4), nameX, y);
+			if (!narrow)
+				g.drawString(fit(type, fm, scoresX - typeX - 4), typeX, y);
+			g.drawString(score, scoresX + scoreWidth - fm.stringWidth(score), y);
+			g.drawString(cum, scoresX + 2 * scoreWidth - fm.stringWidth(cum), y);
+		}
+
+		@Override
+		void clicked(int x, int y) {
+			if (game.getStatus().equals(Status.UNINITIALIZED))
+				return;
+			for (int i = 0; i < rows.size(); i++) {
+				if (rowRect(i).contains(x, y)) {
+					cardArea.showPlayer(rows.get(i).player);
+					cardArea.update();
+				}
+			}
+		}
+	}
+
+	// Returns a five pointed star of the given outer radius, centered on
+	// the origin
+	private static Shape star(double radius) {
+		Path2D.Double path = new Path2D.Double();
+		for (int i = 0; i < 10; i++) {
+			double r = (i % 2 == 0) ? radius : radius * 0.45;
+			double angle = Math.PI * i / 5 - Math.PI / 2;
+			if (i == 0)
+				path.moveTo(r * Math.cos(angle), r * Math.sin(angle));
+			else
+				path.lineTo(r * Math.cos(angle), r * Math.sin(angle));
+		}
+		path.closePath();
+		return path;
+	}
+
+	// A Row is what the PlayersArea shows of a Player
+	private static class Row {
+		// How a row is highlighted
+		static final int NONE = 0;
+		static final int UP = 1;			// The Player is up
+		static final int WINNER = 2;		// The Player won the game
+
+		final Player player;
+		final String name;
+		final String type;
+		int score = -1;
+		int cumScore = -1;
+		int highlight;
+		boolean leader;
+
+		Row(Player player) {
+			this.player = player;
+			this.name = player.getName();
+			this.type = player.getStrategyName();
+		}
+
+		// Sets what the row shows, and returns whether that changed
+		boolean set(int score, int cumScore, int highlight, boolean leader) {
+			if (score == this.score && cumScore == this.cumScore && highlight == this.highlight
+					&& leader == this.leader)
+				return false;
+			this.score = score;
+			this.cumScore = cumScore;
+			this.highlight = highlight;
+			this.leader = leader;
+			return true;
+		}
+	}
+}
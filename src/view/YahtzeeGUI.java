@@ -11,40 +11,68 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Observable;
-import java.util.Observer;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeoutException;
 
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JSlider;
+import javax.swing.SwingUtilities;
 import javax.swing.border.Border;
 import javax.swing.border.MatteBorder;
+import javax.swing.border.TitledBorder;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 
 import model.Dice;
 import model.DiceStatus;
+import model.ExpectedValueTable;
 import model.FourAndUpStrategy;
 import model.Game;
+import model.GameEvent;
+import model.GameEvent.Change;
+import model.GameListener;
 import model.Hands;
 import model.HumanStrategy;
+import model.LatencyHistogram;
+import model.Metrics;
+import model.MonteCarloStrategy;
 import model.OfAKinderStrategy;
+import model.OptimalStrategy;
 import model.Player;
 import model.RandomStrategy;
 import model.Score;
 import model.ScoreCard;
 import model.ScoreValidator;
+import model.SessionRegistry;
+import model.SessionSnapshot;
 import model.Status;
 import model.Strategy;
+import model.TurnEvaluator;
+import model.TurnHint;
 import model.UpperSectionerStrategy;
 
 /**
@@ -53,6 +81,36 @@ import model.UpperSectionerStrategy;
  * @version 2.0.1 1/31/2012
  */
 public class YahtzeeGUI {
+	// Runs the listeners that update the components on the event dispatch
+	// thread, since the computer Strategies change the model on their own
+	// threads
+	private static final Executor edt = new Executor() {
+		@Override
+		public void execute(Runnable r) {
+			SwingUtilities.invokeLater(r);
+		}
+	};
+	
+	// The system property naming the file the game is saved to, so that the
+	// players and their scores are kept from one run of the program to the next
+	private static final String SNAPSHOT_PROPERTY = "yahtzee.snapshot";
+	
+	// The system property that turns on the expected value hints when the
+	// program starts; they can be turned on and off with the Hints box
+	private static final String HINTS_PROPERTY = "yahtzee.hints";
+	
+	// The system property that opens the painted board when the program
+	// starts; it can be opened and closed with the Board box
+	private static final String BOARD_PROPERTY = "yahtzee.board";
+	
+	// The color of the best hand to score, when hints are on
+	private static final Color HINT_COLOR = new Color(200, 240, 200);
+	
+	// The time the players panel takes to refresh, and a hint takes to
+	// work out (see Metrics)
+	private static final LatencyHistogram refreshTime = Metrics.histogram("gui.refreshPlayers");
+	private static final LatencyHistogram hintTime = Metrics.histogram("gui.hint");
+	
 	private JFrame frame;					// The main frame for the GUI
 	private Game game;						// The Game that will be played
 	private Dice dice;						// The Dice that will be rolled
@@ -60,15 +118,78 @@ public class YahtzeeGUI {
 	private PlayersPanel playersPanel;		// The display panel for the players
 	private ControlPanel controlPanel;		// The display panel for the controls
 	private PlayerScoreCardPanel scp;		// The display panel for the score cards
+	private HintWorker hints;				// Works out the hints for human players
+	private JFrame boardFrame;				// The window of the painted board, if open
+	private Path snapshotFile;				// The file the game is saved to, if any
 		
 	/**
-	 * Construct a new Yahtzee GUI window
+	 * Construct a new Yahtzee GUI window.  If the system property
+	 * <code>yahtzee.snapshot</code> names a file, the game saved there is
+	 * restored, and the game is saved there whenever it starts, ends, or is
+	 * reset, and when the program exits.  If the system property
+	 * <code>yahtzee.hints</code> is true, the hints are on from the start, and
+	 * if <code>yahtzee.board</code> is true, the painted board (see
+	 * BoardView) is opened beside the window.
 	 */
 	public YahtzeeGUI() {
 		game = Game.getInstance();
 		dice = Dice.getInstance();
+		String file = System.getProperty(SNAPSHOT_PROPERTY);
+		if (file != null)
+			snapshotFile = Paths.get(file);
 		setupComponents();
+		restoreSnapshot();
 		frame.setVisible(true);
+		if (Boolean.getBoolean(BOARD_PROPERTY))
+			showBoard(true);
+	}
+	
+	// Opens the painted board in a window of its own, beside the main
+	// window, or closes it.  The board stops listening to the game when
+	// its window is closed, either way.
+	private void showBoard(boolean flag) {
+		if (flag && boardFrame == null) {
+			final BoardView board = new BoardView(game, dice, edt);
+			boardFrame = new JFrame("Yahtzee board");
+			boardFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+			boardFrame.addWindowListener(new WindowAdapter() {
+				@Override
+				public void windowClosed(WindowEvent e) {
+					board.dispose();
+					boardFrame = null;
+					controlPanel.showBoard.setSelected(false);
+				}
+			});
+			boardFrame.add(board);
+			boardFrame.pack();
+			boardFrame.setLocation(frame.getX() + frame.getWidth(), frame.getY());
+			boardFrame.setVisible(true);
+		} else if (!flag && boardFrame != null) {
+			boardFrame.dispose();
+		}
+	}
+	
+	// Restores the game saved to the snapshot file, if there is one, and
+	// resumes it if it was in progress
+	private void restoreSnapshot() {
+		if (snapshotFile == null || !Files.exists(snapshotFile))
+			return;
+		try {
+			SessionSnapshot.read(snapshotFile).restore(SessionRegistry.getInstance().getDefaultSession());
+			if (game.getStatus().equals(Status.GAME_IN_PROGRESS))
+				game.nextTurn();
+		} catch (IOException ex) {
+			JOptionPane.showMessageDialog(null, "The saved game could not be restored.\n" + ex.getMessage());
+		}
+	}
+	
+	// Saves the game to the snapshot file, if there is one.  The game is
+	// copied here, and written to the file in the background.
+	private Future<Path> saveSnapshot() {
+		if (snapshotFile == null)
+			return null;
+		return SessionSnapshot.capture(SessionRegistry.getInstance().getDefaultSession())
+				.writeInBackground(snapshotFile);
 	}
 	
 	// Set up the components for the GUI
@@ -94,6 +215,9 @@ public class YahtzeeGUI {
 		JPanel left = new JPanel();
 		left.setLayout(new BorderLayout());
 		
+		// The hints, which are shown in the dice and score card panels
+		hints = new HintWorker(Boolean.getBoolean(HINTS_PROPERTY));
+		
 		// The dice panel
 		dicePanel = new DicePanel();
 			
@@ -135,6 +259,7 @@ public class YahtzeeGUI {
 		private ImageIcon[] diceImages;		// The images for use in the buttons
 		private JButton rollButton;			// The button to roll the dice
 		private JLabel rollCounter;			// The label for the rolls count
+		private JLabel hintLabel;			// The label for the best choice, when hints are on
 		private JPanel count;				// The panel for the rolls count
 		
 		/**
@@ -177,6 +302,8 @@ public class YahtzeeGUI {
 			rollCounter = new JLabel(" ");
 			rollCounter.setFont(new Font("Sans Serif", Font.BOLD, 22));
 			rollCounter.setForeground(Color.GRAY);
+			hintLabel = new JLabel(" ");
+			hintLabel.setForeground(Color.DARK_GRAY);
 			this.add(count);
 			
 			// Set up the roll button
@@ -184,16 +311,14 @@ public class YahtzeeGUI {
 			rollButton.addActionListener(rollListener);
 			
 			// Set up the observer object for the Dice object
-			// This observer will update the UI whenever the
-			// Dice object notifies it of a change
-			Observer diceObserver = new DiceObserver();
-			dice.addObserver(diceObserver);
+			// This observer will update the UI, on the event dispatch
+			// thread, whenever the Dice object notifies it of a change
+			dice.addListener(new DiceObserver(), edt);
 			
 			// Set up the observer object for the Game object
-			// This observer will update the UI whenever the
-			// Game object notifies it of a change
-			Observer gameObserver = new GameObserver();
-			game.addObserver(gameObserver);
+			// This observer will update the UI, on the event dispatch
+			// thread, whenever the Game object notifies it of a change
+			game.addListener(new GameObserver(), edt);
 			
 			// Disable the panel; it will be enabled when it detects
 			// the game is ready for it.
@@ -210,9 +335,39 @@ public class YahtzeeGUI {
 			rollButton.setEnabled(flag);
 			enableDice(false);
 			count.add(rollCounter, BorderLayout.NORTH);
+			count.add(hintLabel, BorderLayout.CENTER);
 			count.add(rollButton, BorderLayout.SOUTH);
 		}
 		
+		/**
+		 * Shows the best choice of a hint: the dice to hold, or the hand to
+		 * score, with its expected value and, if other dice are held, the
+		 * expected value of holding those
+		 * @param hint the hint, or null to show none
+		 */
+		public void showHint(TurnHint hint) {
+			if (hint == null) {
+				hintLabel.setText(" ");
+			} else if (hint.shouldRoll()) {
+				int[] roll = dice.getRoll();
+				int best = hint.getBestHold();
+				int held = 0;
+				StringBuilder faces = new StringBuilder();
+				for (int i = 0; i < roll.length; i++) {
+					if (dice.isHeld(i))
+						held |= 1 << i;
+					if ((best >>> i & 1) != 0)
+						faces.append(' ').append(roll[i]);
+				}
+				String text = String.format("Hold%s (%.1f)", (best == 0) ? " nothing" : faces, hint.getBestValue());
+				if (held != best)
+					text += String.format(", held %.1f", hint.getHoldValue(held));
+				hintLabel.setText(text);
+			} else {
+				hintLabel.setText(String.format("Score %s (%.1f)", hint.getBestHand(), hint.getBestValue()));
+			}
+		}
+		
 		/**
 		 * Enables the Dice buttons for holding the dice.  This should
 		 * be called when before a new turn (true) and when a player is
@@ -232,50 +387,62 @@ public class YahtzeeGUI {
 		 * are held, and updating the roll counter accordingly.
 		 */
 		public void refresh() {
+			refreshDice((1 << diceRack.length) - 1);
+			rollCounter.setText(" ");
+			if (!dice.getStatus().equals(DiceStatus.READY)) 
+				rollCounter.setText("Roll #" + dice.getNumRolls());
+		}
+		
+		// Refreshes the face and the held border of each die whose bit
+		// is set in the mask
+		private void refreshDice(int mask) {
 			int[] roll = dice.getRoll();
 			for (JButton die : diceRack) {
+				int i = Integer.parseInt(die.getName());
+				if ((mask >>> i & 1) == 0)
+					continue;
 				die.removeActionListener(toggleListener);
 				if (!game.getStrategyPlaying())
 					die.addActionListener(toggleListener);
-				die.setIcon(diceImages[roll[Integer.parseInt(die.getName())] - 1]);
+				die.setIcon(diceImages[roll[i] - 1]);
 				if (!dice.getStatus().equals(DiceStatus.OUT_OF_ROLLS)) {
-					if (dice.isHeld(Integer.parseInt(die.getName()))) 
+					if (dice.isHeld(i)) 
 						die.setBorderPainted(true);
 					else
 						die.setBorderPainted(false);
 				}
 			}
-			rollCounter.setText(" ");
-			if (!dice.getStatus().equals(DiceStatus.READY)) 
-				rollCounter.setText("Roll #" + dice.getNumRolls());
 		}
 		
 		// This observer watches the Dice object.  When the Dice notify 
-		// of a change, the observer object will call the update method.
-		private class DiceObserver implements Observer {
+		// of a change, the observer object will call the gameChanged method.
+		// When the number of rolls changes the whole panel is refreshed;
+		// otherwise only the dice that were rolled, held, or released are.
+		private class DiceObserver implements GameListener {
 			@Override
-			public void update(Observable arg0, Object arg1) {
+			public void gameChanged(GameEvent e) {
 				DiceStatus status = dice.getStatus();
-				if (status.equals(DiceStatus.ROLLING) || status.equals(DiceStatus.OUT_OF_ROLLS)) {
-					if (game.getPlayers().get(0).getScoreCard().yahtzee()) {
-						if (ScoreValidator.getInstance().scoreHand(Hands.YAHTZEE, dice.getRoll()) > 0)
-							game.getPlayers().get(0).getScoreCard().takeYahtzeeBonus();
-					}						
+				if (e.changed(Change.ROLLS)) {
+					if (status.equals(DiceStatus.READY)) 
+						enableDice(false);
+					else
+						enableDice(true);
+					refresh();
+				} else {
+					refreshDice(e.getDiceMask() | e.getHoldMask());
 				}
-				if (status.equals(DiceStatus.READY)) 
-					enableDice(false);
-				else
-					enableDice(true);
-				
-				refresh();
 			}
 		}
 		
 		// This observer watches the Game object.  When the Game notifies
-		// of a change, the observer object will call the update method.
-		private class GameObserver implements Observer {
+		// of a change to its status or to whether a strategy is playing,
+		// the observer object will call the gameChanged method.
+		private class GameObserver implements GameListener {
 			@Override
-			public void update(Observable arg0, Object arg1) {
+			public void gameChanged(GameEvent e) {
+				if (!e.changedAny(Change.STATUS, Change.PLAYING))
+					return;
+				
 				// If the game is in progress and a strategy is not playing their turn, enable
 				if (game.getStatus().equals(Status.GAME_IN_PROGRESS) && !game.getStrategyPlaying())
 					enablePanel(true);
@@ -326,11 +493,16 @@ public class YahtzeeGUI {
 	// has been recorded, or the action moves to a new player it will update the
 	// players panel. Similarly, when the DiceObserver detects that the Dice have been
 	// rolled, it will update the PlayerScoreCardPanel.
+	//
+	// Each Player keeps the same PlayerInfoPanel for as long as they are in the
+	// game; the panels are updated in place, and only re-ordered when the turn
+	// moves on.
 	@SuppressWarnings("serial")
 	private class PlayersPanel extends JPanel {
 		JPanel headerRow;				// The header row for the panel
 		JPanel mainPlayerContent;		// The area where the player's list will display
 		JButton addPlayer;				// The add player button
+		Map<Player, PlayerInfoPanel> infoPanels;	// The panel for each Player, by identity
 		
 		/**
 		 * Constructor for the PlayersPanel object
@@ -339,6 +511,7 @@ public class YahtzeeGUI {
 			headerRow = new JPanel();
 			mainPlayerContent = new JPanel();
 			addPlayer = new JButton();
+			infoPanels = new IdentityHashMap<Player, PlayerInfoPanel>();
 			setupControls();
 		}
 		
@@ -374,15 +547,15 @@ public class YahtzeeGUI {
 			
 			// Set up the GameObserver object to observe the Game.
 			// The Game object will notify this panel of changes;
-			// when it does, the update method will be called
-			GameObserver gameObserver = new GameObserver();
-			game.addObserver(gameObserver);
+			// when it does, the gameChanged method will be called
+			// on the event dispatch thread
+			game.addListener(new GameObserver(), edt);
 			
 			// Set up the DiceObserver object to observe the Dice.
 			// The Dice object will notify this panel of changes;
-			// when it does, the update method will be called
-			DiceObserver diceObserver = new DiceObserver();
-			dice.addObserver(diceObserver);
+			// when it does, the gameChanged method will be called
+			// on the event dispatch thread
+			dice.addListener(new DiceObserver(), edt);
 		}
 		
 		// Enables or disables the panel (specifically the addPlayer
@@ -393,33 +566,44 @@ public class YahtzeeGUI {
 		
 		// Refreshes the current list of players on the mainPlayersContent panel
 		private void refreshPlayers() {
+			long start = Metrics.start();
 			
 			// Get the current list of Player objects from the Game object
 			// The list of Players will be in order of turn, with the first
 			// player on the list being the current player.
 			List<Player> players = game.getPlayers();
 			
-			// Clear the panel
-			mainPlayerContent.removeAll();
-						
-			// If there are players, display them. This is a fencepost: the first
-			// player on the list is the current player, and will have a highlighted
-			// background
-			if (players.size() > 0) {
-				
-				// Fencepost: add the current player
-				PlayerInfoPanel firstPlayer = new PlayerInfoPanel(players.get(0));
-				if (game.isOver())
-					firstPlayer.setBackground(Color.PINK);
-				else
-					firstPlayer.setBackground(Color.YELLOW);
-				mainPlayerContent.add(firstPlayer);
-				
-				// Add the remaining players
-				for (int i = 1; i < players.size(); i++) 
-					mainPlayerContent.add(new PlayerInfoPanel(players.get(i)));
+			// Find each player's panel, creating panels for new players, and
+			// check whether the panels are still in turn order
+			boolean reorder = players.size() != mainPlayerContent.getComponentCount();
+			for (int i = 0; i < players.size(); i++) {
+				Player p = players.get(i);
+				PlayerInfoPanel info = infoPanels.get(p);
+				if (info == null) {
+					info = new PlayerInfoPanel(p);
+					infoPanels.put(p, info);
+				}
+				if (!reorder && mainPlayerContent.getComponent(i) != info)
+					reorder = true;
+			}
+			
+			// If the order has changed, put the panels back in turn order and
+			// drop the panels of any players who have left
+			if (reorder) {
+				mainPlayerContent.removeAll();
+				for (Player p : players)
+					mainPlayerContent.add(infoPanels.get(p));
+				if (infoPanels.size() > players.size())
+					infoPanels.values().retainAll(Arrays.asList(mainPlayerContent.getComponents()));
+				mainPlayerContent.revalidate();
 			}
 			
+			// Update the players. The first player on the list is the current player,
+			// and will have a highlighted background
+			Color current = game.isOver() ? Color.PINK : Color.YELLOW;
+			for (int i = 0; i < players.size(); i++) 
+				infoPanels.get(players.get(i)).refresh((i == 0) ? current : null);
+			
 			// Swap the PlayerScoreCardPanel for the current Player's
 			// PlayerScoreCardPanel
 			if (game.getStatus().equals(Status.GAME_IN_PROGRESS) || game.isOver()) {
@@ -428,9 +612,7 @@ public class YahtzeeGUI {
 			} else {
 				enablePanel(true);
 			}
-			
-			// Revalidate the panel
-			mainPlayerContent.revalidate();
+			refreshTime.recordSince(start);
 		}
 		
 		// This is the ActionListener for the addPlayer button.  When the button is
@@ -454,7 +636,7 @@ public class YahtzeeGUI {
 					        "",								// The title
 					        JOptionPane.QUESTION_MESSAGE, 	// The JOptionPane type
 					        null, 							// The icon		// The values (below)
-					        new String[] { "Human", "Random", "Of-a-Kinder", "Upper-Half", "Four-and-Up" },
+					        new String[] { "Human", "Random", "Of-a-Kinder", "Upper-Half", "Four-and-Up", "Optimal", "Monte-Carlo" },
 					        null							// The selected value at load
 					    );
 					
@@ -467,6 +649,8 @@ public class YahtzeeGUI {
 							else if (strategy.trim().equals("Of-a-Kinder")) { s = new OfAKinderStrategy(); }
 							else if (strategy.trim().equals("Upper-Half")) { s = new UpperSectionerStrategy(); }
 							else if (strategy.trim().equals("Four-and-Up")) { s = new FourAndUpStrategy(); }
+							else if (strategy.trim().equals("Optimal")) { s = new OptimalStrategy(); }
+							else if (strategy.trim().equals("Monte-Carlo")) { s = new MonteCarloStrategy(); }
 							game.addPlayer(new Player(name.trim(), s));
 						}
 					} else { }
@@ -477,23 +661,34 @@ public class YahtzeeGUI {
 		};	
 		
 		// This is the GameObserver object, which observes the Game object.
-		// If the game object changes, the GameObserver.update method will
-		// be called, and the refreshPlayers() method of the panel will be
-		// called.
-		private class GameObserver implements Observer {
+		// If the players, their scores, the turn, or the game status change, 
+		// the GameObserver.gameChanged method will call the refreshPlayers() 
+		// method of the panel.  A strategy starting or ending its turn 
+		// changes nothing shown here.
+		private class GameObserver implements GameListener {
 			@Override 
-			public void update(Observable arg0, Object arg1) {
-				refreshPlayers();
+			public void gameChanged(GameEvent e) {
+				if (e.changedAny(Change.SCORE, Change.TURN, Change.PLAYERS, Change.STATUS))
+					refreshPlayers();
 			}
 		}
 		
 		// This is the DiceObserver object, which observes Dice object.
-		// If the Dice object changes (i.e. if the dice are rolles), the
-		// update method of the DiceObserver will be called.
-		private class DiceObserver implements Observer {
+		// If the dice are rolled or reset, the gameChanged method of the 
+		// DiceObserver will show the current player's score card with the
+		// possible scores, and refresh the current player's score.  Holding 
+		// dice changes nothing shown here.
+		private class DiceObserver implements GameListener {
 			@Override
-			public void update(Observable arg0, Object arg1) {
-				refreshPlayers();
+			public void gameChanged(GameEvent e) {
+				if (!e.changedAny(Change.DICE, Change.ROLLS))
+					return;
+				Player current = game.getCurrentPlayer();
+				PlayerInfoPanel info = infoPanels.get(current);
+				if (info != null)
+					info.refreshScores();
+				if (current != null && scp != null && scp.getParent() != null)
+					swapScoreCard(current);
 			}
 		}
 	}
@@ -501,7 +696,8 @@ public class YahtzeeGUI {
 	// The PlayerInfoPanel holds an individual Player's information
 	// in the PlayersPanel.  Each PlayerInfoPanel contains the Player's
 	// name, strategy type, current running score for the current game,
-	// and cumulative score for the session.
+	// and cumulative score for the session.  The scores are updated in place
+	// by refresh().
 	@SuppressWarnings("serial")
 	private class PlayerInfoPanel extends JPanel implements MouseListener {
 		private Player p;				// The Player object this panel represents
@@ -509,6 +705,9 @@ public class YahtzeeGUI {
 		private JLabel currentScore;	// The label for the current score
 		private JLabel cumScore;		// The label for the cumulative score
 		private JLabel strategy;		// The label for the strategy type
+		private Color background;		// The background when not highlighted
+		private int shownScore;			// The current score on display
+		private int shownCumScore;		// The cumulative score on display
 		
 		/**
 		 * The constructor for a PlayerInfoPanel
@@ -519,14 +718,16 @@ public class YahtzeeGUI {
 
 			// Retrieve the Player's score card, and tally their current score
 			ScoreCard sc = p.getScoreCard();
-			int score = sc.getUpperTotal() + sc.getUpperBonus() + sc.getLowerTotal() + sc.getYahtzeeBonus();
+			shownScore = sc.getTotal();
+			shownCumScore = p.getScore();
 			
 			// Update all fields with the current information 
 			// from the Player object
 			nameField = new JLabel(p.getName());
-			currentScore = new JLabel(Integer.toString(score));
-			cumScore = new JLabel(Integer.toString(p.getScore()));
+			currentScore = new JLabel(Integer.toString(shownScore));
+			cumScore = new JLabel(Integer.toString(shownCumScore));
 			strategy = new JLabel(p.getStrategyName());
+			background = getBackground();
 			
 			// Call the setupControls method to place
 			// the objects on the panel
@@ -544,6 +745,27 @@ public class YahtzeeGUI {
 			
 			addMouseListener(this);
 		}
+		
+		// Updates the scores and sets the background to the passed highlight
+		// color, or back to normal if it is null
+		private void refresh(Color highlight) {
+			setBackground((highlight != null) ? highlight : background);
+			refreshScores();
+		}
+		
+		// Updates the scores, changing only the labels whose score has changed
+		private void refreshScores() {
+			int score = p.getScoreCard().getTotal();
+			if (score != shownScore) {
+				shownScore = score;
+				currentScore.setText(Integer.toString(score));
+			}
+			int cum = p.getScore();
+			if (cum != shownCumScore) {
+				shownCumScore = cum;
+				cumScore.setText(Integer.toString(cum));
+			}
+		}
 
 		@Override
 		public void mouseClicked(MouseEvent arg0) {
@@ -574,78 +796,121 @@ public class YahtzeeGUI {
 	// game.  Each individual score is displayed as an inner ScorePanel.  Derived fields
 	// (totals and bonuses) are displayed as inner TotalBonusPanels.  
 	// The PlayerScoreCardPanel does not observe any objects, but is rather "swapped"
-	// when an appropriate change is detected from other object Observers via the swapScoreCard()
-	// method.
+	// to another Player, or refreshed, when an appropriate change is detected from 
+	// other object Observers via the swapScoreCard() method.  The panels are built 
+	// once and their labels updated in place.
 	@SuppressWarnings({ "serial" })
 	private class PlayerScoreCardPanel extends JPanel {
-		private Player p;		// The Player for which to display the ScoreCard
-		private ScoreCard sc;	// The ScoreCard to display
+		private Player p;					// The Player for which to display the ScoreCard
+		private ScoreCard sc;				// The ScoreCard to display
+		private TitledBorder title;			// The border showing the Player's name
+		private ScorePanel[] scores;		// The panel for each hand, by ordinal
+		private int[] possible;				// The score for the current roll for each hand
+		private TotalBonusPanel upperBonus;	// The derived fields
+		private TotalBonusPanel yahtzeeBonus;
+		private TotalBonusPanel upperTotal;
+		private TotalBonusPanel lowerTotal;
+		private TotalBonusPanel total;
 		
 		/**
 		 * The constructor for the PlayerScoreCardPanel
 		 * @param p The Player for which to display the ScoreCard
 		 */
 		public PlayerScoreCardPanel(Player p) {
-			this.p = p;
-			this.sc = p.getScoreCard();
+			scores = new ScorePanel[Hands.values().length];
+			possible = new int[scores.length];
 			setupControls();
+			setPlayer(p);
 		}
 		
 		// Initializes and places the controls for the PlayerScoreCardPanel
 		private void setupControls() {
 			// Set up the main border and layout for the ScoreCard
 			Border border = BorderFactory.createLineBorder(Color.LIGHT_GRAY);
-			this.setBorder(BorderFactory.createTitledBorder(border, p.getName() + "'s scorecard"));
+			title = BorderFactory.createTitledBorder(border, "");
+			this.setBorder(title);
 			this.setLayout(new GridLayout(10, 2, 10, 2));
 			
 			// Add all the individual score controls to the panel
-			Iterator<Score> scItr = sc.iterator();
-			List<ScorePanel> scores = new ArrayList<ScorePanel>();
-			while (scItr.hasNext()) 
-				scores.add(new ScorePanel(scItr.next()));
-			for (int i = 0; i < scores.size() / 2; i++) {
-				this.add(scores.get(i));
-				this.add(scores.get(i + 6));
+			for (Hands h : Hands.values())
+				scores[h.ordinal()] = new ScorePanel(h);
+			for (int i = 0; i < scores.length / 2; i++) {
+				this.add(scores[i]);
+				this.add(scores[i + 6]);
 			}
 			this.add(new TotalBonusPanel("", ""));
-			this.add(scores.get(12));
+			this.add(scores[12]);
+			
+			// Add the derived fields to the panel
+			upperBonus = new TotalBonusPanel("Upper bonus", "");
+			yahtzeeBonus = new TotalBonusPanel("Yahtzee bonus", "");
+			upperTotal = new TotalBonusPanel("Upper Total", "");
+			lowerTotal = new TotalBonusPanel("Lower Total", "");
+			total = new TotalBonusPanel("TOTAL SCORE: ", "");
+			this.add(upperBonus);
+			this.add(yahtzeeBonus);
+			this.add(upperTotal);
+			this.add(lowerTotal);
+			this.add(total);
+		}
+		
+		// Shows the passed Player's ScoreCard
+		private void setPlayer(Player p) {
+			if (p != this.p) {
+				this.p = p;
+				title.setTitle(p.getName() + "'s scorecard");
+				repaint();
+			}
+			refresh();
+		}
+		
+		// Updates the scores, the possible scores for the current roll, and 
+		// the derived fields from the ScoreCard.  The Player is given a new
+		// ScoreCard for each game, so it is looked up again each time.
+		private void refresh() {
+			sc = p.getScoreCard();
+			
+			// If the dice have been rolled and this is the current player's
+			// score card, score the roll for every open hand in one pass
+			boolean rolled = dice.getNumRolls() > 0 && game.getCurrentPlayer() == p;
+			if (rolled)
+				ScoreValidator.getInstance().scoreAll(dice.getRoll(), sc, possible);
+			else
+				Arrays.fill(possible, 0);
+			for (ScorePanel s : scores)
+				s.refresh();
 			
 			// Calculate the derived fields: the totals and the bonuses
 			int up = sc.getUpperBonus();
 			int yb = sc.getYahtzeeBonus();
 			int ut = sc.getUpperTotal() + up;
 			int lt = sc.getLowerTotal() + yb;
-			String uBonus = (up > 0) ? Integer.toString(up) : "";
-			String yBonus = (yb > 0) ? Integer.toString(yb) : "";
-			String uTotal = (ut > 0) ? Integer.toString(ut) : "";
-			String lTotal = (lt > 0) ? Integer.toString(lt) : "";
-			String total = (ut + lt > 0) ? Integer.toString(ut + lt) : "";
-			
-			// Add the derived fields to the panel
-			this.add(new TotalBonusPanel("Upper bonus", uBonus));
-			this.add(new TotalBonusPanel("Yahtzee bonus", yBonus));
-			this.add(new TotalBonusPanel("Upper Total", uTotal));
-			this.add(new TotalBonusPanel("Lower Total", lTotal));
-			this.add(new TotalBonusPanel("TOTAL SCORE: ", total));			
+			upperBonus.setScore(up);
+			yahtzeeBonus.setScore(yb);
+			upperTotal.setScore(ut);
+			lowerTotal.setScore(lt);
+			total.setScore(ut + lt);
 		}
 		
-		// The inner ScorePanel class creates a panel for a Score.
+		// The inner ScorePanel class creates a panel for a hand.
 		// The Score provides funcionality: it displays the current
 		// score the player has earned for a hand; if the dice have
 		// been rolled, it displays the potential score for the current
 		// roll and the given hand (if any); and if clicked it records
 		// the score for the turn
 		private class ScorePanel extends JPanel implements MouseListener {
-			private Score s;			// The Score object to display
+			private Hands hand;			// The hand to display
 			private JLabel scoreName;	// The label to hold the name of the hand
 			private JLabel score;		// The label to hold the score for the hand
+			private Color foreground;	// The normal colors of the labels
+			private Color background;
 			
 			/**
 			 * The constructor for the ScorePanel object
-			 * @param s The Score object to display
+			 * @param hand The hand to display
 			 */
-			public ScorePanel(Score s) {
-				this.s = s;
+			public ScorePanel(Hands hand) {
+				this.hand = hand;
 				scoreName = new JLabel();
 				score = new JLabel();
 				setupControls();
@@ -659,36 +924,57 @@ public class YahtzeeGUI {
 				this.setLayout(new GridLayout(1, 2));
 				
 				// Set the text of the scoreName field to the string value of the hand
-				scoreName.setText(s.getHand().toString());
+				scoreName.setText(hand.toString());
 				
 				// Set the fields to opaque, so we can see their background color
 				// and set the alignment
 				scoreName.setOpaque(true);
 				score.setOpaque(true);
 				score.setHorizontalAlignment(JLabel.RIGHT);
+				foreground = score.getForeground();
+				background = score.getBackground();
+				
+				// Add the labels to the panel
+				this.add(scoreName);
+				this.add(score);
+			}
+			
+			// Updates the labels from the Player's Score for the hand
+			private void refresh() {
+				Score s = sc.getScore(hand);
 				
 				// If the score for this hand has not been recorded yet
 				if (!s.getScoreTaken()) {	
-					// If the dice have been rolled
-					if (dice.getNumRolls() > 0 && game.getPlayers().get(0).equals(p)) {
-						// Display the score for the hand for this current roll, if any
-						int possible = ScoreValidator.getInstance().scoreHand(s.getHand(), dice.getRoll());		
-						if (possible > 0) {
-							scoreName.setForeground(Color.DARK_GRAY);
-							score.setForeground(Color.DARK_GRAY);
-							scoreName.setBackground(Color.LIGHT_GRAY);
-							score.setBackground(Color.LIGHT_GRAY);
-							score.setText(Integer.toString(possible));
-						}
+					// Display the score for the hand for this current roll, if any,
+					// and how much less it is expected to be worth than the best
+					// choice, if there is a hint
+					int points = possible[hand.ordinal()];
+					TurnHint hint = hints.getHint(p);
+					if (hint != null) {
+						double behind = hint.getBestValue() - hint.getHandValue(hand);
+						boolean best = hand == hint.getBestHand() && !hint.shouldRoll();
+						setColors(Color.DARK_GRAY, best ? HINT_COLOR : Color.LIGHT_GRAY);
+						score.setText(best ? points + " (best)" : String.format("%d (-%.1f)", points, behind));
+					} else if (points > 0) {
+						setColors(Color.DARK_GRAY, Color.LIGHT_GRAY);
+						score.setText(Integer.toString(points));
+					} else {
+						setColors(foreground, background);
+						score.setText("");
 					}
 				// Otherwise, the score has been taken, so display that score
 				} else {
+					setColors(foreground, background);
 					score.setText(Integer.toString(s.getScore()));
 				}
-				
-				// Add the labels to the panel
-				this.add(scoreName);
-				this.add(score);
+			}
+			
+			// Sets the colors of both labels
+			private void setColors(Color fg, Color bg) {
+				scoreName.setForeground(fg);
+				score.setForeground(fg);
+				scoreName.setBackground(bg);
+				score.setBackground(bg);
 			}
 			
 			// These are the overridden method to implement the MouseListener interface
@@ -696,60 +982,15 @@ public class YahtzeeGUI {
 			// A mouse click on a score will record that score and advance the game
 			@Override
 			public void mouseClicked(MouseEvent e) {
-				// If this is the current players scorecard and a strategy is not currently playing
-				if (game.getPlayers().get(0).equals(p) && !game.getStrategyPlaying()) { 
-					// If the dice have not yet been rolled, alert the user
-					if (dice.getStatus().equals(DiceStatus.READY)) { 
-						JOptionPane.showMessageDialog(
-								null, 
-								"You must roll the dice first.", 
-								"Please Roll", 
-								JOptionPane.WARNING_MESSAGE
-						);
-					// If a score for that hand has already been taken, alert the user
-					} else if (s.getScoreTaken()) {
-						JOptionPane.showMessageDialog(
-								null, 
-								"You've already recorded a score for that hand. Please select another.", 
-								"Score Recorded", JOptionPane.WARNING_MESSAGE
-						);
-					// Otherwise, check if the score is 0, if it is, request permission from the 
-					// user to record a score for this category as 0. If permission is granted, record
-					// the score, which will advance the game, then reset the dice.  If permission is
-					// not granted, return.
-					} else {
-						int[] roll = dice.getRoll();
-						int possible = ScoreValidator.getInstance().scoreHand(s.getHand(), roll);
-						if (possible == 0) {
-							int recordZero = JOptionPane.showConfirmDialog(
-									null, 
-									"Are you sure you want to record a 0 for that hand?", 
-									"Record a zero?", 
-									JOptionPane.YES_NO_OPTION
-							);
-							if (recordZero != JOptionPane.YES_OPTION) 
-								return;
-						}		
-						dice.reset();
-						game.takeScore(s.getHand(), ScoreValidator.getInstance().scoreHand(s.getHand(), roll));							
-						if (!game.isOver()) {
-							game.nextTurn();
-						} else 
-							game.showWinner();
-					}
-				}
+				takeScore(game, dice, p, hand);
 			}
 
 			// mouseEntered handles any mouse over events
 			// When a player mouses over a score the score is highlighted.
 			@Override
 			public void mouseEntered(MouseEvent e) {
-				if (!s.getScoreTaken() && !dice.getStatus().equals(DiceStatus.READY) && game.getPlayers().get(0).equals(p)) {
-					scoreName.setBackground(Color.YELLOW);
-					score.setBackground(Color.YELLOW);
-					scoreName.setForeground(Color.BLACK);
-					score.setForeground(Color.BLACK);
-				}
+				if (!sc.getScore(hand).getScoreTaken() && !dice.getStatus().equals(DiceStatus.READY) && game.getCurrentPlayer() == p)
+					setColors(Color.BLACK, Color.YELLOW);
 			}
 
 			// mouseExited handles any mouse out events
@@ -757,14 +998,8 @@ public class YahtzeeGUI {
 			// returned to it's pre-highlighted state
 			@Override
 			public void mouseExited(MouseEvent e) {
-				if (!s.getScoreTaken() && !dice.getStatus().equals(DiceStatus.READY) && game.getPlayers().get(0).equals(p)) {
-					int possible = ScoreValidator.getInstance().scoreHand(s.getHand(), dice.getRoll());
-					Color c = (!s.getScoreTaken() && possible > 0) ? Color.LIGHT_GRAY : frame.getBackground();
-					scoreName.setBackground(c);
-					score.setBackground(c);
-					scoreName.setForeground(Color.DARK_GRAY);
-					score.setForeground(Color.DARK_GRAY);
-				}			
+				if (!sc.getScore(hand).getScoreTaken() && !dice.getStatus().equals(DiceStatus.READY) && game.getCurrentPlayer() == p)
+					refresh();
 			}
 
 			// Unused
@@ -779,16 +1014,25 @@ public class YahtzeeGUI {
 		
 		// The inner TotalBonusPanel handles the derived scores that are included
 		// on a Yahtzee score card. This panel is identical to a ScorePanel, but 
-		// without any interactivity: the panel is static.
+		// without any interactivity: only its score changes.
 		private class TotalBonusPanel extends JPanel {
 			private static final long serialVersionUID = 1L;
 			private JLabel a;
 			private JLabel b;
+			private int shown;		// The score on display, 0 for none
 			
 			public TotalBonusPanel(String a, String b) {
 				setupControls(a, b);
 			}
 			
+			// Shows the passed score, or nothing if it is 0
+			private void setScore(int score) {
+				if (score != shown) {
+					shown = score;
+					b.setText((score > 0) ? Integer.toString(score) : "");
+				}
+			}
+			
 			private void setupControls(String a, String b) {
 				this.setLayout(new GridLayout(1, 2));
 				this.a = new JLabel(a);
@@ -809,6 +1053,8 @@ public class YahtzeeGUI {
 		private JPanel speedPanel;			// The Speed control panel
 		private JLabel speedLabel;			// The Label for the speed control
 		private JSlider strategySpeed;		// The Animation speed for the Strategy gameplay
+		private JCheckBox showHints;		// Turns the hints on and off
+		private JCheckBox showBoard;		// Opens and closes the painted board
 		private JPanel buttonsContainer;	// The container panel
 		private JButton newGame;			// The New Game button
 		private JButton resetGame;			// The Reset Game button
@@ -822,6 +1068,8 @@ public class YahtzeeGUI {
 			speedPanel = new JPanel();
 			speedLabel = new JLabel();
 			strategySpeed = new JSlider();
+			showHints = new JCheckBox("Hints", Boolean.getBoolean(HINTS_PROPERTY));
+			showBoard = new JCheckBox("Board", Boolean.getBoolean(BOARD_PROPERTY));
 			
 			// Initialize the buttons
 			buttonsContainer = new JPanel();
@@ -841,6 +1089,10 @@ public class YahtzeeGUI {
 			speedLabel.setText("Game Speed");
 			speedPanel.add(speedLabel);
 			speedPanel.add(strategySpeed);
+			showHints.addActionListener(hintsListener);
+			speedPanel.add(showHints);
+			showBoard.addActionListener(boardListener);
+			speedPanel.add(showBoard);
 			
 			buttonsContainer.setLayout(new GridLayout(1, 3));
 			newGame.addActionListener(newGameListener);
@@ -853,9 +1105,9 @@ public class YahtzeeGUI {
 			this.add(speedPanel, BorderLayout.NORTH);
 			this.add(buttonsContainer, BorderLayout.CENTER);
 			
-			// Add the GameObserver to observer the Game object
-			GameObserver gameObserver = new GameObserver();
-			game.addObserver(gameObserver);
+			// Add the GameObserver to observer the Game object, on the
+			// event dispatch thread
+			game.addListener(new GameObserver(), edt);
 		}
 		
 		private ChangeListener gameSpeedListener = new ChangeListener() {
@@ -867,6 +1119,22 @@ public class YahtzeeGUI {
 			}
 		};
 		
+		// Turns the hints on or off when the Hints box is clicked
+		private ActionListener hintsListener = new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				hints.setEnabled(showHints.isSelected());
+			}
+		};
+		
+		// Opens or closes the painted board when the Board box is clicked
+		private ActionListener boardListener = new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				showBoard(showBoard.isSelected());
+			}
+		};
+		
 		// Handles the click action of the New Game button
 		private ActionListener newGameListener = new ActionListener() {
 			@Override
@@ -933,14 +1201,25 @@ public class YahtzeeGUI {
 		private ActionListener exitListener = new ActionListener() {
 			@Override
 			public void actionPerformed(ActionEvent e) {
+				// Stop any computer turn before exiting, then save the game
+				try {
+					game.shutdown(1000);
+					Game.shutdownAll(1000);
+					Future<Path> saved = saveSnapshot();
+					if (saved != null)
+						saved.get(1000, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException | ExecutionException | TimeoutException ex) { }
 				System.exit(0);
 			}
 		};
 
 		// The Game observer Observes the Game object
-		private class GameObserver implements Observer {
+		private class GameObserver implements GameListener {
 			@Override
-			public void update(Observable arg0, Object arg1) {
+			public void gameChanged(GameEvent e) {
+				if (!e.changed(Change.STATUS))
+					return;
+				
 				Status status = game.getStatus(); // Get the current status
 				
 				if (status.equals(Status.GAME_IN_PROGRESS))
@@ -951,16 +1230,186 @@ public class YahtzeeGUI {
 					newGame.setText("Start Game");
 				
 				revalidate();
+				saveSnapshot();
 			}
 		}	
 	}
 	
-	// Swaps the current score card panel (if any) with the passed 
-	// Player's score card panel
+	// The HintWorker works out the expected value of each choice open to a
+	// human player after each roll, when hints are on (see TurnHint), and
+	// shows them in the DicePanel and the PlayerScoreCardPanel.  The values
+	// are worked out on the worker's own thread, so the event dispatch
+	// thread never waits for them.  A hint takes about a millisecond once
+	// the ExpectedValueTable is solved; the table is solved in the
+	// background when hints are turned on.  When the dice, the turn, or the
+	// scores change, the hint being worked out is cancelled, and a hint
+	// that finishes after that is dropped.  Its methods are only called on
+	// the event dispatch thread.
+	private class HintWorker implements GameListener {
+		private final ExecutorService executor;
+		private TurnEvaluator evaluator;	// Used only on the worker's thread
+		private Future<?> pending;			// The hint being worked out, if any
+		private int generation;				// Counts the changes, so late hints are dropped
+		private boolean enabled;			// Whether the hints are on
+		private TurnHint hint;				// The hint shown, if any
+		private Player player;				// The Player the hint is for
+		
+		// Constructs a HintWorker, with the hints on or off
+		HintWorker(boolean enabled) {
+			executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread t = new Thread(r, "Hint worker");
+					t.setDaemon(true);
+					return t;
+				}
+			});
+			dice.addListener(this, edt);
+			game.addListener(this, edt);
+			setEnabled(enabled);
+		}
+		
+		// Turns the hints on or off
+		private void setEnabled(boolean flag) {
+			enabled = flag;
+			if (flag)
+				ExpectedValueTable.solveInBackground();
+			update();
+		}
+		
+		// Returns the hint for the passed Player, or null if there is none
+		private TurnHint getHint(Player p) {
+			return (p == player) ? hint : null;
+		}
+		
+		// Works out a new hint when the dice, the turn, or the scores change.
+		// Holding dice only changes which hint is shown in the DicePanel.
+		@Override
+		public void gameChanged(GameEvent e) {
+			if (e.changedAny(Change.DICE, Change.ROLLS, Change.SCORE, Change.PLAYING,
+					Change.STATUS, Change.PLAYERS, Change.TURN))
+				update();
+			else if (e.changed(Change.HOLDS))
+				dicePanel.showHint(hint);
+		}
+		
+		// Cancels the hint being worked out, and starts on the hint for the
+		// current roll if the current player is a human who has rolled
+		private void update() {
+			generation++;
+			if (pending != null) {
+				pending.cancel(true);
+				pending = null;
+			}
+			hint = null;
+			player = null;
+			final Player current = game.getCurrentPlayer();
+			if (enabled && current != null && dice.getNumRolls() > 0 && !game.getStrategyPlaying()
+					&& game.getStatus().equals(Status.GAME_IN_PROGRESS) && !current.getScoreCard().isFull()) {
+				ScoreCard card = current.getScoreCard();
+				final int taken = card.getTakenMask();
+				final int upper = card.getUpperTotal();
+				final boolean bonusPending = card.canTakeYahtzeeBonus();
+				final int[] roll = dice.getRoll();
+				final int rollsLeft = Math.max(0, 3 - dice.getNumRolls());
+				final int gen = generation;
+				pending = executor.submit(new Runnable() {
+					@Override
+					public void run() {
+						long start = Metrics.start();
+						if (evaluator == null)
+							evaluator = new TurnEvaluator(ExpectedValueTable.getInstance());
+						if (Thread.currentThread().isInterrupted())
+							return;
+						final TurnHint h = TurnHint.evaluate(evaluator, taken, upper, bonusPending, roll, rollsLeft);
+						hintTime.recordSince(start);
+						SwingUtilities.invokeLater(new Runnable() {
+							@Override
+							public void run() {
+								if (gen != generation)
+									return;
+								pending = null;
+								hint = h;
+								player = current;
+								show();
+							}
+						});
+					}
+				});
+			}
+			show();
+		}
+		
+		// Shows the hint, or clears it, in the dice and score card panels
+		private void show() {
+			if (dicePanel != null)
+				dicePanel.showHint(hint);
+			if (scp != null && scp.getParent() != null)
+				scp.refresh();
+		}
+	}
+	
+	// Scores the roll in the passed hand for a human Player who clicked it,
+	// in this view or the BoardView, and moves the game on.  Nothing
+	// happens unless it is the Player's turn and a strategy is not
+	// playing; the user is told if the dice have not been rolled or the
+	// hand is taken, and asked before a 0 is recorded.
+	static void takeScore(Game game, Dice dice, Player p, Hands hand) {
+		Score s = p.getScoreCard().getScore(hand);
+		// If this is the current players scorecard and a strategy is not currently playing
+		if (game.getCurrentPlayer() == p && !game.getStrategyPlaying()) { 
+			// If the dice have not yet been rolled, alert the user
+			if (dice.getStatus().equals(DiceStatus.READY)) { 
+				JOptionPane.showMessageDialog(
+						null, 
+						"You must roll the dice first.", 
+						"Please Roll", 
+						JOptionPane.WARNING_MESSAGE
+				);
+			// If a score for that hand has already been taken, alert the user
+			} else if (s.getScoreTaken()) {
+				JOptionPane.showMessageDialog(
+						null, 
+						"You've already recorded a score for that hand. Please select another.", 
+						"Score Recorded", JOptionPane.WARNING_MESSAGE
+				);
+			// Otherwise, check if the score is 0, if it is, request permission from the 
+			// user to record a score for this category as 0. If permission is granted, record
+			// the score, which will advance the game, then reset the dice.  If permission is
+			// not granted, return.
+			} else {
+				int possible = ScoreValidator.getInstance().scoreHand(s.getHand(), dice.getRoll());
+				if (possible == 0) {
+					int recordZero = JOptionPane.showConfirmDialog(
+							null, 
+							"Are you sure you want to record a 0 for that hand?", 
+							"Record a zero?", 
+							JOptionPane.YES_NO_OPTION
+					);
+					if (recordZero != JOptionPane.YES_OPTION) 
+						return;
+				}		
+				dice.reset();
+				game.takeScore(s.getHand(), possible);							
+				if (!game.isOver()) {
+					game.nextTurn();
+				} else 
+					game.showWinner();
+			}
+		}
+	}
+	
+	// Shows the passed Player's score card in the score card panel,
+	// creating the panel the first time and adding it back if it was removed
 	private void swapScoreCard(Player p) {
-		swapScoreCard();
-		scp = new PlayerScoreCardPanel(p);
-		frame.add(scp, BorderLayout.SOUTH);
+		if (scp == null)
+			scp = new PlayerScoreCardPanel(p);
+		else
+			scp.setPlayer(p);
+		if (scp.getParent() == null) {
+			frame.add(scp, BorderLayout.SOUTH);
+			scp.revalidate();
+		}
 	}
 	
 	// Removes the current score card panel
@@ -971,12 +1420,18 @@ public class YahtzeeGUI {
 	
 	// Initializes a new game
 	private void newGame() {
-		// If there is a current game in progress, or if a game just finished, reset the scores
-		if (game.getStatus().equals(Status.GAME_IN_PROGRESS) || game.getStatus().equals(Status.INITIALIZED))
-			game.resetScores();
-		
-		// Set the status to game in progress
-		game.setStatus(Status.GAME_IN_PROGRESS);
+		// If there is a current game in progress, or if a game just finished, reset the scores,
+		// and start the new game in one update
+		game.beginUpdate();
+		try {
+			if (game.getStatus().equals(Status.GAME_IN_PROGRESS) || game.getStatus().equals(Status.INITIALIZED))
+				game.resetScores();
+			
+			// Set the status to game in progress
+			game.setStatus(Status.GAME_IN_PROGRESS);
+		} finally {
+			game.endUpdate();
+		}
 		
 		// Reset the dice
 		dice.reset();
@@ -1,12 +1,19 @@
 package view;
 
+import model.sim.BatchRunner;
+
 /**
- * This class exists to run the overall program and start the GUI
+ * This class exists to run the overall program and start the GUI.  Given
+ * any arguments, it runs the headless batch mode instead (see
+ * model.sim.BatchRunner), which never loads the GUI.
  * @author Aaron Lamb
  * @version 1.0 8/11/2011
  */
 public class YahtzeeMain {
 	public static void main(String[] args) {
-		new YahtzeeGUI();		
+		if (args.length > 0)
+			BatchRunner.main(args);
+		else
+			new YahtzeeGUI();
 	}
-}
\ No newline at end of file
+}